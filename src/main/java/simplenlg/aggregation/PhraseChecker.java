@@ -69,7 +69,7 @@ public abstract class PhraseChecker {
 
 		for (int i = 1; i < sentences.length && expl; i++) {
 			expl = (sentences[i] instanceof SPhraseSpec ? ((SPhraseSpec) sentences[i])
-					.getFeatureAsBoolean(LexicalFeature.EXPLETIVE_SUBJECT)
+					.getBooleanFeature(LexicalFeature.EXPLETIVE_SUBJECT)
 					: false);
 
 		}
@@ -208,7 +208,7 @@ public abstract class PhraseChecker {
 		boolean passive = true;
 
 		for (int i = 0; i < sentences.length && passive; i++) {
-			passive = sentences[i].getFeatureAsBoolean(Feature.PASSIVE);
+			passive = sentences[i].getBooleanFeature(Feature.PASSIVE);
 		}
 
 		return passive;
@@ -226,7 +226,7 @@ public abstract class PhraseChecker {
 		boolean active = true;
 
 		for (int i = 0; i < sentences.length && active; i++) {
-			active = !sentences[i].getFeatureAsBoolean(Feature.PASSIVE);
+			active = !sentences[i].getBooleanFeature(Feature.PASSIVE);
 		}
 
 		return active;
@@ -291,10 +291,10 @@ public abstract class PhraseChecker {
 		boolean prevIsPassive = false;
 
 		if (sentences.length > 1) {
-			prevIsPassive = sentences[0].getFeatureAsBoolean(Feature.PASSIVE);
+			prevIsPassive = sentences[0].getBooleanFeature(Feature.PASSIVE);
 
 			for (int i = 1; i < sentences.length && samePassive; i++) {
-				samePassive = sentences[i].getFeatureAsBoolean(Feature.PASSIVE) == prevIsPassive;
+				samePassive = sentences[i].getBooleanFeature(Feature.PASSIVE) == prevIsPassive;
 			}
 		}
 
@@ -499,7 +499,7 @@ public abstract class PhraseChecker {
 		boolean nopass = true;
 
 		for (int i = 0; i < sentences.length && nopass; i++) {
-			nopass = !sentences[i].getFeatureAsBoolean(Feature.PASSIVE);
+			nopass = !sentences[i].getBooleanFeature(Feature.PASSIVE);
 		}
 
 		return nopass;
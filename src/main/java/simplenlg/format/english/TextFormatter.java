@@ -49,8 +49,6 @@ import simplenlg.framework.StringElement;
  */
 public class TextFormatter extends NLGModule {
 
-    static private NumberedPrefix numberedPrefix = new NumberedPrefix();
-
     @Override
 	public void initialise() {
 		// Do nothing
@@ -58,6 +56,19 @@ public class TextFormatter extends NLGModule {
 
 	@Override
 	public NLGElement realise(NLGElement element) {
+		return realise(element, new NumberedPrefix());
+	}
+
+	/**
+	 * realise -- Realises an element, numbering enumerated lists with the
+	 * given prefix. The prefix belongs to a single call of
+	 * {@link #realise(NLGElement)}, so that one formatter can be used by
+	 * several threads at once.
+	 * @param element -- The element to realise.
+	 * @param numberedPrefix -- The prefix of the current enumerated list item.
+	 * @return the formatted element.
+	 */
+	private NLGElement realise(NLGElement element, NumberedPrefix numberedPrefix) {
 		NLGElement realisedComponent = null;
 		StringBuffer realisation = new StringBuffer();
 		
@@ -82,14 +93,14 @@ public class TextFormatter extends NLGModule {
 
 				case DOCUMENT:
 					appendTitle(realisation, title, 2);
-					realiseSubComponents(realisation, components);
+					realiseSubComponents(realisation, components, numberedPrefix);
 					break;
 				case SECTION:
 					appendTitle(realisation, title, 1);
-					realiseSubComponents(realisation, components);
+					realiseSubComponents(realisation, components, numberedPrefix);
 					break;
 				case LIST:
-					realiseSubComponents(realisation, components);
+					realiseSubComponents(realisation, components, numberedPrefix);
 					break;
 
                 case ENUMERATED_LIST:
@@ -100,7 +111,7 @@ public class TextFormatter extends NLGModule {
 
                     if (null != components && 0 < components.size()) {
 
-                        realisedComponent = realise(components.get(0));
+                        realisedComponent = realise(components.get(0), numberedPrefix);
                         if (realisedComponent != null) {
                             realisation.append(realisedComponent.getRealisation());
                         }
@@ -111,7 +122,7 @@ public class TextFormatter extends NLGModule {
                             if(components.get(i).getParent().getCategory() == DocumentCategory.ENUMERATED_LIST) {
                                 numberedPrefix.increment();
                             }
-                            realisedComponent = realise(components.get(i));
+                            realisedComponent = realise(components.get(i), numberedPrefix);
                             if (realisedComponent != null) {
                                 realisation.append(realisedComponent.getRealisation());
                             }
@@ -123,7 +134,7 @@ public class TextFormatter extends NLGModule {
 
 				case PARAGRAPH:
 					if (null != components && 0 < components.size()) {
-						realisedComponent = realise(components.get(0));
+						realisedComponent = realise(components.get(0), numberedPrefix);
 						if (realisedComponent != null) {
 							realisation.append(realisedComponent.getRealisation());
 						}
@@ -131,7 +142,7 @@ public class TextFormatter extends NLGModule {
 							if (realisedComponent != null) {
 								realisation.append(' ');
 							}
-							realisedComponent = realise(components.get(i));
+							realisedComponent = realise(components.get(i), numberedPrefix);
 							if (realisedComponent != null) {
 								realisation.append(realisedComponent.getRealisation());
 							}
@@ -154,7 +165,7 @@ public class TextFormatter extends NLGModule {
                     }
 
 					for (NLGElement eachComponent : components) {
-						realisedComponent = realise(eachComponent);
+						realisedComponent = realise(eachComponent, numberedPrefix);
 						
 						if (realisedComponent != null) {
 							realisation.append(realisedComponent
@@ -174,7 +185,7 @@ public class TextFormatter extends NLGModule {
 				// have embedded lists post-orthography) or a coordinate
 			} else if (element instanceof ListElement || element instanceof CoordinatedPhraseElement) {
 				for (NLGElement eachComponent : components) {
-					realisedComponent = realise(eachComponent);
+					realisedComponent = realise(eachComponent, numberedPrefix);
 					if (realisedComponent != null) {
 						realisation.append(realisedComponent.getRealisation()).append(' ');
 					}
@@ -189,12 +200,13 @@ public class TextFormatter extends NLGModule {
 	 * realiseSubComponents -- Realises subcomponents iteratively.
 	 * @param realisation -- The current realisation StringBuffer.
 	 * @param components -- The components to realise.
+	 * @param numberedPrefix -- The prefix of the current enumerated list item.
 	 */
 	private void realiseSubComponents(StringBuffer realisation,
-			List<NLGElement> components) {
+			List<NLGElement> components, NumberedPrefix numberedPrefix) {
 		NLGElement realisedComponent;
 		for (NLGElement eachComponent : components) {
-			realisedComponent = realise(eachComponent);
+			realisedComponent = realise(eachComponent, numberedPrefix);
 			if (realisedComponent != null) {
 				realisation.append(realisedComponent
 						.getRealisation());
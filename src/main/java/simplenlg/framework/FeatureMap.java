@@ -0,0 +1,486 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.framework;
+
+import java.util.*;
+
+/**
+ * <p>
+ * The map of features of an {@link NLGElement}. Feature names are turned
+ * into slots by the {@link FeatureRegistry}. The map marks the slots which
+ * have a value in a bit set, and keeps the values in an array in slot order,
+ * so that an element with a few features needs a few dozen bytes rather than
+ * a hash table with an entry object per feature. Whether a feature is set is
+ * one bit test, and the index of its value is the number of bits set before
+ * its own.
+ * </p>
+ * <p>
+ * <code>Boolean</code> values are not kept in the array: they are flag bits
+ * in two other bit sets, one marking the features with a boolean value and
+ * one holding the values, so that setting and testing a boolean feature
+ * through {@link #putBoolean(int, boolean)} and {@link #getBoolean(int)}
+ * needs no <code>Boolean</code> object.
+ * </p>
+ * <p>
+ * The map iterates over its features in slot order, so the features defined
+ * by SimpleNLG come first. <code>null</code> keys and values are not stored:
+ * putting a <code>null</code> value removes the feature.
+ * </p>
+ *
+ * @version 4.0
+ */
+public class FeatureMap extends AbstractMap<String, Object> {
+
+    private static final long[] NO_BITS = new long[0];
+    private static final Object[] NO_VALUES = new Object[0];
+
+    /**
+     * The slots which have a value other than a boolean, 64 to a word.
+     */
+    private long[] bits = NO_BITS;
+    /**
+     * The slots which have a boolean value.
+     */
+    private long[] flags = NO_BITS;
+    /**
+     * The slots whose boolean value is <code>true</code>, a subset of the
+     * flags.
+     */
+    private long[] truths = NO_BITS;
+    /**
+     * The values of the features which are not booleans, in the order of
+     * their slots.
+     */
+    private Object[] values = NO_VALUES;
+    /**
+     * The number of values.
+     */
+    private int count = 0;
+
+    /**
+     * Creates an empty feature map.
+     */
+    public FeatureMap() {
+    }
+
+    /**
+     * <code>true</code> once the map is used by more than one element. A
+     * shared map is never changed again: an element takes its own copy before
+     * it changes a feature. The flag is only ever set, and is volatile, so
+     * elements on different threads may share a map.
+     */
+    private volatile boolean shared = false;
+
+    /**
+     * Creates a feature map holding the features of another map.
+     *
+     * @param features the features to copy.
+     */
+    public FeatureMap(Map<String, ?> features) {
+        if (features instanceof FeatureMap) {
+            FeatureMap other = (FeatureMap) features;
+            this.bits = other.bits.length > 0 ? other.bits.clone() : NO_BITS;
+            this.flags = other.flags.length > 0 ? other.flags.clone() : NO_BITS;
+            this.truths = other.truths.length > 0 ? other.truths.clone() : NO_BITS;
+            this.count = other.count;
+            this.values = this.count > 0 ? Arrays.copyOf(other.values, this.count) : NO_VALUES;
+        } else {
+            putAll(features);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = this.count;
+        for (long word : this.flags) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && contains(FeatureRegistry.getSlot((String) key));
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof String ? get(FeatureRegistry.getSlot((String) key)) : null;
+    }
+
+    /**
+     * Checks whether the feature with a slot is set.
+     *
+     * @param slot the slot of the feature, from the {@link FeatureRegistry}.
+     * @return <code>true</code> if the feature has a value.
+     */
+    public boolean contains(int slot) {
+        return isSet(this.bits, slot) || isSet(this.flags, slot);
+    }
+
+    /**
+     * Retrieves the value of the feature with a slot.
+     *
+     * @param slot the slot of the feature, from the {@link FeatureRegistry}.
+     * @return the value, or <code>null</code> if there is none.
+     */
+    public Object get(int slot) {
+        if (isSet(this.bits, slot)) {
+            return this.values[rank(slot)];
+        } else if (isSet(this.flags, slot)) {
+            return Boolean.valueOf(isSet(this.truths, slot));
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the value of a boolean feature.
+     *
+     * @param slot the slot of the feature, from the {@link FeatureRegistry}.
+     * @return <code>true</code> if the feature is set to
+     * <code>Boolean.TRUE</code>, otherwise <code>false</code>.
+     */
+    public boolean getBoolean(int slot) {
+        return isSet(this.truths, slot);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (key == null) {
+            return null;
+        }
+        if (value == null) {
+            return remove(key);
+        }
+        return put(FeatureRegistry.register(key), value);
+    }
+
+    /**
+     * Sets the value of the feature with a slot.
+     *
+     * @param slot  the slot of the feature, from the {@link FeatureRegistry}.
+     * @param value the new value, which may not be <code>null</code>.
+     * @return the previous value, or <code>null</code> if there was none.
+     */
+    public Object put(int slot, Object value) {
+        if (value instanceof Boolean) {
+            Object previous = get(slot);
+            putBoolean(slot, ((Boolean) value).booleanValue());
+            return previous;
+        }
+
+        int index = rank(slot);
+        if (isSet(this.bits, slot)) {
+            Object previous = this.values[index];
+            this.values[index] = value;
+            return previous;
+        }
+
+        // a new feature, or one whose boolean value is replaced
+        Object previous = isSet(this.flags, slot) ? removeFlag(slot) : null;
+        this.bits = set(this.bits, slot);
+        if (this.count == this.values.length) {
+            int capacity = this.count < 4 ? 4 : this.count + (this.count >> 1);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        System.arraycopy(this.values, index, this.values, index + 1, this.count - index);
+        this.values[index] = value;
+        this.count++;
+        return previous;
+    }
+
+    /**
+     * Sets the value of a boolean feature, as a flag bit.
+     *
+     * @param slot  the slot of the feature, from the {@link FeatureRegistry}.
+     * @param value the new value.
+     */
+    public void putBoolean(int slot, boolean value) {
+        if (!isSet(this.flags, slot)) {
+            // a new feature, or one whose other value is replaced
+            if (isSet(this.bits, slot)) {
+                removeValue(slot);
+            }
+            this.flags = set(this.flags, slot);
+        }
+        if (value) {
+            this.truths = set(this.truths, slot);
+        } else if (isSet(this.truths, slot)) {
+            this.truths[slot >> 6] &= ~(1L << slot);
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof String ? remove(FeatureRegistry.getSlot((String) key)) : null;
+    }
+
+    /**
+     * Removes the feature with a slot.
+     *
+     * @param slot the slot of the feature, from the {@link FeatureRegistry}.
+     * @return the previous value, or <code>null</code> if there was none.
+     */
+    public Object remove(int slot) {
+        if (isSet(this.bits, slot)) {
+            return removeValue(slot);
+        } else if (isSet(this.flags, slot)) {
+            return removeFlag(slot);
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        this.bits = NO_BITS;
+        this.flags = NO_BITS;
+        this.truths = NO_BITS;
+        this.values = NO_VALUES;
+        this.count = 0;
+    }
+
+    /**
+     * Marks the map as shared by several elements.
+     */
+    void share() {
+        if (!this.shared) {
+            this.shared = true;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the map is shared by several elements, and
+     * must be copied before it is changed.
+     */
+    boolean isShared() {
+        return this.shared;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return FeatureMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof FeatureMap) {
+            FeatureMap other = (FeatureMap) o;
+            if (this.count != other.count) {
+                return false;
+            }
+            if (!sameBits(this.bits, other.bits) || !sameBits(this.flags, other.flags)
+                    || !sameBits(this.truths, other.truths)) {
+                return false;
+            }
+            for (int i = 0; i < this.count; i++) {
+                if (!this.values[i].equals(other.values[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * Iterates over the features in slot order. Features may be removed
+     * through the iterator, and values changed through the entries.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next = nextSlot(0);
+        private int last = -1;
+
+        public boolean hasNext() {
+            return this.next >= 0;
+        }
+
+        public Map.Entry<String, Object> next() {
+            if (this.next < 0) {
+                throw new NoSuchElementException();
+            }
+            final int slot = this.next;
+            this.last = slot;
+            this.next = nextSlot(slot + 1);
+            return new SimpleEntry<String, Object>(FeatureRegistry.getName(slot), get(slot)) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public Object setValue(Object value) {
+                    if (value == null) {
+                        throw new NullPointerException("a feature value may not be null");
+                    }
+                    FeatureMap.this.put(slot, value);
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            }
+            FeatureMap.this.remove(this.last);
+            this.last = -1;
+        }
+    }
+
+    /**
+     * The index of the value of a slot, which is the number of slots before
+     * it which have a value other than a boolean.
+     *
+     * @param slot the slot.
+     * @return the index in the values.
+     */
+    private int rank(int slot) {
+        int word = slot >> 6;
+        int rank = 0;
+        for (int i = 0; i < word && i < this.bits.length; i++) {
+            rank += Long.bitCount(this.bits[i]);
+        }
+        if (word < this.bits.length) {
+            rank += Long.bitCount(this.bits[word] & ((1L << slot) - 1));
+        }
+        return rank;
+    }
+
+    /**
+     * Removes a feature whose value is not a boolean.
+     *
+     * @param slot the slot of the feature.
+     * @return its value.
+     */
+    private Object removeValue(int slot) {
+        int index = rank(slot);
+        Object previous = this.values[index];
+        this.bits[slot >> 6] &= ~(1L << slot);
+        this.count--;
+        System.arraycopy(this.values, index + 1, this.values, index, this.count - index);
+        this.values[this.count] = null;
+        return previous;
+    }
+
+    /**
+     * Removes a boolean feature.
+     *
+     * @param slot the slot of the feature.
+     * @return its value.
+     */
+    private Boolean removeFlag(int slot) {
+        long mask = ~(1L << slot);
+        Boolean previous = Boolean.valueOf(isSet(this.truths, slot));
+        this.flags[slot >> 6] &= mask;
+        if (previous.booleanValue()) {
+            this.truths[slot >> 6] &= mask;
+        }
+        return previous;
+    }
+
+    /**
+     * The first slot from a slot on which has a value.
+     *
+     * @param from the slot to start from.
+     * @return the slot, or <code>-1</code> if there is none.
+     */
+    private int nextSlot(int from) {
+        int words = Math.max(this.bits.length, this.flags.length);
+        int word = from >> 6;
+        if (word >= words) {
+            return -1;
+        }
+        long current = (wordOf(this.bits, word) | wordOf(this.flags, word)) & (-1L << from);
+        while (current == 0) {
+            if (++word == words) {
+                return -1;
+            }
+            current = wordOf(this.bits, word) | wordOf(this.flags, word);
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(current);
+    }
+
+    /**
+     * A word of a bit set, zero beyond its end.
+     *
+     * @param set  the bit set.
+     * @param word the index of the word.
+     * @return the bits.
+     */
+    private static long wordOf(long[] set, int word) {
+        return word < set.length ? set[word] : 0L;
+    }
+
+    /**
+     * Tests a bit of a bit set.
+     *
+     * @param set  the bit set.
+     * @param slot the bit.
+     * @return <code>true</code> if the bit is set.
+     */
+    private static boolean isSet(long[] set, int slot) {
+        int word = slot >> 6;
+        return slot >= 0 && word < set.length && (set[word] & (1L << slot)) != 0;
+    }
+
+    /**
+     * Sets a bit of a bit set, growing it if needed.
+     *
+     * @param set  the bit set.
+     * @param slot the bit.
+     * @return the bit set, which may be a new array.
+     */
+    private static long[] set(long[] set, int slot) {
+        int word = slot >> 6;
+        if (word >= set.length) {
+            set = Arrays.copyOf(set, word + 1);
+        }
+        set[word] |= 1L << slot;
+        return set;
+    }
+
+    /**
+     * Compares two bit sets, ignoring trailing zero words.
+     *
+     * @param first  a bit set.
+     * @param second another bit set.
+     * @return <code>true</code> if the same bits are set.
+     */
+    private static boolean sameBits(long[] first, long[] second) {
+        int words = Math.max(first.length, second.length);
+        for (int word = 0; word < words; word++) {
+            if (wordOf(first, word) != wordOf(second, word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
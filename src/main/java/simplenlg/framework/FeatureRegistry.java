@@ -0,0 +1,226 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.framework;
+
+import simplenlg.features.Feature;
+import simplenlg.features.InternalFeature;
+import simplenlg.features.LexicalFeature;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * This class gives every feature name a small integer slot, which
+ * {@link FeatureMap} uses to store the features of an element in arrays
+ * rather than in a hash table. The names defined in {@link Feature},
+ * {@link InternalFeature}, {@link LexicalFeature} and the Spanish
+ * <code>LexicalFeature</code> are registered first, so they have the lowest
+ * slots; any other name is given the next free slot the first time a
+ * feature of that name is set.
+ * </p>
+ * <p>
+ * Slots are never reused, and the registry may be used by several threads.
+ * Names are looked up in an open addressing table which is replaced, rather
+ * than changed, when a name is added, so looking up a slot takes no lock and
+ * usually ends with an identity comparison, since most feature names are
+ * constants.
+ * </p>
+ *
+ * @version 4.0
+ */
+public final class FeatureRegistry {
+
+    /**
+     * Table from names to slots. The length of the arrays is a power of two,
+     * and at most half of the entries are used.
+     */
+    private static class Table {
+        final String[] keys;
+        final int[] slots;
+
+        Table(int capacity) {
+            this.keys = new String[capacity];
+            this.slots = new int[capacity];
+        }
+    }
+
+    /**
+     * The current table, replaced by a new one when a name is added.
+     */
+    private static volatile Table table = new Table(1024);
+
+    /**
+     * Names by slot, replaced by a longer copy when it is full.
+     */
+    private static volatile String[] names = new String[256];
+
+    /**
+     * Number of slots given out so far, guarded by the class lock.
+     */
+    private static int count = 0;
+
+    static {
+        registerConstants(Feature.class);
+        registerConstants(InternalFeature.class);
+        registerConstants(LexicalFeature.class);
+        registerConstants(simplenlg.features.spanish.LexicalFeature.class);
+    }
+
+    private FeatureRegistry() {
+    }
+
+    /**
+     * Retrieves the slot of a feature name, registering the name if it does
+     * not have one yet.
+     *
+     * @param featureName the name of the feature.
+     * @return the slot of the name.
+     */
+    public static int register(String featureName) {
+        int slot = getSlot(featureName);
+        return slot >= 0 ? slot : addName(featureName);
+    }
+
+    /**
+     * Retrieves the slot of a feature name without registering it.
+     *
+     * @param featureName the name of the feature.
+     * @return the slot of the name, or <code>-1</code> if it has none.
+     */
+    public static int getSlot(String featureName) {
+        Table current = table;
+        int mask = current.keys.length - 1;
+        int index = hash(featureName) & mask;
+        while (true) {
+            String key = current.keys[index];
+            if (key == null) {
+                return -1;
+            } else if (key == featureName || key.equals(featureName)) {
+                return current.slots[index];
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Retrieves the feature name of a slot.
+     *
+     * @param slot the slot.
+     * @return the name registered for the slot.
+     */
+    public static String getName(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Retrieves the number of names registered so far.
+     *
+     * @return the number of slots in use.
+     */
+    public static synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Gives a name the next free slot, unless another thread has just
+     * registered it. The name is stored before the slot is published, so a
+     * thread which finds the slot can always read the name.
+     *
+     * @param featureName the name of the feature.
+     * @return the slot of the name.
+     */
+    private static synchronized int addName(String featureName) {
+        int slot = getSlot(featureName);
+        if (slot >= 0) {
+            return slot;
+        }
+        String[] currentNames = names;
+        if (count == currentNames.length) {
+            currentNames = Arrays.copyOf(currentNames, currentNames.length * 2);
+        }
+        currentNames[count] = featureName;
+        names = currentNames;
+
+        // copy the table, twice as large if it would be more than half full
+        Table current = table;
+        int capacity = current.keys.length;
+        if ((count + 1) * 2 > capacity) {
+            capacity *= 2;
+        }
+        Table next = new Table(capacity);
+        for (int i = 0; i < count; i++) {
+            insert(next, currentNames[i], i);
+        }
+        insert(next, featureName, count);
+        table = next;
+        return count++;
+    }
+
+    /**
+     * Puts a name in a table which is not yet in use.
+     *
+     * @param into        the table.
+     * @param featureName the name of the feature.
+     * @param slot        the slot of the name.
+     */
+    private static void insert(Table into, String featureName, int slot) {
+        int mask = into.keys.length - 1;
+        int index = hash(featureName) & mask;
+        while (into.keys[index] != null) {
+            index = (index + 1) & mask;
+        }
+        into.keys[index] = featureName;
+        into.slots[index] = slot;
+    }
+
+    /**
+     * Spreads the hash code of a name over the low bits.
+     *
+     * @param featureName the name of the feature.
+     * @return the hash.
+     */
+    private static int hash(String featureName) {
+        int h = featureName.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Registers the values of the public <code>String</code> constants of a
+     * class of feature names, including those it inherits.
+     *
+     * @param constants the class defining the feature names.
+     */
+    private static void registerConstants(Class<?> constants) {
+        for (Field field : constants.getFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && field.getType() == String.class) {
+                try {
+                    String name = (String) field.get(null);
+                    if (name != null) {
+                        register(name);
+                    }
+                } catch (IllegalAccessException ex) {
+                    System.out.println("FeatureRegistry: " + ex.toString());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.framework;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A histogram of non-negative values, such as latencies in nanoseconds, which
+ * several threads may record into at once without locking. Values are counted
+ * in buckets whose width grows with the value: each power of two is split
+ * into eight buckets, so a percentile is accurate to within an eighth of its
+ * value whatever the range of the values, and the histogram takes a fixed
+ * few kilobytes.
+ * </p>
+ *
+ * @version 4.0
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        this.buckets.incrementAndGet(bucketOf(value));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(value);
+        long current = this.max.get();
+        while (value > current && !this.max.compareAndSet(current, value)) {
+            current = this.max.get();
+        }
+    }
+
+    /**
+     * @return the number of values recorded.
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * @return the sum of the values recorded.
+     */
+    public long getSum() {
+        return this.sum.get();
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if there is none.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @return the mean of the values recorded, or 0 if there is none.
+     */
+    public double getMean() {
+        long values = this.count.get();
+        return values == 0 ? 0.0 : (double) this.sum.get() / values;
+    }
+
+    /**
+     * Estimates a percentile of the values recorded.
+     *
+     * @param percentile the percentile, from 0 to 100.
+     * @return the estimated value, or 0 if there is none.
+     */
+    public long getPercentile(double percentile) {
+        long values = 0;
+        long[] counts = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = this.buckets.get(bucket);
+            values += counts[bucket];
+        }
+        if (values == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * values);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= Math.max(1, rank)) {
+                long middle = lowestValueOf(bucket) + (widthOf(bucket) - 1) / 2;
+                return Math.min(middle, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Forgets all the values recorded.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            this.buckets.set(bucket, 0);
+        }
+        this.count.set(0);
+        this.sum.set(0);
+        this.max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.0f p50=%d p90=%d p99=%d max=%d", getCount(), getMean(), //$NON-NLS-1$
+                getPercentile(50), getPercentile(90), getPercentile(99), getMax());
+    }
+
+    /**
+     * @return the bucket in which a value is counted.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return the lowest value counted in a bucket.
+     */
+    static long lowestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * @return the number of values counted in a bucket.
+     */
+    static long widthOf(int bucket) {
+        return bucket < SUB_BUCKETS ? 1 : 1L << (bucket / SUB_BUCKETS - 1);
+    }
+}
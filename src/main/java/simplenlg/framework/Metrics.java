@@ -0,0 +1,54 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.framework;
+
+/**
+ * <p>
+ * This interface receives measurements from the realisation pipeline, such as
+ * the time taken by each stage of a realisation, the number of elements each
+ * stage produced and the number of lexicon lookups. Measurements are named:
+ * a <em>count</em> is a running total and a <em>value</em> is one sample of a
+ * distribution, such as a latency in nanoseconds or a size in bytes.
+ * </p>
+ * <p>
+ * Implementations must allow several threads to record at the same time.
+ * {@link MetricsRegistry} keeps the measurements in memory and can publish
+ * them through JMX.
+ * </p>
+ *
+ * @version 4.0
+ */
+public interface Metrics {
+
+    /**
+     * Adds to a count.
+     *
+     * @param name  the name of the count.
+     * @param delta the amount to add.
+     */
+    void count(String name, long delta);
+
+    /**
+     * Records one value of a distribution.
+     *
+     * @param name  the name of the distribution.
+     * @param value the value, such as a latency in nanoseconds.
+     */
+    void record(String name, long value);
+}
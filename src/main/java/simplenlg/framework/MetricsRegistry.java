@@ -0,0 +1,200 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.framework;
+
+import simplenlg.lexicon.LexiconCache;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * This class keeps {@link Metrics} in memory: each count in an
+ * <code>AtomicLong</code> and each distribution in a {@link Histogram}. The
+ * measurements can be read directly, printed with {@link #toString()}, or
+ * published as a JMX MBean with {@link #registerMBean(String)}, where they can
+ * be watched with <code>jconsole</code> or any other JMX client. It only uses
+ * the Java platform, so no other library is needed.
+ * </p>
+ * <p>
+ * The hit, miss and eviction counts of lexicon caches can be added with
+ * {@link #addCache(String, LexiconCache)}; they are read from the cache
+ * whenever the counts are.
+ * </p>
+ *
+ * @version 4.0
+ */
+public class MetricsRegistry implements Metrics, MetricsRegistryMXBean {
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+    private final ConcurrentMap<String, LexiconCache<?, ?>> caches = new ConcurrentHashMap<String, LexiconCache<?, ?>>();
+
+    public void count(String name, long delta) {
+        AtomicLong counter = this.counters.get(name);
+        if (counter == null) {
+            AtomicLong added = new AtomicLong();
+            counter = this.counters.putIfAbsent(name, added);
+            if (counter == null) {
+                counter = added;
+            }
+        }
+        counter.addAndGet(delta);
+    }
+
+    public void record(String name, long value) {
+        Histogram histogram = this.histograms.get(name);
+        if (histogram == null) {
+            Histogram added = new Histogram();
+            histogram = this.histograms.putIfAbsent(name, added);
+            if (histogram == null) {
+                histogram = added;
+            }
+        }
+        histogram.record(value);
+    }
+
+    /**
+     * @param name the name of a count.
+     * @return the count, or 0 if nothing was counted under that name.
+     */
+    public long getCount(String name) {
+        AtomicLong counter = this.counters.get(name);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * @param name the name of a distribution.
+     * @return the histogram of the distribution, or <code>null</code> if
+     * nothing was recorded under that name.
+     */
+    public Histogram getHistogram(String name) {
+        return this.histograms.get(name);
+    }
+
+    /**
+     * Adds the hit, miss and eviction counts of a lexicon cache to the counts
+     * of this registry, as <code>name.hits</code>, <code>name.misses</code>
+     * and <code>name.evictions</code>.
+     *
+     * @param name  the name under which the cache is reported.
+     * @param cache the cache, such as the cache of a
+     *              <code>CachingLexicon</code>.
+     */
+    public void addCache(String name, LexiconCache<?, ?> cache) {
+        this.caches.put(name, cache);
+    }
+
+    public SortedMap<String, Long> getCounters() {
+        SortedMap<String, Long> result = new TreeMap<String, Long>();
+        for (Map.Entry<String, AtomicLong> entry : this.counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        for (Map.Entry<String, LexiconCache<?, ?>> entry : this.caches.entrySet()) {
+            LexiconCache<?, ?> cache = entry.getValue();
+            result.put(entry.getKey() + ".hits", cache.getHitCount()); //$NON-NLS-1$
+            result.put(entry.getKey() + ".misses", cache.getMissCount()); //$NON-NLS-1$
+            result.put(entry.getKey() + ".evictions", cache.getEvictionCount()); //$NON-NLS-1$
+        }
+        return result;
+    }
+
+    public SortedMap<String, Double> getStatistics() {
+        SortedMap<String, Double> result = new TreeMap<String, Double>();
+        for (Map.Entry<String, Histogram> entry : this.histograms.entrySet()) {
+            String name = entry.getKey();
+            Histogram histogram = entry.getValue();
+            result.put(name + ".count", (double) histogram.getCount()); //$NON-NLS-1$
+            result.put(name + ".mean", histogram.getMean()); //$NON-NLS-1$
+            result.put(name + ".p50", (double) histogram.getPercentile(50)); //$NON-NLS-1$
+            result.put(name + ".p90", (double) histogram.getPercentile(90)); //$NON-NLS-1$
+            result.put(name + ".p99", (double) histogram.getPercentile(99)); //$NON-NLS-1$
+            result.put(name + ".max", (double) histogram.getMax()); //$NON-NLS-1$
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (AtomicLong counter : this.counters.values()) {
+            counter.set(0);
+        }
+        for (Histogram histogram : this.histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Publishes this registry in the platform MBean server, under the name
+     * <code>simplenlg:type=Metrics,name=</code><i>name</i>.
+     *
+     * @param name the name of this registry, such as the name of the
+     *             application.
+     * @return the object name of the MBean, or <code>null</code> if it could
+     * not be registered.
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("simplenlg:type=Metrics,name=" + ObjectName.quote(name)); //$NON-NLS-1$
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (Exception ex) {
+            System.out.println("MetricsRegistry: " + ex.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Removes this registry from the platform MBean server.
+     *
+     * @param objectName the name returned by {@link #registerMBean(String)}.
+     */
+    public void unregisterMBean(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception ex) {
+            System.out.println("MetricsRegistry: " + ex.toString());
+        }
+    }
+
+    /**
+     * @return the counts and distributions, one per line.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Long> entry : getCounters().entrySet()) {
+            report.append(entry.getKey()).append(" = ").append(entry.getValue()).append('\n'); //$NON-NLS-1$
+        }
+        for (Map.Entry<String, Histogram> entry : new TreeMap<String, Histogram>(this.histograms).entrySet()) {
+            report.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n'); //$NON-NLS-1$
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.framework;
+
+import java.util.SortedMap;
+
+/**
+ * The management interface through which a {@link MetricsRegistry} is
+ * published in JMX, see {@link MetricsRegistry#registerMBean(String)}.
+ *
+ * @version 4.0
+ */
+public interface MetricsRegistryMXBean {
+
+    /**
+     * @return the counts, by name.
+     */
+    SortedMap<String, Long> getCounters();
+
+    /**
+     * @return the count, mean, median, 90th and 99th percentile and maximum of
+     * each distribution, named after the distribution with
+     * <code>.count</code>, <code>.mean</code>, <code>.p50</code>,
+     * <code>.p90</code>, <code>.p99</code> and <code>.max</code> added.
+     */
+    SortedMap<String, Double> getStatistics();
+
+    /**
+     * Sets all the counts and distributions back to zero.
+     */
+    void reset();
+}
@@ -43,18 +43,22 @@ import java.util.*;
  * <p>
  * <p>
  * The features are stored in a <code>Map</code> of <code>String</code> (the
- * feature name) and <code>Object</code> (the value of the feature).
+ * feature name) and <code>Object</code> (the value of the feature). The map
+ * is a {@link FeatureMap}, which keeps the features in arrays indexed by the
+ * slots of the {@link FeatureRegistry}. Copies of an element may share its
+ * feature map until either of them changes a feature, see
+ * {@link #shareFeatures(NLGElement)}.
  * </p>
  *
  * @author D. Westwater, University of Aberdeen.
  * @version 4.0
  */
-public abstract class NLGElement {
+public abstract class NLGElement implements Cloneable {
 
     /**
      * The features of this element.
      */
-    protected HashMap<String, Object> features = new HashMap<String, Object>();
+    protected FeatureMap features = new FeatureMap();
     /**
      * The category of this element.
      */
@@ -103,6 +107,7 @@ public abstract class NLGElement {
      */
     public void setFeature(String featureName, Object featureValue) {
         if (featureName != null) {
+            ownFeatures();
             if (featureValue == null) {
                 this.features.remove(featureName);
             } else {
@@ -115,14 +120,16 @@ public abstract class NLGElement {
     }
 
     /**
-     * A convenience method for setting boolean features.
+     * A convenience method for setting boolean features. The value is kept as
+     * a flag bit rather than a <code>Boolean</code> object.
      *
      * @param featureName  the name of the feature.
      * @param featureValue the <code>boolean</code> value of the feature.
      */
     public void setFeature(String featureName, boolean featureValue) {
         if (featureName != null) {
-            this.features.put(featureName, new Boolean(featureValue));
+            ownFeatures();
+            this.features.putBoolean(FeatureRegistry.register(featureName), featureValue);
         }
     }
 
@@ -134,7 +141,8 @@ public abstract class NLGElement {
      */
     public void setFeature(String featureName, int featureValue) {
         if (featureName != null) {
-            this.features.put(featureName, new Integer(featureValue));
+            ownFeatures();
+            this.features.put(featureName, Integer.valueOf(featureValue));
         }
     }
 
@@ -146,7 +154,8 @@ public abstract class NLGElement {
      */
     public void setFeature(String featureName, long featureValue) {
         if (featureName != null) {
-            this.features.put(featureName, new Long(featureValue));
+            ownFeatures();
+            this.features.put(featureName, Long.valueOf(featureValue));
         }
     }
 
@@ -158,7 +167,8 @@ public abstract class NLGElement {
      */
     public void setFeature(String featureName, float featureValue) {
         if (featureName != null) {
-            this.features.put(featureName, new Float(featureValue));
+            ownFeatures();
+            this.features.put(featureName, Float.valueOf(featureValue));
         }
     }
 
@@ -171,7 +181,8 @@ public abstract class NLGElement {
      */
     public void setFeature(String featureName, double featureValue) {
         if (featureName != null) {
-            this.features.put(featureName, new Double(featureValue));
+            ownFeatures();
+            this.features.put(featureName, Double.valueOf(featureValue));
         }
     }
 
@@ -323,10 +334,10 @@ public abstract class NLGElement {
         if (value instanceof Integer) {
             intValue = (Integer) value;
         } else if (value instanceof Number) {
-            intValue = new Integer(((Number) value).intValue());
+            intValue = Integer.valueOf(((Number) value).intValue());
         } else if (value instanceof String) {
             try {
-                intValue = new Integer((String) value);
+                intValue = Integer.valueOf((String) value);
             } catch (NumberFormatException exception) {
                 intValue = null;
             }
@@ -350,10 +361,10 @@ public abstract class NLGElement {
         if (value instanceof Long) {
             longValue = (Long) value;
         } else if (value instanceof Number) {
-            longValue = new Long(((Number) value).longValue());
+            longValue = Long.valueOf(((Number) value).longValue());
         } else if (value instanceof String) {
             try {
-                longValue = new Long((String) value);
+                longValue = Long.valueOf((String) value);
             } catch (NumberFormatException exception) {
                 longValue = null;
             }
@@ -377,10 +388,10 @@ public abstract class NLGElement {
         if (value instanceof Float) {
             floatValue = (Float) value;
         } else if (value instanceof Number) {
-            floatValue = new Float(((Number) value).floatValue());
+            floatValue = Float.valueOf(((Number) value).floatValue());
         } else if (value instanceof String) {
             try {
-                floatValue = new Float((String) value);
+                floatValue = Float.valueOf((String) value);
             } catch (NumberFormatException exception) {
                 floatValue = null;
             }
@@ -404,10 +415,10 @@ public abstract class NLGElement {
         if (value instanceof Double) {
             doubleValue = (Double) value;
         } else if (value instanceof Number) {
-            doubleValue = new Double(((Number) value).doubleValue());
+            doubleValue = Double.valueOf(((Number) value).doubleValue());
         } else if (value instanceof String) {
             try {
-                doubleValue = new Double((String) value);
+                doubleValue = Double.valueOf((String) value);
             } catch (NumberFormatException exception) {
                 doubleValue = null;
             }
@@ -435,6 +446,75 @@ public abstract class NLGElement {
         return boolValue;
     }
 
+    /**
+     * Retrieves the value of a boolean feature without creating any objects.
+     * This is the same as <code>getFeatureAsBoolean(featureName).booleanValue()</code>.
+     *
+     * @param featureName the name of the feature.
+     * @return <code>true</code> if the feature is set to <code>true</code>,
+     * otherwise <code>false</code>.
+     */
+    public boolean getBooleanFeature(String featureName) {
+        return featureName != null
+                && this.features.getBoolean(FeatureRegistry.getSlot(featureName));
+    }
+
+    /**
+     * Retrieves the value of a numeric feature as an <code>int</code>, without
+     * creating any objects. Unlike {@link #getFeatureAsInteger(String)},
+     * strings are not parsed.
+     *
+     * @param featureName  the name of the feature.
+     * @param defaultValue the value returned if the feature is not a number.
+     * @return the <code>int</code> value of the feature.
+     */
+    public int getIntFeature(String featureName, int defaultValue) {
+        Object value = getFeature(featureName);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    /**
+     * Retrieves the value of a numeric feature as a <code>long</code>, without
+     * creating any objects. Unlike {@link #getFeatureAsLong(String)}, strings
+     * are not parsed.
+     *
+     * @param featureName  the name of the feature.
+     * @param defaultValue the value returned if the feature is not a number.
+     * @return the <code>long</code> value of the feature.
+     */
+    public long getLongFeature(String featureName, long defaultValue) {
+        Object value = getFeature(featureName);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
+    /**
+     * Retrieves the value of a numeric feature as a <code>float</code>,
+     * without creating any objects. Unlike {@link #getFeatureAsFloat(String)},
+     * strings are not parsed.
+     *
+     * @param featureName  the name of the feature.
+     * @param defaultValue the value returned if the feature is not a number.
+     * @return the <code>float</code> value of the feature.
+     */
+    public float getFloatFeature(String featureName, float defaultValue) {
+        Object value = getFeature(featureName);
+        return value instanceof Number ? ((Number) value).floatValue() : defaultValue;
+    }
+
+    /**
+     * Retrieves the value of a numeric feature as a <code>double</code>,
+     * without creating any objects. Unlike {@link #getFeatureAsDouble(String)},
+     * strings are not parsed.
+     *
+     * @param featureName  the name of the feature.
+     * @param defaultValue the value returned if the feature is not a number.
+     * @return the <code>double</code> value of the feature.
+     */
+    public double getDoubleFeature(String featureName, double defaultValue) {
+        Object value = getFeature(featureName);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
     /**
      * Retrieves the value of the feature as a <code>NLGElement</code>. If the
      * value is a string then it is wrapped in a <code>StringElement</code>. If
@@ -457,12 +537,14 @@ public abstract class NLGElement {
     }
 
     /**
-     * Retrieves the map containing all the features for this element.
+     * Retrieves the map containing all the features for this element. The map
+     * is a live view of the features, and changing it changes the features of
+     * this element only, even while they are shared with a copy.
      *
      * @return a <code>Map</code> of <code>String</code>, <code>Object</code>.
      */
     public Map<String, Object> getAllFeatures() {
-        return this.features;
+        return new FeatureView();
     }
 
     /**
@@ -483,6 +565,7 @@ public abstract class NLGElement {
      * @param featureName the name of the feature to be removed.
      */
     public void removeFeature(String featureName) {
+        ownFeatures();
         this.features.remove(featureName);
     }
 
@@ -490,7 +573,232 @@ public abstract class NLGElement {
      * Deletes all the features in the map.
      */
     public void clearAllFeatures() {
-        this.features.clear();
+        if (this.features.isShared()) {
+            this.features = new FeatureMap();
+        } else {
+            this.features.clear();
+        }
+    }
+
+    /**
+     * Makes this element use the features of another element, without copying
+     * them. The feature map is shared by both elements until one of them
+     * changes a feature, at which point that element takes its own copy. This
+     * is used by lexicons to hand out cheap copies of their words.
+     * <p>
+     * Only the map is marked as shared, and only the first time, so any number
+     * of threads may copy the same lexicon word at once.
+     * </p>
+     *
+     * @param other the element whose features are shared.
+     */
+    protected void shareFeatures(NLGElement other) {
+        other.features.share();
+        this.features = other.features;
+    }
+
+    /**
+     * Takes a private copy of the feature map if it is shared, before a
+     * feature is changed.
+     */
+    private void ownFeatures() {
+        if (this.features.isShared()) {
+            this.features = new FeatureMap(this.features);
+        }
+    }
+
+    /**
+     * The features of an element as returned by {@link #getAllFeatures()}.
+     * Reads go to the current feature map of the element, and changes take a
+     * private copy of the map first if it is shared.
+     */
+    private class FeatureView extends AbstractMap<String, Object> {
+
+        @Override
+        public int size() {
+            return NLGElement.this.features.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return NLGElement.this.features.containsKey(key);
+        }
+
+        @Override
+        public Object get(Object key) {
+            return NLGElement.this.features.get(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            ownFeatures();
+            return NLGElement.this.features.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            ownFeatures();
+            return NLGElement.this.features.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            clearAllFeatures();
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    final Iterator<Map.Entry<String, Object>> entries = NLGElement.this.features.entrySet()
+                            .iterator();
+                    return new Iterator<Map.Entry<String, Object>>() {
+                        private String last = null;
+
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        public Map.Entry<String, Object> next() {
+                            Map.Entry<String, Object> entry = entries.next();
+                            this.last = entry.getKey();
+                            return new SimpleEntry<String, Object>(entry) {
+                                private static final long serialVersionUID = 1L;
+
+                                @Override
+                                public Object setValue(Object value) {
+                                    FeatureView.this.put(getKey(), value);
+                                    return super.setValue(value);
+                                }
+                            };
+                        }
+
+                        public void remove() {
+                            if (this.last == null) {
+                                throw new IllegalStateException();
+                            }
+                            FeatureView.this.remove(this.last);
+                            this.last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return NLGElement.this.features.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Creates a shallow copy of this element. The copy has the same category,
+     * parent, realisation and factory, and shares the feature map of this
+     * element until either of them changes a feature. Feature values are not
+     * copied, see {@link #deepCopy()} for that.
+     *
+     * @return a shallow copy of this element.
+     */
+    @Override
+    protected NLGElement clone() {
+        NLGElement copy;
+        try {
+            copy = (NLGElement) super.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new AssertionError(ex);
+        }
+        copy.shareFeatures(this);
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the whole tree rooted at this element. Every element
+     * that can be reached through the features of this element (components,
+     * heads, complements, modifiers, base words and so on) is copied once, and
+     * the copies refer to one another in the same way as the originals do.
+     * Parents are mapped onto their copies; a parent that is not part of the
+     * tree (such as the parent of this element) is kept as it is.
+     * <p>
+     * The copy shares feature maps with the original wherever no element has
+     * to be replaced, so copying is cheap. Realising the copy never changes
+     * the original, which is what a {@link simplenlg.realiser.Realiser} in
+     * non-destructive mode relies on.
+     * </p>
+     *
+     * @return a copy of the tree rooted at this element.
+     */
+    public NLGElement deepCopy() {
+        Map<NLGElement, NLGElement> copies = new IdentityHashMap<NLGElement, NLGElement>();
+        NLGElement copy = copyElement(this, copies);
+        for (NLGElement next : copies.values()) {
+            NLGElement parent = copies.get(next.parent);
+            if (parent != null) {
+                next.parent = parent;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Copies an element and, recursively, the elements in its features.
+     * Elements that have already been copied are taken from the map.
+     *
+     * @param element the element to be copied.
+     * @param copies  the copies made so far, keyed by original.
+     * @return the copy of the element.
+     */
+    private static NLGElement copyElement(NLGElement element, Map<NLGElement, NLGElement> copies) {
+        NLGElement copy = copies.get(element);
+        if (copy == null) {
+            copy = element.clone();
+            copies.put(element, copy);
+            FeatureMap copiedFeatures = null;
+            for (Map.Entry<String, Object> entry : element.features.entrySet()) {
+                Object value = entry.getValue();
+                Object copiedValue = copyValue(value, copies);
+                if (copiedValue != value) {
+                    if (copiedFeatures == null) {
+                        copiedFeatures = new FeatureMap(element.features);
+                    }
+                    copiedFeatures.put(entry.getKey(), copiedValue);
+                }
+            }
+            if (copiedFeatures != null) {
+                copy.features = copiedFeatures;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Copies a feature value if it is an element or a list holding elements.
+     * Any other value is returned as it is.
+     *
+     * @param value  the feature value.
+     * @param copies the copies made so far, keyed by original.
+     * @return the copied value, or the value itself if nothing was copied.
+     */
+    private static Object copyValue(Object value, Map<NLGElement, NLGElement> copies) {
+        if (value instanceof NLGElement) {
+            return copyElement((NLGElement) value, copies);
+        } else if (value instanceof List<?>) {
+            List<?> values = (List<?>) value;
+            List<Object> copiedValues = null;
+            for (int index = 0; index < values.size(); index++) {
+                Object next = values.get(index);
+                if (next instanceof NLGElement) {
+                    if (copiedValues == null) {
+                        copiedValues = new ArrayList<Object>(values);
+                    }
+                    copiedValues.set(index, copyElement((NLGElement) next, copies));
+                }
+            }
+            if (copiedValues != null) {
+                return copiedValues;
+            }
+        }
+        return value;
     }
 
     /**
@@ -592,10 +900,11 @@ public abstract class NLGElement {
      * Retrieves the set of features currently contained in the feature map.
      *
      * @return a <code>Set</code> of <code>String</code>s representing the
-     * feature names. The set is unordered.
+     * feature names. The set is unordered, and is a live view like the map of
+     * {@link #getAllFeatures()}.
      */
     public Set<String> getAllFeatureNames() {
-        return this.features.keySet();
+        return getAllFeatures().keySet();
     }
 
     public String printTree(String indent) {
@@ -60,6 +60,14 @@ public class WordElement extends NLGElement {
 			this.forms = new HashMap<String, String>();
 		}
 
+		/*
+		 * copy an existing set of inflected forms
+		 */
+		InflectionSet(InflectionSet other) {
+			this.infl = other.infl;
+			this.forms = new HashMap<String, String>(other.forms);
+		}
+
 		/*
 		 * set an inflectional form
 		 * 
@@ -87,7 +95,7 @@ public class WordElement extends NLGElement {
 
 	String id; // id in lexicon (may be null);
 
-	Map<Inflection, InflectionSet> inflVars; // the inflectional variants
+	InflectionalVariants inflVars; // the inflectional variants
 
 	Inflection defaultInfl; // the default inflectional variant
 
@@ -143,11 +151,15 @@ public class WordElement extends NLGElement {
 		this.baseForm = baseForm;
 		setCategory(category);
 		this.id = id;
-		this.inflVars = new HashMap<Inflection, InflectionSet>();
+		this.inflVars = new InflectionalVariants();
 	}
 	
 	/**
-	 * creates a duplicate WordElement from an existing WordElement
+	 * creates a duplicate WordElement from an existing WordElement. The
+	 * duplicate shares the features and inflectional variants of the existing
+	 * word until either of them is changed, so duplicating a word (as a
+	 * <code>Lexicon</code> does when a word is looked up) is cheap and
+	 * changes to the duplicate never reach the original.
 	 * 
 	 * @param currentWord
 	 *            - An existing WordElement
@@ -157,9 +169,10 @@ public class WordElement extends NLGElement {
 		this.baseForm = currentWord.getBaseForm();
 		setCategory(currentWord.getCategory());
 		this.id = currentWord.getId();
-		this.inflVars = currentWord.getInflectionalVariants();
+		this.inflVars = currentWord.inflVars;
+		this.inflVars.share();
 		this.defaultInfl = (Inflection) currentWord.getDefaultInflectionalVariant();
-		setFeatures(currentWord);
+		shareFeatures(currentWord);
 	}
 	
 	
@@ -313,6 +326,7 @@ public class WordElement extends NLGElement {
 	 */
 	public void addInflectionalVariant(Inflection infl, String lexicalFeature,
 			String form) {
+		ownInflectionalVariants();
 		if (this.inflVars.containsKey(infl)) {
 			this.inflVars.get(infl).addForm(lexicalFeature, form);
 		} else {
@@ -329,9 +343,54 @@ public class WordElement extends NLGElement {
 	 *            the variant
 	 */
 	public void addInflectionalVariant(Inflection infl) {
+		ownInflectionalVariants();
 		this.inflVars.put(infl, new InflectionSet(infl));
 	}
 
+	/**
+	 * creates a shallow copy of this word, which shares the features and
+	 * inflectional variants of this word until either of them is changed
+	 */
+	@Override
+	protected WordElement clone() {
+		WordElement copy = (WordElement) super.clone();
+		this.inflVars.share();
+		return copy;
+	}
+
+	/*
+	 * take a private copy of the inflectional variants if they are shared
+	 * with a copy of this word
+	 */
+	private void ownInflectionalVariants() {
+		if (this.inflVars.shared) {
+			InflectionalVariants copy = new InflectionalVariants();
+			for (Map.Entry<Inflection, InflectionSet> entry : this.inflVars.entrySet()) {
+				copy.put(entry.getKey(), new InflectionSet(entry.getValue()));
+			}
+			this.inflVars = copy;
+		}
+	}
+
+	/*
+	 * the inflectional variants of a word. Copies of the word share them until
+	 * one of the words adds a variant; once shared, they are never changed
+	 * again. The flag is only ever set, so words on different threads may
+	 * share the variants of a lexicon word.
+	 */
+	static class InflectionalVariants extends HashMap<Inflection, InflectionSet> {
+
+		private static final long serialVersionUID = 1L;
+
+		private volatile boolean shared = false;
+
+		void share() {
+			if (!this.shared) {
+				this.shared = true;
+			}
+		}
+	}
+
 	/**
 	 * Check whether this word has a particular inflectional variant
 	 * 
@@ -0,0 +1,533 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import simplenlg.features.Inflection;
+import simplenlg.framework.Language;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.WordElement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class reads words from a precompiled binary lexicon, which is memory
+ * mapped rather than loaded. The binary file is produced from an
+ * {@link XMLLexicon} by {@link #compile(XMLLexicon, File)} (or by
+ * {@link simplenlg.lexicon.util.BinaryLexiconCompiler}), and contains the
+ * words together with the base form, ID and variant indices, so that nothing
+ * is parsed or recomputed when the lexicon is opened.
+ * <p>
+ * Words are decoded from the mapped file on each lookup, so the heap only
+ * holds the words which are actually in use. As with <code>XMLLexicon</code>,
+ * every lookup returns a new <code>WordElement</code>.
+ * <p>
+ * The file layout is (all integers are big-endian, all offsets absolute):
+ * <OL>
+ * <LI>header: magic number, format version, language, number of words and
+ * the offsets of the base, variant and ID indices
+ * <LI>string table: each string is an int length followed by UTF-8 bytes
+ * <LI>word records: base, ID, category, default inflection, inflections and
+ * features
+ * <LI>indices: open addressing hash tables from key to the list of word
+ * records with that key
+ * </OL>
+ */
+public abstract class BinaryLexicon extends Lexicon {
+
+    // file format constants
+    private static final int MAGIC = 0x534E4C58; // "SNLX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 28;
+    private static final int NO_REF = -1;
+
+    // feature value types
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_ENUM = 3;
+
+    // enum classes used by feature values, resolved once
+    private static final Map<String, Class<?>> ENUM_CLASSES = new ConcurrentHashMap<String, Class<?>>();
+
+    private ByteBuffer buffer; // the mapped lexicon file
+    private int wordCount;
+    private int baseIndex;
+    private int variantIndex;
+    private int idIndex;
+
+    /**********************************************************************/
+    // constructors
+    /**********************************************************************/
+
+    /**
+     * Open a binary lexicon from a named file
+     *
+     * @param filename
+     * @param language
+     */
+    public BinaryLexicon(String filename, Language language) {
+        this(new File(filename), language);
+    }
+
+    /**
+     * Open a binary lexicon from a File. The lexicon must have been compiled
+     * from a lexicon of the same language.
+     *
+     * @param file
+     * @param language
+     */
+    public BinaryLexicon(File file, Language language) {
+        super(language);
+        try {
+            RandomAccessFile input = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = input.getChannel();
+                open(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } finally {
+                input.close(); // mapping stays valid after the channel is closed
+            }
+        } catch (Exception ex) {
+            System.out.println("Cannot open binary lexicon: " + ex.toString());
+        }
+    }
+
+    /**
+     * check the header and read the index offsets
+     *
+     * @param mapped
+     * @throws IOException
+     */
+    private void open(ByteBuffer mapped) throws IOException {
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION)
+            throw new IOException("not a binary lexicon, or wrong version");
+
+        String code = readString(mapped, mapped.getInt(8));
+        if (!getLanguage().isCode(code))
+            throw new IOException("lexicon language is " + code + ", expected " + getLanguage().code);
+
+        wordCount = mapped.getInt(12);
+        baseIndex = mapped.getInt(16);
+        variantIndex = mapped.getInt(20);
+        idIndex = mapped.getInt(24);
+        buffer = mapped;
+    }
+
+    /**
+     * @return number of words in this lexicon
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /******************************************************************************************/
+    // main methods to get data from lexicon
+    /******************************************************************************************/
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.Lexicon#getWords(java.lang.String,
+     * simplenlg.features.LexicalCategory)
+     */
+    @Override
+    public List<WordElement> getWords(String baseForm, LexicalCategory category) {
+        return getWordsFromIndex(baseForm, category, baseIndex);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.Lexicon#getWordsByID(java.lang.String)
+     */
+    @Override
+    public List<WordElement> getWordsByID(String id) {
+        return getWordsFromIndex(id, LexicalCategory.ANY, idIndex);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.Lexicon#getWordsFromVariant(java.lang.String,
+     * simplenlg.features.LexicalCategory)
+     */
+    @Override
+    public List<WordElement> getWordsFromVariant(String variant,
+                                                 LexicalCategory category) {
+        return getWordsFromIndex(variant, category, variantIndex);
+    }
+
+    /**
+     * get matching words from one of the indices in the file
+     *
+     * @param key
+     * @param category
+     * @param index    - offset of the index
+     * @return
+     */
+    private List<WordElement> getWordsFromIndex(String key, LexicalCategory category, int index) {
+        List<WordElement> result = new ArrayList<WordElement>();
+        ByteBuffer buf = this.buffer;
+        if (buf == null || key == null)
+            return result;
+
+        int postings = findPostings(buf, key, index);
+        if (postings == NO_REF)
+            return result;
+
+        int count = buf.getInt(postings);
+        for (int i = 0; i < count; i++) {
+            int record = buf.getInt(postings + 4 + 4 * i);
+            // category is checked before the word is decoded
+            if (category == LexicalCategory.ANY
+                    || category.name().equals(readString(buf, buf.getInt(record + 8))))
+                result.add(readWord(buf, record));
+        }
+        return result;
+    }
+
+    /**
+     * look up a key in an index
+     *
+     * @return offset of the postings list for the key, or NO_REF
+     */
+    private static int findPostings(ByteBuffer buf, String key, int index) {
+        byte[] keyBytes = utf8(key);
+        int capacity = buf.getInt(index);
+        int slot = hash(key) & (capacity - 1);
+
+        while (true) {
+            int entry = index + 4 + 8 * slot;
+            int keyRef = buf.getInt(entry);
+            if (keyRef == NO_REF)
+                return NO_REF;
+            if (stringEquals(buf, keyRef, keyBytes))
+                return buf.getInt(entry + 4);
+            slot = (slot + 1) & (capacity - 1);
+        }
+    }
+
+    /**
+     * decode a word record
+     */
+    private static WordElement readWord(ByteBuffer buf, int record) {
+        String base = readString(buf, buf.getInt(record));
+        String id = readString(buf, buf.getInt(record + 4));
+        LexicalCategory category = LexicalCategory.valueOf(readString(buf, buf.getInt(record + 8)));
+        String defaultInfl = readString(buf, buf.getInt(record + 12));
+
+        WordElement word = new WordElement(base, category, id);
+
+        int pos = record + 16;
+        int featureCount = buf.getInt(pos);
+        pos += 4;
+        for (int i = 0; i < featureCount; i++) {
+            String feature = readString(buf, buf.getInt(pos));
+            byte type = buf.get(pos + 4);
+            int value = buf.getInt(pos + 5);
+            pos += 9;
+
+            switch (type) {
+                case TYPE_STRING:
+                    word.setFeature(feature, readString(buf, value));
+                    break;
+                case TYPE_BOOLEAN:
+                    word.setFeature(feature, value != 0);
+                    break;
+                case TYPE_INTEGER:
+                    word.setFeature(feature, value);
+                    break;
+                case TYPE_ENUM:
+                    word.setFeature(feature, readEnum(readString(buf, value), readString(buf, buf.getInt(pos))));
+                    pos += 4;
+                    break;
+            }
+        }
+
+        // as in XMLLexicon, the default is set before the variants are added
+        if (defaultInfl != null)
+            word.setDefaultInflectionalVariant(Inflection.valueOf(defaultInfl));
+        int inflCount = buf.getInt(pos);
+        pos += 4;
+        for (int i = 0; i < inflCount; i++) {
+            word.addInflectionalVariant(Inflection.valueOf(readString(buf, buf.getInt(pos))));
+            pos += 4;
+        }
+
+        return word;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readEnum(String className, String name) {
+        Class<?> enumClass = ENUM_CLASSES.get(className);
+        if (enumClass == null) {
+            try {
+                enumClass = Class.forName(className);
+            } catch (ClassNotFoundException ex) {
+                return name;
+            }
+            ENUM_CLASSES.put(className, enumClass);
+        }
+        return Enum.valueOf((Class<Enum>) enumClass, name);
+    }
+
+    /**
+     * read a string from the string table
+     */
+    private static String readString(ByteBuffer buf, int ref) {
+        if (ref == NO_REF)
+            return null;
+        byte[] bytes = new byte[buf.getInt(ref)];
+        ByteBuffer view = buf.duplicate();
+        view.position(ref + 4);
+        view.get(bytes);
+        try {
+            return new String(bytes, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * compare a string in the string table with encoded key, without decoding
+     */
+    private static boolean stringEquals(ByteBuffer buf, int ref, byte[] key) {
+        if (buf.getInt(ref) != key.length)
+            return false;
+        for (int i = 0; i < key.length; i++) {
+            if (buf.get(ref + 4 + i) != key[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static byte[] utf8(String s) {
+        try {
+            return s.getBytes("UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /******************************************************************************************/
+    // compiling a lexicon
+    /******************************************************************************************/
+
+    /**
+     * write an XML lexicon, including its indices, to a binary lexicon file
+     *
+     * @param lexicon - the lexicon to compile
+     * @param file    - the binary file to write
+     * @throws IOException
+     */
+    public static void compile(XMLLexicon lexicon, File file) throws IOException {
+        Writer writer = new Writer();
+        byte[] bytes = writer.write(lexicon);
+        FileOutputStream output = new FileOutputStream(file);
+        try {
+            output.write(bytes);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * lays out a lexicon in the binary format
+     */
+    private static class Writer {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+        private final Map<WordElement, Integer> records = new IdentityHashMap<WordElement, Integer>();
+
+        byte[] write(XMLLexicon lexicon) throws IOException {
+            out.write(new byte[HEADER_SIZE]);
+            int language = ref(lexicon.getLanguage().code);
+
+            for (WordElement word : lexicon.getAllWords())
+                addStrings(word);
+            for (String key : lexicon.getBaseIndex().keySet())
+                ref(key);
+            for (String key : lexicon.getVariantIndex().keySet())
+                ref(key);
+            for (String key : lexicon.getIDIndex().keySet())
+                ref(key);
+
+            for (WordElement word : lexicon.getAllWords())
+                writeWord(word);
+            // special cases may index words which are not in the word set
+            writeIndexedWords(lexicon.getBaseIndex());
+            writeIndexedWords(lexicon.getVariantIndex());
+
+            int base = writeIndex(lexicon.getBaseIndex());
+            int variant = writeIndex(lexicon.getVariantIndex());
+            Map<String, List<WordElement>> ids = new HashMap<String, List<WordElement>>();
+            for (Map.Entry<String, WordElement> entry : lexicon.getIDIndex().entrySet())
+                ids.put(entry.getKey(), Collections.singletonList(entry.getValue()));
+            int id = writeIndex(ids);
+
+            out.flush();
+            ByteBuffer result = ByteBuffer.wrap(bytes.toByteArray());
+            result.putInt(0, MAGIC);
+            result.putInt(4, VERSION);
+            result.putInt(8, language);
+            result.putInt(12, lexicon.getAllWords().size());
+            result.putInt(16, base);
+            result.putInt(20, variant);
+            result.putInt(24, id);
+            return result.array();
+        }
+
+        /**
+         * add a string to the string table if not already there
+         *
+         * @return offset of the string
+         */
+        private int ref(String s) throws IOException {
+            if (s == null)
+                return NO_REF;
+            Integer offset = strings.get(s);
+            if (offset == null) {
+                offset = out.size();
+                byte[] encoded = utf8(s);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+                strings.put(s, offset);
+            }
+            return offset;
+        }
+
+        private void addStrings(WordElement word) throws IOException {
+            ref(word.getBaseForm());
+            ref(word.getId());
+            ref(((LexicalCategory) word.getCategory()).name());
+            for (String feature : word.getAllFeatureNames()) {
+                ref(feature);
+                Object value = word.getFeature(feature);
+                if (value instanceof Enum<?>) {
+                    ref(((Enum<?>) value).getDeclaringClass().getName());
+                    ref(((Enum<?>) value).name());
+                } else if (!(value instanceof Boolean || value instanceof Integer)) {
+                    ref(value.toString());
+                }
+            }
+            for (Inflection infl : word.getInflectionalVariants().keySet())
+                ref(infl.name());
+        }
+
+        private void writeWord(WordElement word) throws IOException {
+            records.put(word, out.size());
+            Object defaultInfl = word.getDefaultInflectionalVariant();
+
+            out.writeInt(ref(word.getBaseForm()));
+            out.writeInt(ref(word.getId()));
+            out.writeInt(ref(((LexicalCategory) word.getCategory()).name()));
+            out.writeInt(defaultInfl == null ? NO_REF : ref(((Inflection) defaultInfl).name()));
+
+            Set<String> features = word.getAllFeatureNames();
+            out.writeInt(features.size());
+            for (String feature : features) {
+                Object value = word.getFeature(feature);
+                out.writeInt(ref(feature));
+                if (value instanceof Boolean) {
+                    out.writeByte(TYPE_BOOLEAN);
+                    out.writeInt(((Boolean) value).booleanValue() ? 1 : 0);
+                } else if (value instanceof Integer) {
+                    out.writeByte(TYPE_INTEGER);
+                    out.writeInt(((Integer) value).intValue());
+                } else if (value instanceof Enum<?>) {
+                    out.writeByte(TYPE_ENUM);
+                    out.writeInt(ref(((Enum<?>) value).getDeclaringClass().getName()));
+                    out.writeInt(ref(((Enum<?>) value).name()));
+                } else {
+                    out.writeByte(TYPE_STRING);
+                    out.writeInt(ref(value.toString()));
+                }
+            }
+
+            Set<Inflection> inflections = word.getInflectionalVariants().keySet();
+            out.writeInt(inflections.size());
+            for (Inflection infl : inflections)
+                out.writeInt(ref(infl.name()));
+        }
+
+        private void writeIndexedWords(Map<String, List<WordElement>> index) throws IOException {
+            for (List<WordElement> indexed : index.values()) {
+                for (WordElement word : indexed) {
+                    if (!records.containsKey(word)) {
+                        addStrings(word);
+                        writeWord(word);
+                    }
+                }
+            }
+        }
+
+        /**
+         * write an index as an open addressing hash table, with a load factor
+         * of at most 0.5, followed by the postings lists
+         *
+         * @return offset of the index
+         */
+        private int writeIndex(Map<String, List<WordElement>> index) throws IOException {
+            int capacity = 2;
+            while (capacity < index.size() * 2)
+                capacity <<= 1;
+
+            int[] keys = new int[capacity];
+            int[] postings = new int[capacity];
+            Arrays.fill(keys, NO_REF);
+
+            // postings lists go first, then the table which points to them
+            for (Map.Entry<String, List<WordElement>> entry : index.entrySet()) {
+                int slot = hash(entry.getKey()) & (capacity - 1);
+                while (keys[slot] != NO_REF)
+                    slot = (slot + 1) & (capacity - 1);
+
+                keys[slot] = ref(entry.getKey());
+                postings[slot] = out.size();
+                out.writeInt(entry.getValue().size());
+                for (WordElement word : entry.getValue())
+                    out.writeInt(records.get(word));
+            }
+
+            int offset = out.size();
+            out.writeInt(capacity);
+            for (int i = 0; i < capacity; i++) {
+                out.writeInt(keys[i]);
+                out.writeInt(postings[i]);
+            }
+            return offset;
+        }
+    }
+}
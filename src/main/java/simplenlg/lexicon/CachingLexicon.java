@@ -0,0 +1,269 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import simplenlg.features.InterrogativeType;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.WordElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class puts a size-bounded cache in front of another lexicon, so that
+ * repeated lookups do not go back to the underlying lexicon. This is mostly
+ * useful for lexicons where each query is expensive, such as
+ * <code>NIHDBLexicon</code>, where each query is a database call made under
+ * a lock.
+ * <p>
+ * The results of <code>getWords</code>, <code>getWordsFromVariant</code>,
+ * <code>getWordsByID</code> and <code>lookupWord</code> are cached, the last
+ * so that any special handling in the underlying lexicon's
+ * <code>lookupWord</code> (such as pronoun features) is kept. Callers get
+ * copies of the cached words, which they may change freely.
+ * <p>
+ * The cache is a {@link ClockLexiconCache} by default, but any
+ * {@link LexiconCache} can be given.
+ */
+public class CachingLexicon extends Lexicon {
+
+    /**
+     * default maximum number of cached queries
+     */
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
+    // the lexicon whose queries are cached
+    private final Lexicon lexicon;
+
+    // cached query results, keyed by Query
+    private final LexiconCache<Object, List<WordElement>> cache;
+
+    /**********************************************************************/
+    // constructors
+    /**********************************************************************/
+
+    /**
+     * cache queries to a lexicon, with the default cache size
+     *
+     * @param lexicon
+     */
+    public CachingLexicon(Lexicon lexicon) {
+        this(lexicon, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * cache queries to a lexicon, with the specified maximum cache size
+     *
+     * @param lexicon
+     * @param cacheSize
+     */
+    public CachingLexicon(Lexicon lexicon, int cacheSize) {
+        this(lexicon, new ClockLexiconCache<Object, List<WordElement>>(cacheSize));
+    }
+
+    /**
+     * cache queries to a lexicon in the specified cache. The keys of the
+     * cache are query objects made by this lexicon.
+     *
+     * @param lexicon
+     * @param cache
+     */
+    public CachingLexicon(Lexicon lexicon, LexiconCache<Object, List<WordElement>> cache) {
+        super(lexicon.getLanguage());
+        this.lexicon = lexicon;
+        this.cache = cache;
+        this.PLURAL_COORDINATORS.addAll(lexicon.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * @return the lexicon whose queries are cached
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+    /**
+     * @return the cache, which also holds the hit, miss and eviction counts
+     */
+    public LexiconCache<Object, List<WordElement>> getCache() {
+        return cache;
+    }
+
+    /**********************************************************************/
+    // main methods
+    /**********************************************************************/
+
+	/* (non-Javadoc)
+	 * @see simplenlg.lexicon.Lexicon#getWords(java.lang.String, simplenlg.framework.LexicalCategory)
+	 */
+    @Override
+    public List<WordElement> getWords(String baseForm, LexicalCategory category) {
+        Query key = new Query(Query.BASE, category, baseForm);
+        List<WordElement> words = cache.get(key);
+        if (words == null) {
+            words = store(key, lexicon.getWords(baseForm, category));
+            if (words == null)
+                return null;
+        }
+        return copy(words);
+    }
+
+    /* (non-Javadoc)
+     * @see simplenlg.lexicon.Lexicon#getWordsByID(java.lang.String)
+     */
+    @Override
+    public List<WordElement> getWordsByID(String id) {
+        Query key = new Query(Query.ID, null, id);
+        List<WordElement> words = cache.get(key);
+        if (words == null) {
+            words = store(key, lexicon.getWordsByID(id));
+            if (words == null)
+                return null;
+        }
+        return copy(words);
+    }
+
+    /* (non-Javadoc)
+     * @see simplenlg.lexicon.Lexicon#getWordsFromVariant(java.lang.String, simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public List<WordElement> getWordsFromVariant(String variant, LexicalCategory category) {
+        Query key = new Query(Query.VARIANT, category, variant);
+        List<WordElement> words = cache.get(key);
+        if (words == null) {
+            words = store(key, lexicon.getWordsFromVariant(variant, category));
+            if (words == null)
+                return null;
+        }
+        return copy(words);
+    }
+
+    /* (non-Javadoc)
+     * @see simplenlg.lexicon.Lexicon#lookupWord(java.lang.String, simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public WordElement lookupWord(String baseForm, LexicalCategory category) {
+        Query key = new Query(Query.LOOKUP, category, baseForm);
+        List<WordElement> words = cache.get(key);
+        if (words == null) {
+            words = store(key, Collections.singletonList(lexicon.lookupWord(baseForm, category)));
+        }
+        return new WordElement(words.get(0));
+    }
+
+    /**
+     * add a query result to the cache
+     *
+     * @param key
+     * @param words - result from the underlying lexicon (may be null if the
+     *              query failed, in which case nothing is cached)
+     * @return the cached words
+     */
+    private List<WordElement> store(Query key, List<WordElement> words) {
+        if (words != null)
+            cache.put(key, Collections.unmodifiableList(new ArrayList<WordElement>(words)));
+        return words;
+    }
+
+    /**
+     * copy cached words, so that callers cannot change the cache. The copies
+     * share features with the cached words until they are changed.
+     *
+     * @param words
+     * @return
+     */
+    private List<WordElement> copy(List<WordElement> words) {
+        List<WordElement> result = new ArrayList<WordElement>(words.size());
+        for (WordElement word : words)
+            result.add(new WordElement(word));
+        return result;
+    }
+
+    /**
+     * the key of a cached query: its kind, category and form. Making one
+     * costs a small object, and hashing it reuses the hash code of the form,
+     * so a hit does not build a string.
+     */
+    private static final class Query {
+        static final int BASE = 0;
+        static final int VARIANT = 1;
+        static final int ID = 2;
+        static final int LOOKUP = 3;
+
+        final int kind;
+        final LexicalCategory category;
+        final String form;
+
+        Query(int kind, LexicalCategory category, String form) {
+            this.kind = kind;
+            this.category = category;
+            this.form = form;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = this.form == null ? 0 : this.form.hashCode();
+            hash = hash * 31 + (this.category == null ? 0 : this.category.ordinal());
+            return hash * 4 + this.kind;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Query))
+                return false;
+            Query other = (Query) o;
+            return this.kind == other.kind && this.category == other.category
+                    && (this.form == null ? other.form == null : this.form.equals(other.form));
+        }
+    }
+
+    /**********************************************************************/
+    // other methods
+    /**********************************************************************/
+
+	/* (non-Javadoc)
+	 * @see simplenlg.lexicon.Lexicon#close()
+	 */
+    @Override
+    public void close() {
+        cache.clear();
+        lexicon.close();
+    }
+
+    @Override
+    public WordElement getAdditionCoordConjunction() {
+        return lexicon.getAdditionCoordConjunction();
+    }
+
+    @Override
+    public WordElement getDefaultComplementiser() {
+        return lexicon.getDefaultComplementiser();
+    }
+
+    @Override
+    public WordElement getPassivePreposition() {
+        return lexicon.getPassivePreposition();
+    }
+
+    @Override
+    public String getInterrogativeTypeString(InterrogativeType type) {
+        return lexicon.getInterrogativeTypeString(type);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link LexiconCache} which evicts with the CLOCK (second chance)
+ * approximation of least-recently-used. Values are held in a
+ * <code>ConcurrentHashMap</code>, and a hit only reads the map and marks the
+ * entry as recently used, so lookups from many threads never wait for each
+ * other; the hit and miss counts are {@link StripedCounter}s, so counting does
+ * not make the threads contend either. Adding a value takes a lock, which is
+ * only held while the clock hand looks for an entry to evict.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class ClockLexiconCache<K, V> implements LexiconCache<K, V> {
+
+    /**
+     * cache entry. The referenced flag is set on every hit and cleared when
+     * the clock hand passes the entry; entries whose flag is clear are
+     * evicted.
+     */
+    private static class Entry<K, V> {
+        final K key;
+        final V value;
+        volatile boolean referenced;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Entry<K, V>> map;
+
+    // clock ring and hand, guarded by lock
+    private final List<Entry<K, V>> ring;
+    private final int maximumSize;
+    private int hand = 0;
+    private final Object lock = new Object();
+
+    private final StripedCounter hits = new StripedCounter();
+    private final StripedCounter misses = new StripedCounter();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * create a cache holding at most the specified number of values
+     *
+     * @param maximumSize
+     */
+    public ClockLexiconCache(int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("Cache size must be positive: " + maximumSize);
+        this.map = new ConcurrentHashMap<K, Entry<K, V>>(maximumSize * 4 / 3 + 1);
+        this.ring = new ArrayList<Entry<K, V>>(maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.LexiconCache#get(java.lang.Object)
+     */
+    @Override
+    public V get(K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        // avoid writing to the entry if it is already marked
+        if (!entry.referenced)
+            entry.referenced = true;
+        hits.increment();
+        return entry.value;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.LexiconCache#put(java.lang.Object,
+     * java.lang.Object)
+     */
+    @Override
+    public void put(K key, V value) {
+        if (value == null)
+            throw new NullPointerException("Cannot cache null value");
+        synchronized (lock) {
+            // another thread may have added the value since our miss
+            if (map.containsKey(key))
+                return;
+
+            Entry<K, V> entry = new Entry<K, V>(key, value);
+            if (ring.size() < maximumSize) {
+                ring.add(entry);
+            } else {
+                // advance the hand past recently used entries, giving each
+                // a second chance
+                while (ring.get(hand).referenced) {
+                    ring.get(hand).referenced = false;
+                    hand = (hand + 1) % maximumSize;
+                }
+                map.remove(ring.get(hand).key);
+                evictions.incrementAndGet();
+                ring.set(hand, entry);
+                hand = (hand + 1) % maximumSize;
+            }
+            map.put(key, entry);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.LexiconCache#clear()
+     */
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            map.clear();
+            ring.clear();
+            hand = 0;
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ClockLexiconCache[size=" + size() + "/" + getMaximumSize() //$NON-NLS-1$ //$NON-NLS-2$
+                + ", hits=" + getHitCount() + ", misses=" + getMissCount() //$NON-NLS-1$ //$NON-NLS-2$
+                + ", evictions=" + getEvictionCount() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
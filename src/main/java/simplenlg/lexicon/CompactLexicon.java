@@ -0,0 +1,367 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import simplenlg.features.InterrogativeType;
+import simplenlg.framework.Language;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.WordElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class is an in-memory lexicon imported in bulk from another lexicon,
+ * usually the whole of an <code>NIHDBLexicon</code>, so that realisation does
+ * not need the database. The words are held in one array, and the base form,
+ * variant and ID indices are open-addressing hash tables which map each key
+ * to a run of word numbers in an <code>int</code> array, so that the indices
+ * need a few objects per key rather than a list per key.
+ * <p>
+ * Like the English lexicons, the compact lexicon adds pronoun features in
+ * <code>lookupWord</code>, and uses English words for conjunctions,
+ * complementisers and interrogatives, so only English lexicons can be
+ * imported.
+ */
+public class CompactLexicon extends Lexicon {
+
+    // all words, numbered by their position
+    private final WordElement[] words;
+
+    // indices from base form, variant and ID to word numbers
+    private final Index baseIndex;
+    private final Index variantIndex;
+    private final Index idIndex;
+
+    /**********************************************************************/
+    // constructors
+    /**********************************************************************/
+
+    /**
+     * build a compact lexicon from the indices of another lexicon. Words are
+     * identified by reference, so a word under several keys is stored once.
+     *
+     * @param language
+     * @param base     - words by base form
+     * @param variants - words by variant (including base form)
+     * @param ids      - words by ID
+     */
+    CompactLexicon(Language language, Map<String, List<WordElement>> base,
+                   Map<String, List<WordElement>> variants, Map<String, WordElement> ids) {
+        super(language);
+        if (getLanguage() != Language.ENGLISH)
+            throw new IllegalArgumentException("CompactLexicon only supports English lexicons, not " + getLanguage());
+        this.PLURAL_COORDINATORS.add("and");
+        Map<WordElement, Integer> numbers = new IdentityHashMap<WordElement, Integer>();
+        List<WordElement> all = new ArrayList<WordElement>();
+        baseIndex = new Index(base, numbers, all);
+        variantIndex = new Index(variants, numbers, all);
+
+        Map<String, List<WordElement>> idLists = new HashMap<String, List<WordElement>>();
+        for (Map.Entry<String, WordElement> entry : ids.entrySet()) {
+            List<WordElement> list = new ArrayList<WordElement>(1);
+            list.add(entry.getValue());
+            idLists.put(entry.getKey(), list);
+        }
+        idIndex = new Index(idLists, numbers, all);
+        words = all.toArray(new WordElement[all.size()]);
+    }
+
+    /**
+     * import every word of an NIH lexicon, with its inflected forms and
+     * spelling variants. This reads the whole database, which takes a while.
+     *
+     * @param lexicon
+     * @return the compact lexicon
+     */
+    public static CompactLexicon importLexicon(NIHDBLexicon lexicon) {
+        final Map<String, List<WordElement>> base = new HashMap<String, List<WordElement>>();
+        final Map<String, List<WordElement>> variants = new HashMap<String, List<WordElement>>();
+        final Map<String, WordElement> ids = new HashMap<String, WordElement>();
+
+        lexicon.exportWords(new NIHDBLexicon.WordHandler() {
+            public void handleWord(WordElement word, Set<String> wordVariants) {
+                addToIndex(base, word.getBaseForm(), word);
+                for (String variant : wordVariants)
+                    addToIndex(variants, variant, word);
+                if (word.getId() != null && !ids.containsKey(word.getId()))
+                    ids.put(word.getId(), word);
+            }
+        });
+        return new CompactLexicon(lexicon.getLanguage(), base, variants, ids);
+    }
+
+    /**
+     * import every word of an XML lexicon
+     *
+     * @param lexicon - an English lexicon
+     * @return the compact lexicon
+     * @throws IllegalArgumentException if the lexicon is not English
+     */
+    public static CompactLexicon importLexicon(XMLLexicon lexicon) {
+        return new CompactLexicon(lexicon.getLanguage(), lexicon.getBaseIndex(),
+                lexicon.getVariantIndex(), lexicon.getIDIndex());
+    }
+
+    private static void addToIndex(Map<String, List<WordElement>> index, String key, WordElement word) {
+        if (key == null)
+            return;
+        List<WordElement> list = index.get(key);
+        if (list == null) {
+            list = new ArrayList<WordElement>(1);
+            index.put(key, list);
+        }
+        list.add(word);
+    }
+
+    /**
+     * @return the number of words in the lexicon
+     */
+    public int size() {
+        return words.length;
+    }
+
+    /**********************************************************************/
+    // main methods
+    /**********************************************************************/
+
+	/* (non-Javadoc)
+	 * @see simplenlg.lexicon.Lexicon#getWords(java.lang.String, simplenlg.framework.LexicalCategory)
+	 */
+    @Override
+    public List<WordElement> getWords(String baseForm, LexicalCategory category) {
+        return getWordsFromIndex(baseForm, category, baseIndex);
+    }
+
+    /* (non-Javadoc)
+     * @see simplenlg.lexicon.Lexicon#getWordsByID(java.lang.String)
+     */
+    @Override
+    public List<WordElement> getWordsByID(String id) {
+        return getWordsFromIndex(id, LexicalCategory.ANY, idIndex);
+    }
+
+    /* (non-Javadoc)
+     * @see simplenlg.lexicon.Lexicon#getWordsFromVariant(java.lang.String, simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public List<WordElement> getWordsFromVariant(String variant, LexicalCategory category) {
+        return getWordsFromIndex(variant, category, variantIndex);
+    }
+
+    @Override
+    public boolean hasWord(String baseForm, LexicalCategory category) {
+        return firstInCategory(baseForm, category, baseIndex) >= 0;
+    }
+
+    @Override
+    public boolean hasWordFromVariant(String variant, LexicalCategory category) {
+        return firstInCategory(variant, category, variantIndex) >= 0;
+    }
+
+    @Override
+    public boolean hasWordByID(String id) {
+        return idIndex.find(id) >= 0;
+    }
+
+    /**
+     * Resolve a word form with one probe of each index, as
+     * {@link XMLLexicon#resolveWord(String, LexicalCategory)} does.
+     *
+     * @see simplenlg.lexicon.Lexicon#resolveWord(java.lang.String, simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public WordLookup resolveWord(String form, LexicalCategory category) {
+        int first = firstInCategory(form, category, baseIndex);
+        if (first >= 0)
+            return new WordLookup(new WordElement(words[first]), WordLookup.Source.BASE);
+
+        first = firstInCategory(form, category, variantIndex);
+        if (first >= 0) {
+            // prefer an exact match in base form, as selectMatchingWord does
+            int postings = variantIndex.find(form);
+            int count = variantIndex.postings[postings];
+            for (int i = 1; i <= count; i++) {
+                WordElement word = words[variantIndex.postings[postings + i]];
+                if ((category == LexicalCategory.ANY || word.getCategory() == category)
+                        && word.getBaseForm().equals(form))
+                    return new WordLookup(new WordElement(word), WordLookup.Source.VARIANT);
+            }
+            if (words[first].getBaseForm().equalsIgnoreCase(form))
+                return new WordLookup(createWord(form, LexicalCategory.ANY), WordLookup.Source.VARIANT);
+            return new WordLookup(new WordElement(words[first]), WordLookup.Source.VARIANT);
+        }
+
+        int postings = idIndex.find(form);
+        if (postings >= 0)
+            return new WordLookup(new WordElement(words[idIndex.postings[postings + 1]]), WordLookup.Source.ID);
+        return new WordLookup(createWord(form, category), WordLookup.Source.CREATED);
+    }
+
+    /* (non-Javadoc)
+     * @see simplenlg.lexicon.Lexicon#lookupWord(java.lang.String, simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public WordElement lookupWord(String baseForm, LexicalCategory category) {
+        WordElement wordElement = super.lookupWord(baseForm, category);
+        if (NIHDBLexicon.PRONOUNS.contains(baseForm)) {
+            NIHDBLexicon.setPronounFeatures(wordElement, baseForm);
+        }
+        return wordElement;
+    }
+
+    /**
+     * copies of the words of a category under a key of an index
+     *
+     * @param key
+     * @param category
+     * @param index
+     * @return
+     */
+    private List<WordElement> getWordsFromIndex(String key, LexicalCategory category, Index index) {
+        List<WordElement> result = new ArrayList<WordElement>();
+        int postings = index.find(key);
+        if (postings >= 0) {
+            int count = index.postings[postings];
+            for (int i = 1; i <= count; i++) {
+                WordElement word = words[index.postings[postings + i]];
+                if (category == LexicalCategory.ANY || word.getCategory() == category)
+                    result.add(new WordElement(word));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * number of the first word of a category under a key of an index, or -1
+     *
+     * @param key
+     * @param category
+     * @param index
+     * @return
+     */
+    private int firstInCategory(String key, LexicalCategory category, Index index) {
+        int postings = index.find(key);
+        if (postings >= 0) {
+            int count = index.postings[postings];
+            for (int i = 1; i <= count; i++) {
+                int number = index.postings[postings + i];
+                if (category == LexicalCategory.ANY || words[number].getCategory() == category)
+                    return number;
+            }
+        }
+        return -1;
+    }
+
+    /**********************************************************************/
+    // other methods
+    /**********************************************************************/
+
+    public WordElement getAdditionCoordConjunction() {
+        return lookupWord("and", LexicalCategory.CONJUNCTION);
+    }
+
+    public WordElement getDefaultComplementiser() {
+        return lookupWord("that", LexicalCategory.COMPLEMENTISER);
+    }
+
+    @Override
+    public WordElement getPassivePreposition() {
+        return lookupWord("by", LexicalCategory.PREPOSITION);
+    }
+
+    @Override
+    public String getInterrogativeTypeString(InterrogativeType type) {
+        return NIHDBLexicon.interrogativeTypeString(type);
+    }
+
+    /**********************************************************************/
+    // index tables
+    /**********************************************************************/
+
+    /**
+     * An open-addressing hash table from strings to runs of word numbers. Each
+     * run in <code>postings</code> is a count followed by that many word
+     * numbers, in the order of the original index.
+     */
+    private static final class Index {
+        final String[] keys;
+        final int[] runs;
+        final int[] postings;
+        final int mask;
+
+        Index(Map<String, List<WordElement>> index, Map<WordElement, Integer> numbers, List<WordElement> all) {
+            int capacity = 1;
+            while (capacity < index.size() * 2)
+                capacity <<= 1;
+            keys = new String[capacity];
+            runs = new int[capacity];
+            mask = capacity - 1;
+
+            int size = 0;
+            for (List<WordElement> list : index.values())
+                size += list.size() + 1;
+            postings = new int[size];
+
+            int next = 0;
+            for (Map.Entry<String, List<WordElement>> entry : index.entrySet()) {
+                int slot = hash(entry.getKey()) & mask;
+                while (keys[slot] != null)
+                    slot = (slot + 1) & mask;
+                keys[slot] = entry.getKey();
+                runs[slot] = next;
+                postings[next++] = entry.getValue().size();
+                for (WordElement word : entry.getValue()) {
+                    Integer number = numbers.get(word);
+                    if (number == null) {
+                        number = all.size();
+                        numbers.put(word, number);
+                        all.add(word);
+                    }
+                    postings[next++] = number;
+                }
+            }
+        }
+
+        /**
+         * offset of the run for a key, or -1 if the key is not in the table
+         */
+        int find(String key) {
+            if (key == null)
+                return -1;
+            int slot = hash(key) & mask;
+            String candidate;
+            while ((candidate = keys[slot]) != null) {
+                if (candidate.equals(key))
+                    return runs[slot];
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(String key) {
+            int h = key.hashCode();
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -184,14 +184,37 @@ public abstract class Lexicon {
      * @return word
      */
     public WordElement lookupWord(String baseForm, LexicalCategory category) {
-        if (hasWord(baseForm, category))
-            return getWord(baseForm, category);
-        else if (hasWordFromVariant(baseForm, category))
-            return getWordFromVariant(baseForm, category);
-        else if (hasWordByID(baseForm))
-            return getWordByID(baseForm);
-        else
-            return createWord(baseForm, category);
+        return resolveWord(baseForm, category).getWord();
+    }
+
+    /**
+     * Resolve a word form in a single pass, trying base form, variant and ID
+     * (in this order), as <code>lookupWord</code> does. The result says which
+     * of these matched, or that a new word was created.
+     * <p>
+     * This default version queries <code>getWords</code>,
+     * <code>getWordsFromVariant</code> and <code>getWordsByID</code> at most
+     * once each. Lexicons should override it if they can answer all three
+     * with fewer queries.
+     *
+     * @param form     - base form, variant or ID of word
+     * @param category - syntactic category of word (ANY for unknown)
+     * @return the word found or created, and how it was found
+     */
+    public WordLookup resolveWord(String form, LexicalCategory category) {
+        List<WordElement> wordElements = getWords(form, category);
+        if (wordElements != null && !wordElements.isEmpty())
+            return new WordLookup(selectMatchingWord(wordElements, form), WordLookup.Source.BASE);
+
+        wordElements = getWordsFromVariant(form, category);
+        if (wordElements != null && !wordElements.isEmpty())
+            return new WordLookup(selectMatchingWord(wordElements, form), WordLookup.Source.VARIANT);
+
+        wordElements = getWordsByID(form);
+        if (wordElements != null && !wordElements.isEmpty())
+            return new WordLookup(wordElements.get(0), WordLookup.Source.ID);
+
+        return new WordLookup(createWord(form, category), WordLookup.Source.CREATED);
     }
 
     /**
@@ -255,7 +278,7 @@ public abstract class Lexicon {
      * @param baseForm     - base form of word, eg "be" or "dog" (not "is" or "dogs")
      * @return single WordElement (from list)
      */
-    private WordElement selectMatchingWord(List<WordElement> wordElements, String baseForm) {
+    protected WordElement selectMatchingWord(List<WordElement> wordElements, String baseForm) {
         // EHUD REITER  - this method added because some DBs are case-insensitive,
         // so a query on "man" returns both "man" and "MAN".  In such cases, the
         // exact match (eg, "man") should be returned
@@ -0,0 +1,78 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+/**
+ * A size-bounded cache used by {@link CachingLexicon} to hold the results of
+ * lexicon queries. Implementations must be safe to use from several threads
+ * at once, and should keep the cost of a hit as low as possible since every
+ * word lookup goes through the cache.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public interface LexiconCache<K, V> {
+
+    /**
+     * get a cached value
+     *
+     * @param key
+     * @return the value, or <code>null</code> if it is not in the cache
+     */
+    V get(K key);
+
+    /**
+     * add a value to the cache, evicting other values if the cache is full
+     *
+     * @param key
+     * @param value - must not be <code>null</code>
+     */
+    void put(K key, V value);
+
+    /**
+     * remove all values from the cache. The counters are not reset.
+     */
+    void clear();
+
+    /**
+     * @return the number of values in the cache
+     */
+    int size();
+
+    /**
+     * @return the maximum number of values the cache holds
+     */
+    int getMaximumSize();
+
+    /**
+     * @return the number of calls to <code>get</code> which found a value
+     */
+    long getHitCount();
+
+    /**
+     * @return the number of calls to <code>get</code> which did not find a
+     * value
+     */
+    long getMissCount();
+
+    /**
+     * @return the number of values removed to make room for new ones
+     */
+    long getEvictionCount();
+}
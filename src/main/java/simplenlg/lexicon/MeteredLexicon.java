@@ -0,0 +1,146 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import simplenlg.features.InterrogativeType;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.Metrics;
+import simplenlg.framework.WordElement;
+
+import java.util.List;
+
+/**
+ * This class counts and times the queries made to another lexicon, and
+ * reports them to a {@link Metrics}: the number of queries as
+ * <code>lexicon.lookups</code> and the time of each query, in nanoseconds,
+ * as <code>lexicon.lookup.nanos</code>. Divided by the
+ * <code>realiser.realisations</code> count of a realiser reporting to the
+ * same metrics, the first gives the number of lookups per realisation.
+ * <p>
+ * The queries counted are <code>getWords</code>,
+ * <code>getWordsFromVariant</code>, <code>getWordsByID</code> and
+ * <code>lookupWord</code>, which are passed on unchanged. To count the hits
+ * of a <code>CachingLexicon</code>, put this lexicon in front of it and add
+ * its cache to a <code>MetricsRegistry</code>.
+ */
+public class MeteredLexicon extends Lexicon {
+
+    /**
+     * name of the count of lexicon queries
+     */
+    public static final String LOOKUPS = "lexicon.lookups"; //$NON-NLS-1$
+
+    /**
+     * name of the distribution of query times
+     */
+    public static final String LOOKUP_NANOS = "lexicon.lookup.nanos"; //$NON-NLS-1$
+
+    // the lexicon whose queries are counted
+    private final Lexicon lexicon;
+
+    // where the queries are reported
+    private final Metrics metrics;
+
+    /**
+     * count the queries made to a lexicon
+     *
+     * @param lexicon
+     * @param metrics
+     */
+    public MeteredLexicon(Lexicon lexicon, Metrics metrics) {
+        super(lexicon.getLanguage());
+        this.lexicon = lexicon;
+        this.metrics = metrics;
+        this.PLURAL_COORDINATORS.addAll(lexicon.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * @return the lexicon whose queries are counted
+     */
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
+    @Override
+    public List<WordElement> getWords(String baseForm, LexicalCategory category) {
+        long start = System.nanoTime();
+        List<WordElement> words = lexicon.getWords(baseForm, category);
+        report(start);
+        return words;
+    }
+
+    @Override
+    public List<WordElement> getWordsByID(String id) {
+        long start = System.nanoTime();
+        List<WordElement> words = lexicon.getWordsByID(id);
+        report(start);
+        return words;
+    }
+
+    @Override
+    public List<WordElement> getWordsFromVariant(String variant, LexicalCategory category) {
+        long start = System.nanoTime();
+        List<WordElement> words = lexicon.getWordsFromVariant(variant, category);
+        report(start);
+        return words;
+    }
+
+    @Override
+    public WordElement lookupWord(String baseForm, LexicalCategory category) {
+        long start = System.nanoTime();
+        WordElement word = lexicon.lookupWord(baseForm, category);
+        report(start);
+        return word;
+    }
+
+    /**
+     * report a query which started at the given time
+     *
+     * @param start
+     */
+    private void report(long start) {
+        metrics.record(LOOKUP_NANOS, System.nanoTime() - start);
+        metrics.count(LOOKUPS, 1);
+    }
+
+    @Override
+    public void close() {
+        lexicon.close();
+    }
+
+    @Override
+    public WordElement getAdditionCoordConjunction() {
+        return lexicon.getAdditionCoordConjunction();
+    }
+
+    @Override
+    public WordElement getDefaultComplementiser() {
+        return lexicon.getDefaultComplementiser();
+    }
+
+    @Override
+    public WordElement getPassivePreposition() {
+        return lexicon.getPassivePreposition();
+    }
+
+    @Override
+    public String getInterrogativeTypeString(InterrogativeType type) {
+        return lexicon.getInterrogativeTypeString(type);
+    }
+}
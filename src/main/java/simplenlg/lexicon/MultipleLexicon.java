@@ -158,6 +158,34 @@ public class MultipleLexicon extends Lexicon {
         return result;
     }
 
+    /**
+     * Resolve a word form with a single <code>resolveWord</code> call on each
+     * component lexicon. A base form match in any lexicon is preferred to a
+     * variant match, and a variant to an ID, as in the default lookup; among
+     * matches of the same kind the first lexicon wins. If
+     * <code>alwaysSearchAll</code> is set, the matches of all lexicons are
+     * merged as before.
+     *
+     * @see simplenlg.lexicon.Lexicon#resolveWord(java.lang.String, simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public WordLookup resolveWord(String form, LexicalCategory category) {
+        if (alwaysSearchAll)
+            return super.resolveWord(form, category);
+
+        WordLookup best = null;
+        for (Lexicon lex : lexiconList) {
+            WordLookup lookup = lex.resolveWord(form, category);
+            if (lookup.getSource() == WordLookup.Source.BASE)
+                return lookup;
+            if (lookup.isFound() && (best == null || lookup.getSource().compareTo(best.getSource()) < 0))
+                best = lookup;
+        }
+        if (best != null)
+            return best;
+        return new WordLookup(createWord(form, category), WordLookup.Source.CREATED);
+    }
+
 
     /**********************************************************************/
     // other methods
@@ -21,6 +21,7 @@ package simplenlg.lexicon;
 import gov.nih.nlm.nls.lexAccess.Api.LexAccessApi;
 import gov.nih.nlm.nls.lexAccess.Api.LexAccessApiResult;
 import gov.nih.nlm.nls.lexCheck.Lib.*;
+import gov.nih.nlm.nls.lvg.Lib.Category;
 import simplenlg.features.*;
 import simplenlg.framework.LexicalCategory;
 import simplenlg.framework.NLGElement;
@@ -31,11 +32,22 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * This class gets Words from the NIH Specialist Lexicon
+ * <p>
+ * The lexicon can hold a pool of DB connections, each with its own
+ * <code>LexAccessApi</code>, so that lookups from several threads run in
+ * parallel. Each lookup borrows a connection for the duration of its queries.
+ * By default there is a single connection, and lookups are made one at a
+ * time.
  *
  * @author ereiter
  */
@@ -45,7 +57,7 @@ public class NIHDBLexicon extends Lexicon {
      * The list of English pronouns.
      */
     @SuppressWarnings("nls")
-    private static final List<String> PRONOUNS = Arrays.asList("I",
+    static final List<String> PRONOUNS = Arrays.asList("I",
             "you",
             "he",
             "she",
@@ -190,8 +202,8 @@ public class NIHDBLexicon extends Lexicon {
     // HSQL DB
 
     // class variables
-    private Connection conn = null; // DB connection
-    private LexAccessApi lexdb = null; // Lexicon access object
+    private List<PooledConnection> connections = new ArrayList<PooledConnection>(); // all DB connections
+    private BlockingQueue<PooledConnection> pool = null; // connections not in use
 
     // if false, don't keep standard inflections in the Word object
     private boolean keepStandardInflections = false;
@@ -207,6 +219,18 @@ public class NIHDBLexicon extends Lexicon {
      * @param filename of HSQL DB
      */
     public NIHDBLexicon(String filename) {
+        this(filename, 1);
+    }
+
+    /**
+     * set up lexicon using file which contains downloaded lexAccess HSQL DB and
+     * default passwords, with a pool of connections so that several threads
+     * can look up words at the same time
+     *
+     * @param filename of HSQL DB
+     * @param poolSize number of DB connections
+     */
+    public NIHDBLexicon(String filename, int poolSize) {
         super();
         // get rid of .data at end of filename if necessary
         String dbfilename = filename;
@@ -214,18 +238,8 @@ public class NIHDBLexicon extends Lexicon {
             dbfilename = dbfilename.substring(0, dbfilename.length()
                     - DB_HSQL_EXTENSION.length());
 
-        // try to open DB and set up lexicon
-        try {
-            Class.forName(DB_HSQL_DRIVER);
-            conn = DriverManager.getConnection(DB_HQSL_JDBC + dbfilename,
-                    DB_DEFAULT_USERNAME, DB_DEFAULT_PASSWORD);
-            // now set up lexical access object
-            lexdb = new LexAccessApi(conn);
-
-        } catch (Exception ex) {
-            System.out.println("Cannot open lexical db: " + ex.toString());
-            // probably should thrown an exception
-        }
+        openConnections(DB_HSQL_DRIVER, DB_HQSL_JDBC + dbfilename,
+                DB_DEFAULT_USERNAME, DB_DEFAULT_PASSWORD, poolSize);
     }
 
     /**
@@ -239,22 +253,109 @@ public class NIHDBLexicon extends Lexicon {
      */
     public NIHDBLexicon(String driver, String url, String username,
                         String password) {
+        this(driver, url, username, password, 1);
+    }
 
+    /**
+     * set up lexicon using general DB parameters, with a pool of connections
+     * so that several threads can look up words at the same time; DB must be
+     * NIH specialist lexicon from lexAccess
+     *
+     * @param driver
+     * @param url
+     * @param username
+     * @param password
+     * @param poolSize number of DB connections
+     */
+    public NIHDBLexicon(String driver, String url, String username,
+                        String password, int poolSize) {
         super();
+        openConnections(driver, url, username, password, poolSize);
+    }
+
+    // need more constructors for general case...
+
+    /**
+     * open the pool of DB connections
+     *
+     * @param driver
+     * @param url
+     * @param username
+     * @param password
+     * @param poolSize
+     */
+    private void openConnections(String driver, String url, String username,
+                                 String password, int poolSize) {
+        pool = new ArrayBlockingQueue<PooledConnection>(Math.max(poolSize, 1));
 
         // try to open DB and set up lexicon
         try {
             Class.forName(driver);
-            conn = DriverManager.getConnection(url, username, password);
-            // now set up lexical access object
-            lexdb = new LexAccessApi(conn);
+            for (int i = 0; i < poolSize; i++) {
+                Connection conn = DriverManager.getConnection(url, username, password);
+                // now set up lexical access object
+                PooledConnection connection = new PooledConnection(i, new LexAccessApi(conn));
+                connections.add(connection);
+                pool.add(connection);
+            }
         } catch (Exception ex) {
             System.out.println("Cannot open lexical db: " + ex.toString());
             // probably should thrown an exception
         }
     }
 
-    // need more constructors for general case...
+    /**
+     * borrow a connection from the pool, waiting until one is free
+     *
+     * @return the connection, or <code>null</code> if the DB could not be
+     * opened
+     */
+    private PooledConnection acquire() {
+        if (connections.isEmpty()) {
+            System.out.println("Lexical DB error: no connection to lexical db");
+            return null;
+        }
+        PooledConnection connection = pool.poll();
+        if (connection == null) {
+            long start = System.nanoTime();
+            try {
+                connection = pool.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                System.out.println("Lexical DB error: " + ex.toString());
+                return null;
+            }
+            connection.stats.waited(System.nanoTime() - start);
+        }
+        return connection;
+    }
+
+    /**
+     * return a connection to the pool
+     *
+     * @param connection
+     */
+    private void release(PooledConnection connection) {
+        if (connection != null)
+            pool.add(connection);
+    }
+
+    /**
+     * @return the number of DB connections in the pool
+     */
+    public int getPoolSize() {
+        return connections.size();
+    }
+
+    /**
+     * @return statistics for each DB connection in the pool
+     */
+    public List<ConnectionStats> getConnectionStats() {
+        List<ConnectionStats> stats = new ArrayList<ConnectionStats>();
+        for (PooledConnection connection : connections)
+            stats.add(connection.stats);
+        return Collections.unmodifiableList(stats);
+    }
 
     /***************** methods to set global parameters ****************************/
 
@@ -288,15 +389,22 @@ public class NIHDBLexicon extends Lexicon {
 	 * simplenlg.features.LexicalCategory)
 	 */
     @Override
-    public synchronized List<WordElement> getWords(String baseForm, LexicalCategory category) {
+    public List<WordElement> getWords(String baseForm, LexicalCategory category) {
         // get words from DB
+        PooledConnection connection = acquire();
+        if (connection == null)
+            return null;
         try {
-            LexAccessApiResult lexResult = lexdb.GetLexRecordsByBase(baseForm,
+            long start = System.nanoTime();
+            LexAccessApiResult lexResult = connection.lexdb.GetLexRecordsByBase(baseForm,
                     LexAccessApi.B_EXACT);
+            connection.stats.queried(System.nanoTime() - start);
             return getWordsFromLexResult(category, lexResult);
         } catch (SQLException ex) {
             System.out.println("Lexical DB error: " + ex.toString());
             // probably should thrown an exception
+        } finally {
+            release(connection);
         }
         return null;
     }
@@ -307,14 +415,21 @@ public class NIHDBLexicon extends Lexicon {
      * @see simplenlg.lexicon.Lexicon#getWordsByID(java.lang.String)
      */
     @Override
-    public synchronized List<WordElement> getWordsByID(String id) {
+    public List<WordElement> getWordsByID(String id) {
         // get words from DB
+        PooledConnection connection = acquire();
+        if (connection == null)
+            return null;
         try {
-            LexAccessApiResult lexResult = lexdb.GetLexRecords(id);
+            long start = System.nanoTime();
+            LexAccessApiResult lexResult = connection.lexdb.GetLexRecords(id);
+            connection.stats.queried(System.nanoTime() - start);
             return getWordsFromLexResult(LexicalCategory.ANY, lexResult);
         } catch (SQLException ex) {
             System.out.println("Lexical DB error: " + ex.toString());
             // probably should thrown an exception
+        } finally {
+            release(connection);
         }
         return null;
     }
@@ -326,19 +441,86 @@ public class NIHDBLexicon extends Lexicon {
      * simplenlg.features.LexicalCategory)
      */
     @Override
-    public synchronized List<WordElement> getWordsFromVariant(String variant,
-                                                              LexicalCategory category) {
+    public List<WordElement> getWordsFromVariant(String variant,
+                                                 LexicalCategory category) {
         // get words from DB
+        PooledConnection connection = acquire();
+        if (connection == null)
+            return null;
         try {
-            LexAccessApiResult lexResult = lexdb.GetLexRecords(variant);
+            long start = System.nanoTime();
+            LexAccessApiResult lexResult = connection.lexdb.GetLexRecords(variant);
+            connection.stats.queried(System.nanoTime() - start);
             return getWordsFromLexResult(category, lexResult);
         } catch (SQLException ex) {
             System.out.println("Lexical DB error: " + ex.toString());
             // probably should thrown an exception
+        } finally {
+            release(connection);
         }
         return null;
     }
 
+    /**
+     * Resolve a word form with a single DB connection. Variants and IDs are
+     * both looked up with <code>GetLexRecords</code>, so at most two queries
+     * are made, and a WordElement is only made for the record which is
+     * returned.
+     *
+     * @see simplenlg.lexicon.Lexicon#resolveWord(java.lang.String,
+     * simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public WordLookup resolveWord(String form, LexicalCategory category) {
+        PooledConnection connection = acquire();
+        if (connection == null)
+            return new WordLookup(createWord(form, category), WordLookup.Source.CREATED);
+        try {
+            long start = System.nanoTime();
+            List<LexRecord> records = getRecordsFromLexResult(category,
+                    connection.lexdb.GetLexRecordsByBase(form, LexAccessApi.B_EXACT));
+            connection.stats.queried(System.nanoTime() - start);
+            if (!records.isEmpty())
+                return new WordLookup(selectMatchingRecord(records, form), WordLookup.Source.BASE);
+
+            start = System.nanoTime();
+            LexAccessApiResult lexResult = connection.lexdb.GetLexRecords(form);
+            connection.stats.queried(System.nanoTime() - start);
+            records = getRecordsFromLexResult(category, lexResult);
+            if (!records.isEmpty())
+                return new WordLookup(selectMatchingRecord(records, form), WordLookup.Source.VARIANT);
+
+            records = getRecordsFromLexResult(LexicalCategory.ANY, lexResult);
+            if (!records.isEmpty())
+                return new WordLookup(makeWord(records.get(0)), WordLookup.Source.ID);
+        } catch (SQLException ex) {
+            System.out.println("Lexical DB error: " + ex.toString());
+            // probably should thrown an exception
+        } finally {
+            release(connection);
+        }
+        return new WordLookup(createWord(form, category), WordLookup.Source.CREATED);
+    }
+
+    /**
+     * choose a single record and make it into a WordElement, in the same way
+     * as <code>selectMatchingWord</code> chooses a word
+     *
+     * @param records
+     * @param form
+     * @return
+     */
+    private WordElement selectMatchingRecord(List<LexRecord> records, String form) {
+        for (LexRecord record : records)
+            if (record.GetBase().equals(form))
+                return makeWord(record);
+
+        if (records.get(0).GetBase().equalsIgnoreCase(form))
+            return createWord(form, LexicalCategory.ANY);
+
+        return makeWord(records.get(0));
+    }
+
     /****************************************************************************/
     // other methods
 
@@ -351,8 +533,144 @@ public class NIHDBLexicon extends Lexicon {
 	 */
     @Override
     public void close() {
-        if (lexdb != null)
-            lexdb.CleanUp();
+        for (PooledConnection connection : connections)
+            connection.lexdb.CleanUp();
+    }
+
+    /**
+     * Receives the words of the DB from <code>exportWords</code>.
+     */
+    interface WordHandler {
+        /**
+         * @param word     - a word of the DB
+         * @param variants - the base form, inflected forms and spelling
+         *                 variants of the word
+         */
+        void handleWord(WordElement word, Set<String> variants);
+    }
+
+    /**
+     * Read every record in the DB, one category at a time, and pass it to a
+     * handler as a WordElement with its variants. The variants are the forms
+     * under which <code>getWordsFromVariant</code> finds the word.
+     *
+     * @param handler
+     */
+    void exportWords(WordHandler handler) {
+        PooledConnection connection = acquire();
+        if (connection == null)
+            return;
+        try {
+            for (int bit = 0; bit < Category.TOTAL_BITS; bit++) {
+                LexAccessApiResult lexResult = connection.lexdb.GetLexRecordsByCat(
+                        Category.ToValue(Category.GetBitName(bit)));
+                for (LexRecord record : getRecordsFromLexResult(LexicalCategory.ANY, lexResult)) {
+                    Set<String> variants = new LinkedHashSet<String>();
+                    variants.add(record.GetBase());
+                    for (InflVar inflection : record.GetInflVarsAndAgreements().GetInflValues())
+                        variants.add(inflection.GetVar());
+                    if (record.GetSpellingVars() != null)
+                        variants.addAll(record.GetSpellingVars());
+                    handler.handleWord(makeWord(record), variants);
+                }
+            }
+        } catch (SQLException ex) {
+            System.out.println("Lexical DB error: " + ex.toString());
+            // probably should thrown an exception
+        } finally {
+            release(connection);
+        }
+    }
+
+    /****************************************************************************/
+    // connection pool
+
+    /****************************************************************************/
+
+    /**
+     * a DB connection in the pool, with its lexical access object
+     */
+    private static class PooledConnection {
+        final LexAccessApi lexdb;
+        final ConnectionStats stats;
+
+        PooledConnection(int index, LexAccessApi lexdb) {
+            this.lexdb = lexdb;
+            this.stats = new ConnectionStats(index);
+        }
+    }
+
+    /**
+     * Statistics for one DB connection of an <code>NIHDBLexicon</code>: how
+     * many queries it has made, how long they took, and how long lookups have
+     * waited for the connection to be free. The counts are only updated by
+     * the thread currently using the connection, and may be read at any time.
+     */
+    public static class ConnectionStats {
+        private final int index;
+        private volatile long queryCount = 0;
+        private volatile long queryTime = 0;
+        private volatile long waitCount = 0;
+        private volatile long waitTime = 0;
+
+        ConnectionStats(int index) {
+            this.index = index;
+        }
+
+        void queried(long nanos) {
+            queryCount++;
+            queryTime += nanos;
+        }
+
+        void waited(long nanos) {
+            waitCount++;
+            waitTime += nanos;
+        }
+
+        /**
+         * @return position of the connection in the pool
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return number of queries made on the connection
+         */
+        public long getQueryCount() {
+            return queryCount;
+        }
+
+        /**
+         * @return total time spent in queries on the connection, in
+         * nanoseconds
+         */
+        public long getQueryTime() {
+            return queryTime;
+        }
+
+        /**
+         * @return number of lookups which had to wait for a free connection
+         * and then got this one
+         */
+        public long getWaitCount() {
+            return waitCount;
+        }
+
+        /**
+         * @return total time lookups waited before getting this connection, in
+         * nanoseconds
+         */
+        public long getWaitTime() {
+            return waitTime;
+        }
+
+        @Override
+        public String toString() {
+            return "connection " + index + ": " + queryCount + " queries in " //$NON-NLS-1$ //$NON-NLS-2$
+                    + (queryTime / 1000000) + " ms, " + waitCount + " waits of " //$NON-NLS-1$ //$NON-NLS-2$
+                    + (waitTime / 1000000) + " ms"; //$NON-NLS-1$
+        }
     }
 
     /**
@@ -445,19 +763,33 @@ public class NIHDBLexicon extends Lexicon {
      */
     private List<WordElement> getWordsFromLexResult(LexicalCategory category,
                                                     LexAccessApiResult lexResult) {
-        List<LexRecord> records = lexResult.GetJavaObjs();
-
         // set up array of words to return
         List<WordElement> wordElements = new ArrayList<WordElement>();
 
         // iterate through result records, adding to words as appropriate
-        for (LexRecord record : records) {
+        for (LexRecord record : getRecordsFromLexResult(category, lexResult)) {
+            wordElements.add(makeWord(record));
+        }
+        return wordElements;
+    }
 
+    /**
+     * return the records in a lexAccess result which have the specified
+     * category
+     *
+     * @param category
+     * @param lexResult
+     * @return
+     */
+    private List<LexRecord> getRecordsFromLexResult(LexicalCategory category,
+                                                    LexAccessApiResult lexResult) {
+        List<LexRecord> records = new ArrayList<LexRecord>();
+        for (LexRecord record : lexResult.GetJavaObjs()) {
             if (category == LexicalCategory.ANY
                     || category == getSimplenlgCategory(record))
-                wordElements.add(makeWord(record));
+                records.add(record);
         }
-        return wordElements;
+        return records;
     }
 
     /**
@@ -886,7 +1218,7 @@ public class NIHDBLexicon extends Lexicon {
      * @param wordElement the created element representing the pronoun.
      * @param word        the base word for the pronoun.
      */
-    private void setPronounFeatures(NLGElement wordElement, String word) {
+    static void setPronounFeatures(NLGElement wordElement, String word) {
         wordElement.setCategory(LexicalCategory.PRONOUN);
         if (FIRST_PRONOUNS.contains(word)) {
             wordElement.setFeature(Feature.PERSON, Person.FIRST);
@@ -964,6 +1296,17 @@ public class NIHDBLexicon extends Lexicon {
 
     @Override
     public String getInterrogativeTypeString(InterrogativeType type) {
+        return interrogativeTypeString(type);
+    }
+
+    /**
+     * the interrogative word for a question type. Also used by
+     * {@link CompactLexicon}.
+     *
+     * @param type
+     * @return
+     */
+    static String interrogativeTypeString(InterrogativeType type) {
         String s = "";
 
         switch (type) {
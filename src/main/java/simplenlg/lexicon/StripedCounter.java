@@ -0,0 +1,75 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which many threads can add to at once without all of them
+ * writing to the same memory location. Each thread adds to one of several
+ * cells, picked from its thread ID, and the count is the sum of the cells.
+ * The cells are spaced so that no two of them share a cache line.
+ */
+final class StripedCounter {
+
+    /**
+     * number of cells, a power of two
+     */
+    private static final int STRIPES = stripes();
+
+    /**
+     * distance between cells, in longs: 128 bytes
+     */
+    private static final int SPACING = 16;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * SPACING);
+
+    /**
+     * add one to the count
+     */
+    void increment() {
+        // spread consecutive thread IDs over the cells
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        int stripe = (int) (id >>> 32) & (STRIPES - 1);
+        cells.incrementAndGet(stripe * SPACING);
+    }
+
+    /**
+     * @return the count; increments made while it is summed may or may not be
+     * included
+     */
+    long get() {
+        long sum = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++)
+            sum += cells.get(stripe * SPACING);
+        return sum;
+    }
+
+    /**
+     * @return twice the number of processors, rounded up to a power of two,
+     * and at most 64
+     */
+    private static int stripes() {
+        int wanted = Math.min(64, 2 * Runtime.getRuntime().availableProcessors());
+        int stripes = 1;
+        while (stripes < wanted)
+            stripes <<= 1;
+        return stripes;
+    }
+}
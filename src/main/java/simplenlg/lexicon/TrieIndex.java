@@ -0,0 +1,403 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import java.util.*;
+
+/**
+ * A map from strings which keeps its keys in a radix tree (a trie in which
+ * chains of single children are merged into one node), so that keys which
+ * share a prefix, such as the many inflected forms of a verb, only store the
+ * prefix once. Besides exact lookup it finds all keys which begin with a
+ * prefix, and all keys which are equal to a string ignoring case, by walking
+ * the part of the tree which can match rather than every key.
+ * <p>
+ * Keys are iterated in <code>String</code> order. Values may not be
+ * <code>null</code>, and removing keys is not supported, except by
+ * {@link #clear()}. This class is not synchronized; it
+ * may be read by several threads once it is no longer changed.
+ *
+ * @param <V> the type of the values
+ */
+public class TrieIndex<V> extends AbstractMap<String, V> {
+
+    private static final char[] EMPTY_LABEL = new char[0];
+
+    /**
+     * tree node. The label holds the characters on the edge from the parent;
+     * children are sorted by the first character of their labels, which are
+     * all different. Nodes without a value only join their children.
+     */
+    private static class Node<V> {
+        char[] label;
+        Node<V>[] children;
+        V value;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    private Node<V> root = new Node<V>(EMPTY_LABEL);
+    private int size = 0;
+
+    /**
+     * create an empty index
+     */
+    public TrieIndex() {
+    }
+
+    /**
+     * create an index holding the entries of a map
+     *
+     * @param map
+     */
+    public TrieIndex(Map<String, ? extends V> map) {
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root = new Node<V>(EMPTY_LABEL);
+        size = 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Node<V> node = key instanceof String ? findNode((String) key) : null;
+        return node != null && node.value != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<V> node = key instanceof String ? findNode((String) key) : null;
+        return node != null ? node.value : null;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        if (value == null)
+            throw new NullPointerException("TrieIndex does not support null values");
+        Node<V> node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = findChild(node, key.charAt(position));
+            if (index < 0) {
+                // no child starts with the next character: add a leaf
+                Node<V> leaf = new Node<V>(key.substring(position).toCharArray());
+                insertChild(node, -(index + 1), leaf);
+                node = leaf;
+                break;
+            }
+            Node<V> child = node.children[index];
+            int common = commonLength(child.label, key, position);
+            if (common < child.label.length) {
+                // key leaves the label part way: split the child
+                Node<V> middle = new Node<V>(Arrays.copyOfRange(child.label, 0, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.children = newArray(1);
+                middle.children[0] = child;
+                node.children[index] = middle;
+            }
+            node = node.children[index];
+            position += common;
+        }
+
+        V previous = node.value;
+        if (previous == null)
+            size++;
+        node.value = value;
+        return previous;
+    }
+
+    /**
+     * all entries whose keys begin with a prefix
+     *
+     * @param prefix
+     * @return the entries, in key order
+     */
+    public SortedMap<String, V> prefixMap(String prefix) {
+        SortedMap<String, V> result = new TreeMap<String, V>();
+        Node<V> node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            int index = findChild(node, prefix.charAt(position));
+            if (index < 0)
+                return result;
+            node = node.children[index];
+            int common = commonLength(node.label, prefix, position);
+            if (position + common < prefix.length() && common < node.label.length)
+                return result;
+            position += node.label.length;
+        }
+        // the key of node may extend past the prefix, if the prefix ended
+        // inside its label
+        StringBuilder key = new StringBuilder(prefix);
+        if (position > prefix.length())
+            key.append(node.label, node.label.length - (position - prefix.length()),
+                    position - prefix.length());
+        collect(node, key, result);
+        return result;
+    }
+
+    /**
+     * the values of all keys which are equal to a string ignoring case, as
+     * {@link String#equalsIgnoreCase(String)}. The value of the key which is
+     * equal to the string, if any, comes first, then the others in key order.
+     *
+     * @param key
+     * @return the values (may be empty)
+     */
+    public List<V> getIgnoreCase(String key) {
+        List<V> result = new ArrayList<V>();
+        Node<V> exact = findNode(key);
+        if (exact != null && exact.value != null)
+            result.add(exact.value);
+        collectIgnoreCase(root, key, 0, exact, result);
+        return result;
+    }
+
+    /**
+     * the values of all keys which are prefixes of a string, including the
+     * string itself and the empty string, found with one walk down the tree
+     *
+     * @param key
+     * @return the values, shortest key first
+     */
+    public List<V> getPrefixesOf(String key) {
+        List<V> result = new ArrayList<V>();
+        Node<V> node = root;
+        int position = 0;
+        while (true) {
+            if (node.value != null)
+                result.add(node.value);
+            if (position == key.length())
+                return result;
+            int index = findChild(node, key.charAt(position));
+            if (index < 0)
+                return result;
+            node = node.children[index];
+            if (commonLength(node.label, key, position) < node.label.length)
+                return result;
+            position += node.label.length;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<Map.Entry<String, V>>() {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * iterates over the entries in key order, walking the tree with a stack
+     */
+    private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+        private final Deque<Node<V>> nodes = new ArrayDeque<Node<V>>();
+        private final Deque<String> keys = new ArrayDeque<String>();
+        private Map.Entry<String, V> next;
+
+        EntryIterator() {
+            nodes.push(root);
+            keys.push("");
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && !nodes.isEmpty()) {
+                Node<V> node = nodes.pop();
+                String key = keys.pop();
+                if (node.children != null) {
+                    for (int i = node.children.length - 1; i >= 0; i--) {
+                        nodes.push(node.children[i]);
+                        keys.push(key + new String(node.children[i].label));
+                    }
+                }
+                if (node.value != null)
+                    next = new SimpleImmutableEntry<String, V>(key, node.value);
+            }
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public Map.Entry<String, V> next() {
+            if (next == null)
+                throw new NoSuchElementException();
+            Map.Entry<String, V> result = next;
+            advance();
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("TrieIndex does not support removing keys");
+        }
+    }
+
+    /**
+     * the node whose key is the string, or <code>null</code>
+     *
+     * @param key
+     * @return
+     */
+    private Node<V> findNode(String key) {
+        Node<V> node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = findChild(node, key.charAt(position));
+            if (index < 0)
+                return null;
+            node = node.children[index];
+            if (commonLength(node.label, key, position) < node.label.length)
+                return null;
+            position += node.label.length;
+        }
+        return node;
+    }
+
+    /**
+     * add all values below a node to a map
+     *
+     * @param node
+     * @param key    - key of the node, restored on return
+     * @param result
+     */
+    private void collect(Node<V> node, StringBuilder key, Map<String, V> result) {
+        if (node.value != null)
+            result.put(key.toString(), node.value);
+        if (node.children != null) {
+            int length = key.length();
+            for (Node<V> child : node.children) {
+                key.append(child.label);
+                collect(child, key, result);
+                key.setLength(length);
+            }
+        }
+    }
+
+    /**
+     * add the values below a node whose keys equal a string ignoring case,
+     * except the exact match which has already been added
+     *
+     * @param node
+     * @param key
+     * @param position - characters of the key matched by the node
+     * @param exact    - node to skip
+     * @param result
+     */
+    private void collectIgnoreCase(Node<V> node, String key, int position, Node<V> exact, List<V> result) {
+        if (position == key.length()) {
+            if (node.value != null && node != exact)
+                result.add(node.value);
+            return;
+        }
+        if (node.children == null)
+            return;
+        for (Node<V> child : node.children) {
+            int length = child.label.length;
+            if (position + length <= key.length()
+                    && key.regionMatches(true, position, new String(child.label), 0, length))
+                collectIgnoreCase(child, key, position + length, exact, result);
+        }
+    }
+
+    /**
+     * the index of the child whose label begins with a character, or
+     * <code>-(insertion point + 1)</code> if there is none
+     *
+     * @param node
+     * @param c
+     * @return
+     */
+    private int findChild(Node<V> node, char c) {
+        Node<V>[] children = node.children;
+        if (children == null)
+            return -1;
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char first = children[middle].label[0];
+            if (first < c)
+                low = middle + 1;
+            else if (first > c)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * insert a child, keeping the children sorted. The array grows by one,
+     * so that nodes take no more room than they need.
+     *
+     * @param node
+     * @param index
+     * @param child
+     */
+    private void insertChild(Node<V> node, int index, Node<V> child) {
+        Node<V>[] children = node.children;
+        Node<V>[] grown = newArray(children == null ? 1 : children.length + 1);
+        if (children != null) {
+            System.arraycopy(children, 0, grown, 0, index);
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+        }
+        grown[index] = child;
+        node.children = grown;
+    }
+
+    /**
+     * number of characters at the start of a label which match a string from
+     * a position
+     *
+     * @param label
+     * @param key
+     * @param position
+     * @return
+     */
+    private static int commonLength(char[] label, String key, int position) {
+        int length = Math.min(label.length, key.length() - position);
+        int i = 0;
+        while (i < length && label[i] == key.charAt(position + i))
+            i++;
+        return i;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<V>[] newArray(int length) {
+        return (Node<V>[]) new Node<?>[length];
+    }
+}
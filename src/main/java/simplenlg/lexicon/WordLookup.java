@@ -0,0 +1,97 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import simplenlg.framework.WordElement;
+
+/**
+ * The result of resolving a word form in a <code>Lexicon</code> with
+ * {@link Lexicon#resolveWord(String, simplenlg.framework.LexicalCategory)}.
+ * It holds the word that was found (or created) together with the way it was
+ * found, so that callers need only a single probe of the lexicon instead of
+ * separate <code>hasWord</code> and <code>getWord</code> calls for the base
+ * form, variant and ID.
+ */
+public class WordLookup {
+
+    /**
+     * How a word was found. The values are in the order in which a lexicon
+     * tries them.
+     */
+    public enum Source {
+        /**
+         * the word has the form as its base form
+         */
+        BASE,
+        /**
+         * the form is an inflected form or spelling variant of the word
+         */
+        VARIANT,
+        /**
+         * the form is the lexicon ID of the word
+         */
+        ID,
+        /**
+         * the word was not in the lexicon, and a new word was created
+         */
+        CREATED
+    }
+
+    private final WordElement word;
+
+    private final Source source;
+
+    /**
+     * create a lookup result
+     *
+     * @param word   - the word found or created
+     * @param source - how the word was found
+     */
+    public WordLookup(WordElement word, Source source) {
+        this.word = word;
+        this.source = source;
+    }
+
+    /**
+     * @return the word found or created
+     */
+    public WordElement getWord() {
+        return word;
+    }
+
+    /**
+     * @return how the word was found
+     */
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * @return <code>true</code> if the word was found in the lexicon, rather
+     * than created
+     */
+    public boolean isFound() {
+        return source != Source.CREATED;
+    }
+
+    @Override
+    public String toString() {
+        return "WordLookup[" + source + ": " + word + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
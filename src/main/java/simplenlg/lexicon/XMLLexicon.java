@@ -30,15 +30,50 @@ import simplenlg.framework.WordElement;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.File;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * This class loads words from an XML lexicon. All features specified in the
  * lexicon are loaded
+ * <p>
+ * By default the lexicon file is read with a StAX pull parser, so that only
+ * the current <code>&lt;word&gt;</code> is held in memory while loading. The
+ * original DOM based loader is still available through
+ * {@link #createLexiconFromDocument(URI)}; both produce identical indices.
+ * <p>
+ * Large lexicons can be loaded with several threads, see
+ * {@link #XMLLexicon(URI, Language, int)}. The file is still parsed on one
+ * thread, but words are converted and their variants computed in parallel
+ * shards, and the indices are then filled in file order, so the lexicon is
+ * the same as when it is loaded on one thread.
+ * <p>
+ * Subclasses may ask for a lazy variant index, see
+ * {@link #hasLazyVariantIndex()}. The variants of a word are then only
+ * computed, and remembered, when a form which may be one of them is looked
+ * up, instead of for every word while loading.
+ * <p>
+ * The base form and variant indices may also be kept in a {@link TrieIndex},
+ * see {@link #XMLLexicon(URI, Language, int, boolean)}, which stores shared
+ * prefixes once and answers
+ * the prefix and case-insensitive queries such as
+ * {@link #getWordsByPrefix(String, LexicalCategory)} without looking at
+ * every key.
  *
  * @author ereiter
  */
@@ -57,6 +92,16 @@ public abstract class XMLLexicon extends Lexicon {
     private Map<String, WordElement> indexByID; // map from ID to word
     private Map<String, List<WordElement>> indexByBase; // map from base to set
 
+    private boolean trieIndex; // indices are TrieIndex rather than HashMap
+
+    // lazy variant index, only used if hasLazyVariantIndex() is true
+    private volatile boolean lazyVariants; // variants not yet indexed
+    private List<WordElement> wordsInOrder; // words in load order
+    private Map<String, List<Integer>> indexByStem; // base less last char to word numbers
+    private Map<String, List<Integer>> indexByValue; // string feature value to word numbers
+    private AtomicReferenceArray<Set<String>> variantsByWord; // memoized variants
+    private ConcurrentMap<String, List<WordElement>> resolvedVariants; // memoized lookups
+
     // to set of words
     // with this variant
 
@@ -129,6 +174,40 @@ public abstract class XMLLexicon extends Lexicon {
         createLexicon(lexiconURI);
     }
 
+    /**
+     * Load an XML Lexicon from a URI for the given language, converting words
+     * and computing their variants on several threads
+     *
+     * @param lexiconURI
+     * @param language
+     * @param threads    - number of threads to load with; 1 loads on the
+     *                   calling thread only
+     */
+    public XMLLexicon(URI lexiconURI, Language language, int threads) {
+        this(lexiconURI, language, threads, false);
+    }
+
+    /**
+     * Load an XML Lexicon from a URI for the given language, on several
+     * threads, keeping the base form and variant indices in a
+     * {@link TrieIndex} if asked to. A trie takes less room for the many
+     * variants of inflected words, which share their prefixes, and makes
+     * prefix and case-insensitive queries fast; looking up a single form is a
+     * little slower.
+     *
+     * @param lexiconURI
+     * @param language
+     * @param threads    - number of threads to load with; 1 loads on the
+     *                   calling thread only
+     * @param trieIndex  - <code>true</code> for trie indices,
+     *                   <code>false</code> for hash maps
+     */
+    public XMLLexicon(URI lexiconURI, Language language, int threads, boolean trieIndex) {
+        super(language);
+        this.trieIndex = trieIndex;
+        createLexicon(lexiconURI, threads);
+    }
+
     /**
      * Loads the default XML lexicon for the default language
      */
@@ -162,16 +241,56 @@ public abstract class XMLLexicon extends Lexicon {
     }
 
     /**
-     * method to actually load and index the lexicon from a URI
+     * method to actually load and index the lexicon from a URI. The lexicon
+     * file is streamed with a StAX pull parser, one word at a time.
      *
      * @param lexiconURI
      */
     protected void createLexicon(URI lexiconURI) {
+        createLexicon(lexiconURI, 1);
+    }
+
+    /**
+     * method to load and index the lexicon from a URI with several threads.
+     * The resulting lexicon is the same whatever the number of threads.
+     *
+     * @param lexiconURI
+     * @param threads    - number of threads to load with; 1 loads on the
+     *                   calling thread only
+     */
+    protected void createLexicon(URI lexiconURI, int threads) {
         // initialise objects
-        words = new HashSet<WordElement>();
-        indexByID = new HashMap<String, WordElement>();
-        indexByBase = new HashMap<String, List<WordElement>>();
-        indexByVariant = new HashMap<String, List<WordElement>>();
+        initialiseIndices();
+
+        try {
+            InputStream input = lexiconURI.toURL().openStream();
+            try {
+                if (threads > 1)
+                    loadWordsInParallel(lexiconURI.toString(), input, threads);
+                else
+                    loadWords(lexiconURI.toString(), input);
+            } finally {
+                input.close();
+            }
+        } catch (Exception ex) {
+            System.out.println(ex.toString());
+        }
+
+        finishIndices();
+        addSpecialCases();
+    }
+
+    /**
+     * load and index the lexicon from a URI by building a complete DOM tree
+     * first. This is the original loading method, kept for comparison with
+     * {@link #createLexicon(URI)}; it needs much more memory for large
+     * lexicons.
+     *
+     * @param lexiconURI
+     */
+    protected void createLexiconFromDocument(URI lexiconURI) {
+        // initialise objects
+        initialiseIndices();
 
         try {
             DocumentBuilderFactory factory = DocumentBuilderFactory
@@ -198,9 +317,220 @@ public abstract class XMLLexicon extends Lexicon {
             System.out.println(ex.toString());
         }
 
+        finishIndices();
         addSpecialCases();
     }
 
+    /**
+     * (re)create the empty word set and indices
+     */
+    private void initialiseIndices() {
+        words = new HashSet<WordElement>();
+        indexByID = new HashMap<String, WordElement>();
+        indexByBase = newIndex();
+        indexByVariant = newIndex();
+
+        lazyVariants = hasLazyVariantIndex();
+        if (lazyVariants) {
+            wordsInOrder = new ArrayList<WordElement>();
+            indexByStem = newIndex();
+            indexByValue = newIndex();
+            resolvedVariants = new ConcurrentHashMap<String, List<WordElement>>();
+        }
+    }
+
+    /**
+     * prepare the variant memo once all words are loaded. Special cases are
+     * added after this, straight into the variant index.
+     */
+    private void finishIndices() {
+        if (lazyVariants) {
+            variantsByWord = new AtomicReferenceArray<Set<String>>(wordsInOrder.size());
+        }
+    }
+
+    /**
+     * a new, empty index from strings
+     *
+     * @return a TrieIndex if {@link #hasTrieIndex()}, else a HashMap
+     */
+    private <V> Map<String, V> newIndex() {
+        if (trieIndex)
+            return new TrieIndex<V>();
+        return new HashMap<String, V>();
+    }
+
+    /**
+     * whether the base form and variant indices of this lexicon are kept in
+     * a {@link TrieIndex} rather than a <code>HashMap</code>, see
+     * {@link #XMLLexicon(URI, Language, int, boolean)}
+     *
+     * @return <code>true</code> for trie indices
+     */
+    public boolean hasTrieIndex() {
+        return trieIndex;
+    }
+
+    /**
+     * whether this lexicon computes the variants of its words on demand
+     * rather than while loading. Lexicons with many variants per word, such
+     * as the Spanish one, load faster and use less memory this way. The
+     * default is <code>false</code>.
+     * <p>
+     * A form is only looked for among the variants of words whose base form,
+     * less its last character, begins the form, and of words which have the
+     * form as the value of a feature. So lexicons which return
+     * <code>true</code> must make sure that every variant returned by
+     * {@link #getVariants(WordElement)} is either a <code>String</code>
+     * feature value of the word or begins with its base form less the last
+     * character, as {@link #getForm(String, String)} does in the English and
+     * Spanish lexicons.
+     * <p>
+     * This is called while loading, before the subclass constructor has
+     * run, so it must not depend on fields of the subclass.
+     *
+     * @return <code>true</code> for a lazy variant index
+     */
+    protected boolean hasLazyVariantIndex() {
+        return false;
+    }
+
+    /**
+     * read all <code>&lt;word&gt;</code> elements under the root of a lexicon
+     * stream, and add them to the indices
+     *
+     * @param systemId - system ID of the stream, used to resolve relative references
+     * @param input    - the lexicon XML
+     * @throws XMLStreamException
+     */
+    private void loadWords(String systemId, InputStream input)
+            throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        XMLStreamReader reader = factory.createXMLStreamReader(systemId, input);
+
+        try {
+            // move to the root element, then walk its children
+            reader.nextTag();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (reader.getLocalName().equalsIgnoreCase(XML_WORD)) {
+                    WordElement word = convertStreamToWord(reader);
+                    if (word != null) {
+                        words.add(word);
+                        IndexWord(word);
+                    }
+                } else {
+                    skipElement(reader);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * read all <code>&lt;word&gt;</code> elements under the root of a lexicon
+     * stream and add them to the indices, converting the words and computing
+     * their variants on several threads. The stream is parsed first, keeping
+     * only the feature names and values of each word; the words are then
+     * split into shards which are converted in parallel, and the shards are
+     * added to the indices in order.
+     *
+     * @param systemId - system ID of the stream, used to resolve relative references
+     * @param input    - the lexicon XML
+     * @param threads  - number of threads
+     * @throws Exception
+     */
+    private void loadWordsInParallel(String systemId, InputStream input, int threads)
+            throws Exception {
+        final List<List<String[]>> rawWords = new ArrayList<List<String[]>>();
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        XMLStreamReader reader = factory.createXMLStreamReader(systemId, input);
+        try {
+            reader.nextTag();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                if (reader.getLocalName().equalsIgnoreCase(XML_WORD)) {
+                    List<String[]> features = new ArrayList<String[]>();
+                    while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        features.add(new String[]{reader.getLocalName().trim(),
+                                reader.getElementText().trim()});
+                    }
+                    rawWords.add(features);
+                } else {
+                    skipElement(reader);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        // several shards per thread, so that threads which finish early can
+        // take more work
+        int shardSize = Math.max(1, rawWords.size() / (threads * 4) + 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<ConvertedWord>>> shards = new ArrayList<Future<List<ConvertedWord>>>();
+            for (int start = 0; start < rawWords.size(); start += shardSize) {
+                final int from = start;
+                final int to = Math.min(start + shardSize, rawWords.size());
+                shards.add(executor.submit(new Callable<List<ConvertedWord>>() {
+                    public List<ConvertedWord> call() {
+                        List<ConvertedWord> converted = new ArrayList<ConvertedWord>(to - from);
+                        for (int i = from; i < to; i++) {
+                            WordElement word = convertFeaturesToWord(rawWords.get(i));
+                            // variants of a lazy index are computed on demand
+                            converted.add(new ConvertedWord(word,
+                                    lazyVariants ? null : getVariants(word)));
+                        }
+                        return converted;
+                    }
+                }));
+            }
+
+            for (Future<List<ConvertedWord>> shard : shards) {
+                for (ConvertedWord converted : shard.get()) {
+                    words.add(converted.word);
+                    IndexWord(converted.word, converted.variants);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * a word converted by a loading thread, with its variants
+     */
+    private static class ConvertedWord {
+        final WordElement word;
+        final Set<String> variants;
+
+        ConvertedWord(WordElement word, Set<String> variants) {
+            this.word = word;
+            this.variants = variants;
+        }
+    }
+
+    /**
+     * skip the element the reader is positioned on, including all its
+     * children
+     *
+     * @param reader - reader positioned at a START_ELEMENT
+     * @throws XMLStreamException
+     */
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+                depth++;
+            else if (event == XMLStreamConstants.END_ELEMENT)
+                depth--;
+        }
+    }
+
     /**
      * add special cases to lexicon
      */
@@ -246,30 +576,103 @@ public abstract class XMLLexicon extends Lexicon {
                     break;
                 }
 
-                if (feature.equalsIgnoreCase(XML_BASE)) {
-                    word.setBaseForm(value);
-                } else if (feature.equalsIgnoreCase(XML_CATEGORY))
-                    word.setCategory(LexicalCategory.valueOf(value
-                            .toUpperCase()));
-                else if (feature.equalsIgnoreCase(XML_ID))
-                    word.setId(value);
-
-                else if (value == null || value.equals("")) {
-                    // if this is an infl code, add it to inflections
-                    Inflection infl = Inflection.getInflCode(feature);
-
-                    if (infl != null) {
-                        inflections.add(infl);
-                    } else {
-                        // otherwise assume it's a boolean feature
-                        word.setFeature(feature, true);
-                    }
-                } else
-                    word.setFeature(feature, value);
+                setWordFeature(word, inflections, feature, value);
             }
 
         }
 
+        // done, return word
+        return completeWord(word, inflections);
+    }
+
+    /**
+     * create a simplenlg WordElement from a Word element in a lexicon XML
+     * stream. The reader must be positioned at the START_ELEMENT of the word,
+     * and is left at its END_ELEMENT.
+     *
+     * @param reader
+     * @return
+     * @throws XMLStreamException
+     */
+    protected WordElement convertStreamToWord(XMLStreamReader reader)
+            throws XMLStreamException {
+        // create word
+        WordElement word = new WordElement();
+        List<Inflection> inflections = new ArrayList<Inflection>();
+
+        // now copy features; each child of the word is a leaf element
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String feature = reader.getLocalName().trim();
+            String value = reader.getElementText().trim();
+
+            setWordFeature(word, inflections, feature, value);
+        }
+
+        // done, return word
+        return completeWord(word, inflections);
+    }
+
+    /**
+     * create a simplenlg WordElement from the feature names and values of a
+     * Word element, in the order in which they occur in the lexicon file.
+     * This is used when the lexicon is loaded with several threads, and must
+     * not change the lexicon.
+     *
+     * @param features - pairs of feature name and value
+     * @return
+     */
+    protected WordElement convertFeaturesToWord(List<String[]> features) {
+        WordElement word = new WordElement();
+        List<Inflection> inflections = new ArrayList<Inflection>();
+        for (String[] feature : features) {
+            setWordFeature(word, inflections, feature[0], feature[1]);
+        }
+        return completeWord(word, inflections);
+    }
+
+    /**
+     * set a single feature read from the lexicon XML on a word. Empty
+     * features are either inflection codes (which are collected in
+     * <code>inflections</code>) or boolean features.
+     *
+     * @param word
+     * @param inflections
+     * @param feature
+     * @param value
+     */
+    private void setWordFeature(WordElement word, List<Inflection> inflections,
+                                String feature, String value) {
+        if (feature.equalsIgnoreCase(XML_BASE)) {
+            word.setBaseForm(value);
+        } else if (feature.equalsIgnoreCase(XML_CATEGORY))
+            word.setCategory(LexicalCategory.valueOf(value
+                    .toUpperCase()));
+        else if (feature.equalsIgnoreCase(XML_ID))
+            word.setId(value);
+
+        else if (value == null || value.equals("")) {
+            // if this is an infl code, add it to inflections
+            Inflection infl = Inflection.getInflCode(feature);
+
+            if (infl != null) {
+                inflections.add(infl);
+            } else {
+                // otherwise assume it's a boolean feature
+                word.setFeature(feature, true);
+            }
+        } else
+            word.setFeature(feature, value);
+    }
+
+    /**
+     * set the inflectional variants of a word once all its features have
+     * been read, then let the language convert its feature values
+     *
+     * @param word
+     * @param inflections
+     * @return the completed word
+     */
+    private WordElement completeWord(WordElement word, List<Inflection> inflections) {
         // if no infl specified, assume regular
         if (inflections.isEmpty()) {
             inflections.add(Inflection.REGULAR);
@@ -287,16 +690,37 @@ public abstract class XMLLexicon extends Lexicon {
             word.addInflectionalVariant(infl);
         }
 
-        // done, return word
+        convertFeatureValues(word);
         return word;
     }
 
+    /**
+     * convert the string values read from the lexicon XML into the typed
+     * values (eg, enums) expected by the language. Does nothing by default.
+     *
+     * @param word
+     */
+    protected void convertFeatureValues(WordElement word) {
+    }
+
     /**
      * add word to internal indices
      *
      * @param word
      */
     private void IndexWord(WordElement word) {
+        IndexWord(word, lazyVariants ? null : getVariants(word));
+    }
+
+    /**
+     * add word to internal indices, with variants which have already been
+     * computed. With a lazy variant index the variants are <code>null</code>,
+     * and the word is only indexed by stem and feature values.
+     *
+     * @param word
+     * @param variants
+     */
+    private void IndexWord(WordElement word, Set<String> variants) {
         // first index by base form
         String base = word.getBaseForm();
         // shouldn't really need is, as all words have base forms
@@ -314,13 +738,110 @@ public abstract class XMLLexicon extends Lexicon {
         }
 
         // now index by variant
-        for (String variant : getVariants(word)) {
-            updateIndex(word, variant, indexByVariant);
+        if (variants != null) {
+            for (String variant : variants) {
+                updateIndex(word, variant, indexByVariant);
+            }
+        } else if (base != null) {
+            Integer number = wordsInOrder.size();
+            wordsInOrder.add(word);
+            updateNumberIndex(number, base.substring(0, Math.max(0, base.length() - 1)), indexByStem);
+            for (String feature : word.getAllFeatureNames()) {
+                Object value = word.getFeature(feature);
+                if (value instanceof String)
+                    updateNumberIndex(number, (String) value, indexByValue);
+            }
         }
 
         // done
     }
 
+    /**
+     * add a word number to an index of the lazy variant index, once per key
+     *
+     * @param number
+     * @param key
+     * @param index
+     */
+    private void updateNumberIndex(Integer number, String key, Map<String, List<Integer>> index) {
+        List<Integer> numbers = index.get(key);
+        if (numbers == null) {
+            numbers = new ArrayList<Integer>(1);
+            index.put(key, numbers);
+        }
+        if (numbers.isEmpty() || !numbers.get(numbers.size() - 1).equals(number))
+            numbers.add(number);
+    }
+
+    /**
+     * the words which have a form as a variant, in the order of the eager
+     * variant index, or <code>null</code> if there are none. A lazy index
+     * looks at the words which may have the variant, computing their
+     * variants if this has not been done yet, and remembers the result.
+     *
+     * @param variant
+     * @return
+     */
+    private List<WordElement> getVariantEntry(String variant) {
+        if (!lazyVariants)
+            return indexByVariant.get(variant);
+        if (variant == null)
+            return null;
+
+        List<WordElement> entry = resolvedVariants.get(variant);
+        if (entry != null)
+            return entry;
+
+        // candidate word numbers, sorted so that words come in load order
+        SortedSet<Integer> candidates = new TreeSet<Integer>();
+        if (indexByStem instanceof TrieIndex) {
+            for (List<Integer> numbers : ((TrieIndex<List<Integer>>) indexByStem).getPrefixesOf(variant))
+                candidates.addAll(numbers);
+        } else {
+            for (int end = 0; end <= variant.length(); end++) {
+                List<Integer> numbers = indexByStem.get(variant.substring(0, end));
+                if (numbers != null)
+                    candidates.addAll(numbers);
+            }
+        }
+        List<Integer> numbers = indexByValue.get(variant);
+        if (numbers != null)
+            candidates.addAll(numbers);
+
+        entry = new ArrayList<WordElement>();
+        for (Integer number : candidates) {
+            if (getVariantsOfWord(number).contains(variant))
+                entry.add(wordsInOrder.get(number));
+        }
+        // special cases were added to the variant index after loading
+        List<WordElement> special = indexByVariant.get(variant);
+        if (special != null)
+            entry.addAll(special);
+
+        if (entry.isEmpty())
+            return null;
+        entry = Collections.unmodifiableList(entry);
+        List<WordElement> previous = resolvedVariants.putIfAbsent(variant, entry);
+        return previous != null ? previous : entry;
+    }
+
+    /**
+     * the variants of a word of the lazy variant index, computed the first
+     * time they are needed
+     *
+     * @param number
+     * @return
+     */
+    private Set<String> getVariantsOfWord(int number) {
+        Set<String> variants = variantsByWord.get(number);
+        if (variants == null) {
+            variants = getVariants(wordsInOrder.get(number));
+            if (!variantsByWord.compareAndSet(number, null, variants))
+                variants = variantsByWord.get(number);
+        }
+        return variants;
+    }
+
     /**
      * convenience method to update an index
      *
@@ -335,6 +856,58 @@ public abstract class XMLLexicon extends Lexicon {
         index.get(base).add(word);
     }
 
+    /**
+     * @return all words in this lexicon (used by {@link BinaryLexicon#compile})
+     */
+    Set<WordElement> getAllWords() {
+        return words;
+    }
+
+    /**
+     * @return the index from base form to words
+     */
+    Map<String, List<WordElement>> getBaseIndex() {
+        return indexByBase;
+    }
+
+    /**
+     * @return the index from ID to word
+     */
+    Map<String, WordElement> getIDIndex() {
+        return indexByID;
+    }
+
+    /**
+     * @return the index from variant to words. A lazy variant index is
+     * completed first, computing the variants of all words.
+     */
+    Map<String, List<WordElement>> getVariantIndex() {
+        if (lazyVariants)
+            completeVariantIndex();
+        return indexByVariant;
+    }
+
+    /**
+     * compute the variants of all words of a lazy variant index and put
+     * them in the variant index, so that it is the same as if the variants
+     * had been indexed while loading
+     */
+    private synchronized void completeVariantIndex() {
+        if (!lazyVariants)
+            return;
+        Map<String, List<WordElement>> index = newIndex();
+        for (int number = 0; number < wordsInOrder.size(); number++) {
+            for (String variant : getVariantsOfWord(number))
+                updateIndex(wordsInOrder.get(number), variant, index);
+        }
+        for (Map.Entry<String, List<WordElement>> special : indexByVariant.entrySet()) {
+            for (WordElement word : special.getValue())
+                updateIndex(word, special.getKey(), index);
+        }
+        indexByVariant = index;
+        lazyVariants = false;
+    }
+
     /******************************************************************************************/
     // main methods to get data from lexicon
 
@@ -348,35 +921,36 @@ public abstract class XMLLexicon extends Lexicon {
 	 */
     @Override
     public List<WordElement> getWords(String baseForm, LexicalCategory category) {
-        return getWordsFromIndex(baseForm, category, indexByBase);
+        return getWordsFromIndex(indexByBase.get(baseForm), category);
     }
 
     /**
-     * get matching keys from an index map
+     * get matching keys from an index map. The words returned are copies of
+     * the lexicon entries which share their features until they are changed,
+     * so callers may modify them without affecting the lexicon.
      *
-     * @param indexKey
+     * @param indexEntry - words of the index entry, or <code>null</code>
      * @param category
-     * @param indexMap
      * @return
      */
-    private List<WordElement> getWordsFromIndex(String indexKey,
-                                                LexicalCategory category, Map<String, List<WordElement>> indexMap) {
+    private List<WordElement> getWordsFromIndex(List<WordElement> indexEntry,
+                                                LexicalCategory category) {
         List<WordElement> result = new ArrayList<WordElement>();
 
         // case 1: unknown, return empty list
-        if (!indexMap.containsKey(indexKey)) {
+        if (indexEntry == null) {
             return result;
         }
 
         // case 2: category is ANY, return everything
         if (category == LexicalCategory.ANY) {
-            for (WordElement word : indexMap.get(indexKey)) {
+            for (WordElement word : indexEntry) {
                 result.add(new WordElement(word));
             }
             return result;
         } else {
             // case 3: other category, search for match
-            for (WordElement word : indexMap.get(indexKey)) {
+            for (WordElement word : indexEntry) {
                 if (word.getCategory() == category) {
                     result.add(new WordElement(word));
                 }
@@ -385,6 +959,97 @@ public abstract class XMLLexicon extends Lexicon {
         return result;
     }
 
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.Lexicon#hasWord(java.lang.String,
+     * simplenlg.features.LexicalCategory)
+     */
+    @Override
+    public boolean hasWord(String baseForm, LexicalCategory category) {
+        return firstInCategory(indexByBase.get(baseForm), category) != null;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.Lexicon#hasWordFromVariant(java.lang.String,
+     * simplenlg.features.LexicalCategory)
+     */
+    @Override
+    public boolean hasWordFromVariant(String variant, LexicalCategory category) {
+        return firstInCategory(getVariantEntry(variant), category) != null;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see simplenlg.lexicon.Lexicon#hasWordByID(java.lang.String)
+     */
+    @Override
+    public boolean hasWordByID(String id) {
+        return indexByID.containsKey(id);
+    }
+
+    /**
+     * Resolve a word form with one probe of each index, copying only the word
+     * which is returned. The choice of word is the same as for
+     * <code>getWord</code>, <code>getWordFromVariant</code> and
+     * <code>getWordByID</code>.
+     *
+     * @see simplenlg.lexicon.Lexicon#resolveWord(java.lang.String,
+     * simplenlg.framework.LexicalCategory)
+     */
+    @Override
+    public WordLookup resolveWord(String form, LexicalCategory category) {
+        // all words in the base index have the key as their base form, so the
+        // first in the category is the one getWord would choose
+        WordElement word = firstInCategory(indexByBase.get(form), category);
+        if (word != null) {
+            return new WordLookup(new WordElement(word), WordLookup.Source.BASE);
+        }
+
+        List<WordElement> variants = getVariantEntry(form);
+        word = firstInCategory(variants, category);
+        if (word != null) {
+            // prefer an exact match in base form, as selectMatchingWord does
+            for (WordElement variant : variants) {
+                if ((category == LexicalCategory.ANY || variant.getCategory() == category)
+                        && variant.getBaseForm().equals(form)) {
+                    return new WordLookup(new WordElement(variant), WordLookup.Source.VARIANT);
+                }
+            }
+            if (word.getBaseForm().equalsIgnoreCase(form)) {
+                return new WordLookup(createWord(form, LexicalCategory.ANY), WordLookup.Source.VARIANT);
+            }
+            return new WordLookup(new WordElement(word), WordLookup.Source.VARIANT);
+        }
+
+        word = indexByID.get(form);
+        if (word != null) {
+            return new WordLookup(new WordElement(word), WordLookup.Source.ID);
+        }
+        return new WordLookup(createWord(form, category), WordLookup.Source.CREATED);
+    }
+
+    /**
+     * first word of a category in an index entry, or <code>null</code>
+     *
+     * @param words
+     * @param category
+     * @return
+     */
+    private WordElement firstInCategory(List<WordElement> words, LexicalCategory category) {
+        if (words != null) {
+            for (WordElement word : words) {
+                if (category == LexicalCategory.ANY || word.getCategory() == category) {
+                    return word;
+                }
+            }
+        }
+        return null;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -408,7 +1073,121 @@ public abstract class XMLLexicon extends Lexicon {
     @Override
     public List<WordElement> getWordsFromVariant(String variant,
                                                  LexicalCategory category) {
-        return getWordsFromIndex(variant, category, indexByVariant);
+        return getWordsFromIndex(getVariantEntry(variant), category);
+    }
+
+    /**
+     * all words whose base form begins with a prefix
+     *
+     * @param prefix
+     * @param category - syntactic category of word (ANY for unknown)
+     * @return copies of the words, ordered by base form (may be empty)
+     */
+    public List<WordElement> getWordsByPrefix(String prefix, LexicalCategory category) {
+        return getWordsFromEntries(findByPrefix(indexByBase, prefix), category);
+    }
+
+    /**
+     * all words with a variant which begins with a prefix. A lazy variant
+     * index is completed first, computing the variants of all words.
+     *
+     * @param prefix
+     * @param category - syntactic category of word (ANY for unknown)
+     * @return copies of the words, ordered by variant (may be empty)
+     */
+    public List<WordElement> getWordsFromVariantByPrefix(String prefix, LexicalCategory category) {
+        return getWordsFromEntries(findByPrefix(getVariantIndex(), prefix), category);
+    }
+
+    /**
+     * all words whose base form is equal to a string ignoring case. Words
+     * whose base form is exactly the string come first.
+     *
+     * @param baseForm
+     * @param category - syntactic category of word (ANY for unknown)
+     * @return copies of the words (may be empty)
+     */
+    public List<WordElement> getWordsIgnoreCase(String baseForm, LexicalCategory category) {
+        return getWordsFromEntries(findIgnoreCase(indexByBase, baseForm), category);
+    }
+
+    /**
+     * all words with a variant equal to a string ignoring case. Words with
+     * the exact variant come first. A lazy variant index is completed first,
+     * computing the variants of all words.
+     *
+     * @param variant
+     * @param category - syntactic category of word (ANY for unknown)
+     * @return copies of the words (may be empty)
+     */
+    public List<WordElement> getWordsFromVariantIgnoreCase(String variant, LexicalCategory category) {
+        return getWordsFromEntries(findIgnoreCase(getVariantIndex(), variant), category);
+    }
+
+    /**
+     * the entries of an index whose keys begin with a prefix, in key order
+     *
+     * @param index
+     * @param prefix
+     * @return
+     */
+    private Collection<List<WordElement>> findByPrefix(Map<String, List<WordElement>> index, String prefix) {
+        if (index instanceof TrieIndex)
+            return ((TrieIndex<List<WordElement>>) index).prefixMap(prefix).values();
+
+        SortedMap<String, List<WordElement>> entries = new TreeMap<String, List<WordElement>>();
+        for (Map.Entry<String, List<WordElement>> entry : index.entrySet()) {
+            if (entry.getKey().startsWith(prefix))
+                entries.put(entry.getKey(), entry.getValue());
+        }
+        return entries.values();
+    }
+
+    /**
+     * the entries of an index whose keys equal a string ignoring case, the
+     * exact match first
+     *
+     * @param index
+     * @param key
+     * @return
+     */
+    private Collection<List<WordElement>> findIgnoreCase(Map<String, List<WordElement>> index, String key) {
+        if (index instanceof TrieIndex)
+            return ((TrieIndex<List<WordElement>>) index).getIgnoreCase(key);
+
+        List<List<WordElement>> entries = new ArrayList<List<WordElement>>();
+        if (index.containsKey(key))
+            entries.add(index.get(key));
+        SortedMap<String, List<WordElement>> others = new TreeMap<String, List<WordElement>>();
+        for (Map.Entry<String, List<WordElement>> entry : index.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(key) && !entry.getKey().equals(key))
+                others.put(entry.getKey(), entry.getValue());
+        }
+        entries.addAll(others.values());
+        return entries;
+    }
+
+    /**
+     * copies of the words of some index entries which are in a category,
+     * each word once
+     *
+     * @param entries
+     * @param category
+     * @return
+     */
+    private List<WordElement> getWordsFromEntries(Collection<List<WordElement>> entries,
+                                                  LexicalCategory category) {
+        List<WordElement> result = new ArrayList<WordElement>();
+        Set<WordElement> seen = Collections.newSetFromMap(new IdentityHashMap<WordElement, Boolean>());
+        for (List<WordElement> entry : entries) {
+            for (WordElement word : entry) {
+                if ((category == LexicalCategory.ANY || word.getCategory() == category)
+                        && seen.add(word)) {
+                    result.add(new WordElement(word));
+                }
+            }
+        }
+        return result;
     }
 
     /**
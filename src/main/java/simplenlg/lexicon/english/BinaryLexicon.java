@@ -0,0 +1,102 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon.english;
+
+import simplenlg.features.InterrogativeType;
+import simplenlg.framework.Language;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.WordElement;
+
+import java.io.File;
+
+/**
+ * This class reads words from a precompiled binary English lexicon, see
+ * {@link simplenlg.lexicon.BinaryLexicon}. It behaves as the English
+ * {@link XMLLexicon} it was compiled from.
+ */
+public class BinaryLexicon extends simplenlg.lexicon.BinaryLexicon {
+
+    /**
+     * Open a binary lexicon from a named file
+     *
+     * @param filename
+     */
+    public BinaryLexicon(String filename) {
+        super(filename, Language.ENGLISH);
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * Open a binary lexicon from a File
+     *
+     * @param file
+     */
+    public BinaryLexicon(File file) {
+        super(file, Language.ENGLISH);
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * General word lookup method, tries base form, variant, ID (in this order)
+     * Creates new word if can't find existing word
+     *
+     * @param baseForm
+     * @param category
+     * @return word
+     */
+    @Override
+    public WordElement lookupWord(String baseForm, LexicalCategory category) {
+        return LexiconRules.lookupWord(super.lookupWord(baseForm, category), baseForm);
+    }
+
+    /**
+     * Get the coordination conjunction used for addition in this lexicon.
+     *
+     * @return the coordination conjunction used for addition in this lexicon
+     */
+    @Override
+    public WordElement getAdditionCoordConjunction() {
+        return LexiconRules.getAdditionCoordConjunction(this);
+    }
+
+    /**
+     * Get the default complementiser for clauses.
+     *
+     * @return the default complementiser for clauses in this lexicon
+     */
+    @Override
+    public WordElement getDefaultComplementiser() {
+        return LexiconRules.getDefaultComplementiser(this);
+    }
+
+    /**
+     * Get the preposition used for passive subjects.
+     *
+     * @return the default complementiser for clauses in this lexicon
+     */
+    @Override
+    public WordElement getPassivePreposition() {
+        return LexiconRules.getPassivePreposition(this);
+    }
+
+    @Override
+    public String getInterrogativeTypeString(InterrogativeType type) {
+        return LexiconRules.interrogativeTypeString(type);
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Saad Mahamood, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.lexicon.english;
+
+import simplenlg.features.*;
+import simplenlg.framework.*;
+import simplenlg.lexicon.Lexicon;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The rules of the English lexicon which do not depend on how the words are
+ * stored, so that the {@link XMLLexicon} and the {@link BinaryLexicon} it is
+ * compiled into behave in the same way.
+ */
+final class LexiconRules {
+
+    /**
+     * The coordinators which make a coordinated phrase plural.
+     */
+    @SuppressWarnings("nls")
+    static final List<String> PLURAL_COORDINATORS = Arrays.asList("and");
+
+    /**
+     * The list of English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> PRONOUNS = Arrays.asList("I",
+            "you",
+            "he",
+            "she",
+            "it",
+            "me",
+            "you",
+            "him",
+            "her",
+            "it",
+            "myself",
+            "yourself",
+            "himself",
+            "herself",
+            "itself",
+            "mine",
+            "yours",
+            "his",
+            "hers",
+            "its",
+            "we",
+            "you",
+            "they",
+            "they",
+            "they",
+            "us",
+            "you",
+            "them",
+            "them",
+            "them",
+            "ourselves",
+            "yourselves",
+            "themselves",
+            "themselves",
+            "themselves",
+            "ours",
+            "yours",
+            "theirs",
+            "theirs",
+            "theirs",
+            "there");
+
+    /**
+     * The list of first-person English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> FIRST_PRONOUNS = Arrays.asList("I",
+            "me",
+            "myself",
+            "we",
+            "us",
+            "ourselves",
+            "mine",
+            "my",
+            "ours",
+            "our");
+
+    /**
+     * The list of second person English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> SECOND_PRONOUNS = Arrays.asList("you",
+            "yourself",
+            "yourselves",
+            "yours",
+            "your");
+
+    /**
+     * The list of reflexive English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> REFLEXIVE_PRONOUNS = Arrays.asList("myself",
+            "yourself",
+            "himself",
+            "herself",
+            "itself",
+            "ourselves",
+            "yourselves",
+            "themselves");
+
+    /**
+     * The list of masculine English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> MASCULINE_PRONOUNS = Arrays.asList("he", "him", "himself", "his");
+
+    /**
+     * The list of feminine English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> FEMININE_PRONOUNS = Arrays.asList("she", "her", "herself", "hers");
+
+    /**
+     * The list of possessive English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> POSSESSIVE_PRONOUNS = Arrays.asList("mine",
+            "ours",
+            "yours",
+            "his",
+            "hers",
+            "its",
+            "theirs",
+            "my",
+            "our",
+            "your",
+            "her",
+            "their");
+
+    /**
+     * The list of plural English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> PLURAL_PRONOUNS = Arrays.asList("we",
+            "us",
+            "ourselves",
+            "ours",
+            "our",
+            "they",
+            "them",
+            "theirs",
+            "their");
+
+    /**
+     * The list of English pronouns that can be singular or plural.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> EITHER_NUMBER_PRONOUNS = Arrays.asList("there");
+
+    /**
+     * The list of expletive English pronouns.
+     */
+    @SuppressWarnings("nls")
+    private static final List<String> EXPLETIVE_PRONOUNS = Arrays.asList("there");
+
+    private LexiconRules() {
+    }
+
+    /**
+     * Completes a word found by a lookup: pronouns get their person, number,
+     * gender and the like.
+     *
+     * @param wordElement the word found.
+     * @param baseForm    the base form looked up.
+     * @return the word.
+     */
+    static WordElement lookupWord(WordElement wordElement, String baseForm) {
+        if (PRONOUNS.contains(baseForm)) {
+            setPronounFeatures(wordElement, baseForm);
+        }
+        return wordElement;
+    }
+
+    /**
+     * A helper method to set the features on newly created pronoun words.
+     *
+     * @param wordElement the created element representing the pronoun.
+     * @param word        the base word for the pronoun.
+     */
+    private static void setPronounFeatures(NLGElement wordElement, String word) {
+        wordElement.setCategory(LexicalCategory.PRONOUN);
+        if (FIRST_PRONOUNS.contains(word)) {
+            wordElement.setFeature(Feature.PERSON, Person.FIRST);
+        } else if (SECOND_PRONOUNS.contains(word)) {
+            wordElement.setFeature(Feature.PERSON, Person.SECOND);
+
+            if ("yourself".equalsIgnoreCase(word)) { //$NON-NLS-1$
+                wordElement.setPlural(false);
+            } else if ("yourselves".equalsIgnoreCase(word)) { //$NON-NLS-1$
+                wordElement.setPlural(true);
+            } else {
+                wordElement.setFeature(Feature.NUMBER, NumberAgreement.BOTH);
+            }
+        } else {
+            wordElement.setFeature(Feature.PERSON, Person.THIRD);
+        }
+        if (REFLEXIVE_PRONOUNS.contains(word)) {
+            wordElement.setFeature(LexicalFeature.REFLEXIVE, true);
+        } else {
+            wordElement.setFeature(LexicalFeature.REFLEXIVE, false);
+        }
+        if (MASCULINE_PRONOUNS.contains(word)) {
+            wordElement.setFeature(LexicalFeature.GENDER, Gender.MASCULINE);
+        } else if (FEMININE_PRONOUNS.contains(word)) {
+            wordElement.setFeature(LexicalFeature.GENDER, Gender.FEMININE);
+        } else {
+            wordElement.setFeature(LexicalFeature.GENDER, Gender.NEUTER);
+        }
+
+        if (POSSESSIVE_PRONOUNS.contains(word)) {
+            wordElement.setFeature(Feature.POSSESSIVE, true);
+        } else {
+            wordElement.setFeature(Feature.POSSESSIVE, false);
+        }
+
+        if (PLURAL_PRONOUNS.contains(word) && !SECOND_PRONOUNS.contains(word)) {
+            wordElement.setPlural(true);
+        } else if (!EITHER_NUMBER_PRONOUNS.contains(word)) {
+            wordElement.setPlural(false);
+        }
+
+        if (EXPLETIVE_PRONOUNS.contains(word)) {
+            wordElement.setFeature(InternalFeature.NON_MORPH, true);
+            wordElement.setFeature(LexicalFeature.EXPLETIVE_SUBJECT, true);
+        }
+    }
+
+
+    /**
+     * @param lexicon the lexicon.
+     * @return the coordination conjunction used for addition.
+     */
+    static WordElement getAdditionCoordConjunction(Lexicon lexicon) {
+        return lexicon.lookupWord("and", LexicalCategory.CONJUNCTION);
+    }
+
+    /**
+     * @param lexicon the lexicon.
+     * @return the default complementiser for clauses.
+     */
+    static WordElement getDefaultComplementiser(Lexicon lexicon) {
+        return lexicon.lookupWord("that", LexicalCategory.COMPLEMENTISER);
+    }
+
+    /**
+     * @param lexicon the lexicon.
+     * @return the preposition used for passive subjects.
+     */
+    static WordElement getPassivePreposition(Lexicon lexicon) {
+        return lexicon.lookupWord("by", LexicalCategory.PREPOSITION);
+    }
+
+    /**
+     * the interrogative word for a question type.
+     *
+     * @param type
+     * @return
+     */
+    static String interrogativeTypeString(InterrogativeType type) {
+        String s = "";
+
+        switch (type) {
+            case HOW:
+            case HOW_PREDICATE:
+                s = "how";
+                break;
+            case WHAT_OBJECT:
+            case WHAT_SUBJECT:
+                s = "what";
+                break;
+            case WHERE:
+                s = "where";
+                break;
+            case WHO_INDIRECT_OBJECT:
+            case WHO_OBJECT:
+            case WHO_SUBJECT:
+                s = "who";
+                break;
+            case WHY:
+                s = "why";
+                break;
+            case HOW_MANY:
+                s = "how many";
+                break;
+            case YES_NO:
+                s = "yes/no";
+                break;
+        }
+
+        return s;
+    }
+}
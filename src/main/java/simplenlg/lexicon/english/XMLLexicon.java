@@ -23,9 +23,7 @@ import simplenlg.framework.*;
 
 import java.io.File;
 import java.net.URI;
-import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -36,144 +34,6 @@ import java.util.Set;
  */
 public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
 
-    /**
-     * The list of English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> PRONOUNS = Arrays.asList("I",
-            "you",
-            "he",
-            "she",
-            "it",
-            "me",
-            "you",
-            "him",
-            "her",
-            "it",
-            "myself",
-            "yourself",
-            "himself",
-            "herself",
-            "itself",
-            "mine",
-            "yours",
-            "his",
-            "hers",
-            "its",
-            "we",
-            "you",
-            "they",
-            "they",
-            "they",
-            "us",
-            "you",
-            "them",
-            "them",
-            "them",
-            "ourselves",
-            "yourselves",
-            "themselves",
-            "themselves",
-            "themselves",
-            "ours",
-            "yours",
-            "theirs",
-            "theirs",
-            "theirs",
-            "there");
-
-    /**
-     * The list of first-person English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> FIRST_PRONOUNS = Arrays.asList("I",
-            "me",
-            "myself",
-            "we",
-            "us",
-            "ourselves",
-            "mine",
-            "my",
-            "ours",
-            "our");
-
-    /**
-     * The list of second person English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> SECOND_PRONOUNS = Arrays.asList("you",
-            "yourself",
-            "yourselves",
-            "yours",
-            "your");
-
-    /**
-     * The list of reflexive English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> REFLEXIVE_PRONOUNS = Arrays.asList("myself",
-            "yourself",
-            "himself",
-            "herself",
-            "itself",
-            "ourselves",
-            "yourselves",
-            "themselves");
-
-    /**
-     * The list of masculine English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> MASCULINE_PRONOUNS = Arrays.asList("he", "him", "himself", "his");
-
-    /**
-     * The list of feminine English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> FEMININE_PRONOUNS = Arrays.asList("she", "her", "herself", "hers");
-
-    /**
-     * The list of possessive English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> POSSESSIVE_PRONOUNS = Arrays.asList("mine",
-            "ours",
-            "yours",
-            "his",
-            "hers",
-            "its",
-            "theirs",
-            "my",
-            "our",
-            "your",
-            "her",
-            "their");
-
-    /**
-     * The list of plural English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> PLURAL_PRONOUNS = Arrays.asList("we",
-            "us",
-            "ourselves",
-            "ours",
-            "our",
-            "they",
-            "them",
-            "theirs",
-            "their");
-
-    /**
-     * The list of English pronouns that can be singular or plural.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> EITHER_NUMBER_PRONOUNS = Arrays.asList("there");
-
-    /**
-     * The list of expletive English pronouns.
-     */
-    @SuppressWarnings("nls")
-    private static final List<String> EXPLETIVE_PRONOUNS = Arrays.asList("there");
 
     /**********************************************************************/
     // constructors
@@ -187,7 +47,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
     public XMLLexicon(String filename) {
 
         super(filename, Language.ENGLISH);
-        this.PLURAL_COORDINATORS.add("and");
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
     /**
@@ -198,7 +58,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
     public XMLLexicon(File file) {
 
         super(file, Language.ENGLISH);
-        this.PLURAL_COORDINATORS.add("and");
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
     /**
@@ -209,13 +69,41 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
     public XMLLexicon(URI lexiconURI) {
 
         super(lexiconURI, Language.ENGLISH);
-        this.PLURAL_COORDINATORS.add("and");
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * Load an XML Lexicon from a URI, converting words and computing their
+     * variants on several threads
+     *
+     * @param lexiconURI
+     * @param threads
+     */
+    public XMLLexicon(URI lexiconURI, int threads) {
+
+        super(lexiconURI, Language.ENGLISH, threads);
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * Load an XML Lexicon from a URI on several threads, with trie indices
+     * if asked to
+     *
+     * @param lexiconURI
+     * @param threads
+     * @param trieIndex
+     * @see simplenlg.lexicon.XMLLexicon#XMLLexicon(URI, Language, int, boolean)
+     */
+    public XMLLexicon(URI lexiconURI, int threads, boolean trieIndex) {
+
+        super(lexiconURI, Language.ENGLISH, threads, trieIndex);
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
     public XMLLexicon() {
 
         super(Language.ENGLISH);
-        this.PLURAL_COORDINATORS.add("and");
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
     /**
@@ -334,65 +222,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      */
     @Override
     public WordElement lookupWord(String baseForm, LexicalCategory category) {
-        WordElement wordElement = super.lookupWord(baseForm, category);
-        if (PRONOUNS.contains(baseForm)) {
-            setPronounFeatures(wordElement, baseForm);
-        }
-        return wordElement;
-    }
-
-    /**
-     * A helper method to set the features on newly created pronoun words.
-     *
-     * @param wordElement the created element representing the pronoun.
-     * @param word        the base word for the pronoun.
-     */
-    private void setPronounFeatures(NLGElement wordElement, String word) {
-        wordElement.setCategory(LexicalCategory.PRONOUN);
-        if (FIRST_PRONOUNS.contains(word)) {
-            wordElement.setFeature(Feature.PERSON, Person.FIRST);
-        } else if (SECOND_PRONOUNS.contains(word)) {
-            wordElement.setFeature(Feature.PERSON, Person.SECOND);
-
-            if ("yourself".equalsIgnoreCase(word)) { //$NON-NLS-1$
-                wordElement.setPlural(false);
-            } else if ("yourselves".equalsIgnoreCase(word)) { //$NON-NLS-1$
-                wordElement.setPlural(true);
-            } else {
-                wordElement.setFeature(Feature.NUMBER, NumberAgreement.BOTH);
-            }
-        } else {
-            wordElement.setFeature(Feature.PERSON, Person.THIRD);
-        }
-        if (REFLEXIVE_PRONOUNS.contains(word)) {
-            wordElement.setFeature(LexicalFeature.REFLEXIVE, true);
-        } else {
-            wordElement.setFeature(LexicalFeature.REFLEXIVE, false);
-        }
-        if (MASCULINE_PRONOUNS.contains(word)) {
-            wordElement.setFeature(LexicalFeature.GENDER, Gender.MASCULINE);
-        } else if (FEMININE_PRONOUNS.contains(word)) {
-            wordElement.setFeature(LexicalFeature.GENDER, Gender.FEMININE);
-        } else {
-            wordElement.setFeature(LexicalFeature.GENDER, Gender.NEUTER);
-        }
-
-        if (POSSESSIVE_PRONOUNS.contains(word)) {
-            wordElement.setFeature(Feature.POSSESSIVE, true);
-        } else {
-            wordElement.setFeature(Feature.POSSESSIVE, false);
-        }
-
-        if (PLURAL_PRONOUNS.contains(word) && !SECOND_PRONOUNS.contains(word)) {
-            wordElement.setPlural(true);
-        } else if (!EITHER_NUMBER_PRONOUNS.contains(word)) {
-            wordElement.setPlural(false);
-        }
-
-        if (EXPLETIVE_PRONOUNS.contains(word)) {
-            wordElement.setFeature(InternalFeature.NON_MORPH, true);
-            wordElement.setFeature(LexicalFeature.EXPLETIVE_SUBJECT, true);
-        }
+        return LexiconRules.lookupWord(super.lookupWord(baseForm, category), baseForm);
     }
 
     /**
@@ -401,7 +231,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      * @return the coordination conjunction used for addition in this lexicon
      */
     public WordElement getAdditionCoordConjunction() {
-        return lookupWord("and", LexicalCategory.CONJUNCTION);
+        return LexiconRules.getAdditionCoordConjunction(this);
     }
 
     /**
@@ -410,7 +240,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      * @return the default complementiser for clauses in this lexicon
      */
     public WordElement getDefaultComplementiser() {
-        return lookupWord("that", LexicalCategory.COMPLEMENTISER);
+        return LexiconRules.getDefaultComplementiser(this);
     }
 
     /**
@@ -420,41 +250,11 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      */
     @Override
     public WordElement getPassivePreposition() {
-        return lookupWord("by", LexicalCategory.PREPOSITION);
+        return LexiconRules.getPassivePreposition(this);
     }
 
     @Override
     public String getInterrogativeTypeString(InterrogativeType type) {
-        String s = "";
-
-        switch (type) {
-            case HOW:
-            case HOW_PREDICATE:
-                s = "how";
-                break;
-            case WHAT_OBJECT:
-            case WHAT_SUBJECT:
-                s = "what";
-                break;
-            case WHERE:
-                s = "where";
-                break;
-            case WHO_INDIRECT_OBJECT:
-            case WHO_OBJECT:
-            case WHO_SUBJECT:
-                s = "who";
-                break;
-            case WHY:
-                s = "why";
-                break;
-            case HOW_MANY:
-                s = "how many";
-                break;
-            case YES_NO:
-                s = "yes/no";
-                break;
-        }
-
-        return s;
+        return LexiconRules.interrogativeTypeString(type);
     }
 }
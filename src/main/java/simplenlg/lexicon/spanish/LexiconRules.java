@@ -0,0 +1,125 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Saad Mahamood, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.lexicon.spanish;
+
+import simplenlg.features.InterrogativeType;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.WordElement;
+import simplenlg.lexicon.Lexicon;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The rules of the Spanish lexicon which do not depend on how the words are
+ * stored, so that the {@link XMLLexicon} and the {@link BinaryLexicon} it is
+ * compiled into behave in the same way.
+ */
+final class LexiconRules {
+
+    /**
+     * The coordinators which make a coordinated phrase plural.
+     */
+    @SuppressWarnings("nls")
+    static final List<String> PLURAL_COORDINATORS = Arrays.asList("y", "o");
+
+    private LexiconRules() {
+    }
+
+    /**
+     * Gets the category a word is looked up in: a noun which the lexicon
+     * also has as a pronoun is looked up as the pronoun.
+     *
+     * @param lexicon  the lexicon.
+     * @param baseForm the base form looked up.
+     * @param category the category asked for.
+     * @return the category to look the word up in.
+     */
+    static LexicalCategory lookupCategory(Lexicon lexicon, String baseForm, LexicalCategory category) {
+        if (category.equals(LexicalCategory.NOUN) && (lexicon.hasWord(baseForm, LexicalCategory.PRONOUN)
+                || lexicon.hasWordFromVariant(baseForm, LexicalCategory.PRONOUN))) {
+            return LexicalCategory.PRONOUN;
+        }
+        return category;
+    }
+
+    /**
+     * @param lexicon the lexicon.
+     * @return the coordination conjunction used for addition.
+     */
+    static WordElement getAdditionCoordConjunction(Lexicon lexicon) {
+        return lexicon.lookupWord("y", LexicalCategory.CONJUNCTION);
+    }
+
+    /**
+     * @param lexicon the lexicon.
+     * @return the default complementiser for clauses.
+     */
+    static WordElement getDefaultComplementiser(Lexicon lexicon) {
+        return lexicon.lookupWord("que", LexicalCategory.CONJUNCTION);
+    }
+
+    /**
+     * @param lexicon the lexicon.
+     * @return the preposition used for passive subjects.
+     */
+    static WordElement getPassivePreposition(Lexicon lexicon) {
+        return lexicon.lookupWord("por", LexicalCategory.PREPOSITION);
+    }
+
+    /**
+     * the interrogative word for a question type.
+     *
+     * @param type
+     * @return
+     */
+    static String interrogativeTypeString(InterrogativeType type) {
+        String s = "";
+
+        switch (type) {
+            case HOW:
+            case HOW_PREDICATE:
+                s = "cómo";
+                break;
+            case WHAT_OBJECT:
+            case WHAT_SUBJECT:
+                s = "qué";
+                break;
+            case WHERE:
+                s = "dónde";
+                break;
+            case WHO_INDIRECT_OBJECT:
+            case WHO_OBJECT:
+            case WHO_SUBJECT:
+                s = "quién";
+                break;
+            case WHY:
+                s = "por qué";
+                break;
+            case HOW_MANY:
+                s = "cuántos";
+                break;
+            case YES_NO:
+                s = "si/no";
+                break;
+        }
+
+        return s;
+    }
+}
@@ -18,7 +18,6 @@
  */
 package simplenlg.lexicon.spanish;
 
-import org.w3c.dom.Node;
 import simplenlg.features.*;
 import simplenlg.features.spanish.LexicalFeature;
 import simplenlg.framework.ElementCategory;
@@ -28,7 +27,6 @@ import simplenlg.framework.WordElement;
 
 import java.io.File;
 import java.net.URI;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -52,7 +50,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
     public XMLLexicon(String filename) {
 
         super(filename, Language.SPANISH);
-        this.PLURAL_COORDINATORS.addAll(Arrays.asList("y", "o"));
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
     /**
@@ -63,7 +61,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
     public XMLLexicon(File file) {
 
         super(file, Language.SPANISH);
-        this.PLURAL_COORDINATORS.addAll(Arrays.asList("y", "o"));
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
     /**
@@ -74,18 +72,51 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
     public XMLLexicon(URI lexiconURI) {
 
         super(lexiconURI, Language.SPANISH);
-        this.PLURAL_COORDINATORS.addAll(Arrays.asList("y", "o"));
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * Load an XML Lexicon from a URI, converting words and computing their
+     * variants on several threads
+     *
+     * @param lexiconURI
+     * @param threads
+     */
+    public XMLLexicon(URI lexiconURI, int threads) {
+
+        super(lexiconURI, Language.SPANISH, threads);
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
+    }
+
+    /**
+     * Load an XML Lexicon from a URI on several threads, with trie indices
+     * if asked to
+     *
+     * @param lexiconURI
+     * @param threads
+     * @param trieIndex
+     * @see simplenlg.lexicon.XMLLexicon#XMLLexicon(URI, Language, int, boolean)
+     */
+    public XMLLexicon(URI lexiconURI, int threads, boolean trieIndex) {
+
+        super(lexiconURI, Language.SPANISH, threads, trieIndex);
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
     public XMLLexicon() {
 
         super(Language.SPANISH);
-        this.PLURAL_COORDINATORS.addAll(Arrays.asList("y", "o"));
+        this.PLURAL_COORDINATORS.addAll(LexiconRules.PLURAL_COORDINATORS);
     }
 
+    /**
+     * convert gender, number and person from the lexicon XML into their enum
+     * values
+     *
+     * @param word
+     */
     @Override
-    protected WordElement convertNodeToWord(Node wordNode) {
-        WordElement word = super.convertNodeToWord(wordNode);
+    protected void convertFeatureValues(WordElement word) {
         if (word.hasFeature(LexicalFeature.GENDER)) {
             String value = word.getFeatureAsString(LexicalFeature.GENDER);
             word.setFeature(LexicalFeature.GENDER, Gender.valueOf(value.toUpperCase()));
@@ -98,7 +129,6 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
             String value = word.getFeatureAsString(Feature.PERSON);
             word.setFeature(Feature.PERSON, Person.valueOf(value.toUpperCase()));
         }
-        return word;
     }
 
     /**
@@ -107,6 +137,19 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
     protected void addSpecialCases() {
     }
 
+    /**
+     * Spanish verbs have some sixty variants each, most of which are never
+     * looked up, so they are computed when first needed rather than while
+     * loading. All variants made by {@link #getForm(String, String)} begin
+     * with the base form less its last character.
+     *
+     * @return <code>true</code>
+     */
+    @Override
+    protected boolean hasLazyVariantIndex() {
+        return true;
+    }
+
     /**
      * quick-and-dirty routine for getting morph variants should be replaced by
      * something better!
@@ -260,11 +303,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      */
     @Override
     public WordElement lookupWord(String baseForm, LexicalCategory category) {
-        WordElement wordElement = super.lookupWord(baseForm, category);
-        if (category.equals(LexicalCategory.NOUN) && (hasWord(baseForm, LexicalCategory.PRONOUN) || hasWordFromVariant(baseForm, LexicalCategory.PRONOUN))) {
-            wordElement = super.lookupWord(baseForm, LexicalCategory.PRONOUN);
-        }
-        return wordElement;
+        return super.lookupWord(baseForm, LexiconRules.lookupCategory(this, baseForm, category));
     }
 
     /**
@@ -274,7 +313,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      */
     @Override
     public WordElement getAdditionCoordConjunction() {
-        return lookupWord("y", LexicalCategory.CONJUNCTION);
+        return LexiconRules.getAdditionCoordConjunction(this);
     }
 
     /**
@@ -284,7 +323,7 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      */
     @Override
     public WordElement getDefaultComplementiser() {
-        return lookupWord("que", LexicalCategory.CONJUNCTION);
+        return LexiconRules.getDefaultComplementiser(this);
     }
 
     /**
@@ -294,41 +333,11 @@ public class XMLLexicon extends simplenlg.lexicon.XMLLexicon {
      */
     @Override
     public WordElement getPassivePreposition() {
-        return lookupWord("por", LexicalCategory.PREPOSITION);
+        return LexiconRules.getPassivePreposition(this);
     }
 
     @Override
     public String getInterrogativeTypeString(InterrogativeType type) {
-        String s = "";
-
-        switch (type) {
-            case HOW:
-            case HOW_PREDICATE:
-                s = "cómo";
-                break;
-            case WHAT_OBJECT:
-            case WHAT_SUBJECT:
-                s = "qué";
-                break;
-            case WHERE:
-                s = "dónde";
-                break;
-            case WHO_INDIRECT_OBJECT:
-            case WHO_OBJECT:
-            case WHO_SUBJECT:
-                s = "quién";
-                break;
-            case WHY:
-                s = "por qué";
-                break;
-            case HOW_MANY:
-                s = "cuántos";
-                break;
-            case YES_NO:
-                s = "si/no";
-                break;
-        }
-
-        return s;
+        return LexiconRules.interrogativeTypeString(type);
     }
 }
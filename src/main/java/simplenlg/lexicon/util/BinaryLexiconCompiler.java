@@ -0,0 +1,87 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon.util;
+
+import simplenlg.framework.Language;
+import simplenlg.lexicon.BinaryLexicon;
+import simplenlg.lexicon.XMLLexicon;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * <p>This class compiles an XML lexicon into the binary format read by
+ * {@link simplenlg.lexicon.BinaryLexicon}. The XML is parsed and indexed
+ * once, here, instead of every time the lexicon is constructed.</p>
+ */
+public class BinaryLexiconCompiler {
+
+	/**
+	 * This main method loads an XML lexicon and writes it out as a binary lexicon.
+	 *
+	 * @param args : List of Arguments that this command line application must be provided with in order:
+	 * <ol>
+	 * 		<li>The language of the lexicon, as an ISO 639-1 code (en or es)</li>
+	 * 		<li>The full path to the XML lexicon file</li>
+	 * 		<li>The full path to the binary lexicon file that will be written</li>
+	 * </ol>
+	 *
+	 *<p>Example usage:
+	 *   java simplenlg.lexicon.util.BinaryLexiconCompiler es default-spanish-lexicon.xml spanish-lexicon.bin
+	 *</p>
+	 */
+	public static void main(String[] args) {
+		if (args.length != 3) {
+			System.out.println("Usage: BinaryLexiconCompiler <language> <XML lexicon> <binary lexicon>");
+			return;
+		}
+
+		Language language = Language.convertCodeToLanguage(args[0]);
+		if (language == null) {
+			System.out.println("Unknown language: " + args[0]);
+			return;
+		}
+
+		try {
+			long startTime = System.currentTimeMillis();
+			compile(language, new File(args[1]), new File(args[2]));
+			System.out.format("Compiled %s to %s in %d ms%n", args[1], args[2],
+					System.currentTimeMillis() - startTime);
+		} catch (IOException ex) {
+			System.out.println("Cannot write binary lexicon: " + ex.toString());
+		}
+	}
+
+	/**
+	 * Compile an XML lexicon file into a binary lexicon file
+	 *
+	 * @param language - language of the lexicon
+	 * @param xmlFile  - the XML lexicon
+	 * @param binaryFile - the binary lexicon to write
+	 * @throws IOException
+	 */
+	public static void compile(Language language, File xmlFile, File binaryFile) throws IOException {
+		XMLLexicon lexicon;
+		if (language == Language.SPANISH)
+			lexicon = new simplenlg.lexicon.spanish.XMLLexicon(xmlFile);
+		else
+			lexicon = new simplenlg.lexicon.english.XMLLexicon(xmlFile);
+		BinaryLexicon.compile(lexicon, binaryFile);
+	}
+}
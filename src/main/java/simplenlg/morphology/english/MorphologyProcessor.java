@@ -155,7 +155,7 @@ public class MorphologyProcessor extends simplenlg.morphology.MorphologyProcesso
     @Override
     protected NLGElement doMorphology(InflectedWordElement element) {
         NLGElement realisedElement = null;
-        if (element.getFeatureAsBoolean(InternalFeature.NON_MORPH).booleanValue()) {
+        if (element.getBooleanFeature(InternalFeature.NON_MORPH)) {
             realisedElement = new StringElement(element.getBaseForm());
             realisedElement.setFeature(InternalFeature.DISCOURSE_FUNCTION,
                     element.getFeature(InternalFeature.DISCOURSE_FUNCTION));
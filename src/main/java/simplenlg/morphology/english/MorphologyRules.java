@@ -93,12 +93,12 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
         // base form from baseWord if it exists, otherwise from element
         String baseForm = getBaseForm(element, baseWord);
 
-        if (element.isPlural() && !element.getFeatureAsBoolean(LexicalFeature.PROPER).booleanValue()) {
+        if (element.isPlural() && !element.getBooleanFeature(LexicalFeature.PROPER)) {
 
             String pluralForm = null;
 
             // AG changed: now check if default infl is uncount
-            // if (element.getFeatureAsBoolean(LexicalFeature.NON_COUNT)
+            // if (element.getBooleanFeature(LexicalFeature.NON_COUNT)
             // .booleanValue()) {
             // pluralForm = baseForm;
             Object elementDefaultInfl = element.getFeature(LexicalFeature.DEFAULT_INFL);
@@ -112,7 +112,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
 
             if (pluralForm == null && baseWord != null) {
                 // AG changed: now check if default infl is uncount
-                // if (baseWord.getFeatureAsBoolean(LexicalFeature.NON_COUNT)
+                // if (baseWord.getBooleanFeature(LexicalFeature.NON_COUNT)
                 // .booleanValue()) {
                 // pluralForm = baseForm;
                 String baseDefaultInfl = baseWord.getFeatureAsString(LexicalFeature.DEFAULT_INFL);
@@ -262,7 +262,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
         // base form from baseWord if it exists, otherwise from element
         String baseForm = getBaseForm(element, baseWord);
 
-        if (element.getFeatureAsBoolean(Feature.NEGATED) || Form.BARE_INFINITIVE.equals(formValue)) {
+        if (element.getBooleanFeature(Feature.NEGATED) || Form.BARE_INFINITIVE.equals(formValue)) {
             realised = baseForm;
 
         } else if (Form.PRESENT_PARTICIPLE.equals(formValue)) {
@@ -356,7 +356,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
      */
     private void checkPossessive(InflectedWordElement element, StringBuffer realised) {
 
-        if (element.getFeatureAsBoolean(Feature.POSSESSIVE).booleanValue()) {
+        if (element.getBooleanFeature(Feature.POSSESSIVE)) {
             if (realised.charAt(realised.length() - 1) == 's') {
                 realised.append('\'');
 
@@ -529,7 +529,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
         // base form from baseWord if it exists, otherwise from element
         String baseForm = getBaseForm(element, baseWord);
 
-        if (element.getFeatureAsBoolean(Feature.IS_COMPARATIVE).booleanValue()) {
+        if (element.getBooleanFeature(Feature.IS_COMPARATIVE)) {
             realised = element.getFeatureAsString(LexicalFeature.COMPARATIVE);
 
             if (realised == null && baseWord != null) {
@@ -542,7 +542,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
                     realised = buildRegularComparative(baseForm);
                 }
             }
-        } else if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE).booleanValue()) {
+        } else if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
 
             realised = element.getFeatureAsString(LexicalFeature.SUPERLATIVE);
 
@@ -673,7 +673,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
         // base form from baseWord if it exists, otherwise from element
         String baseForm = getBaseForm(element, baseWord);
 
-        if (element.getFeatureAsBoolean(Feature.IS_COMPARATIVE).booleanValue()) {
+        if (element.getBooleanFeature(Feature.IS_COMPARATIVE)) {
             realised = element.getFeatureAsString(LexicalFeature.COMPARATIVE);
 
             if (realised == null && baseWord != null) {
@@ -682,7 +682,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
             if (realised == null) {
                 realised = buildRegularComparative(baseForm);
             }
-        } else if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE).booleanValue()) {
+        } else if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
 
             realised = element.getFeatureAsString(LexicalFeature.SUPERLATIVE);
 
@@ -711,7 +711,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
     public NLGElement doPronounMorphology(InflectedWordElement element) {
         String realised = null;
 
-        if (!element.getFeatureAsBoolean(InternalFeature.NON_MORPH).booleanValue() && !isWHPronoun(element)) {
+        if (!element.getBooleanFeature(InternalFeature.NON_MORPH) && !isWHPronoun(element)) {
             Object genderValue = element.getFeature(LexicalFeature.GENDER);
             Object personValue = element.getFeature(Feature.PERSON);
             Object discourseValue = element.getFeature(InternalFeature.DISCOURSE_FUNCTION);
@@ -727,19 +727,19 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
 
             int positionIndex = 0;
 
-            if (element.getFeatureAsBoolean(LexicalFeature.REFLEXIVE).booleanValue()) {
+            if (element.getBooleanFeature(LexicalFeature.REFLEXIVE)) {
                 positionIndex = 2;
-            } else if (element.getFeatureAsBoolean(Feature.POSSESSIVE).booleanValue()) {
+            } else if (element.getBooleanFeature(Feature.POSSESSIVE)) {
                 positionIndex = 3;
                 if (DiscourseFunction.SPECIFIER.equals(discourseValue)) {
                     positionIndex++;
                 }
             } else {
-                positionIndex = (DiscourseFunction.SUBJECT.equals(discourseValue) && !element.getFeatureAsBoolean(
-                        Feature.PASSIVE).booleanValue()) || (DiscourseFunction.OBJECT.equals(discourseValue) && element.getFeatureAsBoolean(Feature.PASSIVE).booleanValue())
+                positionIndex = (DiscourseFunction.SUBJECT.equals(discourseValue) && !element.getBooleanFeature(
+                        Feature.PASSIVE)) || (DiscourseFunction.OBJECT.equals(discourseValue) && element.getBooleanFeature(Feature.PASSIVE))
                         || DiscourseFunction.SPECIFIER.equals(discourseValue) || (
                         DiscourseFunction.COMPLEMENT.equals(discourseValue)
-                                && element.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) ? 0 : 1;
+                                && element.getBooleanFeature(Feature.PASSIVE)) ? 0 : 1;
             }
             realised = PRONOUNS[numberIndex][positionIndex][personIndex];
         } else {
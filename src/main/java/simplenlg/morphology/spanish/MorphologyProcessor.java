@@ -103,7 +103,7 @@ public class MorphologyProcessor extends simplenlg.morphology.MorphologyProcesso
                         while (root.getParent() != null) {
                             root = root.getParent();
                         }
-                        if (root.getFeatureAsBoolean(Feature.PASSIVE) && root.hasFeature(Feature.INTERROGATIVE_TYPE)) {
+                        if (root.getBooleanFeature(Feature.PASSIVE) && root.hasFeature(Feature.INTERROGATIVE_TYPE)) {
                             realisedElements.remove(realisedElements.size() - 1);
                         } else {
                             StringElement prevString = (StringElement) realisedElements.get(realisedElements.size() - 1);
@@ -183,7 +183,7 @@ public class MorphologyProcessor extends simplenlg.morphology.MorphologyProcesso
     @Override
     protected NLGElement doMorphology(InflectedWordElement element) {
         NLGElement realisedElement = null;
-        if (element.getFeatureAsBoolean(InternalFeature.NON_MORPH).booleanValue()) {
+        if (element.getBooleanFeature(InternalFeature.NON_MORPH)) {
             realisedElement = new StringElement(element.getBaseForm());
             realisedElement.setFeature(InternalFeature.DISCOURSE_FUNCTION,
                     element.getFeature(InternalFeature.DISCOURSE_FUNCTION));
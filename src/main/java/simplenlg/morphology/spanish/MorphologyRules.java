@@ -110,7 +110,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
         }
 
         String realisation = null;
-        if (!element.getFeatureAsBoolean(LexicalFeature.PROPER)) {
+        if (!element.getBooleanFeature(LexicalFeature.PROPER)) {
             switch (genderValue) {
                 case MASCULINE:
                 case NEUTER:
@@ -367,7 +367,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
                         NLGElement parent = element;
                         Boolean singular = false;
                         while ((parent = parent.getParent()) != null) {
-                            if (parent.getFeatureAsBoolean(Feature.PERFECT)) {
+                            if (parent.getBooleanFeature(Feature.PERFECT)) {
                                 singular = true;
                                 break;
                             }
@@ -696,7 +696,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
      */
     private void checkPossessive(InflectedWordElement element, StringBuffer realised) {
 
-        if (element.getFeatureAsBoolean(Feature.POSSESSIVE).booleanValue()) {
+        if (element.getBooleanFeature(Feature.POSSESSIVE)) {
             if (realised.charAt(realised.length() - 1) == 's') {
                 realised.append('\'');
 
@@ -1329,14 +1329,14 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
                 switch (numberValue) {
                     case SINGULAR:
                     case BOTH:
-                        if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE)) {
+                        if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
                             realisation = element.getFeatureAsString(LexicalFeature.SUPERLATIVE);
                         } else {
                             realisation = getBaseForm(element, baseWord);
                         }
                         break;
                     case PLURAL:
-                        if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE)) {
+                        if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
                             realisation = element.getFeatureAsString(LexicalFeature.SUPERLATIVE_PLURAL);
                         } else {
                             realisation = element.getFeatureAsString(LexicalFeature.PLURAL);
@@ -1348,7 +1348,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
                 switch (numberValue) {
                     case SINGULAR:
                     case BOTH:
-                        if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE)) {
+                        if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
                             realisation = element.getFeatureAsString(LexicalFeature.SUPERLATIVE_FEMININE);
                         } else {
                             if (Gender.FEMININE.equals(element.getFeature(LexicalFeature.GENDER))) {
@@ -1359,7 +1359,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
                         }
                         break;
                     case PLURAL:
-                        if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE)) {
+                        if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
                             realisation = element.getFeatureAsString(LexicalFeature.SUPERLATIVE_FEMININE_PLURAL);
                         } else {
                             if (Gender.FEMININE.equals(element.getFeature(LexicalFeature.GENDER))) {
@@ -1374,7 +1374,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
         }
 
         if (realisation == null) {
-            if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE)) {
+            if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
                 realisation = buildRegularSuperlative(getBaseForm(element, baseWord), genderValue, numberValue);
             } else {
                 realisation = buildRegularAdjective(getBaseForm(element, baseWord), genderValue, numberValue);
@@ -1391,7 +1391,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
 //        // base form from baseWord if it exists, otherwise from element
 //        String baseForm = getBaseForm(element, baseWord);
 //
-//        if (element.getFeatureAsBoolean(Feature.IS_COMPARATIVE).booleanValue()) {
+//        if (element.getBooleanFeature(Feature.IS_COMPARATIVE)) {
 //            realised = element.getFeatureAsString(LexicalFeature.COMPARATIVE);
 //
 //            if (realised == null && baseWord != null) {
@@ -1404,7 +1404,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
 //                    realised = buildRegularComparative(baseForm);
 //                }
 //            }
-//        } else if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE).booleanValue()) {
+//        } else if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
 //
 //            realised = element.getFeatureAsString(LexicalFeature.SUPERLATIVE);
 //
@@ -1557,7 +1557,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
         // base form from baseWord if it exists, otherwise from element
         String baseForm = getBaseForm(element, baseWord);
 
-        if (element.getFeatureAsBoolean(Feature.IS_COMPARATIVE).booleanValue()) {
+        if (element.getBooleanFeature(Feature.IS_COMPARATIVE)) {
             realised = element.getFeatureAsString(LexicalFeature.COMPARATIVE);
 
             if (realised == null && baseWord != null) {
@@ -1566,7 +1566,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
             if (realised == null) {
                 realised = buildRegularComparative(baseForm);
             }
-        } else if (element.getFeatureAsBoolean(Feature.IS_SUPERLATIVE).booleanValue()) {
+        } else if (element.getBooleanFeature(Feature.IS_SUPERLATIVE)) {
 
             realised = element.getFeatureAsString(LexicalFeature.SUPERLATIVE);
 
@@ -1595,7 +1595,7 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
     public NLGElement doPronounMorphology(InflectedWordElement element) {
         String realised = null;
 
-        if (!element.getFeatureAsBoolean(InternalFeature.NON_MORPH).booleanValue() && !isWHPronoun(element)) {
+        if (!element.getBooleanFeature(InternalFeature.NON_MORPH) && !isWHPronoun(element)) {
             Object genderValue = element.getFeature(LexicalFeature.GENDER);
             Object personValue = element.getFeature(Feature.PERSON);
             Object discourseValue = element.getFeature(InternalFeature.DISCOURSE_FUNCTION);
@@ -1611,9 +1611,9 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
 
                 int positionIndex;
 
-                if (element.getFeatureAsBoolean(LexicalFeature.REFLEXIVE) || element.getParent().getFeatureAsBoolean(LexicalFeature.REFLEXIVE)) {
+                if (element.getBooleanFeature(LexicalFeature.REFLEXIVE) || element.getParent().getBooleanFeature(LexicalFeature.REFLEXIVE)) {
                     positionIndex = 2;
-                } else if (element.getFeatureAsBoolean(Feature.POSSESSIVE)) {
+                } else if (element.getBooleanFeature(Feature.POSSESSIVE)) {
                     positionIndex = 3;
                     if (DiscourseFunction.SPECIFIER.equals(discourseValue)) {
                         positionIndex++;
@@ -1621,14 +1621,14 @@ public class MorphologyRules extends simplenlg.morphology.MorphologyRules {
                     if (element.getParent().isPlural()) {
                         personIndex += 5;
                     }
-                } else if (DiscourseFunction.SUBJECT.equals(discourseValue) && element.getFeatureAsBoolean(Feature.PASSIVE)) {
+                } else if (DiscourseFunction.SUBJECT.equals(discourseValue) && element.getBooleanFeature(Feature.PASSIVE)) {
                     positionIndex = 5;
                 } else {
-                    positionIndex = (DiscourseFunction.SUBJECT.equals(discourseValue) && !element.getFeatureAsBoolean(
-                            Feature.PASSIVE)) || (DiscourseFunction.OBJECT.equals(discourseValue) && element.getFeatureAsBoolean(Feature.PASSIVE))
+                    positionIndex = (DiscourseFunction.SUBJECT.equals(discourseValue) && !element.getBooleanFeature(
+                            Feature.PASSIVE)) || (DiscourseFunction.OBJECT.equals(discourseValue) && element.getBooleanFeature(Feature.PASSIVE))
                             || DiscourseFunction.SPECIFIER.equals(discourseValue) || (
                             DiscourseFunction.COMPLEMENT.equals(discourseValue)
-                                    && (element.getFeatureAsBoolean(Feature.PASSIVE) || element.getParent().getParent() instanceof PPPhraseSpec)) ? 0 : 1;
+                                    && (element.getBooleanFeature(Feature.PASSIVE) || element.getParent().getParent() instanceof PPPhraseSpec)) ? 0 : 1;
                 }
                 realised = PRONOUNS[numberIndex][positionIndex][personIndex];
             } else {
@@ -25,6 +25,7 @@ import simplenlg.framework.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * <p>
@@ -45,6 +46,10 @@ import java.util.List;
  */
 public abstract class OrthographyProcessor extends NLGModule {
 
+    // spaces before a comma, and runs of commas, taken out of every list
+    private static final Pattern SPACE_COMMA = Pattern.compile(" ,"); //$NON-NLS-1$
+    private static final Pattern COMMAS = Pattern.compile(",,+"); //$NON-NLS-1$
+
     private boolean commaSepPremodifiers; // set whether to separate
     // premodifiers using commas
 
@@ -158,7 +163,7 @@ public abstract class OrthographyProcessor extends NLGModule {
 
                     boolean all_appositives = true;
                     for (NLGElement child : element.getChildren()) {
-                        all_appositives = all_appositives && child.getFeatureAsBoolean(Feature.APPOSITIVE);
+                        all_appositives = all_appositives && child.getBooleanFeature(Feature.APPOSITIVE);
                     }
 
                     // TODO: unless this is the end of the sentence
@@ -182,7 +187,7 @@ public abstract class OrthographyProcessor extends NLGModule {
 
                         // if the postmod is appositive, it's sandwiched in
                         // commas
-                        if (postmod.getFeatureAsBoolean(Feature.APPOSITIVE)) {
+                        if (postmod.getBooleanFeature(Feature.APPOSITIVE)) {
                             buffer.append(", ");
                             buffer.append(realise(postmod));
                             if (i < len - 1) {
@@ -249,9 +254,9 @@ public abstract class OrthographyProcessor extends NLGModule {
 
             String realisation = realisedElement.getRealisation();
 
-            if (realisation != null) {
-                realisation = realisation.replaceAll(" ,", ",");
-                realisation = realisation.replaceAll(",,+", ",");
+            if (realisation != null && realisation.indexOf(',') >= 0) {
+                realisation = SPACE_COMMA.matcher(realisation).replaceAll(",");
+                realisation = COMMAS.matcher(realisation).replaceAll(",");
                 realisedElement.setRealisation(realisation);
             }
 
@@ -64,7 +64,7 @@ public class OrthographyProcessor extends simplenlg.orthography.OrthographyProce
 
             stripLeadingCommas(realisation);
             capitaliseFirstLetter(realisation);
-            terminateSentence(realisation, element.getFeatureAsBoolean(InternalFeature.INTERROGATIVE).booleanValue());
+            terminateSentence(realisation, element.getBooleanFeature(InternalFeature.INTERROGATIVE));
 
             ((DocumentElement) element).clearComponents();
             // realisation.append(' ');
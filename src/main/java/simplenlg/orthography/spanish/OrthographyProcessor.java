@@ -62,8 +62,8 @@ public class OrthographyProcessor extends simplenlg.orthography.OrthographyProce
 
             stripLeadingCommas(realisation);
             capitaliseFirstLetter(realisation);
-            startSentence(realisation, element.getFeatureAsBoolean(InternalFeature.INTERROGATIVE));
-            terminateSentence(realisation, element.getFeatureAsBoolean(InternalFeature.INTERROGATIVE));
+            startSentence(realisation, element.getBooleanFeature(InternalFeature.INTERROGATIVE));
+            terminateSentence(realisation, element.getBooleanFeature(InternalFeature.INTERROGATIVE));
 
             ((DocumentElement) element).clearComponents();
             // realisation.append(' ');
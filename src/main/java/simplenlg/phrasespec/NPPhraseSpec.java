@@ -95,7 +95,7 @@ public class NPPhraseSpec extends PhraseElement {
             return;
 
         setFeature(Feature.POSSESSIVE, nounElement != null ? nounElement
-                .getFeatureAsBoolean(Feature.POSSESSIVE) : Boolean.FALSE);
+                .getBooleanFeature(Feature.POSSESSIVE) : Boolean.FALSE);
         setFeature(InternalFeature.RAISED, false);
         setFeature(InternalFeature.ACRONYM, false);
 
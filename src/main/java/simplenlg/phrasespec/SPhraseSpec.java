@@ -216,6 +216,21 @@ public class SPhraseSpec extends PhraseElement {
 		return null;
 	}
 
+	/* (non-Javadoc)
+	 * @see simplenlg.framework.NLGElement#getBooleanFeature(java.lang.String)
+	 */
+	@Override
+	public boolean getBooleanFeature(String featureName) {
+		if (super.getFeature(featureName) != null)
+			return super.getBooleanFeature(featureName);
+		if (vpFeatures.contains(featureName)) {
+			NLGElement verbPhrase = getFeatureAsElement(InternalFeature.VERB_PHRASE);
+			if (verbPhrase != null)
+				return verbPhrase.getBooleanFeature(featureName);
+		}
+		return false;
+	}
+
 	/**
 	 * @return VP for this clause
 	 */
@@ -421,7 +436,7 @@ public class SPhraseSpec extends PhraseElement {
 				&& modifierWord.getCategory() == LexicalCategory.ADVERB) {
 			// adverb rules
 			if (modifierWord
-					.getFeatureAsBoolean(LexicalFeature.SENTENCE_MODIFIER))
+					.getBooleanFeature(LexicalFeature.SENTENCE_MODIFIER))
 				addFrontModifier(modifierWord);
 			else
 				addPreModifier(modifierWord);
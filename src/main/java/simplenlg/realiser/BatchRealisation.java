@@ -0,0 +1,156 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.realiser;
+
+import simplenlg.framework.NLGElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The outcome of realising a batch of elements with
+ * {@link Realiser#realiseBatch(List, java.util.concurrent.Executor)}. The
+ * results are kept in the order of the input. An element that could not be
+ * realised has no result, but the exception it threw instead, and does not
+ * affect the other elements of the batch.
+ */
+public class BatchRealisation {
+
+    private final NLGElement[] results;
+    private final Throwable[] failures;
+    private long elapsedNanos;
+
+    /**
+     * Creates an empty outcome for a batch of the given size.
+     *
+     * @param size the number of elements in the batch.
+     */
+    BatchRealisation(int size) {
+        this.results = new NLGElement[size];
+        this.failures = new Throwable[size];
+    }
+
+    void setResult(int index, NLGElement result) {
+        this.results[index] = result;
+    }
+
+    void setFailure(int index, Throwable failure) {
+        this.failures[index] = failure;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of elements in the batch.
+     */
+    public int size() {
+        return this.results.length;
+    }
+
+    /**
+     * @param index the position of the element in the batch.
+     * @return the realised element, or <code>null</code> if it failed.
+     */
+    public NLGElement getResult(int index) {
+        return this.results[index];
+    }
+
+    /**
+     * @param index the position of the element in the batch.
+     * @return the realisation of the element, or <code>null</code> if it
+     * failed.
+     */
+    public String getRealisation(int index) {
+        return this.results[index] == null ? null : this.results[index].getRealisation();
+    }
+
+    /**
+     * @param index the position of the element in the batch.
+     * @return the exception thrown while realising the element, or
+     * <code>null</code> if it was realised.
+     */
+    public Throwable getFailure(int index) {
+        return this.failures[index];
+    }
+
+    /**
+     * @param index the position of the element in the batch.
+     * @return <code>true</code> if the element could not be realised.
+     */
+    public boolean isFailed(int index) {
+        return this.failures[index] != null;
+    }
+
+    /**
+     * @return the number of elements that could not be realised.
+     */
+    public int getFailureCount() {
+        int count = 0;
+        for (Throwable failure : this.failures) {
+            if (failure != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the realised elements in the order of the input, with
+     * <code>null</code> for those that failed.
+     */
+    public List<NLGElement> getResults() {
+        return Arrays.asList(this.results.clone());
+    }
+
+    /**
+     * @return the realisations in the order of the input, with
+     * <code>null</code> for the elements that failed.
+     */
+    public List<String> getRealisations() {
+        List<String> realisations = new ArrayList<String>(this.results.length);
+        for (int index = 0; index < this.results.length; index++) {
+            realisations.add(getRealisation(index));
+        }
+        return realisations;
+    }
+
+    /**
+     * @return the wall-clock time taken by the batch, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * @return the number of elements realised per second, counting failed
+     * elements too.
+     */
+    public double getElementsPerSecond() {
+        return this.elapsedNanos <= 0 ? 0.0 : this.results.length * 1e9 / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d elements, %d failed, %.1f ms, %.0f elements/s", size(), getFailureCount(),
+                this.elapsedNanos / 1e6, getElementsPerSecond());
+    }
+}
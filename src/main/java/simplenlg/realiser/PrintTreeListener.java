@@ -0,0 +1,58 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.realiser;
+
+import simplenlg.framework.NLGElement;
+
+import java.io.PrintStream;
+
+/**
+ * A {@link RealisationListener} which prints the tree produced by each stage,
+ * as {@link Realiser#setDebugMode(boolean)} does.
+ */
+public class PrintTreeListener implements RealisationListener {
+
+    private final PrintStream out;
+
+    /**
+     * Creates a listener which prints to the given stream.
+     *
+     * @param out the stream to print to.
+     */
+    public PrintTreeListener(PrintStream out) {
+        this.out = out;
+    }
+
+    public void realisationStarted(NLGElement element) {
+        print("INITIAL TREE", element); //$NON-NLS-1$
+    }
+
+    public void stageFinished(RealisationStage stage, NLGElement element, long nanos) {
+        print("POST-" + stage + " TREE (" + nanos / 1000 + " us)", element); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private void print(String heading, NLGElement element) {
+        StringBuilder text = new StringBuilder();
+        text.append('\n').append(heading).append("\n\n"); //$NON-NLS-1$
+        text.append(element == null ? "null" : element.printTree(null)); //$NON-NLS-1$
+        synchronized (this.out) {
+            this.out.println(text);
+        }
+    }
+}
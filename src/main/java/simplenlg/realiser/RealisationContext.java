@@ -0,0 +1,81 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.realiser;
+
+import simplenlg.framework.Metrics;
+
+/**
+ * The state of a single call to {@link Realiser#realise(simplenlg.framework.NLGElement)}.
+ * The realiser itself only holds its configuration (the processing modules
+ * and their settings), and everything that belongs to one realisation is kept
+ * in a context object, which is created when the realisation starts and
+ * dropped when it ends. This is what allows one realiser to be used by
+ * several threads at the same time.
+ */
+public class RealisationContext {
+
+    private final RealisationListener listener; // null unless traced
+    private final Metrics metrics; // null unless measured
+
+    /**
+     * Creates the context of a realisation which is not measured.
+     *
+     * @param listener the listener which traces this realisation, or
+     *                 <code>null</code> if it is not traced.
+     */
+    public RealisationContext(RealisationListener listener) {
+        this(listener, null);
+    }
+
+    /**
+     * Creates the context of a realisation.
+     *
+     * @param listener the listener which traces this realisation, or
+     *                 <code>null</code> if it is not traced.
+     * @param metrics  where this realisation is measured, or
+     *                 <code>null</code> if it is not measured.
+     */
+    public RealisationContext(RealisationListener listener, Metrics metrics) {
+        this.listener = listener;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return <code>true</code> if this realisation is traced.
+     */
+    public boolean isTraced() {
+        return this.listener != null;
+    }
+
+    /**
+     * @return the listener which traces this realisation, or
+     * <code>null</code> if it is not traced.
+     */
+    public RealisationListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * @return where this realisation is measured, or <code>null</code> if it
+     * is not measured.
+     */
+    public Metrics getMetrics() {
+        return this.metrics;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.realiser;
+
+import simplenlg.framework.NLGElement;
+
+/**
+ * Receives the trees produced by the stages of a realisation, see
+ * {@link Realiser#setRealisationListener(RealisationListener)}. A listener
+ * shared by a realiser that is used by several threads is called by all of
+ * them, possibly at the same time. The elements passed to a listener belong to
+ * the realisation in progress and must not be changed.
+ */
+public interface RealisationListener {
+
+    /**
+     * Called before the first stage of a realisation.
+     *
+     * @param element the element about to be realised.
+     */
+    void realisationStarted(NLGElement element);
+
+    /**
+     * Called after each stage of a realisation.
+     *
+     * @param stage   the stage which has finished.
+     * @param element the element produced by the stage.
+     * @param nanos   the time taken by the stage, in nanoseconds.
+     */
+    void stageFinished(RealisationStage stage, NLGElement element, long nanos);
+}
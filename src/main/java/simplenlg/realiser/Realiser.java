@@ -20,17 +20,50 @@ package simplenlg.realiser;
 
 import simplenlg.framework.DocumentCategory;
 import simplenlg.framework.DocumentElement;
+import simplenlg.framework.ElementCategory;
+import simplenlg.framework.Metrics;
 import simplenlg.framework.NLGElement;
 import simplenlg.framework.NLGModule;
+import simplenlg.framework.StringElement;
 import simplenlg.lexicon.Lexicon;
 import simplenlg.morphology.MorphologyProcessor;
 import simplenlg.orthography.OrthographyProcessor;
 import simplenlg.syntax.SyntaxProcessor;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * <p>
+ * The realiser runs an element through the syntax, morphology, orthography
+ * and formatting stages and returns the realised element.
+ * </p>
+ * <p>
+ * <b>Concurrency:</b> a realiser holds only its configuration, and the state
+ * of each realisation lives in a {@link RealisationContext}. One realiser can
+ * therefore be shared by any number of threads, on these conditions:
+ * <ul>
+ * <li>The realiser is configured (lexicon, formatter, debug mode, listener,
+ * sampling, metrics, non-destructive mode and the orthography settings) before it is shared,
+ * and is handed to the other threads safely, for instance through a
+ * <code>java.util.concurrent</code> queue or executor. The setters must not
+ * be called while realisations are running.</li>
+ * <li>The stages change the elements they realise, so no element may be
+ * realised by two threads at once, unless the realiser is in non-destructive
+ * mode, see {@link #setNonDestructive(boolean)}.</li>
+ * <li>The lexicon is shared too. The lexicons in this library may be read by
+ * several threads once they are loaded.</li>
+ * </ul>
+ * </p>
+ *
  * @author D. Westwater, Data2Text Ltd
  */
 public abstract class Realiser extends NLGModule {
@@ -40,6 +73,70 @@ public abstract class Realiser extends NLGModule {
     protected SyntaxProcessor syntax;
     protected NLGModule formatter = null;
     protected boolean debug = false;
+    protected boolean nonDestructive = false;
+    protected RealisationListener listener = null;
+    private RealisationListener debugListener = null;
+    protected int traceInterval = 1;
+    private final AtomicLong traceCount = new AtomicLong();
+    protected Metrics metrics = null;
+
+    /**
+     * Name of the count of realisations, when measured.
+     */
+    public static final String METRIC_REALISATIONS = "realiser.realisations"; //$NON-NLS-1$
+
+    /**
+     * Name of the distribution of the time taken by a realisation, in
+     * nanoseconds.
+     */
+    public static final String METRIC_NANOS = "realiser.nanos"; //$NON-NLS-1$
+
+    /**
+     * Name of the distribution of the bytes allocated by a realisation.
+     */
+    public static final String METRIC_ALLOCATED_BYTES = "realiser.allocated.bytes"; //$NON-NLS-1$
+
+    // names of the stage times and element counts, by stage
+    private static final String[] STAGE_NANOS = new String[RealisationStage.values().length];
+    private static final String[] STAGE_ELEMENTS = new String[RealisationStage.values().length];
+
+    static {
+        for (RealisationStage stage : RealisationStage.values()) {
+            String name = "realiser." + stage.name().toLowerCase(); //$NON-NLS-1$
+            STAGE_NANOS[stage.ordinal()] = name + ".nanos"; //$NON-NLS-1$
+            STAGE_ELEMENTS[stage.ordinal()] = name + ".elements"; //$NON-NLS-1$
+        }
+    }
+
+    // the threads of the virtual machine, and the method which gives the bytes
+    // allocated by one of them, if there is one
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final Method ALLOCATED_BYTES = findAllocatedBytes();
+
+    private static Method findAllocatedBytes() {
+        try {
+            Class<?> type = Class.forName("com.sun.management.ThreadMXBean"); //$NON-NLS-1$
+            if (type.isInstance(THREADS)
+                    && (Boolean) type.getMethod("isThreadAllocatedMemoryEnabled").invoke(THREADS)) { //$NON-NLS-1$
+                return type.getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$
+            }
+        } catch (Exception ex) {
+            // not a HotSpot virtual machine, so allocations are not measured
+        }
+        return null;
+    }
+
+    /**
+     * The number of consecutive elements of a batch that are realised by one
+     * task, so that small elements do not drown in scheduling overhead.
+     */
+    private static final int BATCH_TASK_SIZE = 16;
+
+    /**
+     * Stands in for the components of a document or section while its
+     * surrounding text is worked out by {@link #realiseTo(NLGElement, Appendable)}.
+     */
+    private static final String STREAM_MARKER = "\uE000"; //$NON-NLS-1$
 
     /**
      * create a realiser (no lexicon)
@@ -111,63 +208,227 @@ public abstract class Realiser extends NLGModule {
 
     public abstract void initialise();
 
+    /**
+     * Realises an element. In non-destructive mode the element is copied
+     * first, see {@link #setNonDestructive(boolean)}.
+     *
+     * @param element the element to be realised.
+     * @return the realised element.
+     */
     @Override
     public NLGElement realise(NLGElement element) {
+        if (this.nonDestructive && element != null) {
+            element = element.deepCopy();
+        }
+        return realise(element, newContext());
+    }
 
-        StringBuilder debug = new StringBuilder();
+    /**
+     * Runs the syntax, morphology, orthography and formatter stages on an
+     * element. The stages change the element and the elements below it. All
+     * the state of the realisation is kept in the context, so this method may
+     * be called by several threads at once.
+     *
+     * @param element the element to be realised.
+     * @param context the state of this realisation.
+     * @return the realised element.
+     */
+    protected NLGElement realise(NLGElement element, RealisationContext context) {
+        return realise(element, context, true);
+    }
 
-        if (this.debug) {
-            System.out.println("INITIAL TREE\n"); //$NON-NLS-1$
-            System.out.println(element.printTree(null));
-            debug.append("INITIAL TREE<br/>");
-            debug.append(element.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
+    /**
+     * Realises an element which has been through the syntax processor
+     * already, such as a filled {@link SentenceTemplate}, so that only
+     * morphology, orthography and formatting are left to do.
+     *
+     * @param postSyntax the output of the syntax processor.
+     * @return the realised element.
+     */
+    NLGElement realiseFromSyntax(NLGElement postSyntax) {
+        return realise(postSyntax, newContext(), false);
+    }
+
+    /**
+     * Runs the pipeline, starting with the syntax processor unless the element
+     * has been through it already.
+     */
+    private NLGElement realise(NLGElement element, RealisationContext context, boolean syntax) {
+        RealisationListener listener = context.getListener();
+        Metrics metrics = context.getMetrics();
+        boolean timed = listener != null || metrics != null;
+        long allocated = 0;
+        long begin = 0;
+        long start = 0;
+        if (timed) {
+            if (listener != null) {
+                notifyStarted(listener, element);
+            }
+            if (metrics != null) {
+                allocated = allocatedBytes();
+            }
+            begin = start = System.nanoTime();
         }
 
-        NLGElement postSyntax = this.syntax.realise(element);
-        if (this.debug) {
-            System.out.println("<br/>POST-SYNTAX TREE<br/>"); //$NON-NLS-1$
-            System.out.println(postSyntax.printTree(null));
-            debug.append("<br/>POST-SYNTAX TREE<br/>");
-            debug.append(postSyntax.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
+        NLGElement postSyntax = element;
+        if (syntax) {
+            postSyntax = this.syntax.realise(element);
+            if (timed) {
+                start = finishStage(context, RealisationStage.SYNTAX, postSyntax, start);
+            }
         }
 
         NLGElement postMorphology = this.morphology.realise(postSyntax);
-        if (this.debug) {
-            System.out.println("\nPOST-MORPHOLOGY TREE\n"); //$NON-NLS-1$
-            System.out.println(postMorphology.printTree(null));
-            debug.append("<br/>POST-MORPHOLOGY TREE<br/>");
-            debug.append(postMorphology.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
+        if (timed) {
+            start = finishStage(context, RealisationStage.MORPHOLOGY, postMorphology, start);
         }
 
         NLGElement postOrthography = this.orthography.realise(postMorphology);
-        if (this.debug) {
-            System.out.println("\nPOST-ORTHOGRAPHY TREE\n"); //$NON-NLS-1$
-            System.out.println(postOrthography.printTree(null));
-            debug.append("<br/>POST-ORTHOGRAPHY TREE<br/>");
-            debug.append(postOrthography.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
+        if (timed) {
+            start = finishStage(context, RealisationStage.ORTHOGRAPHY, postOrthography, start);
         }
 
         NLGElement postFormatter = null;
         if (this.formatter != null) {
             postFormatter = this.formatter.realise(postOrthography);
-            if (this.debug) {
-                System.out.println("\nPOST-FORMATTER TREE\n"); //$NON-NLS-1$
-                System.out.println(postFormatter.printTree(null));
-                debug.append("<br/>POST-FORMATTER TREE<br/>");
-                debug.append(postFormatter.printTree("&nbsp;&nbsp;").replaceAll("\n", "<br/>"));
+            if (timed) {
+                finishStage(context, RealisationStage.FORMATTER, postFormatter, start);
             }
-
         } else {
             postFormatter = postOrthography;
         }
 
-        if (this.debug) {
-            postFormatter.setFeature("debug", debug.toString());
+        if (metrics != null) {
+            metrics.count(METRIC_REALISATIONS, 1);
+            metrics.record(METRIC_NANOS, System.nanoTime() - begin);
+            if (allocated >= 0) {
+                metrics.record(METRIC_ALLOCATED_BYTES, allocatedBytes() - allocated);
+            }
         }
 
         return postFormatter;
     }
 
+    /**
+     * Measures a stage which has finished and tells the listener about it, if
+     * there is one. Returns the time at which the next stage starts, so that
+     * the time taken to measure is not charged to it.
+     */
+    private long finishStage(RealisationContext context, RealisationStage stage, NLGElement element,
+                             long start) {
+        long nanos = System.nanoTime() - start;
+        Metrics metrics = context.getMetrics();
+        if (metrics != null) {
+            metrics.record(STAGE_NANOS[stage.ordinal()], nanos);
+            metrics.count(STAGE_ELEMENTS[stage.ordinal()], countElements(element));
+        }
+        RealisationListener listener = context.getListener();
+        if (listener != null) {
+            try {
+                listener.stageFinished(stage, element, nanos);
+            } catch (RuntimeException ex) {
+                System.out.println("RealisationListener: " + ex.toString());
+            }
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Counts the elements in a tree.
+     */
+    private static long countElements(NLGElement element) {
+        if (element == null) {
+            return 0;
+        }
+        long count = 1;
+        List<NLGElement> children = element.getChildren();
+        if (children != null) {
+            for (NLGElement child : children) {
+                count += countElements(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of bytes allocated so far by the current thread, where
+     * the Java virtual machine can tell (HotSpot can).
+     *
+     * @return the number of bytes, or -1 if it cannot be measured.
+     */
+    private static long allocatedBytes() {
+        if (ALLOCATED_BYTES != null) {
+            try {
+                return (Long) ALLOCATED_BYTES.invoke(THREADS, Thread.currentThread().getId());
+            } catch (Exception ex) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tells a listener that a realisation starts. A listener which fails does
+     * not stop the realisation.
+     */
+    private void notifyStarted(RealisationListener listener, NLGElement element) {
+        try {
+            listener.realisationStarted(element);
+        } catch (RuntimeException ex) {
+            System.out.println("RealisationListener: " + ex.toString());
+        }
+    }
+
+    /**
+     * Creates the context of a new realisation, which is traced if there is a
+     * listener and this realisation is sampled, and always in debug mode.
+     *
+     * @return the context.
+     */
+    protected RealisationContext newContext() {
+        RealisationListener current = this.listener;
+        if (current != null && this.traceInterval > 1
+                && this.traceCount.getAndIncrement() % this.traceInterval != 0) {
+            current = null;
+        }
+        RealisationListener debugging = this.debugListener;
+        if (debugging != null) {
+            current = current == null ? debugging : new ListenerPair(debugging, current);
+        }
+        return new RealisationContext(current, this.metrics);
+    }
+
+    /**
+     * Passes each event to two listeners in turn. The second listener is told
+     * even if the first one fails.
+     */
+    private static class ListenerPair implements RealisationListener {
+
+        private final RealisationListener first;
+        private final RealisationListener second;
+
+        ListenerPair(RealisationListener first, RealisationListener second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        public void realisationStarted(NLGElement element) {
+            try {
+                this.first.realisationStarted(element);
+            } finally {
+                this.second.realisationStarted(element);
+            }
+        }
+
+        public void stageFinished(RealisationStage stage, NLGElement element, long nanos) {
+            try {
+                this.first.stageFinished(stage, element, nanos);
+            } finally {
+                this.second.stageFinished(stage, element, nanos);
+            }
+        }
+    }
+
     /**
      * Convenience class to realise any NLGElement as a sentence
      *
@@ -175,19 +436,92 @@ public abstract class Realiser extends NLGModule {
      * @return String realisation of the NLGElement
      */
     public String realiseSentence(NLGElement element) {
-        NLGElement realised = null;
+        NLGElement realised = realiseSentenceElement(element);
+
+        if (realised == null)
+            return null;
+        else
+            return realised.getRealisation();
+    }
+
+    /**
+     * Realises an element as a sentence, wrapping it in a sentence if it is
+     * not a <code>DocumentElement</code> already.
+     *
+     * @param element the element to be realised.
+     * @return the realised element.
+     */
+    private NLGElement realiseSentenceElement(NLGElement element) {
+        if (this.nonDestructive && element != null) {
+            element = element.deepCopy();
+        }
+        RealisationContext context = newContext();
         if (element instanceof DocumentElement)
-            realised = realise(element);
+            return realise(element, context);
         else {
             DocumentElement sentence = new DocumentElement(DocumentCategory.SENTENCE, null);
             sentence.addComponent(element);
-            realised = realise(sentence);
+            return realise(sentence, context);
         }
+    }
 
-        if (realised == null)
-            return null;
-        else
-            return realised.getRealisation();
+    /**
+     * Realises an element and writes the text to the output bit by bit, so
+     * that a long document never has to be held as one realised tree or one
+     * string. A document, section or (bulleted) list is not realised as a
+     * whole: its title and the text around its components are written, and
+     * each component is realised and written in turn, down to paragraphs,
+     * enumerated lists and anything else, which are realised as usual. The
+     * text is the same as the realisation returned by
+     * {@link #realise(NLGElement)}.
+     * <p>
+     * Each part is realised from a copy, so the element is never changed and
+     * keeps no intermediate trees, whatever the mode of the realiser.
+     * </p>
+     *
+     * @param element the element to be realised.
+     * @param output  where the text is written, such as a
+     *                <code>Writer</code>.
+     * @throws IOException if the output cannot be written.
+     */
+    public void realiseTo(NLGElement element, Appendable output) throws IOException {
+        if (element == null) {
+            return;
+        }
+        ElementCategory category = element.getCategory();
+        if (element instanceof DocumentElement
+                && (category == DocumentCategory.DOCUMENT || category == DocumentCategory.SECTION
+                || category == DocumentCategory.LIST)) {
+            String frame = realiseFrame((DocumentElement) element);
+            int at = frame == null ? -1 : frame.indexOf(STREAM_MARKER);
+            if (at >= 0 && frame.indexOf(STREAM_MARKER, at + 1) < 0) {
+                output.append(frame, 0, at);
+                for (NLGElement component : element.getChildren()) {
+                    realiseTo(component, output);
+                }
+                output.append(frame, at + STREAM_MARKER.length(), frame.length());
+                return;
+            }
+        }
+        NLGElement realised = realise(element.deepCopy(), newContext());
+        if (realised != null && realised.getRealisation() != null) {
+            output.append(realised.getRealisation());
+        }
+    }
+
+    /**
+     * Realises an empty copy of a document element with a marker in place of
+     * its components, which gives the text written before and after them.
+     */
+    private String realiseFrame(DocumentElement element) {
+        DocumentElement frame = new DocumentElement((DocumentCategory) element.getCategory(), element.getTitle());
+        frame.setParent(element.getParent());
+        List<NLGElement> components = new ArrayList<NLGElement>();
+        components.add(new StringElement(STREAM_MARKER));
+        components.get(0).setParent(frame);
+        frame.setComponents(components);
+        NLGElement realised = realise(frame, new RealisationContext(null));
+        return realised == null ? null : realised.getRealisation();
     }
 
     @Override
@@ -202,6 +536,106 @@ public abstract class Realiser extends NLGModule {
         return realisedElements;
     }
 
+    /**
+     * Realises a batch of independent elements, using the executor to realise
+     * several of them at once. Any executor will do, such as a fixed thread
+     * pool, a fork-join pool or a virtual thread executor; if it is
+     * <code>null</code>, the batch is realised in the calling thread. The
+     * elements are realised as by {@link #realise(NLGElement)}.
+     * <p>
+     * The results are returned in the order of the input. An element that
+     * throws an exception or error only fails itself: it is recorded in the
+     * result and the rest of the batch goes on. Parts of the batch which the
+     * executor rejects are realised in the calling thread. The result also reports how
+     * long the batch took.
+     * </p>
+     * <p>
+     * The elements must not share any parts, unless this realiser is in
+     * non-destructive mode.
+     * </p>
+     *
+     * @param elements the elements to be realised.
+     * @param executor the executor which runs the realisations.
+     * @return the outcome of the batch.
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting for the batch to finish.
+     */
+    public BatchRealisation realiseBatch(List<? extends NLGElement> elements, Executor executor)
+            throws InterruptedException {
+        return realiseBatch(elements, executor, false);
+    }
+
+    /**
+     * Realises a batch of independent elements as sentences, as by
+     * {@link #realiseSentence(NLGElement)}, using the executor to realise
+     * several of them at once. See {@link #realiseBatch(List, Executor)}.
+     *
+     * @param elements the elements to be realised.
+     * @param executor the executor which runs the realisations.
+     * @return the outcome of the batch.
+     * @throws InterruptedException if the calling thread is interrupted while
+     *                              waiting for the batch to finish.
+     */
+    public BatchRealisation realiseSentenceBatch(List<? extends NLGElement> elements, Executor executor)
+            throws InterruptedException {
+        return realiseBatch(elements, executor, true);
+    }
+
+    private BatchRealisation realiseBatch(final List<? extends NLGElement> elements, Executor executor,
+                                          final boolean sentences) throws InterruptedException {
+        final int size = elements == null ? 0 : elements.size();
+        final BatchRealisation batch = new BatchRealisation(size);
+        long start = System.nanoTime();
+        if (executor == null) {
+            realiseBatchItems(elements, 0, size, sentences, batch);
+        } else {
+            int tasks = (size + BATCH_TASK_SIZE - 1) / BATCH_TASK_SIZE;
+            final CountDownLatch done = new CountDownLatch(tasks);
+            for (int task = 0; task < tasks; task++) {
+                final int from = task * BATCH_TASK_SIZE;
+                final int to = Math.min(size, from + BATCH_TASK_SIZE);
+                Runnable run = new Runnable() {
+                    public void run() {
+                        try {
+                            realiseBatchItems(elements, from, to, sentences, batch);
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                };
+                try {
+                    executor.execute(run);
+                } catch (RejectedExecutionException ex) {
+                    // a saturated or shut down executor: realise the run
+                    // here, so that it still has its results
+                    run.run();
+                }
+            }
+            done.await();
+        }
+        batch.setElapsedNanos(System.nanoTime() - start);
+        return batch;
+    }
+
+    /**
+     * Realises part of a batch, recording each result or failure.
+     */
+    private void realiseBatchItems(List<? extends NLGElement> elements, int from, int to, boolean sentences,
+                                   BatchRealisation batch) {
+        for (int index = from; index < to; index++) {
+            try {
+                NLGElement element = elements.get(index);
+                if (sentences) {
+                    batch.setResult(index, realiseSentenceElement(element));
+                } else {
+                    batch.setResult(index, realise(element));
+                }
+            } catch (Throwable ex) {
+                batch.setFailure(index, ex);
+            }
+        }
+    }
+
     @Override
     public void setLexicon(Lexicon newLexicon) {
         this.syntax.setLexicon(newLexicon);
@@ -213,7 +647,114 @@ public abstract class Realiser extends NLGModule {
         this.formatter = formatter;
     }
 
+    /**
+     * Sets whether to print the tree produced by each stage of the realisation
+     * to <code>System.out</code>, with a {@link PrintTreeListener}. Every
+     * realisation is printed. The printing listener is kept apart from the
+     * one set by {@link #setRealisationListener(RealisationListener)}, which
+     * goes on being told about the realisations as before.
+     *
+     * @param debugOn <code>true</code> to print the trees.
+     */
     public void setDebugMode(boolean debugOn) {
         this.debug = debugOn;
+        this.debugListener = debugOn ? new PrintTreeListener(System.out) : null;
+    }
+
+    /**
+     * @return where realisations are measured, or <code>null</code>.
+     */
+    public Metrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets where realisations are measured. Every realisation then reports:
+     * <ul>
+     * <li>the count <code>realiser.realisations</code>;</li>
+     * <li>its time in nanoseconds, as <code>realiser.nanos</code>, and the
+     * bytes it allocated, as <code>realiser.allocated.bytes</code>, where the
+     * Java virtual machine can tell;</li>
+     * <li>for each stage, its time in nanoseconds as
+     * <code>realiser.</code><i>stage</i><code>.nanos</code> and the number of
+     * elements in the tree it produced as
+     * <code>realiser.</code><i>stage</i><code>.elements</code>, where the stage
+     * is <code>syntax</code>, <code>morphology</code>,
+     * <code>orthography</code> or <code>formatter</code>.</li>
+     * </ul>
+     * Lexicon lookups are counted by a
+     * {@link simplenlg.lexicon.MeteredLexicon}. Measuring costs a tree walk
+     * per stage, so it is meant for sampling or tuning; without metrics
+     * nothing is measured.
+     *
+     * @param metrics the metrics, such as a
+     *                {@link simplenlg.framework.MetricsRegistry}, or
+     *                <code>null</code> to stop measuring.
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the listener which traces realisations, or <code>null</code>.
+     */
+    public RealisationListener getRealisationListener() {
+        return this.listener;
+    }
+
+    /**
+     * Sets the listener which is told about each stage of a realisation: it is
+     * given the tree produced by the stage and the time the stage took. When
+     * there is no listener, nothing is timed or recorded at all. See
+     * {@link #setTraceSampling(int)} to trace only some realisations.
+     *
+     * @param listener the listener, or <code>null</code> to stop tracing.
+     */
+    public void setRealisationListener(RealisationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the sampling interval of the listener.
+     */
+    public int getTraceSampling() {
+        return this.traceInterval;
+    }
+
+    /**
+     * Sets how many realisations are traced by the listener: one in every
+     * <code>interval</code> realisations is traced, counting all threads
+     * together. The default is 1, which traces every realisation.
+     *
+     * @param interval the sampling interval, at least 1.
+     */
+    public void setTraceSampling(int interval) {
+        this.traceInterval = Math.max(1, interval);
+    }
+
+    /**
+     * Checks whether this realiser leaves the elements it is given unchanged.
+     *
+     * @return <code>true</code> if the realiser is in non-destructive mode.
+     */
+    public boolean isNonDestructive() {
+        return this.nonDestructive;
+    }
+
+    /**
+     * Sets whether this realiser leaves the elements it is given unchanged.
+     * Normally the syntax and morphology stages rewrite the tree they realise
+     * (for example they replace the components of a
+     * <code>DocumentElement</code> and set features on its phrases), so an
+     * element can only be realised once. In non-destructive mode the realiser
+     * realises a copy of the tree, made with {@link NLGElement#deepCopy()},
+     * and the caller's elements are never changed. The same element can then
+     * be built once, kept, and realised again and again, also by several
+     * threads at the same time as long as nobody changes it meanwhile.
+     *
+     * @param nonDestructive <code>true</code> to realise copies of elements.
+     */
+    public void setNonDestructive(boolean nonDestructive) {
+        this.nonDestructive = nonDestructive;
     }
 }
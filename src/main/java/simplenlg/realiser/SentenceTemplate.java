@@ -0,0 +1,558 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Pierre-Luc Vaudry, Julio Janeiro, Alejandro Ramos, Alberto Bugarín.
+ */
+package simplenlg.realiser;
+
+import simplenlg.features.Feature;
+import simplenlg.features.Gender;
+import simplenlg.features.InternalFeature;
+import simplenlg.features.LexicalFeature;
+import simplenlg.features.NumberAgreement;
+import simplenlg.framework.*;
+import simplenlg.phrasespec.NPPhraseSpec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A sentence which is realised many times with different nouns in some of its
+ * noun phrases, its <em>slots</em>. Realising the sentence for each set of
+ * nouns would run the syntax processor over the whole sentence every time,
+ * although the nouns only change a few words and the agreement with them.
+ * <p>
+ * A template runs the syntax processor once for each <em>agreement
+ * pattern</em> of its slots: the number of each slot, and the gender and
+ * properness of its noun, which are all the syntax processor takes from the
+ * noun (for subject-verb agreement, Spanish participles and determiners and
+ * so on). The result is kept, with the words of each slot marked, and every
+ * phrase which holds no slot is put through the morphology processor there and
+ * then. Filling the template for another set of nouns with the same pattern
+ * puts the nouns in place of the marked words, runs the morphology processor
+ * only over the phrases which hold a slot (where the determiners and
+ * adjectives agree with the noun), and then the orthography processor and
+ * formatter as usual.
+ * </p>
+ * <p>
+ * Nouns which are not single words of the lexicon, such as
+ * <code>"FGFR3 gene"</code>, cannot be put in place of a word, and the
+ * template is then rebuilt with them and realised in full. Either way the
+ * realisation is the same as that of the sentence built with the nouns from
+ * the start.
+ * </p>
+ * <p>
+ * A template is safe to fill from several threads at the same time if its
+ * realiser is; the sentence it was made from can be changed or used for
+ * anything else once the template has been made.
+ * </p>
+ */
+public class SentenceTemplate {
+
+    /**
+     * Marks the noun phrase of a slot (with the name of the slot) while the
+     * sentence is copied, and the word of a slot (with the index of the slot)
+     * in the output of the syntax processor.
+     */
+    private static final String SLOT = "template_slot"; //$NON-NLS-1$
+
+    private final Realiser realiser;
+    private final NLGElement sentence;
+    private final String[] names;
+    private final NLGFactory[] factories;
+    private final NLGElement[] defaultNouns;
+    private final NumberAgreement[] defaultNumbers;
+    private final ConcurrentMap<String, Frame> frames = new ConcurrentHashMap<String, Frame>();
+
+    /**
+     * Creates a template from a sentence, or from a clause or phrase which is
+     * realised as a sentence as in {@link Realiser#realiseSentence(NLGElement)}.
+     *
+     * @param realiser the realiser which realises the template.
+     * @param element  the sentence.
+     * @param slots    the noun phrases of the sentence whose nouns are filled
+     *                 in, by the names used to fill them.
+     */
+    public SentenceTemplate(Realiser realiser, NLGElement element, Map<String, ? extends NPPhraseSpec> slots) {
+        this.realiser = realiser;
+        int size = slots.size();
+        this.names = new String[size];
+        this.factories = new NLGFactory[size];
+        this.defaultNouns = new NLGElement[size];
+        this.defaultNumbers = new NumberAgreement[size];
+
+        int index = 0;
+        for (Map.Entry<String, ? extends NPPhraseSpec> slot : slots.entrySet()) {
+            NPPhraseSpec phrase = slot.getValue();
+            this.names[index] = slot.getKey();
+            this.factories[index] = phrase.getFactory();
+            this.defaultNouns[index] = phrase.getNoun();
+            Object number = phrase.getFeature(Feature.NUMBER);
+            this.defaultNumbers[index] = number instanceof NumberAgreement ? (NumberAgreement) number
+                    : NumberAgreement.SINGULAR;
+            index++;
+        }
+
+        // the phrases are marked so that they can be found in the copy
+        for (Map.Entry<String, ? extends NPPhraseSpec> slot : slots.entrySet()) {
+            slot.getValue().setFeature(SLOT, slot.getKey());
+        }
+        try {
+            NLGElement copy = element.deepCopy();
+            if (!(copy instanceof DocumentElement)) {
+                DocumentElement wrapper = new DocumentElement(DocumentCategory.SENTENCE, null);
+                wrapper.addComponent(copy);
+                copy = wrapper;
+            }
+            this.sentence = copy;
+        } finally {
+            for (NPPhraseSpec phrase : slots.values()) {
+                phrase.removeFeature(SLOT);
+            }
+        }
+    }
+
+    /**
+     * @return the names of the slots.
+     */
+    public List<String> getSlots() {
+        List<String> slots = new ArrayList<String>();
+        Collections.addAll(slots, this.names);
+        return slots;
+    }
+
+    /**
+     * @return the number of agreement patterns the syntax processor has been
+     * run for so far.
+     */
+    public int getFrameCount() {
+        return this.frames.size();
+    }
+
+    /**
+     * Realises the sentence with the given nouns, keeping the number of each
+     * noun phrase.
+     *
+     * @param nouns the noun of each slot, by name, as a <code>String</code> or
+     *              an <code>NLGElement</code>; a slot which is not given keeps
+     *              its noun.
+     * @return the realisation of the sentence.
+     */
+    public String realiseSentence(Map<String, ?> nouns) {
+        return realiseSentence(nouns, null);
+    }
+
+    /**
+     * Realises the sentence with the given nouns and numbers.
+     *
+     * @param nouns   the noun of each slot, by name, as a <code>String</code>
+     *                or an <code>NLGElement</code>; a slot which is not given
+     *                keeps its noun.
+     * @param numbers the number of each slot, by name; a slot which is not
+     *                given keeps its number.
+     * @return the realisation of the sentence.
+     */
+    public String realiseSentence(Map<String, ?> nouns, Map<String, NumberAgreement> numbers) {
+        int size = this.names.length;
+        Object[] values = new Object[size];
+        NumberAgreement[] slotNumbers = new NumberAgreement[size];
+        WordElement[] words = new WordElement[size];
+        StringBuilder pattern = new StringBuilder();
+        boolean compiled = true;
+
+        for (int index = 0; index < size; index++) {
+            Object value = nouns == null ? null : nouns.get(this.names[index]);
+            values[index] = value == null ? this.defaultNouns[index] : value;
+            NumberAgreement number = numbers == null ? null : numbers.get(this.names[index]);
+            slotNumbers[index] = number == null ? this.defaultNumbers[index] : number;
+
+            words[index] = toNoun(index, values[index]);
+            if (words[index] == null) {
+                compiled = false;
+            } else {
+                pattern.append(slotNumbers[index]).append('/')
+                        .append(words[index].getFeature(LexicalFeature.GENDER)).append('/')
+                        .append(words[index].getFeature(LexicalFeature.PROPER)).append(';');
+            }
+        }
+
+        NLGElement realised;
+        Frame frame = compiled ? getFrame(pattern.toString(), words, slotNumbers) : null;
+        if (frame != null && frame.tree != null) {
+            realised = this.realiser.realiseFromSyntax(frame.fill(words));
+        } else {
+            realised = this.realiser.realise(rebuild(values, slotNumbers));
+        }
+        return realised == null ? null : realised.getRealisation();
+    }
+
+    /**
+     * Gets the noun for a slot as a word of the lexicon.
+     *
+     * @return the word, or <code>null</code> if the value is not a single
+     * noun.
+     */
+    private WordElement toNoun(int index, Object value) {
+        NLGElement element = value instanceof WordElement ? (WordElement) value
+                : this.factories[index].createNLGElement(value, LexicalCategory.NOUN);
+        if (element instanceof WordElement && LexicalCategory.NOUN.equals(element.getCategory())) {
+            return (WordElement) element;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the frame for an agreement pattern, making it if this is the
+     * first time the pattern is seen.
+     */
+    private Frame getFrame(String pattern, WordElement[] words, NumberAgreement[] numbers) {
+        Frame frame = this.frames.get(pattern);
+        if (frame == null) {
+            Frame made = compile(words, numbers);
+            frame = this.frames.putIfAbsent(pattern, made);
+            if (frame == null) {
+                frame = made;
+            }
+        }
+        return frame;
+    }
+
+    /**
+     * Runs the syntax processor over a copy of the sentence with the given
+     * nouns, each standing in for every noun with the same agreement.
+     */
+    private Frame compile(WordElement[] words, NumberAgreement[] numbers) {
+        NLGElement copy = this.sentence.deepCopy();
+        NPPhraseSpec[] phrases = findSlots(copy);
+        WordElement[] markers = new WordElement[words.length];
+        for (int index = 0; index < words.length; index++) {
+            if (phrases[index] == null) {
+                return new Frame(null, markers, null, null);
+            }
+            // a copy of the word, so that the slot can be told from any other
+            // use of the word
+            markers[index] = new WordElement(words[index]);
+            setNoun(phrases[index], markers[index], numbers[index]);
+        }
+        // the syntax processor sets features on the head of a phrase, so the
+        // features of the words are taken before it runs
+        List<Map<String, Object>> wordFeatures = new ArrayList<Map<String, Object>>();
+        for (WordElement word : words) {
+            wordFeatures.add(new HashMap<String, Object>(word.getAllFeatures()));
+        }
+        return new Frame(this.realiser.syntax.realise(copy), markers, wordFeatures, this.realiser.morphology);
+    }
+
+    /**
+     * Copies the sentence with the given nouns, to be realised in full.
+     */
+    private NLGElement rebuild(Object[] values, NumberAgreement[] numbers) {
+        NLGElement copy = this.sentence.deepCopy();
+        NPPhraseSpec[] phrases = findSlots(copy);
+        for (int index = 0; index < values.length; index++) {
+            if (phrases[index] != null) {
+                setNoun(phrases[index], this.factories[index].createNLGElement(values[index],
+                        LexicalCategory.NOUN), numbers[index]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Sets the noun of a noun phrase, and the number and gender which go with
+     * it, leaving the rest of the phrase as it is.
+     */
+    private static void setNoun(NPPhraseSpec phrase, NLGElement noun, NumberAgreement number) {
+        phrase.setFeature(InternalFeature.HEAD, noun);
+        if (noun != null) {
+            noun.setParent(phrase);
+            Object gender = noun.getFeature(LexicalFeature.GENDER);
+            phrase.setFeature(LexicalFeature.GENDER, gender != null ? gender : Gender.NEUTER);
+        }
+        phrase.setFeature(Feature.NUMBER, number);
+    }
+
+    /**
+     * Finds the marked noun phrases in a copy of the sentence, and takes the
+     * marks off.
+     *
+     * @return the phrase of each slot, or <code>null</code> where it was not
+     * found.
+     */
+    private NPPhraseSpec[] findSlots(NLGElement copy) {
+        NPPhraseSpec[] phrases = new NPPhraseSpec[this.names.length];
+        findSlots(copy, phrases, newIdentitySet());
+        return phrases;
+    }
+
+    private void findSlots(NLGElement element, NPPhraseSpec[] phrases, Set<NLGElement> visited) {
+        if (element == null || !visited.add(element)) {
+            return;
+        }
+        Object slot = element.getFeature(SLOT);
+        if (slot != null && element instanceof NPPhraseSpec) {
+            for (int index = 0; index < this.names.length; index++) {
+                if (this.names[index].equals(slot)) {
+                    phrases[index] = (NPPhraseSpec) element;
+                }
+            }
+            element.removeFeature(SLOT);
+        }
+        for (NLGElement child : elementsIn(element)) {
+            findSlots(child, phrases, visited);
+        }
+    }
+
+    /**
+     * Gets the elements held in the features of an element, which take in its
+     * children and its base word, if it has one.
+     */
+    private static List<NLGElement> elementsIn(NLGElement element) {
+        List<NLGElement> elements = new ArrayList<NLGElement>();
+        for (String name : element.getAllFeatureNames()) {
+            Object value = element.getFeature(name);
+            if (value instanceof NLGElement) {
+                elements.add((NLGElement) value);
+            } else if (value instanceof List<?>) {
+                for (Object item : (List<?>) value) {
+                    if (item instanceof NLGElement) {
+                        elements.add((NLGElement) item);
+                    }
+                }
+            }
+        }
+        return elements;
+    }
+
+    private static Set<NLGElement> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<NLGElement, Boolean>());
+    }
+
+    /**
+     * The output of the syntax processor for one agreement pattern. The words
+     * of the slots are marked, and the phrases around them are known, so that
+     * the rest can be put through the morphology processor once.
+     */
+    private static final class Frame {
+
+        // null if the word of a slot was lost in the syntax processor, such
+        // as when its phrase is elided
+        private final NLGElement tree;
+        private final WordElement[] markers;
+        private final List<Map<String, Object>> wordFeatures;
+        // the elements which hold the word of a slot, down to the word itself
+        private final Set<NLGElement> dirty = newIdentitySet();
+        // phrases which hold no slot, but sit in one which does, after morphology
+        private final Map<NLGElement, NLGElement> morphed = new IdentityHashMap<NLGElement, NLGElement>();
+
+        Frame(NLGElement tree, WordElement[] markers, List<Map<String, Object>> wordFeatures,
+              simplenlg.morphology.MorphologyProcessor morphology) {
+            this.markers = markers;
+            this.wordFeatures = wordFeatures;
+            if (tree == null || !markSlots(tree, new IdentityHashMap<NLGElement, Boolean>())) {
+                this.tree = null;
+                return;
+            }
+            for (NLGElement marker : markers) {
+                if (marker.hasFeature(SLOT)) {
+                    marker.removeFeature(SLOT);
+                } else {
+                    // not found
+                    this.tree = null;
+                    return;
+                }
+            }
+            this.tree = tree;
+
+            for (NLGElement element : this.dirty) {
+                if (element instanceof ListElement || element instanceof DocumentElement) {
+                    for (NLGElement child : element.getChildren()) {
+                        if (child instanceof ListElement && !this.dirty.contains(child)) {
+                            this.morphed.put(child, morph(child, morphology));
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Marks the words of the slots in the output of the syntax processor,
+         * and each marker once its word is found, and works out which
+         * elements hold a slot.
+         *
+         * @return <code>true</code> if the element holds a slot.
+         */
+        private boolean markSlots(NLGElement element, Map<NLGElement, Boolean> seen) {
+            Boolean known = seen.get(element);
+            if (known != null) {
+                return known;
+            }
+            seen.put(element, Boolean.FALSE);
+            boolean slot = false;
+            if (element instanceof InflectedWordElement) {
+                NLGElement word = ((InflectedWordElement) element).getBaseWord();
+                for (int index = 0; index < this.markers.length; index++) {
+                    if (word == this.markers[index]) {
+                        element.setFeature(SLOT, index);
+                        this.markers[index].setFeature(SLOT, index);
+                        slot = true;
+                    }
+                }
+            }
+            for (NLGElement child : elementsIn(element)) {
+                if (markSlots(child, seen)) {
+                    slot = true;
+                }
+            }
+            if (slot) {
+                this.dirty.add(element);
+                seen.put(element, Boolean.TRUE);
+            }
+            return slot;
+        }
+
+        /**
+         * Puts a copy of a phrase through the morphology processor, keeping
+         * the features the phrase has for the morphology of the phrase around
+         * it.
+         */
+        private static NLGElement morph(NLGElement phrase,
+                                        simplenlg.morphology.MorphologyProcessor morphology) {
+            NLGElement realised = morphology.realise(phrase.deepCopy());
+            realised.setCategory(phrase.getCategory());
+            realised.setParent(phrase.getParent());
+            for (String name : phrase.getAllFeatureNames()) {
+                if (!realised.hasFeature(name)) {
+                    realised.setFeature(name, phrase.getFeature(name));
+                }
+            }
+            return realised;
+        }
+
+        /**
+         * Makes the output of the syntax processor for the given nouns.
+         */
+        NLGElement fill(WordElement[] words) {
+            return instantiate(this.tree, words);
+        }
+
+        private NLGElement instantiate(NLGElement element, WordElement[] words) {
+            NLGElement morphedPhrase = this.morphed.get(element);
+            if (morphedPhrase != null) {
+                return morphedPhrase.deepCopy();
+            } else if (!this.dirty.contains(element)) {
+                // the morphology processor reads words, but may change
+                // anything else it is given
+                return element instanceof WordElement || element instanceof InflectedWordElement ? element
+                        : element.deepCopy();
+            }
+
+            Object slot = element.getFeature(SLOT);
+            if (element instanceof InflectedWordElement && slot instanceof Integer) {
+                return fillWord((InflectedWordElement) element, (Integer) slot, words);
+
+            } else if (element instanceof ListElement || element instanceof DocumentElement) {
+                List<NLGElement> components = new ArrayList<NLGElement>();
+                for (NLGElement child : element.getChildren()) {
+                    components.add(instantiate(child, words));
+                }
+                NLGElement copy = element instanceof ListElement ? new ListElement() : new DocumentElement();
+                copy.setCategory(element.getCategory());
+                copy.setParent(element.getParent());
+                for (String name : element.getAllFeatureNames()) {
+                    copy.setFeature(name, element.getFeature(name));
+                }
+                if (copy instanceof ListElement) {
+                    ((ListElement) copy).setComponents(components);
+                } else {
+                    ((DocumentElement) copy).setComponents(components);
+                }
+                return copy;
+            }
+
+            // anything else which holds a slot, such as a coordination, is
+            // copied whole and the slots are filled in the copy
+            NLGElement copy = element.deepCopy();
+            fillCopy(copy, words, newIdentitySet());
+            return copy;
+        }
+
+        private void fillCopy(NLGElement element, WordElement[] words, Set<NLGElement> visited) {
+            if (!visited.add(element)) {
+                return;
+            }
+            List<NLGElement> children = elementsIn(element);
+            for (String name : element.getAllFeatureNames()) {
+                Object value = element.getFeature(name);
+                if (value instanceof InflectedWordElement && ((NLGElement) value).getFeature(SLOT) instanceof Integer) {
+                    InflectedWordElement word = (InflectedWordElement) value;
+                    element.setFeature(name, fillWord(word, (Integer) word.getFeature(SLOT), words));
+                } else if (value instanceof List<?>) {
+                    List<Object> items = new ArrayList<Object>((List<?>) value);
+                    boolean filled = false;
+                    for (int index = 0; index < items.size(); index++) {
+                        Object item = items.get(index);
+                        if (item instanceof InflectedWordElement
+                                && ((NLGElement) item).getFeature(SLOT) instanceof Integer) {
+                            InflectedWordElement word = (InflectedWordElement) item;
+                            items.set(index, fillWord(word, (Integer) word.getFeature(SLOT), words));
+                            filled = true;
+                        }
+                    }
+                    if (filled) {
+                        element.setFeature(name, items);
+                    }
+                }
+            }
+            for (NLGElement child : children) {
+                fillCopy(child, words, visited);
+            }
+        }
+
+        /**
+         * Makes the word of a slot for the given noun. The features the word
+         * took from the noun it was made with are taken from the given noun
+         * instead; those set by the syntax processor are kept.
+         */
+        private InflectedWordElement fillWord(InflectedWordElement word, int index, WordElement[] words) {
+            Map<String, Object> original = this.wordFeatures.get(index);
+            WordElement noun = words[index];
+            InflectedWordElement filled = new InflectedWordElement(noun);
+            filled.setParent(word.getParent());
+            for (String name : word.getAllFeatureNames()) {
+                Object value = word.getFeature(name);
+                if (!SLOT.equals(name) && !InternalFeature.BASE_WORD.equals(name)
+                        && !LexicalFeature.BASE_FORM.equals(name)
+                        && (value == null || value != original.get(name))) {
+                    filled.setFeature(name, value);
+                }
+            }
+            for (String name : noun.getAllFeatureNames()) {
+                if (!filled.hasFeature(name)) {
+                    filled.setFeature(name, noun.getFeature(name));
+                }
+            }
+            return filled;
+        }
+    }
+}
@@ -0,0 +1,533 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Westwater,
+ * Roman Kutlak, Margaret Mitchell, and Saad Mahamood.
+ */
+package simplenlg.server;
+
+import simplenlg.lexicon.NIHDBLexicon;
+import simplenlg.xmlrealiser.XMLRealiser;
+import simplenlg.xmlrealiser.XMLRealiserException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NonBlockingServer realises xml requests like {@link SimpleServer},
+ * but serves all of its clients from one thread with a
+ * <code>Selector</code>, so that thousands of connections can be open
+ * at once without a thread for each.
+ *
+ * The protocol is the one <code>SimpleClient</code> speaks: each
+ * message is preceded by a 4-byte length, and holds UTF-8 bytes.
+ * A connection stays open for as long as the client keeps it, and
+ * the client can pipeline requests: send several of them without
+ * waiting for the responses. The responses are sent in the order
+ * of the requests, which is how the client matches them up, even
+ * though the requests are realised at the same time on a pool of
+ * worker threads. A failed realisation is answered with a string
+ * that starts with "Exception: ", and a batch request is answered
+ * in one message, as in <code>RealisationRequest</code>.
+ *
+ * A connection with too many requests waiting for their responses
+ * is not read from until some of them have been sent, so a client
+ * which does not read its responses cannot make the server buffer
+ * without limit. A client which closes its side of the connection
+ * still gets the responses to the requests it has sent.
+ *
+ * The server port, the number of workers and the listen backlog
+ * can be given as parameters of the program. Typing exit will
+ * terminate the server.
+ */
+public class NonBlockingServer implements Runnable {
+
+    /**
+     * The longest message accepted, in bytes.
+     */
+    public static final int MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+    /**
+     * The number of requests of one connection which can wait for
+     * their responses before the server stops reading it.
+     */
+    public static final int DEFAULT_MAX_PIPELINED = 64;
+
+    static boolean DEBUG = SimpleServer.DEBUG;
+
+    /**
+     * This path should be replaced by the path to the specialist lexicon.
+     * If there is an entry for DB_FILENAME in lexicon.properties, that path
+     * will be searched for the lexicon file.
+     */
+    String lexiconPath = "src/main/resources/NIHLexicon/lexAccess2011.data";
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService workers;
+    // connections with a response ready, handed over by the workers
+    private final Queue<Connection> ready = new ConcurrentLinkedQueue<Connection>();
+    // read buffer, used by the selector thread only
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private volatile boolean isActive = true;
+    private int maxPipelined = DEFAULT_MAX_PIPELINED;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Construct a new server.
+     *
+     * @param port
+     *      the port on which to listen; 0 picks a free port
+     * @param backlog
+     *      the number of connections which can wait to be accepted
+     * @param poolSize
+     *      the number of worker threads which realise the requests
+     *
+     * @throws IOException
+     */
+    public NonBlockingServer(int port, int backlog, int poolSize) throws IOException {
+        if (poolSize < 1)
+            throw new IllegalArgumentException("pool size must be positive: " + poolSize);
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.socket().setReuseAddress(true);
+        serverChannel.socket().bind(new InetSocketAddress(port), backlog);
+        serverChannel.configureBlocking(false);
+
+        selector = Selector.open();
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        final AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread worker = new Thread(r, "NonBlockingRealisationWorker-" + count.incrementAndGet());
+                worker.setDaemon(true);
+                return worker;
+            }
+        });
+
+        System.out.println("Port Number used by Server is: " + getLocalPort());
+    }
+
+    /**
+     * The main method that starts the server.
+     * <p>
+     * The program takes three optional parameters: the port
+     * number on which to listen (50007 by default), the number
+     * of worker threads (the number of processors by default)
+     * and the listen backlog (128 by default).
+     * <p>
+     * Once the program starts, it can be terminated
+     * by typing the command 'exit'
+     *
+     * @param args Program arguments
+     */
+    public static void main(String[] args) {
+        int port = 50007;
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        int backlog = 128;
+        try {
+            if (args.length > 0)
+                port = Integer.parseInt(args[0]);
+            if (args.length > 1)
+                poolSize = Integer.parseInt(args[1]);
+            if (args.length > 2)
+                backlog = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+        }
+
+        try {
+            NonBlockingServer serverapp = new NonBlockingServer(port, backlog, poolSize);
+
+            serverapp.lexiconPath = SimpleServer.readLexiconPath(serverapp.lexiconPath);
+            System.out.println("Server is using the following lexicon: "
+                               + serverapp.lexiconPath);
+            XMLRealiser.setLexicon(new NIHDBLexicon(serverapp.lexiconPath));
+
+            Thread server = new Thread(serverapp, "NonBlockingServer");
+            server.setDaemon(true);
+            server.start();
+
+            // allow the user to terminate the server by typing "exit"
+            BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+            while (true) {
+                System.out.print(":>");
+                System.out.flush();
+                String input = br.readLine();
+
+                if (null == input || input.compareToIgnoreCase("exit") == 0) {
+                    System.out.println("Server shutting down.");
+                    serverapp.terminate();
+                    server.join();
+                    System.exit(0);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * @return the port on which the server listens
+     */
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * @return the number of client connections now open
+     */
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * @return the number of requests received so far
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Set the number of requests of one connection which can
+     * wait for their responses before the server stops reading it.
+     *
+     * @param maxPipelined
+     *          the number of requests
+     */
+    public void setMaxPipelined(int maxPipelined) {
+        this.maxPipelined = Math.max(1, maxPipelined);
+    }
+
+    /**
+     * Terminate the server. It stops accepting clients,
+     * closes all connections and stops its workers.
+     */
+    public void terminate() {
+        this.isActive = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Serve clients until terminated.
+     */
+    public void run() {
+        try {
+            while (this.isActive) {
+                selector.select();
+
+                Connection connection;
+                while ((connection = ready.poll()) != null) {
+                    connection.write();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        connection = (Connection) key.attachment();
+                        if (key.isReadable())
+                            connection.read();
+                        if (key.isValid() && key.isWritable())
+                            connection.write();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection)
+                    ((Connection) key.attachment()).close();
+            }
+            try {
+                selector.close();
+                serverChannel.close();
+            } catch (IOException e) {
+                System.err.println("Could not close socket!");
+            }
+            workers.shutdown();
+        }
+    }
+
+    /**
+     * Accept the clients waiting to connect.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            } catch (IOException e) {
+                // the client has gone already
+                e.printStackTrace();
+                channel.close();
+                continue;
+            }
+            openConnections.incrementAndGet();
+
+            if (DEBUG) {
+                System.out.println("Client connected from "
+                        + channel.socket().getRemoteSocketAddress());
+            }
+        }
+    }
+
+    /**
+     * Realise one request.
+     *
+     * @param data
+     *          the message of the request
+     * @return the realisation, or the error message to send back
+     */
+    protected String doRealisation(byte[] data) {
+        try {
+            if (data.length < 1) {
+                throw new Exception("Client did not send data.");
+            }
+            return RealisationRequest.realiseBatch(
+                    new StringReader(new String(data, "UTF-8")));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return "Exception: " + e.getMessage();
+        } catch (XMLRealiserException e) {
+            e.printStackTrace();
+            return "Exception: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Frame a response: its length, then its UTF-8 bytes.
+     */
+    private static byte[] frame(String text) {
+        byte[] bytes;
+        try {
+            bytes = text.getBytes("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.allocate(4 + bytes.length).putInt(bytes.length).put(bytes).array();
+    }
+
+    /**
+     * The response to one request, filled in by a worker.
+     */
+    private static final class Response {
+        volatile byte[] frame;
+    }
+
+    /**
+     * A client connection. Everything but the responses is only
+     * touched by the selector thread.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private final ByteBuffer header = ByteBuffer.allocate(4);
+        private ByteBuffer body = null;
+        // responses in the order of the requests
+        private final Deque<Response> pending = new ArrayDeque<Response>();
+        private ByteBuffer output = null;
+        // the client has closed its side, or sent a bad message
+        private boolean closing = false;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Read what the client has sent, and start realising
+         * each request which has been read in full.
+         */
+        void read() {
+            readBuffer.clear();
+            int count;
+            try {
+                count = channel.read(readBuffer);
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            if (count < 0) {
+                closing = true;
+                updateInterest();
+                return;
+            }
+            readBuffer.flip();
+
+            while (readBuffer.hasRemaining() && !closing) {
+                if (null == body) {
+                    transfer(readBuffer, header);
+                    if (header.hasRemaining())
+                        break;
+                    header.flip();
+                    int length = header.getInt();
+                    header.clear();
+                    if (length < 0 || length > MAX_MESSAGE_LENGTH) {
+                        // the stream cannot be followed any further
+                        Response response = new Response();
+                        response.frame = frame("Exception: Invalid message length " + length);
+                        pending.add(response);
+                        closing = true;
+                        break;
+                    }
+                    body = ByteBuffer.allocate(length);
+                }
+                transfer(readBuffer, body);
+                if (!body.hasRemaining()) {
+                    submit(body.array());
+                    body = null;
+                }
+            }
+            write();
+        }
+
+        /**
+         * Hand a request to the workers, keeping its place
+         * among the responses.
+         */
+        private void submit(final byte[] data) {
+            requests.incrementAndGet();
+            final Response response = new Response();
+            pending.add(response);
+            try {
+                workers.execute(new Runnable() {
+                    public void run() {
+                        String result = doRealisation(data);
+                        if (DEBUG) {
+                            String text = "The following realisation was sent to client:";
+                            System.out.println(text + "\n\t" + result);
+                        }
+                        response.frame = frame(result);
+                        ready.add(Connection.this);
+                        selector.wakeup();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the server is shutting down
+                response.frame = frame("Exception: Server is shutting down");
+            }
+        }
+
+        /**
+         * Send the responses which are ready, in order.
+         */
+        void write() {
+            if (!channel.isOpen())
+                return;
+            try {
+                while (true) {
+                    if (null == output) {
+                        Response next = pending.peek();
+                        if (null == next || null == next.frame)
+                            break;
+                        pending.poll();
+                        output = ByteBuffer.wrap(next.frame);
+                    }
+                    channel.write(output);
+                    if (output.hasRemaining())
+                        break;
+                    output = null;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            if (closing && null == output && pending.isEmpty()) {
+                close();
+            } else {
+                updateInterest();
+            }
+        }
+
+        /**
+         * Read only while the client has not closed its side and
+         * has room for more requests, and write while a response
+         * is only partly sent.
+         */
+        private void updateInterest() {
+            if (!key.isValid())
+                return;
+            int ops = 0;
+            if (!closing && pending.size() < maxPipelined)
+                ops |= SelectionKey.OP_READ;
+            if (null != output)
+                ops |= SelectionKey.OP_WRITE;
+            if (closing && 0 == ops && pending.isEmpty()) {
+                close();
+                return;
+            }
+            key.interestOps(ops);
+        }
+
+        void close() {
+            if (!channel.isOpen())
+                return;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Could not close client socket!");
+            }
+            openConnections.decrementAndGet();
+        }
+    }
+
+    /**
+     * Copy as much as fits from one buffer into another.
+     */
+    private static void transfer(ByteBuffer from, ByteBuffer to) {
+        int count = Math.min(from.remaining(), to.remaining());
+        int limit = from.limit();
+        from.limit(from.position() + count);
+        to.put(from);
+        from.limit(limit);
+    }
+}
@@ -19,12 +19,17 @@
  */
 package simplenlg.server;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.List;
 
 import simplenlg.xmlrealiser.XMLRealiser;
 import simplenlg.xmlrealiser.XMLRealiserException;
@@ -44,15 +49,43 @@ import simplenlg.xmlrealiser.XMLRealiserException;
  * The program implements the "standard" socket protocol:
  * each message is preceded with an integer indicating the
  * length of the message (int is 4 bytes).
+ * 
+ * A keep-alive request serves any number of messages on its
+ * connection, answering each one in turn; a realisation that
+ * fails is answered with its error and the connection stays open.
+ * 
+ * A message may hold a batch: a Request with several Document
+ * elements. The documents are realised in parallel and answered
+ * in one message, their realisations in order and separated by
+ * <code>XMLRealiser.BATCH_SEPARATOR</code>.
  */
 public class RealisationRequest implements Runnable {
 
     Socket socket;
     
     static boolean DEBUG = SimpleServer.DEBUG;
+
+    // serve requests until the client closes the connection
+    private final boolean keepAlive;
     
     public RealisationRequest(Socket s) {
+        this(s, false);
+    }
+
+    /**
+     * Serve a client connection.
+     *
+     * @param s
+     *          the socket on which the client connected
+     * @param keepAlive
+     *          if true, the connection carries any number of requests,
+     *          one after the other, and is closed when the client closes
+     *          it or stays idle for longer than the socket's timeout;
+     *          otherwise it is closed after the first request
+     */
+    public RealisationRequest(Socket s, boolean keepAlive) {
         this.socket = s;
+        this.keepAlive = keepAlive;
     }
     
     public void run() {
@@ -68,59 +101,32 @@ public class RealisationRequest implements Runnable {
         }
         
         try {
-            input = new DataInputStream(socket.getInputStream());
-            output = new DataOutputStream(socket.getOutputStream());
+            input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
 
-            // read the message length
-            int msgLen = input.readInt();
-            
-            // create a buffer
-            byte[] data = new byte[msgLen];
-            // read the entire message (blocks until complete)
-            input.readFully(data);
+            boolean first = true;
+            while (first || keepAlive) {
+                // read the message length
+                int msgLen;
+                try {
+                    msgLen = input.readInt();
+                } catch (EOFException e) {
+                    if (first)
+                        throw e;
+                    break; // the client is done
+                } catch (SocketTimeoutException e) {
+                    if (first)
+                        throw e;
+                    break; // idle for too long
+                }
+                first = false;
 
-            if (data.length < 1) {
-                throw new Exception("Client did not send data.");
-            } 
-            
-            // now convert the raw bytes to utf-8
-            String tmp = new String(data, "UTF-8");
-            StringReader reader = new StringReader(tmp);
-            
-            // get the realisation
-            String result = doRealisation(reader).trim();
-            
-            // convert the string to raw bytes
-            byte[] tmp2 = result.getBytes("UTF-8");
-            
-            // write the length
-            output.writeInt(tmp2.length);
-            // write the data
-            output.write(tmp2);
-            
-            if (DEBUG) {
-                String text = "The following realisation was sent to client:";
-                System.out.println(text + "\n\t" + result);
+                serve(input, output, msgLen);
             }
             
         } catch (Exception e) {
             e.printStackTrace();
-            try {
-                // attempt to send the error message to the client
-                byte[] tmp = ("Exception: " + e.getMessage()).getBytes("UTF-8");
-                output.writeInt(tmp.length);
-                output.write(tmp);
-            } catch (IOException e1) {
-            }
-        } catch (XMLRealiserException e) {
-            e.printStackTrace();
-            try {
-                // attempt to send the error message to the client
-                byte[] tmp = ("Exception: " + e.getMessage()).getBytes("UTF-8");
-                output.writeInt(tmp.length);
-                output.write(tmp);
-            } catch (IOException e1) {
-            }
+            sendError(output, e.getMessage());
         } finally {
             try {
                 socket.close();
@@ -131,10 +137,86 @@ public class RealisationRequest implements Runnable {
         }
     }
 
+    /**
+     * Read the message of one request, whose length has been read, and send
+     * back its realisation, or an error message if it cannot be realised.
+     */
+    private void serve(DataInputStream input, DataOutputStream output, int msgLen)
+            throws IOException {
+        // create a buffer
+        byte[] data = new byte[msgLen];
+        // read the entire message (blocks until complete)
+        input.readFully(data);
+
+        String result;
+        try {
+            if (data.length < 1) {
+                throw new Exception("Client did not send data.");
+            }
+
+            // now convert the raw bytes to utf-8
+            String tmp = new String(data, "UTF-8");
+            StringReader reader = new StringReader(tmp);
+
+            // get the realisation
+            result = doRealisation(reader).trim();
+        } catch (Exception e) {
+            e.printStackTrace();
+            result = "Exception: " + e.getMessage();
+        } catch (XMLRealiserException e) {
+            e.printStackTrace();
+            result = "Exception: " + e.getMessage();
+        }
+
+        // convert the string to raw bytes
+        byte[] tmp2 = result.getBytes("UTF-8");
+
+        // write the length
+        output.writeInt(tmp2.length);
+        // write the data
+        output.write(tmp2);
+        output.flush();
+
+        if (DEBUG) {
+            String text = "The following realisation was sent to client:";
+            System.out.println(text + "\n\t" + result);
+        }
+    }
+
+    /**
+     * Attempt to send an error message to the client, which may fail (for
+     * example, if the client disconnected).
+     */
+    private static void sendError(DataOutputStream output, String message) {
+        if (null == output)
+            return;
+        try {
+            byte[] tmp = ("Exception: " + message).getBytes("UTF-8");
+            output.writeInt(tmp.length);
+            output.write(tmp);
+            output.flush();
+        } catch (IOException e1) {
+        }
+    }
+
     protected String doRealisation(Reader inputReader) throws XMLRealiserException {
-        simplenlg.xmlrealiser.wrapper.RequestType request =
-                XMLRealiser.getRequest(inputReader);
-        String output = XMLRealiser.realise(request.getDocument());
-        return output;
+        return realiseBatch(inputReader);
+    }
+
+    /**
+     * Realises every document of a request, and joins their
+     * realisations, each trimmed, with the batch separator. A request
+     * with one document is answered just as it was before batches.
+     */
+    static String realiseBatch(Reader inputReader) throws XMLRealiserException {
+        List<String> realisations = XMLRealiser.realiseBatchRequest(inputReader);
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < realisations.size(); i++) {
+            if (i > 0) {
+                result.append(XMLRealiser.BATCH_SEPARATOR);
+            }
+            result.append(realisations.get(i).trim());
+        }
+        return result.toString();
     }
 }
@@ -21,6 +21,8 @@
 
 import java.net.*;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An example implementation of a java client.
@@ -111,6 +113,45 @@ public class SimpleClient {
         new SimpleClient().run(serverName, port);
     }
     
+    /**
+     * Send the test request several times over one connection,
+     * as a client of a server with keep-alive connections does.
+     *
+     * @param serverName the host of the server
+     * @param port the port of the server
+     * @param requests the number of times to send the request
+     * @return the realisations, in the order they were received
+     */
+    public List<String> run(String serverName, int port, int requests) {
+        List<String> realisations = new ArrayList<String>();
+        try {
+            Socket client = new Socket(serverName, port);
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(client.getOutputStream()));
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(client.getInputStream()));
+
+            byte[] tmp = testData.getBytes("UTF-8");
+            for (int i = 0; i < requests; i++) {
+                out.writeInt(tmp.length);
+                out.write(tmp);
+                out.flush();
+
+                int len = in.readInt();
+                byte[] data = new byte[len];
+                in.readFully(data);
+                realisations.add(new String(data, "UTF-8"));
+            }
+
+            client.close();
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            e.printStackTrace();
+        }
+
+        return realisations;
+    }
+
     public String run(String serverName, int port) {
         try {
             System.out.println("Connecting to " + serverName + " on port " + port);
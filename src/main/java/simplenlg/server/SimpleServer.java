@@ -28,6 +28,12 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * SimpleServer is a program that realises xml requests.
@@ -44,6 +50,18 @@ import java.util.Properties;
  * The server port can be specified as the first parameter
  * of the program; 50007 is used by default.
  * 
+ * By default each client gets a new thread, which serves
+ * one request and closes the connection. A server given a
+ * pool size (the second parameter of the program) serves
+ * clients on that many worker threads instead, and keeps
+ * each connection open for as many requests as the client
+ * sends. It only accepts a connection when a worker is
+ * free, so when all workers are busy further clients wait
+ * in the listen backlog (the third parameter; 8 by default)
+ * rather than piling up in the server. A kept-alive
+ * connection which stays idle for longer than the idle
+ * timeout is closed, so that it frees its worker.
+ * 
  * Typing exit will terminate the server.
  */
 public class SimpleServer implements Runnable {
@@ -59,9 +77,24 @@ public class SimpleServer implements Runnable {
      * be used.
      */
     String lexiconPath = "src/main/resources/NIHLexicon/lexAccess2011.data";
+    /**
+     * The listen backlog used when none is given.
+     */
+    public static final int DEFAULT_BACKLOG = 8;
+    /**
+     * How long a kept-alive connection may stay idle
+     * before it is closed, in milliseconds.
+     */
+    public static final int DEFAULT_IDLE_TIMEOUT = 30000;
+
     private ServerSocket serverSocket;
     // control the run loop
-    private boolean isActive = true;
+    private volatile boolean isActive = true;
+    // workers serving the clients; null to start a thread per client
+    private ExecutorService workers = null;
+    // one permit per worker which is not serving a client
+    private Semaphore freeWorkers = null;
+    private int idleTimeout = DEFAULT_IDLE_TIMEOUT;
     
     /**
      * Construct a new server.
@@ -72,7 +105,27 @@ public class SimpleServer implements Runnable {
      * @throws IOException
      */
     public SimpleServer(int port) throws IOException {
-        startServer(new ServerSocket(port, 8));
+        startServer(new ServerSocket(port, DEFAULT_BACKLOG));
+    }
+
+    /**
+     * Construct a new server which serves clients on a
+     * pool of worker threads, over keep-alive connections.
+     * 
+     * @param port
+     *      the port on which to listen
+     * @param backlog
+     *      the number of connections which can wait to be
+     *      accepted while all workers are busy
+     * @param poolSize
+     *      the number of worker threads, which is also the
+     *      number of clients served at once
+     *      
+     * @throws IOException
+     */
+    public SimpleServer(int port, int backlog, int poolSize) throws IOException {
+        startPool(poolSize);
+        startServer(new ServerSocket(port, backlog));
     }
    
     /**
@@ -84,6 +137,20 @@ public class SimpleServer implements Runnable {
     	startServer(socket);
     }
 
+    /**
+     * Construct a server with a pre-allocated socket which
+     * serves clients on a pool of worker threads, over
+     * keep-alive connections.
+     * @param socket
+     * @param poolSize
+     *      the number of worker threads
+     * @throws IOException
+     */
+    public SimpleServer(ServerSocket socket, int poolSize) throws IOException {
+        startPool(poolSize);
+        startServer(socket);
+    }
+
     static void print(Object o) {
         System.out.println(o);
     }
@@ -93,7 +160,10 @@ public class SimpleServer implements Runnable {
      * <p>
      * The program takes one optional parameter,
      * which is the port number on which to listen.
-     * The default value is 50007.
+     * The default value is 50007. It can be followed
+     * by the size of a pool of worker threads, and the
+     * listen backlog, to serve clients on the pool over
+     * keep-alive connections.
      * <p>
      * Once the program starts, it can be terminated
      * by typing the command 'exit'
@@ -108,8 +178,21 @@ public class SimpleServer implements Runnable {
             port = 50007;
         }
 
+        int poolSize = 0;
+        int backlog = DEFAULT_BACKLOG;
         try {
-            SimpleServer serverapp = new SimpleServer(port);
+            if (args.length > 1)
+                poolSize = Integer.parseInt(args[1]);
+            if (args.length > 2)
+                backlog = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid pool size or backlog: " + e.getMessage());
+        }
+
+        try {
+            SimpleServer serverapp = poolSize > 0
+                    ? new SimpleServer(port, backlog, poolSize)
+                    : new SimpleServer(port);
 
             Thread server = new Thread(serverapp);
             server.setDaemon(true);
@@ -140,6 +223,25 @@ public class SimpleServer implements Runnable {
         }
     }
 
+	/**
+	 * startPool -- Creates the worker threads of a pooled server.
+	 * @param poolSize -- The number of workers.
+	 */
+	private void startPool(int poolSize) {
+		if (poolSize < 1)
+			throw new IllegalArgumentException("pool size must be positive: " + poolSize);
+
+		final AtomicInteger count = new AtomicInteger();
+		workers = Executors.newFixedThreadPool(poolSize, new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread worker = new Thread(r, "RealisationWorker-" + count.incrementAndGet());
+				worker.setDaemon(true);
+				return worker;
+			}
+		});
+		freeWorkers = new Semaphore(poolSize);
+	}
+
 	/**
 	 * startServer -- Start's the SimpleServer with a created ServerSocket.
 	 * @param socket -- The socket for the server to use.
@@ -153,7 +255,22 @@ public class SimpleServer implements Runnable {
 
         System.out.println("Port Number used by Server is: " + serverSocket.getLocalPort());
 
-        // try to read the lexicon path from lexicon.properties file
+        lexiconPath = readLexiconPath(lexiconPath);
+
+        System.out.println("Server is using the following lexicon: "
+                           + lexiconPath);
+
+        XMLRealiser.setLexicon(new NIHDBLexicon(this.lexiconPath));
+    }
+
+    /**
+     * Read the path of the lexicon from the lexicon.properties file.
+     *
+     * @param defaultPath
+     *          the path to use if the file gives none
+     * @return the path of the lexicon
+     */
+    static String readLexiconPath(String defaultPath) {
         try {
             Properties prop = new Properties();
             FileReader reader = new FileReader(new File("./src/main/resources/lexicon.properties"));
@@ -162,17 +279,13 @@ public class SimpleServer implements Runnable {
             String dbFile = prop.getProperty("DB_FILENAME");
 
             if (null != dbFile)
-                lexiconPath = dbFile;
+                return dbFile;
             else
                 throw new Exception("No DB_FILENAME in lexicon.properties");
         } catch (Exception e) {
             e.printStackTrace();
         }
-
-        System.out.println("Server is using the following lexicon: "
-                           + lexiconPath);
-
-        XMLRealiser.setLexicon(new NIHDBLexicon(this.lexiconPath));
+        return defaultPath;
     }
 
     /**
@@ -183,6 +296,26 @@ public class SimpleServer implements Runnable {
         this.isActive = false;
     }
 
+    /**
+     * Set how long a kept-alive connection may stay idle
+     * before it is closed.
+     *
+     * @param millis
+     *          the idle timeout in milliseconds; 0 never
+     *          closes an idle connection
+     */
+    public void setIdleTimeout(int millis) {
+        this.idleTimeout = millis;
+    }
+
+    /**
+     * @return the number of workers which are not serving a
+     * client, or -1 if the server starts a thread per client
+     */
+    public int getFreeWorkers() {
+        return null == freeWorkers ? -1 : freeWorkers.availablePermits();
+    }
+
     /**
      * Start the server.
      *
@@ -201,11 +334,26 @@ public class SimpleServer implements Runnable {
                                 serverSocket.getLocalPort() + "...");
                     }
 
-                    Socket clientSocket = serverSocket.accept();
+                    // wait for a free worker before accepting, so that
+                    // clients queue in the backlog while the pool is busy
+                    if (null != freeWorkers)
+                        freeWorkers.acquire();
+
+                    Socket clientSocket;
+                    try {
+                        clientSocket = serverSocket.accept();
+                    } catch (IOException e) {
+                        if (null != freeWorkers)
+                            freeWorkers.release();
+                        throw e;
+                    }
                     handleClient(clientSocket);
                 } catch (SocketTimeoutException s) {
                     System.err.println("Socket timed out!");
                     break;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
                 } catch (IOException e) {
                     e.printStackTrace();
                     break;
@@ -219,23 +367,62 @@ public class SimpleServer implements Runnable {
             } catch (Exception ee) {
                 System.err.println("Could not close socket!");
             }
+            if (null != workers)
+                workers.shutdown();
         }
     }
 
     /**
      * Handle the incoming client connection by constructing
-     * a <code>RealisationRequest</code> and starting it in a thread.
+     * a <code>RealisationRequest</code> and starting it in a thread,
+     * or passing it to a worker if the server has a pool.
+     * A pooled server must have taken a free worker for the
+     * connection, which is given back once it is closed.
      *
      * @param socket
      *          the socket on which the client connected
      */
     protected void handleClient(Socket socket) {
-        if (null == socket)
+        if (null == socket) {
+            if (null != freeWorkers)
+                freeWorkers.release();
             return;
+        }
 
-        Thread request = new Thread(new RealisationRequest(socket));
-        request.setDaemon(true);
-        request.start();
+        if (null == workers) {
+            Thread request = new Thread(new RealisationRequest(socket));
+            request.setDaemon(true);
+            request.start();
+            return;
+        }
+
+        try {
+            socket.setSoTimeout(idleTimeout);
+            socket.setTcpNoDelay(true);
+        } catch (SocketException e) {
+            e.printStackTrace();
+        }
+
+        final RealisationRequest request = new RealisationRequest(socket, true);
+        try {
+            workers.execute(new Runnable() {
+                public void run() {
+                    try {
+                        request.run();
+                    } finally {
+                        freeWorkers.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the server is shutting down
+            freeWorkers.release();
+            try {
+                socket.close();
+            } catch (IOException ee) {
+                System.err.println("Could not close client socket!");
+            }
+        }
     }
 
     /**
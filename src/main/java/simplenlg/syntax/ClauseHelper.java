@@ -171,7 +171,7 @@ public abstract class ClauseHelper {
         int numComps = 0;
         boolean coordSubj = false;
 
-        if (phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue() && verbPhrase != null
+        if (phrase.getBooleanFeature(Feature.PASSIVE) && verbPhrase != null
                 && !InterrogativeType.WHAT_OBJECT.equals(phrase.getFeature(Feature.INTERROGATIVE_TYPE))) {
 
             // complements of a clause are stored in the VPPhraseSpec
@@ -216,7 +216,7 @@ public abstract class ClauseHelper {
                     }
 
                     if (Form.GERUND.equals(phrase.getFeature(Feature.FORM))
-                            && !phrase.getFeatureAsBoolean(Feature.SUPPRESS_GENITIVE_IN_GERUND).booleanValue()) {
+                            && !phrase.getBooleanFeature(Feature.SUPPRESS_GENITIVE_IN_GERUND)) {
                         subject.setFeature(Feature.POSSESSIVE, true);
                     }
                 }
@@ -259,7 +259,7 @@ public abstract class ClauseHelper {
                                       NLGElement splitVerb) {
         if (!Form.INFINITIVE.equals(phrase.getFeature(Feature.FORM))
                 && !Form.IMPERATIVE.equals(phrase.getFeature(Feature.FORM))
-                && !phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue() && splitVerb == null) {
+                && !phrase.getBooleanFeature(Feature.PASSIVE) && splitVerb == null) {
             realisedElement.addComponents(realiseSubjects(phrase, parent).getChildren());
         }
     }
@@ -280,7 +280,7 @@ public abstract class ClauseHelper {
 
             subject.setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.SUBJECT);
             if (Form.GERUND.equals(phrase.getFeature(Feature.FORM))
-                    && !phrase.getFeatureAsBoolean(Feature.SUPPRESS_GENITIVE_IN_GERUND).booleanValue()) {
+                    && !phrase.getBooleanFeature(Feature.SUPPRESS_GENITIVE_IN_GERUND)) {
                 subject.setFeature(Feature.POSSESSIVE, true);
             }
             currentElement = parent.realise(subject);
@@ -456,7 +456,7 @@ public abstract class ClauseHelper {
 
         if ((ClauseStatus.SUBORDINATE.equals(phrase.getFeature(InternalFeature.CLAUSE_STATUS)) ||
                 DiscourseFunction.SUBJECT.equals(phrase.getFeature(InternalFeature.DISCOURSE_FUNCTION)))
-                && !phrase.getFeatureAsBoolean(Feature.SUPRESSED_COMPLEMENTISER).booleanValue()) {
+                && !phrase.getBooleanFeature(Feature.SUPRESSED_COMPLEMENTISER)) {
 
             currentElement = parent.realise(phrase.getFeatureAsElement(Feature.COMPLEMENTISER));
 
@@ -59,7 +59,7 @@ public abstract class CoordinatedPhraseHelper {
             phraseHelper.realiseList(parent, realisedElement, phrase
                     .getPreModifiers(), DiscourseFunction.PRE_MODIFIER);
 
-            CoordinatedPhraseElement coordinated = new CoordinatedPhraseElement();
+            CoordinatedPhraseElement coordinated = new CoordinatedPhraseElement(phrase.getFactory());
 
             List<NLGElement> children = phrase.getChildren();
             String conjunction = phrase.getFeatureAsString(Feature.CONJUNCTION);
@@ -71,8 +71,7 @@ public abstract class CoordinatedPhraseHelper {
 
             if (children != null && children.size() > 0) {
 
-                if (phrase.getFeatureAsBoolean(Feature.RAISE_SPECIFIER)
-                        .booleanValue()) {
+                if (phrase.getBooleanFeature(Feature.RAISE_SPECIFIER)) {
                     raiseSpecifier(children);
                 }
 
@@ -88,8 +87,7 @@ public abstract class CoordinatedPhraseHelper {
                 for (int index = 1; index < children.size(); index++) {
                     child = children.get(index);
                     setChildFeatures(phrase, child);
-                    if (phrase.getFeatureAsBoolean(Feature.AGGREGATE_AUXILIARY)
-                            .booleanValue()) {
+                    if (phrase.getBooleanFeature(Feature.AGGREGATE_AUXILIARY)) {
                         child.setFeature(InternalFeature.REALISE_AUXILIARY,
                                 false);
                     }
@@ -71,10 +71,10 @@ public abstract class NounPhraseHelper {
         ListElement realisedElement = null;
 
         if (phrase != null
-                && !phrase.getFeatureAsBoolean(Feature.ELIDED).booleanValue()) {
+                && !phrase.getBooleanFeature(Feature.ELIDED)) {
             realisedElement = new ListElement();
 
-            if (phrase.getFeatureAsBoolean(Feature.PRONOMINAL).booleanValue()) {
+            if (phrase.getBooleanFeature(Feature.PRONOMINAL)) {
                 realisedElement.addComponent(createPronoun(parent, phrase));
 
             } else {
@@ -141,8 +141,7 @@ public abstract class NounPhraseHelper {
                                      SyntaxProcessor parent, ListElement realisedElement) {
 
         List<NLGElement> preModifiers = phrase.getPreModifiers();
-        if (phrase.getFeatureAsBoolean(Feature.ADJECTIVE_ORDERING)
-                .booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.ADJECTIVE_ORDERING)) {
             preModifiers = sortNPPreModifiers(preModifiers);
         }
         phraseHelper.realiseList(parent, realisedElement, preModifiers,
@@ -174,8 +173,7 @@ public abstract class NounPhraseHelper {
 
         for (NLGElement specifierElement : specifierElements) {
             if (specifierElement != null
-                    && !phrase.getFeatureAsBoolean(InternalFeature.RAISED)
-                    .booleanValue() && !phrase.getFeatureAsBoolean(Feature.ELIDED).booleanValue()) {
+                    && !phrase.getBooleanFeature(InternalFeature.RAISED) && !phrase.getBooleanFeature(Feature.ELIDED)) {
                 if (!specifierElement.isA(LexicalCategory.PRONOUN) && specifierElement.getCategory() != PhraseCategory.NOUN_PHRASE) {
                     specifierElement.setFeature(Feature.NUMBER, phrase
                             .getFeature(Feature.NUMBER));
@@ -242,15 +240,12 @@ public abstract class NounPhraseHelper {
                 || modifier.isA(PhraseCategory.ADJECTIVE_PHRASE)) {
             WordElement adjective = getHeadWordElement(modifier);
 
-            if (adjective.getFeatureAsBoolean(LexicalFeature.QUALITATIVE)
-                    .booleanValue()) {
+            if (adjective.getBooleanFeature(LexicalFeature.QUALITATIVE)) {
                 position = QUALITATIVE_POSITION;
-            } else if (adjective.getFeatureAsBoolean(LexicalFeature.COLOUR)
-                    .booleanValue()) {
+            } else if (adjective.getBooleanFeature(LexicalFeature.COLOUR)) {
                 position = COLOUR_POSITION;
             } else if (adjective
-                    .getFeatureAsBoolean(LexicalFeature.CLASSIFYING)
-                    .booleanValue()) {
+                    .getBooleanFeature(LexicalFeature.CLASSIFYING)) {
                 position = CLASSIFYING_POSITION;
             }
         }
@@ -270,15 +265,12 @@ public abstract class NounPhraseHelper {
                 || modifier.isA(PhraseCategory.ADJECTIVE_PHRASE)) {
             WordElement adjective = getHeadWordElement(modifier);
 
-            if (adjective.getFeatureAsBoolean(LexicalFeature.CLASSIFYING)
-                    .booleanValue()) {
+            if (adjective.getBooleanFeature(LexicalFeature.CLASSIFYING)) {
                 position = CLASSIFYING_POSITION;
-            } else if (adjective.getFeatureAsBoolean(LexicalFeature.COLOUR)
-                    .booleanValue()) {
+            } else if (adjective.getBooleanFeature(LexicalFeature.COLOUR)) {
                 position = COLOUR_POSITION;
             } else if (adjective
-                    .getFeatureAsBoolean(LexicalFeature.QUALITATIVE)
-                    .booleanValue()) {
+                    .getBooleanFeature(LexicalFeature.QUALITATIVE)) {
                 position = QUALITATIVE_POSITION;
             } else {
                 position = CLASSIFYING_POSITION;
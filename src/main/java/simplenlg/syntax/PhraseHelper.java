@@ -153,7 +153,7 @@ public abstract class PhraseHelper {
                 currentElement.setFeature(InternalFeature.DISCOURSE_FUNCTION,
                         function);
 
-                if (eachElement.getFeatureAsBoolean(Feature.APPOSITIVE).booleanValue()) {
+                if (eachElement.getBooleanFeature(Feature.APPOSITIVE)) {
                     currentElement.setFeature(Feature.APPOSITIVE, true);
                 }
 
@@ -182,8 +182,8 @@ public abstract class PhraseHelper {
             NLGElement subjectNP = subjects.get(0);
 
             if (subjectNP.isA(PhraseCategory.NOUN_PHRASE)) {
-                expletive = subjectNP.getFeatureAsBoolean(
-                        LexicalFeature.EXPLETIVE_SUBJECT).booleanValue();
+                expletive = subjectNP.getBooleanFeature(
+                        LexicalFeature.EXPLETIVE_SUBJECT);
             } else if (subjectNP.isA(PhraseCategory.CANNED_TEXT)) {
                 expletive = "there".equalsIgnoreCase(subjectNP.getRealisation()); //$NON-NLS-1$
             }
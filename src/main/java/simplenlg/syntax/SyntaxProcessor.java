@@ -60,7 +60,7 @@ public abstract class SyntaxProcessor extends NLGModule {
         NLGElement realisedElement = null;
 
         if (element != null
-                && !element.getFeatureAsBoolean(Feature.ELIDED).booleanValue()) {
+                && !element.getBooleanFeature(Feature.ELIDED)) {
 
             if (element instanceof DocumentElement) {
                 List<NLGElement> children = element.getChildren();
@@ -64,8 +64,8 @@ public abstract class VerbPhraseHelper {
             realisedElement = new ListElement();
 
             if (!phrase.hasFeature(InternalFeature.REALISE_AUXILIARY)
-                    || phrase.getFeatureAsBoolean(
-                    InternalFeature.REALISE_AUXILIARY).booleanValue()) {
+                    || phrase.getBooleanFeature(
+                    InternalFeature.REALISE_AUXILIARY)) {
 
                 realiseAuxiliaries(parent, realisedElement,
                         auxiliaryRealisation);
@@ -189,8 +189,7 @@ public abstract class VerbPhraseHelper {
     protected void pushModal(String actualModal, PhraseElement phrase,
                              Stack<NLGElement> vgComponents) {
         if (actualModal != null
-                && !phrase.getFeatureAsBoolean(InternalFeature.IGNORE_MODAL)
-                .booleanValue()) {
+                && !phrase.getBooleanFeature(InternalFeature.IGNORE_MODAL)) {
             vgComponents.push(new InflectedWordElement(actualModal,
                     LexicalCategory.MODAL));
         }
@@ -211,8 +210,7 @@ public abstract class VerbPhraseHelper {
 
         NLGElement newFront = frontVG;
         if (hasModal
-                && !phrase.getFeatureAsBoolean(InternalFeature.IGNORE_MODAL)
-                .booleanValue()) {
+                && !phrase.getBooleanFeature(InternalFeature.IGNORE_MODAL)) {
             if (frontVG != null) {
                 frontVG.setFeature(InternalFeature.NON_MORPH, true);
                 vgComponents.push(frontVG);
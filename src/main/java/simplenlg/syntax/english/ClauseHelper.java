@@ -339,10 +339,10 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
         NLGElement splitVerb = null;
 
         if (!(verbElement instanceof VPPhraseSpec && verbPhraseHelper.isCopular(((VPPhraseSpec) verbElement).getVerb()))
-                && !phrase.getFeatureAsBoolean(Feature.PROGRESSIVE).booleanValue() && !phrase.hasFeature(Feature.MODAL)
+                && !phrase.getBooleanFeature(Feature.PROGRESSIVE) && !phrase.hasFeature(Feature.MODAL)
                 && !Tense.FUTURE.equals(phrase.getFeature(Feature.TENSE))
-                && !phrase.getFeatureAsBoolean(Feature.NEGATED).booleanValue()
-                && !phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+                && !phrase.getBooleanFeature(Feature.NEGATED)
+                && !phrase.getBooleanFeature(Feature.PASSIVE)) {
             addDoAuxiliary(phrase, parent, phraseFactory, realisedElement);
         } else {
             splitVerb = realiseSubjects(phrase, parent);
@@ -377,7 +377,7 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
         if (!hasAuxiliary(phrase) && !verbPhraseHelper.isCopular(phrase)) {
             addDoAuxiliary(phrase, parent, phraseFactory, realisedElement);
 
-        } else if (!phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+        } else if (!phrase.getBooleanFeature(Feature.PASSIVE)) {
             splitVerb = realiseSubjects(phrase, parent);
         }
 
@@ -389,8 +389,8 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
      * correctly)
      */
     private boolean hasAuxiliary(PhraseElement phrase) {
-        return phrase.hasFeature(Feature.MODAL) || phrase.getFeatureAsBoolean(Feature.PERFECT).booleanValue()
-                || phrase.getFeatureAsBoolean(Feature.PROGRESSIVE).booleanValue()
+        return phrase.hasFeature(Feature.MODAL) || phrase.getBooleanFeature(Feature.PERFECT)
+                || phrase.getBooleanFeature(Feature.PROGRESSIVE)
                 || Tense.FUTURE.equals(phrase.getFeature(Feature.TENSE));
     }
 
@@ -484,7 +484,7 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
     protected void addPassiveSubjects(PhraseElement phrase, SyntaxProcessor parent, ListElement realisedElement, NLGFactory phraseFactory) {
         NLGElement currentElement = null;
 
-        if (phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.PASSIVE)) {
             List<NLGElement> allSubjects = phrase.getFeatureAsElementList(InternalFeature.SUBJECTS);
 
             if (allSubjects.size() > 0 || phrase.hasFeature(Feature.INTERROGATIVE_TYPE)) {
@@ -78,7 +78,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
                 .getFeature(Feature.INTERROGATIVE_TYPE))) {
             realisedElement.addComponents(indirects.getChildren());
         }
-        if (!phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+        if (!phrase.getBooleanFeature(Feature.PASSIVE)) {
             if (!InterrogativeType.isObject(phrase
                     .getFeature(Feature.INTERROGATIVE_TYPE))) {
                 realisedElement.addComponents(directs.getChildren());
@@ -162,15 +162,15 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
         NLGElement frontVG = grabHeadVerb(phrase, tenseValue, modal != null);
         checkImperativeInfinitive(formValue, frontVG);
 
-        if (phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.PASSIVE)) {
             frontVG = addBe(frontVG, vgComponents, Form.PAST_PARTICIPLE);
         }
 
-        if (phrase.getFeatureAsBoolean(Feature.PROGRESSIVE).booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.PROGRESSIVE)) {
             frontVG = addBe(frontVG, vgComponents, Form.PRESENT_PARTICIPLE);
         }
 
-        if (phrase.getFeatureAsBoolean(Feature.PERFECT).booleanValue()
+        if (phrase.getBooleanFeature(Feature.PERFECT)
                 || modalPast) {
             frontVG = addHave(frontVG, vgComponents, modal, tenseValue);
         }
@@ -201,7 +201,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
                                  Stack<NLGElement> vgComponents, NLGElement frontVG, boolean hasModal) {
         NLGElement newFront = frontVG;
 
-        if (phrase.getFeatureAsBoolean(Feature.NEGATED).booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.NEGATED)) {
             NLGFactory factory = phrase.getFactory();
 
             // before adding "do", check if this is an object WH
@@ -312,7 +312,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
             frontVG.setFeature(Feature.NUMBER, numToUse);
 
             //don't push the front VG if it's a negated interrogative WH object question
-            if (!(phrase.getFeatureAsBoolean(Feature.NEGATED).booleanValue() && (InterrogativeType.WHO_OBJECT
+            if (!(phrase.getBooleanFeature(Feature.NEGATED) && (InterrogativeType.WHO_OBJECT
                     .equals(interrogType) || InterrogativeType.WHAT_OBJECT
                     .equals(interrogType)))) {
                 vgComponents.push(frontVG);
@@ -240,7 +240,7 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
                     : phrase.getFeature(Feature.NUMBER));
             if (person != null)
                 verbElement.setFeature(Feature.PERSON, person);
-            if (verbElement.getFeatureAsBoolean(Feature.PERFECT)) {
+            if (verbElement.getBooleanFeature(Feature.PERFECT)) {
                 NLGElement head = (NLGElement) verbElement.getFeature(InternalFeature.HEAD);
                 if (head instanceof CoordinatedPhraseElement) {
                     List<NLGElement> coordinates = head.getChildren();
@@ -258,7 +258,7 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
         if ((subjects == null || subjects.isEmpty()) && (verbElement.hasFeature(InternalFeature.HEAD) &&
                 ((WordElement) verbElement.getFeature(InternalFeature.HEAD)).getBaseForm().equals("haber") &&
                 Person.THIRD.equals(verbElement.getFeature(Feature.PERSON)) && Tense.PRESENT.equals(verbElement.getFeature(Feature.TENSE)) &&
-                !verbElement.getFeatureAsBoolean(Feature.PERFECT))) {
+                !verbElement.getBooleanFeature(Feature.PERFECT))) {
             verbElement.setFeature(Feature.PERSON, Person.NONE);
         }
     }
@@ -378,7 +378,7 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
 
                 case WHO_SUBJECT:
                 case WHAT_SUBJECT:
-                    if (phrase.getFeatureAsBoolean(Feature.PASSIVE)) {
+                    if (phrase.getBooleanFeature(Feature.PASSIVE)) {
                         realisedElement.addComponent(parent.realise(phraseFactory.getLexicon().getPassivePreposition()));
                     }
                     realiseInterrogativeKeyWord(parent.getLexicon().getInterrogativeTypeString((InterrogativeType) type),
@@ -443,10 +443,10 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
         NLGElement splitVerb = realiseSubjects(phrase, parent);
 
 //        if (!(verbElement instanceof VPPhraseSpec && verbPhraseHelper.isCopular(((VPPhraseSpec) verbElement).getVerb()))
-//                && !phrase.getFeatureAsBoolean(Feature.PROGRESSIVE).booleanValue() && !phrase.hasFeature(Feature.MODAL)
+//                && !phrase.getBooleanFeature(Feature.PROGRESSIVE) && !phrase.hasFeature(Feature.MODAL)
 //                && !Tense.FUTURE.equals(phrase.getFeature(Feature.TENSE))
-//                && !phrase.getFeatureAsBoolean(Feature.NEGATED).booleanValue()
-//                && !phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+//                && !phrase.getBooleanFeature(Feature.NEGATED)
+//                && !phrase.getBooleanFeature(Feature.PASSIVE)) {
 //            addDoAuxiliary(phrase, parent, phraseFactory, realisedElement);
 //        } else {
 //            splitVerb = realiseSubjects(phrase, parent);
@@ -480,7 +480,7 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
         realiseInterrogativeKeyWord(keyword, LexicalCategory.PRONOUN, phrase, parent, realisedElement, //$NON-NLS-1$
                 phraseFactory);
 
-        if (!phrase.getFeatureAsBoolean(Feature.PASSIVE)) {
+        if (!phrase.getBooleanFeature(Feature.PASSIVE)) {
             splitVerb = realiseSubjects(phrase, parent);
         }
 
@@ -545,7 +545,7 @@ class ClauseHelper extends simplenlg.syntax.ClauseHelper {
     protected void addPassiveSubjects(PhraseElement phrase, SyntaxProcessor parent, ListElement realisedElement, NLGFactory phraseFactory) {
         NLGElement currentElement = null;
 
-        if (phrase.getFeatureAsBoolean(Feature.PASSIVE)) {
+        if (phrase.getBooleanFeature(Feature.PASSIVE)) {
             List<NLGElement> allSubjects = phrase.getFeatureAsElementList(InternalFeature.SUBJECTS);
 
             if (allSubjects.size() > 0) {
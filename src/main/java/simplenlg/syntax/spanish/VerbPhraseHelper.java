@@ -84,7 +84,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
                 .getFeature(Feature.INTERROGATIVE_TYPE))) {
             realisedElement.addComponents(indirects.getChildren());
         }
-        if (!phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+        if (!phrase.getBooleanFeature(Feature.PASSIVE)) {
             if (!InterrogativeType.isObject(phrase
                     .getFeature(Feature.INTERROGATIVE_TYPE))) {
                 realisedElement.addComponents(directs.getChildren());
@@ -103,7 +103,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
         if (element instanceof NPPhraseSpec) {
             NLGFactory factory = element.getFactory();
             element.setFeature(InternalFeature.DISCOURSE_FUNCTION, DiscourseFunction.INDIRECT_OBJECT);
-            if (/*!element.getParent().getFeatureAsBoolean(Feature.PASSIVE) &&*/ !((NPPhraseSpec) element).getNoun().getCategory().equals(LexicalCategory.PRONOUN)) {
+            if (/*!element.getParent().getBooleanFeature(Feature.PASSIVE) &&*/ !((NPPhraseSpec) element).getNoun().getCategory().equals(LexicalCategory.PRONOUN)) {
                 element = factory.createPrepositionPhrase("a", element);
             }
         } else if (element instanceof CoordinatedPhraseElement) {
@@ -207,15 +207,15 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
         }
         checkImperativeInfinitive(formValue, frontVG);
 
-        if (phrase.getFeatureAsBoolean(Feature.PASSIVE).booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.PASSIVE)) {
             frontVG = addBe(frontVG, vgComponents, Form.PAST_PARTICIPLE);
         }
 
-        if (phrase.getFeatureAsBoolean(Feature.PROGRESSIVE).booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.PROGRESSIVE)) {
             frontVG = addBe(frontVG, vgComponents, Form.PRESENT_PARTICIPLE);
         }
 
-        if (phrase.getFeatureAsBoolean(Feature.PERFECT).booleanValue()
+        if (phrase.getBooleanFeature(Feature.PERFECT)
                 || modalPast) {
             frontVG = addHave(frontVG, vgComponents, modal, tenseValue);
         }
@@ -248,7 +248,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
     private NLGElement createNot(PhraseElement phrase,
                                  Stack<NLGElement> vgComponents, NLGElement frontVG, boolean hasModal) {
 
-        if (phrase.getFeatureAsBoolean(Feature.NEGATED).booleanValue()) {
+        if (phrase.getBooleanFeature(Feature.NEGATED)) {
             NLGFactory factory = phrase.getFactory();
 
             // before adding "do", check if this is an object WH
@@ -292,7 +292,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
 
     private NLGElement addReflexivePronoun(PhraseElement phrase, Stack<NLGElement> vgComponents, NLGElement frontVG) {
 
-        if (phrase.getFeatureAsBoolean(LexicalFeature.REFLEXIVE)) {
+        if (phrase.getBooleanFeature(LexicalFeature.REFLEXIVE)) {
             Person p = (Person) phrase.getFeature(Feature.PERSON);
             NumberAgreement n = (NumberAgreement) phrase.getFeature(Feature.NUMBER);
             InflectedWordElement pronoun;
@@ -411,7 +411,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
             frontVG.setFeature(Feature.NUMBER, numToUse);
 
             //don't push the front VG if it's a negated interrogative WH object question
-            if (!(phrase.getFeatureAsBoolean(Feature.NEGATED).booleanValue() && (InterrogativeType.WHO_OBJECT
+            if (!(phrase.getBooleanFeature(Feature.NEGATED) && (InterrogativeType.WHO_OBJECT
                     .equals(interrogType) || InterrogativeType.WHAT_OBJECT
                     .equals(interrogType)))) {
                 vgComponents.push(frontVG);
@@ -454,7 +454,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
     @Override
     protected void pushModal(String actualModal, PhraseElement phrase,
                              Stack<NLGElement> vgComponents) {
-        if (actualModal != null && !phrase.getFeatureAsBoolean(InternalFeature.IGNORE_MODAL)) {
+        if (actualModal != null && !phrase.getBooleanFeature(InternalFeature.IGNORE_MODAL)) {
             InflectedWordElement modal = new InflectedWordElement(actualModal, LexicalCategory.MODAL);
             modal.setFeature(Feature.TENSE, vgComponents.peek().getFeature(Feature.TENSE));
             modal.setFeature(Feature.PERSON, phrase.getFeature(Feature.PERSON));
@@ -474,7 +474,7 @@ class VerbPhraseHelper extends simplenlg.syntax.VerbPhraseHelper {
     protected void checkImperativeInfinitive(Object formValue,
                                              NLGElement frontVG) {
 
-        if (frontVG != null && !frontVG.getParent().getFeatureAsBoolean(Feature.PERFECT)) {
+        if (frontVG != null && !frontVG.getParent().getBooleanFeature(Feature.PERFECT)) {
             super.checkImperativeInfinitive(formValue, frontVG);
         }
     }
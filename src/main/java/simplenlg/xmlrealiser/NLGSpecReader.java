@@ -0,0 +1,905 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.xmlrealiser;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import simplenlg.features.ClauseStatus;
+import simplenlg.features.DiscourseFunction;
+import simplenlg.features.Feature;
+import simplenlg.features.Form;
+import simplenlg.features.Gender;
+import simplenlg.features.Inflection;
+import simplenlg.features.InternalFeature;
+import simplenlg.features.InterrogativeType;
+import simplenlg.features.LexicalFeature;
+import simplenlg.features.NumberAgreement;
+import simplenlg.features.Person;
+import simplenlg.features.Tense;
+import simplenlg.framework.CoordinatedPhraseElement;
+import simplenlg.framework.DocumentCategory;
+import simplenlg.framework.DocumentElement;
+import simplenlg.framework.InflectedWordElement;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.NLGElement;
+import simplenlg.framework.NLGFactory;
+import simplenlg.framework.PhraseCategory;
+import simplenlg.framework.PhraseElement;
+import simplenlg.framework.WordElement;
+import simplenlg.lexicon.Lexicon;
+import simplenlg.phrasespec.AdjPhraseSpec;
+import simplenlg.phrasespec.AdvPhraseSpec;
+import simplenlg.phrasespec.NPPhraseSpec;
+import simplenlg.phrasespec.SPhraseSpec;
+import simplenlg.phrasespec.VPPhraseSpec;
+
+/**
+ * NLGSpecReader reads the xml of RealizerSchema.xsd straight into SimpleNLG
+ * classes, in one pass over a StAX stream. It accepts the same documents as
+ * {@link UnWrapper#getNLGSpec(Reader)} followed by
+ * {@link UnWrapper#UnwrapDocumentElement(simplenlg.xmlrealiser.wrapper.XmlDocumentElement)}
+ * and builds the same elements, but does not make the JAXB wrapper objects in
+ * between, so only one object graph is built for each request.
+ * <p>
+ * The children of a phrase are built as they are read, but are only added to
+ * the phrase once all of them have been read, in the order the unwrapper adds
+ * them: the complements of a clause go to its verb phrase, which comes after
+ * them in the xml.
+ * </p>
+ * <p>
+ * Elements are matched by local name, so documents in any namespace are read.
+ * Elements and attributes which the schema does not know are skipped.
+ * </p>
+ */
+public class NLGSpecReader {
+
+	/** Reads the streams; a configured factory can be shared by all threads. */
+	private static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+
+	/** The factory. */
+	NLGFactory factory = null;
+
+	/**
+	 * A record of a recording.
+	 */
+	public static class Record {
+
+		private final String name;
+		private final DocumentElement document;
+		private final String realisation;
+
+		Record(String name, DocumentElement document, String realisation) {
+			this.name = name;
+			this.document = document;
+			this.realisation = realisation;
+		}
+
+		/**
+		 * @return the name of the record, or <code>null</code>
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * @return the document to realise
+		 */
+		public DocumentElement getDocument() {
+			return this.document;
+		}
+
+		/**
+		 * @return the recorded realisation, or <code>null</code>
+		 */
+		public String getRealisation() {
+			return this.realisation;
+		}
+	}
+
+	/**
+	 * The parts of a phrase which are added to it once it has been read.
+	 */
+	private static class Parts {
+		NLGElement head = null;
+		NLGElement spec = null;
+		NLGElement cuePhrase = null;
+		NLGElement vp = null;
+		List<NLGElement> subjects = new ArrayList<NLGElement>();
+		List<NLGElement> frontMods = new ArrayList<NLGElement>();
+		List<NLGElement> preMods = new ArrayList<NLGElement>();
+		List<NLGElement> compls = new ArrayList<NLGElement>();
+		List<NLGElement> postMods = new ArrayList<NLGElement>();
+	}
+
+	/**
+	 * Initialise a reader with a lexicon.
+	 *
+	 * @param lexicon
+	 *            the lexicon to use
+	 */
+	public NLGSpecReader(Lexicon lexicon) {
+		factory = new NLGFactory(lexicon);
+	}
+
+	/**
+	 * Reads the document of a request to realise.
+	 *
+	 * @param xmlReader
+	 *            the xml of an NLGSpec holding a Request
+	 * @return the document element
+	 * @throws XMLRealiserException
+	 *             if the xml cannot be read or has no Request element
+	 */
+	public DocumentElement readRequest(Reader xmlReader)
+			throws XMLRealiserException {
+		List<DocumentElement> documents = readBatchRequest(xmlReader);
+		return documents.isEmpty() ? null : documents.get(documents.size() - 1);
+	}
+
+	/**
+	 * Reads the documents of a batch request. A batch is a Request holding
+	 * any number of Document elements instead of just one; they are realised
+	 * independently of each other.
+	 *
+	 * @param xmlReader
+	 *            the xml of an NLGSpec holding a Request
+	 * @return the document elements, in the order of the xml
+	 * @throws XMLRealiserException
+	 *             if the xml cannot be read or has no Request element
+	 */
+	public List<DocumentElement> readBatchRequest(Reader xmlReader)
+			throws XMLRealiserException {
+		XMLStreamReader reader = open(xmlReader);
+		try {
+			List<DocumentElement> documents = null;
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				if ("Request".equals(reader.getLocalName())) {
+					documents = new ArrayList<DocumentElement>();
+					while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+						if ("Document".equals(reader.getLocalName())) {
+							documents.add(readDocument(reader));
+						} else {
+							skipElement(reader);
+						}
+					}
+				} else {
+					skipElement(reader);
+				}
+			}
+			if (documents == null) {
+				throw new XMLRealiserException("Must have Request element");
+			}
+			return documents;
+
+		} catch (XMLStreamException e) {
+			throw new XMLRealiserException("XML unmarshal error", e);
+		} finally {
+			close(reader);
+		}
+	}
+
+	/**
+	 * Reads the records of a recording.
+	 *
+	 * @param xmlReader
+	 *            the xml of an NLGSpec holding a Recording
+	 * @return the records, in the order of the xml
+	 * @throws XMLRealiserException
+	 *             if the xml cannot be read or has no Recording element
+	 */
+	public List<Record> readRecording(Reader xmlReader)
+			throws XMLRealiserException {
+		XMLStreamReader reader = open(xmlReader);
+		try {
+			List<Record> records = null;
+			while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+				if ("Recording".equals(reader.getLocalName())) {
+					records = new ArrayList<Record>();
+					while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+						if ("Record".equals(reader.getLocalName())) {
+							records.add(readRecord(reader));
+						} else {
+							skipElement(reader);
+						}
+					}
+				} else {
+					skipElement(reader);
+				}
+			}
+			if (records == null) {
+				throw new XMLRealiserException("Must have Recording element");
+			}
+			return records;
+
+		} catch (XMLStreamException e) {
+			throw new XMLRealiserException("XML unmarshal error", e);
+		} finally {
+			close(reader);
+		}
+	}
+
+	/**
+	 * Reads one record, leaving the stream at its end tag.
+	 */
+	private Record readRecord(XMLStreamReader reader)
+			throws XMLStreamException {
+		String name = attribute(reader, "name");
+		DocumentElement document = null;
+		String realisation = null;
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			String local = reader.getLocalName();
+			if ("Document".equals(local)) {
+				document = readDocument(reader);
+			} else if ("Realisation".equals(local)) {
+				realisation = reader.getElementText();
+			} else {
+				skipElement(reader);
+			}
+		}
+		return new Record(name, document, realisation);
+	}
+
+	/**
+	 * Reads an element whose type is given by its <code>xsi:type</code>,
+	 * leaving the stream at its end tag.
+	 *
+	 * @return the element, or <code>null</code> if its type is not known
+	 */
+	private NLGElement readElement(XMLStreamReader reader)
+			throws XMLStreamException {
+		String type = reader.getAttributeValue(
+				XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "type");
+		if (type == null) {
+			skipElement(reader);
+			return null;
+		}
+		int colon = type.indexOf(':');
+		if (colon >= 0) {
+			type = type.substring(colon + 1);
+		}
+		type = type.trim();
+
+		if ("DocumentElement".equals(type)) {
+			return readDocument(reader);
+		} else if ("StringElement".equals(type)) {
+			return readString(reader);
+		} else if ("WordElement".equals(type)) {
+			return readWord(reader);
+		} else if ("CoordinatedPhraseElement".equals(type)) {
+			return readCoordinatedPhrase(reader);
+		} else if ("SPhraseSpec".equals(type)) {
+			return readClause(reader);
+		} else if ("NPPhraseSpec".equals(type)
+				|| "VPPhraseSpec".equals(type)
+				|| "AdjPhraseSpec".equals(type)
+				|| "AdvPhraseSpec".equals(type)
+				|| "PPPhraseSpec".equals(type)) {
+			return readPhrase(reader, type);
+		}
+
+		skipElement(reader);
+		return null;
+	}
+
+	/**
+	 * Reads a document element.
+	 */
+	private DocumentElement readDocument(XMLStreamReader reader)
+			throws XMLStreamException {
+		DocumentElement t = factory.createDocument();
+
+		DocumentCategory cat = enumAttribute(reader, "cat",
+				DocumentCategory.class);
+		if (cat != null) {
+			t.setCategory(cat);
+		}
+		String title = attribute(reader, "title");
+		if (title != null) {
+			t.setTitle(title);
+		}
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if ("child".equals(reader.getLocalName())) {
+				NLGElement p = readElement(reader);
+				if (p != null) {
+					t.addComponent(p);
+				}
+			} else {
+				skipElement(reader);
+			}
+		}
+
+		return t;
+	}
+
+	/**
+	 * Reads literal text.
+	 */
+	private NLGElement readString(XMLStreamReader reader)
+			throws XMLStreamException {
+		String val = null;
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if ("val".equals(reader.getLocalName())) {
+				val = reader.getElementText();
+			} else {
+				skipElement(reader);
+			}
+		}
+		return factory.createStringElement(val);
+	}
+
+	/**
+	 * Reads a word element, which is looked up in the lexicon unless it is
+	 * canned text.
+	 *
+	 * @return the word, or <code>null</code> if it has no base form
+	 */
+	private NLGElement readWord(XMLStreamReader reader)
+			throws XMLStreamException {
+		Boolean canned = booleanAttribute(reader, "canned");
+		LexicalCategory cat = enumAttribute(reader, "cat",
+				LexicalCategory.class);
+		Inflection var = enumAttribute(reader, "var", Inflection.class);
+
+		String baseForm = null;
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if ("base".equals(reader.getLocalName())) {
+				baseForm = reader.getElementText();
+			} else {
+				skipElement(reader);
+			}
+		}
+
+		if (Boolean.TRUE.equals(canned)) {
+			return this.factory.createStringElement(baseForm);
+		}
+		if (baseForm == null) {
+			return null;
+		}
+
+		NLGElement word = factory.createWord(baseForm,
+				cat != null ? cat : LexicalCategory.ANY);
+
+		if (word instanceof InflectedWordElement
+				&& ((InflectedWordElement) word).getBaseWord().getBaseForm()
+						.isEmpty()) {
+			word = null;
+
+		} else if (word instanceof WordElement) {
+			WordElement we = (WordElement) word;
+
+			if (var != null) {
+				we.setDefaultInflectionalVariant(var);
+			}
+
+			// Spelling variant may have been given as base form in xml.
+			// If so, use that variant.
+			if (!baseForm.matches(we.getBaseForm())) {
+				we.setDefaultSpellingVariant(baseForm);
+			}
+		}
+
+		return word;
+	}
+
+	/**
+	 * Reads a coordinated phrase.
+	 */
+	private NLGElement readCoordinatedPhrase(XMLStreamReader reader)
+			throws XMLStreamException {
+		CoordinatedPhraseElement cp = factory.createCoordinatedPhrase();
+
+		PhraseCategory cat = enumAttribute(reader, "cat", PhraseCategory.class);
+		if (cat != null) {
+			cp.setCategory(cat);
+		}
+		String conj = attribute(reader, "conj");
+		cp.setConjunction(conj != null ? conj : "and");
+
+		Person person = enumAttribute(reader, "PERSON", Person.class);
+		Tense tense = enumAttribute(reader, "TENSE", Tense.class);
+		if (tense != null) {
+			cp.setFeature(Feature.TENSE, tense);
+		}
+		String modal = attribute(reader, "MODAL");
+		if (modal != null) {
+			cp.setFeature(Feature.MODAL, modal);
+		}
+		NumberAgreement number = enumAttribute(reader, "NUMBER",
+				NumberAgreement.class);
+		if (number != null) {
+			cp.setFeature(Feature.NUMBER, number);
+		}
+		if (person != null) {
+			cp.setFeature(Feature.PERSON, person);
+		}
+
+		// boolean features.
+		cp.setFeature(Feature.APPOSITIVE, booleanAttribute(reader, "APPOSITIVE"));
+		cp.setFeature(Feature.NEGATED, booleanAttribute(reader, "NEGATED"));
+		cp.setFeature(Feature.POSSESSIVE, booleanAttribute(reader, "POSSESSIVE"));
+		cp.setFeature(Feature.PROGRESSIVE, booleanAttribute(reader, "PROGRESSIVE"));
+		cp.setFeature(Feature.RAISE_SPECIFIER, booleanAttribute(reader, "RAISE_SPECIFIER"));
+		cp.setFeature(Feature.SUPRESSED_COMPLEMENTISER,
+				booleanAttribute(reader, "SUPRESSED_COMPLEMENTISER"));
+
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			if ("coord".equals(reader.getLocalName())) {
+				NLGElement p1 = readElement(reader);
+				if (p1 != null) {
+					cp.addCoordinate(p1);
+				}
+			} else {
+				skipElement(reader);
+			}
+		}
+
+		return cp;
+	}
+
+	/**
+	 * Reads a clause.
+	 */
+	private NLGElement readClause(XMLStreamReader reader)
+			throws XMLStreamException {
+		// the attributes are gone once the children have been read
+		ClauseStatus clauseStatus = enumAttribute(reader, "CLAUSE_STATUS",
+				ClauseStatus.class);
+		Person person = enumAttribute(reader, "PERSON", Person.class);
+		Form form = enumAttribute(reader, "FORM", Form.class);
+		Tense tense = enumAttribute(reader, "TENSE", Tense.class);
+		String modal = attribute(reader, "MODAL");
+		String complementiser = attribute(reader, "COMPLEMENTISER");
+		InterrogativeType interrogativeType = enumAttribute(reader,
+				"INTERROGATIVE_TYPE", InterrogativeType.class);
+		Boolean aggregateAuxiliary = booleanAttribute(reader,
+				"AGGREGATE_AUXILIARY");
+		Boolean passive = booleanAttribute(reader, "PASSIVE");
+		Boolean progressive = booleanAttribute(reader, "PROGRESSIVE");
+		Boolean perfect = booleanAttribute(reader, "PERFECT");
+		Boolean negated = booleanAttribute(reader, "NEGATED");
+		Boolean suppressGenitive = booleanAttribute(reader,
+				"SUPPRESS_GENITIVE_IN_GERUND");
+		Boolean suppressedComplementiser = booleanAttribute(reader,
+				"SUPRESSED_COMPLEMENTISER");
+
+		Parts parts = readParts(reader);
+
+		SPhraseSpec sp = factory.createClause();
+		NLGElement vp = null;
+
+		List<NLGElement> subjects = new ArrayList<NLGElement>();
+		for (NLGElement p1 : parts.subjects) {
+			checkFunction(DiscourseFunction.SUBJECT, p1);
+			subjects.add(p1);
+		}
+		if (subjects.size() > 0) {
+			sp.setFeature(InternalFeature.SUBJECTS, subjects);
+		}
+
+		if (parts.vp != null) {
+			vp = parts.vp;
+			sp.setVerbPhrase(vp);
+		}
+
+		if (parts.cuePhrase != null) {
+			NLGElement cue = parts.cuePhrase;
+			cue.setFeature(InternalFeature.DISCOURSE_FUNCTION,
+					DiscourseFunction.CUE_PHRASE);
+			sp.setFeature(Feature.CUE_PHRASE, cue);
+		}
+
+		if (complementiser != null) {
+			sp.setFeature(Feature.COMPLEMENTISER, complementiser);
+		}
+
+		if (clauseStatus != null) {
+			sp.setFeature(InternalFeature.CLAUSE_STATUS, clauseStatus);
+		}
+		if (person != null) {
+			sp.setFeature(Feature.PERSON, person);
+		}
+		if (form != null) {
+			sp.setFeature(Feature.FORM, form);
+		}
+
+		if (tense != null) {
+			sp.setFeature(Feature.TENSE, tense);
+		} else if (vp != null && vp.hasFeature(Feature.TENSE)) {
+			sp.setFeature(Feature.TENSE, vp.getFeature(Feature.TENSE));
+		}
+
+		// modal -- set on S or inherited from VP
+		if (modal != null) {
+			sp.setFeature(Feature.MODAL, modal);
+		} else if (vp != null && vp.hasFeature(Feature.MODAL)) {
+			sp.setFeature(Feature.MODAL, vp.getFeature(Feature.MODAL));
+		}
+
+		// interrogative
+		if (interrogativeType != null) {
+			sp.setFeature(Feature.INTERROGATIVE_TYPE, interrogativeType);
+		} else if (vp != null && vp.hasFeature(Feature.INTERROGATIVE_TYPE)) {
+			sp.setFeature(Feature.INTERROGATIVE_TYPE,
+					vp.getFeature(Feature.INTERROGATIVE_TYPE));
+		}
+
+		// these can be set on S or VP
+		setEither(sp, vp, Feature.AGGREGATE_AUXILIARY, aggregateAuxiliary);
+		setEither(sp, vp, Feature.PASSIVE, passive);
+		setEither(sp, vp, Feature.PROGRESSIVE, progressive);
+		setEither(sp, vp, Feature.PERFECT, perfect);
+		setEither(sp, vp, Feature.NEGATED, negated);
+		setEither(sp, vp, Feature.SUPPRESS_GENITIVE_IN_GERUND, suppressGenitive);
+		setEither(sp, vp, Feature.SUPRESSED_COMPLEMENTISER,
+				suppressedComplementiser);
+
+		// Common phrase components.
+		addPhraseComponents(sp, parts);
+
+		return sp;
+	}
+
+	/**
+	 * Reads a noun, verb, adjective, adverb or prepositional phrase.
+	 */
+	private NLGElement readPhrase(XMLStreamReader reader, String type)
+			throws XMLStreamException {
+		DiscourseFunction discourseFunction = enumAttribute(reader,
+				"discourseFunction", DiscourseFunction.class);
+		Boolean appositive = booleanAttribute(reader, "appositive");
+
+		// features of the phrase type, read before the children
+		NumberAgreement number = null;
+		Person person = null;
+		Gender gender = null;
+		Form form = null;
+		Tense tense = null;
+		String modal = null;
+		Boolean elided = null, possessive = null, pronominal = null;
+		Boolean comparative = null, superlative = null;
+		Boolean aggregateAuxiliary = null, negated = null, passive = null;
+		Boolean perfect = null, progressive = null;
+		Boolean suppressGenitive = null, suppressedComplementiser = null;
+
+		if ("NPPhraseSpec".equals(type)) {
+			number = enumAttribute(reader, "NUMBER", NumberAgreement.class);
+			person = enumAttribute(reader, "PERSON", Person.class);
+			gender = enumAttribute(reader, "GENDER", Gender.class);
+			elided = booleanAttribute(reader, "ELIDED");
+			possessive = booleanAttribute(reader, "POSSESSIVE");
+			pronominal = booleanAttribute(reader, "PRONOMINAL");
+
+		} else if ("AdjPhraseSpec".equals(type)
+				|| "AdvPhraseSpec".equals(type)) {
+			comparative = booleanAttribute(reader, "IS_COMPARATIVE");
+			superlative = booleanAttribute(reader, "IS_SUPERLATIVE");
+
+		} else if ("VPPhraseSpec".equals(type)) {
+			form = enumAttribute(reader, "FORM", Form.class);
+			person = enumAttribute(reader, "PERSON", Person.class);
+			tense = enumAttribute(reader, "TENSE", Tense.class);
+			modal = attribute(reader, "MODAL");
+			aggregateAuxiliary = booleanAttribute(reader, "AGGREGATE_AUXILIARY");
+			negated = booleanAttribute(reader, "NEGATED");
+			passive = booleanAttribute(reader, "PASSIVE");
+			perfect = booleanAttribute(reader, "PERFECT");
+			progressive = booleanAttribute(reader, "PROGRESSIVE");
+			suppressGenitive = booleanAttribute(reader,
+					"SUPPRESS_GENITIVE_IN_GERUND");
+			suppressedComplementiser = booleanAttribute(reader,
+					"SUPRESSED_COMPLEMENTISER");
+		}
+
+		Parts parts = readParts(reader);
+		NLGElement head = parts.head;
+		PhraseElement hp;
+
+		// Noun Phrase
+		if ("NPPhraseSpec".equals(type)) {
+			NPPhraseSpec p = factory.createNounPhrase(head);
+			hp = p;
+
+			if (parts.spec != null) {
+				p.setSpecifier(parts.spec);
+			}
+
+			if (number != null) {
+				p.setFeature(Feature.NUMBER, number);
+			}
+			if (person != null) {
+				p.setFeature(Feature.PERSON, person);
+			}
+			if (gender != null) {
+				p.setFeature(LexicalFeature.GENDER, gender);
+			}
+			p.setFeature(Feature.ELIDED, elided);
+			p.setFeature(Feature.POSSESSIVE, possessive);
+			p.setFeature(Feature.PRONOMINAL, pronominal);
+		}
+
+		// Adjective Phrase
+		else if ("AdjPhraseSpec".equals(type)) {
+			AdjPhraseSpec p = factory.createAdjectivePhrase(head);
+			hp = p;
+			p.setFeature(Feature.IS_COMPARATIVE, comparative);
+			p.setFeature(Feature.IS_SUPERLATIVE, superlative);
+		}
+
+		// Adverb Phrase
+		else if ("AdvPhraseSpec".equals(type)) {
+			AdvPhraseSpec p = factory.createAdverbPhrase();
+			p.setHead(head);
+			hp = p;
+			p.setFeature(Feature.IS_COMPARATIVE, comparative);
+			p.setFeature(Feature.IS_SUPERLATIVE, superlative);
+		}
+
+		// Verb Phrase
+		else if ("VPPhraseSpec".equals(type)) {
+			VPPhraseSpec p = factory.createVerbPhrase(head);
+			hp = p;
+			if (form != null) {
+				p.setFeature(Feature.FORM, form);
+			}
+			if (person != null) {
+				p.setFeature(Feature.PERSON, person);
+			}
+			if (tense != null) {
+				p.setFeature(Feature.TENSE, tense);
+			}
+			if (modal != null) {
+				p.setFeature(Feature.MODAL, modal);
+			}
+			p.setFeature(Feature.AGGREGATE_AUXILIARY, aggregateAuxiliary);
+			p.setFeature(Feature.NEGATED, negated);
+			p.setFeature(Feature.PASSIVE, passive);
+			p.setFeature(Feature.PERFECT, perfect);
+			p.setFeature(Feature.PROGRESSIVE, progressive);
+			p.setFeature(Feature.SUPPRESS_GENITIVE_IN_GERUND, suppressGenitive);
+			p.setFeature(Feature.SUPRESSED_COMPLEMENTISER,
+					suppressedComplementiser);
+		}
+
+		// Prepositional Phrase
+		else {
+			hp = factory.createPrepositionPhrase(head);
+		}
+
+		// Common phrase components.
+		addPhraseComponents(hp, parts);
+
+		// set the discourse function, if defined
+		if (discourseFunction != null) {
+			hp.setFeature(InternalFeature.DISCOURSE_FUNCTION,
+					discourseFunction);
+		}
+
+		// check the appositive feature
+		if (appositive != null) {
+			hp.setFeature(Feature.APPOSITIVE, appositive);
+		}
+
+		return hp;
+	}
+
+	/**
+	 * Reads the children of a phrase, leaving the stream at its end tag.
+	 */
+	private Parts readParts(XMLStreamReader reader) throws XMLStreamException {
+		Parts parts = new Parts();
+		while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+			String local = reader.getLocalName();
+			if ("frontMod".equals(local)) {
+				parts.frontMods.add(readElement(reader));
+			} else if ("preMod".equals(local)) {
+				parts.preMods.add(readElement(reader));
+			} else if ("compl".equals(local)) {
+				parts.compls.add(readElement(reader));
+			} else if ("postMod".equals(local)) {
+				parts.postMods.add(readElement(reader));
+			} else if ("head".equals(local)) {
+				// the head is always a word, whether or not it says so
+				parts.head = readWord(reader);
+			} else if ("spec".equals(local)) {
+				parts.spec = readElement(reader);
+			} else if ("cuePhrase".equals(local)) {
+				parts.cuePhrase = readElement(reader);
+			} else if ("subj".equals(local)) {
+				NLGElement subject = readElement(reader);
+				if (subject != null) {
+					parts.subjects.add(subject);
+				}
+			} else if ("vp".equals(local)) {
+				parts.vp = readElement(reader);
+			} else {
+				skipElement(reader);
+			}
+		}
+		return parts;
+	}
+
+	/**
+	 * Adds the modifiers and complements of a phrase, in the order the
+	 * unwrapper adds them.
+	 */
+	private void addPhraseComponents(PhraseElement hp, Parts parts) {
+		for (NLGElement p1 : parts.frontMods) {
+			if (p1 != null) {
+				checkFunction(DiscourseFunction.FRONT_MODIFIER, p1);
+				hp.addFrontModifier(p1);
+			}
+		}
+
+		for (NLGElement p1 : parts.preMods) {
+			if (p1 != null) {
+				checkFunction(DiscourseFunction.PRE_MODIFIER, p1);
+				hp.addPreModifier(p1);
+			}
+		}
+
+		for (NLGElement p1 : parts.postMods) {
+			if (p1 != null) {
+				checkFunction(DiscourseFunction.POST_MODIFIER, p1);
+				hp.addPostModifier(p1);
+			}
+		}
+
+		for (NLGElement p1 : parts.compls) {
+			if (p1 != null) {
+				// NB: set function to object by default, unless user set
+				checkFunction(DiscourseFunction.OBJECT, p1);
+				hp.addComplement(p1);
+			}
+		}
+	}
+
+	/**
+	 * Sets a boolean feature of a clause which is true if it is set on either
+	 * the clause or its verb phrase.
+	 */
+	private void setEither(SPhraseSpec sp, NLGElement vp, String feature,
+			Boolean clauseValue) {
+		boolean s = clauseValue == null ? false : clauseValue;
+		boolean v = vp == null ? false : vp.getBooleanFeature(feature);
+		sp.setFeature(feature, s || v);
+	}
+
+	/**
+	 * Utility method to set the discourse function for phrase components,
+	 * unless set by user
+	 *
+	 * @param function
+	 *            the function
+	 * @param phrase
+	 *            the phrase
+	 */
+	private void checkFunction(DiscourseFunction function, NLGElement phrase) {
+		if (!phrase.hasFeature(InternalFeature.DISCOURSE_FUNCTION)) {
+			phrase.setFeature(InternalFeature.DISCOURSE_FUNCTION, function);
+		}
+	}
+
+	/**
+	 * Gets an unqualified attribute of the current element.
+	 *
+	 * @return its value, or <code>null</code> if it is not there
+	 */
+	private static String attribute(XMLStreamReader reader, String name) {
+		return reader.getAttributeValue(null, name);
+	}
+
+	/**
+	 * Gets an <code>xs:boolean</code> attribute of the current element.
+	 *
+	 * @return its value, or <code>null</code> if it is not there or not a
+	 *         boolean
+	 */
+	private static Boolean booleanAttribute(XMLStreamReader reader,
+			String name) {
+		String value = attribute(reader, name);
+		if (value == null) {
+			return null;
+		}
+		value = value.trim();
+		if ("true".equals(value) || "1".equals(value)) {
+			return Boolean.TRUE;
+		} else if ("false".equals(value) || "0".equals(value)) {
+			return Boolean.FALSE;
+		}
+		return null;
+	}
+
+	/**
+	 * Gets an attribute of the current element whose values are those of a
+	 * SimpleNLG enum.
+	 *
+	 * @return its value, or <code>null</code> if it is not there or not one
+	 *         of the enum's values
+	 */
+	private static <T extends Enum<T>> T enumAttribute(XMLStreamReader reader,
+			String name, Class<T> type) {
+		String value = attribute(reader, name);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return Enum.valueOf(type, value.trim());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Skips the current element and everything in it, leaving the stream at
+	 * its end tag.
+	 */
+	private static void skipElement(XMLStreamReader reader)
+			throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Opens a stream on the xml, at the start tag of its root element.
+	 */
+	private static XMLStreamReader open(Reader xmlReader)
+			throws XMLRealiserException {
+		try {
+			XMLStreamReader reader = INPUT_FACTORY
+					.createXMLStreamReader(xmlReader);
+			reader.nextTag();
+			return reader;
+		} catch (XMLStreamException e) {
+			throw new XMLRealiserException("XML unmarshal error", e);
+		}
+	}
+
+	private static void close(XMLStreamReader reader) {
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			// nothing more is read from it
+		}
+	}
+
+	private static XMLInputFactory newInputFactory() {
+		XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+		inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		inputFactory.setProperty(
+				XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return inputFactory;
+	}
+}
@@ -27,9 +27,7 @@ import java.io.OutputStreamWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
@@ -182,16 +180,11 @@ public class Recording {
 	 */
 	public static void writeRecording(RecordSet record, OutputStream os)
 			throws JAXBException, IOException, TransformerException {
-		JAXBContext jc;
-		jc = JAXBContext
-				.newInstance(simplenlg.xmlrealiser.wrapper.NLGSpec.class);
-		Marshaller m = jc.createMarshaller();
-
 		NLGSpec nlg = new NLGSpec();
 		nlg.setRecording(record);
 
 		StringWriter osTemp = new StringWriter();
-		m.marshal(nlg, osTemp);
+		XMLBinding.marshal(nlg, osTemp);
 
 		// Prettify it.
 		Source xmlInput = new StreamSource(new StringReader(osTemp.toString()));
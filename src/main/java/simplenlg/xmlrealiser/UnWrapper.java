@@ -21,9 +21,6 @@ package simplenlg.xmlrealiser;
 import java.io.Reader;
 import java.util.ArrayList;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.Unmarshaller;
-
 import simplenlg.features.ClauseStatus;
 import simplenlg.features.DiscourseFunction;
 import simplenlg.features.Feature;
@@ -69,7 +66,8 @@ public class UnWrapper {
 
 	/**
 	 * Create wrapper objects from xml for a request to realise, or the xml for
-	 * a recording. Both are elements of NLGSpec.
+	 * a recording. Both are elements of NLGSpec. The JAXB context is built on
+	 * the first call and shared by all later ones.
 	 * 
 	 * @param xmlReader
 	 *            the xml reader
@@ -81,10 +79,7 @@ public class UnWrapper {
 			Reader xmlReader) throws XMLRealiserException {
 		simplenlg.xmlrealiser.wrapper.NLGSpec wt = null;
 		try {
-			JAXBContext jc = JAXBContext
-					.newInstance(simplenlg.xmlrealiser.wrapper.NLGSpec.class);
-			Unmarshaller u = jc.createUnmarshaller();
-			Object obj = u.unmarshal(xmlReader);
+			Object obj = XMLBinding.unmarshal(xmlReader);
 
 			if (obj instanceof simplenlg.xmlrealiser.wrapper.NLGSpec) {
 				wt = (simplenlg.xmlrealiser.wrapper.NLGSpec) obj;
@@ -401,7 +396,7 @@ public class UnWrapper {
 		// CoordinatedPhraseElement
 		if (wps instanceof simplenlg.xmlrealiser.wrapper.XmlCoordinatedPhraseElement) {
 			simplenlg.xmlrealiser.wrapper.XmlCoordinatedPhraseElement wp = (simplenlg.xmlrealiser.wrapper.XmlCoordinatedPhraseElement) wps;
-			CoordinatedPhraseElement cp = new CoordinatedPhraseElement();
+			CoordinatedPhraseElement cp = factory.createCoordinatedPhrase();
 			ElementCategory cat = UnwrapCategory(wp.getCat());
 			
 			if (cat != null && cat instanceof PhraseCategory) {
@@ -635,7 +630,8 @@ public class UnWrapper {
 		}
 
 		if (wp.getPERSON() != null) {
-			p.setFeature(Feature.PERSON, wp.getPERSON());
+			p.setFeature(Feature.PERSON, Enum.valueOf(Person.class, wp
+					.getPERSON().toString()));
 		}
 
 		if (wp.getTENSE() != null) {
@@ -714,41 +710,41 @@ public class UnWrapper {
 		
 		// set on clauses.
 		boolean sAggregateAuxiliary = wp.isAGGREGATEAUXILIARY() == null ? false : wp.isAGGREGATEAUXILIARY();
-		boolean vAggregateAuxiliary = vp == null ? false : vp.getFeatureAsBoolean(Feature.AGGREGATE_AUXILIARY).booleanValue();
+		boolean vAggregateAuxiliary = vp == null ? false : vp.getBooleanFeature(Feature.AGGREGATE_AUXILIARY);
 		sp.setFeature(Feature.AGGREGATE_AUXILIARY, sAggregateAuxiliary || vAggregateAuxiliary);
 
 		// passive: can be set on S or VP
 		boolean sPass = wp.isPASSIVE() == null ? false : wp.isPASSIVE();
-		boolean vPass = vp == null ? false : vp.getFeatureAsBoolean(
-				Feature.PASSIVE).booleanValue();
+		boolean vPass = vp == null ? false : vp.getBooleanFeature(
+				Feature.PASSIVE);
 		sp.setFeature(Feature.PASSIVE, sPass || vPass);
 
 		// progressive: can be set on S or VP
 		boolean sProg = wp.isPROGRESSIVE() == null ? false : wp.isPROGRESSIVE();
-		boolean vProg = vp == null ? false : vp.getFeatureAsBoolean(
-				Feature.PROGRESSIVE).booleanValue();
+		boolean vProg = vp == null ? false : vp.getBooleanFeature(
+				Feature.PROGRESSIVE);
 		sp.setFeature(Feature.PROGRESSIVE, sProg || vProg);
 
 		// perfect: can be set on S or VP
 		boolean sPerf = wp.isPERFECT() == null ? false : wp.isPERFECT();
-		boolean vPerf = vp == null ? false : vp.getFeatureAsBoolean(
-				Feature.PERFECT).booleanValue();
+		boolean vPerf = vp == null ? false : vp.getBooleanFeature(
+				Feature.PERFECT);
 		sp.setFeature(Feature.PERFECT, sPerf || vPerf);
 
 		// negation: can be set on S or VP
 		boolean sNeg = wp.isNEGATED() == null ? false : wp.isNEGATED();
-		boolean vNeg = vp == null ? false : vp.getFeatureAsBoolean(
-				Feature.NEGATED).booleanValue();
+		boolean vNeg = vp == null ? false : vp.getBooleanFeature(
+				Feature.NEGATED);
 		sp.setFeature(Feature.NEGATED, sNeg || vNeg);
 		
 		// set on clauses.
 		boolean ssgg = wp.isSUPPRESSGENITIVEINGERUND() == null ? false : wp.isSUPPRESSGENITIVEINGERUND();
-		boolean vsgg = vp == null ? false : vp.getFeatureAsBoolean(Feature.SUPPRESS_GENITIVE_IN_GERUND).booleanValue();
+		boolean vsgg = vp == null ? false : vp.getBooleanFeature(Feature.SUPPRESS_GENITIVE_IN_GERUND);
 		sp.setFeature(Feature.SUPPRESS_GENITIVE_IN_GERUND, ssgg || vsgg);
 		
 		// set on clauses.
 		boolean ssc = wp.isSUPRESSEDCOMPLEMENTISER() == null ? false : wp.isSUPRESSEDCOMPLEMENTISER();
-		boolean vsc = vp == null ? false : vp.getFeatureAsBoolean(Feature.SUPRESSED_COMPLEMENTISER).booleanValue();
+		boolean vsc = vp == null ? false : vp.getBooleanFeature(Feature.SUPRESSED_COMPLEMENTISER);
 		sp.setFeature(Feature.SUPRESSED_COMPLEMENTISER, ssc || vsc);
 
 	}
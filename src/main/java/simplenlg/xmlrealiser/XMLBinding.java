@@ -0,0 +1,123 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.xmlrealiser;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import simplenlg.xmlrealiser.wrapper.NLGSpec;
+
+/**
+ * The JAXB binding of the wrapper classes, shared by the whole process.
+ * <p>
+ * Building a <code>JAXBContext</code> reads every wrapper class, so it is done
+ * once, the first time it is needed. A context is thread-safe, but the
+ * unmarshallers and marshallers it makes are not; they are kept in pools
+ * instead, and each call takes one out for its own use and puts it back
+ * afterwards. A pool grows to the number of calls made at the same time and
+ * never blocks.
+ */
+final class XMLBinding {
+
+	/** The context, once built. */
+	private static volatile JAXBContext context = null;
+
+	/** Unmarshallers not in use. */
+	private static final Queue<Unmarshaller> UNMARSHALLERS = new ConcurrentLinkedQueue<Unmarshaller>();
+
+	/** Marshallers not in use. */
+	private static final Queue<Marshaller> MARSHALLERS = new ConcurrentLinkedQueue<Marshaller>();
+
+	private XMLBinding() {
+	}
+
+	/**
+	 * Gets the context for {@link NLGSpec} and the classes it refers to,
+	 * building it on first use.
+	 *
+	 * @return the context
+	 * @throws JAXBException
+	 *             if the context cannot be built
+	 */
+	static JAXBContext getContext() throws JAXBException {
+		JAXBContext current = context;
+		if (current == null) {
+			synchronized (XMLBinding.class) {
+				current = context;
+				if (current == null) {
+					current = JAXBContext.newInstance(NLGSpec.class);
+					context = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Unmarshals xml with a pooled unmarshaller.
+	 *
+	 * @param xmlReader
+	 *            the xml
+	 * @return the object read
+	 * @throws JAXBException
+	 *             if the xml cannot be read
+	 */
+	static Object unmarshal(Reader xmlReader) throws JAXBException {
+		Unmarshaller unmarshaller = UNMARSHALLERS.poll();
+		if (unmarshaller == null) {
+			unmarshaller = getContext().createUnmarshaller();
+		}
+		try {
+			return unmarshaller.unmarshal(xmlReader);
+		} finally {
+			// an unmarshaller is reset at the start of each unmarshal, so it
+			// can be used again even when this one failed
+			UNMARSHALLERS.offer(unmarshaller);
+		}
+	}
+
+	/**
+	 * Marshals an object as xml with a pooled marshaller.
+	 *
+	 * @param spec
+	 *            the object
+	 * @param xmlWriter
+	 *            where the xml is written
+	 * @throws JAXBException
+	 *             if the object cannot be written
+	 */
+	static void marshal(Object spec, Writer xmlWriter) throws JAXBException {
+		Marshaller marshaller = MARSHALLERS.poll();
+		if (marshaller == null) {
+			marshaller = getContext().createMarshaller();
+		}
+		try {
+			marshaller.marshal(spec, xmlWriter);
+		} finally {
+			MARSHALLERS.offer(marshaller);
+		}
+	}
+}
@@ -7,11 +7,17 @@ import simplenlg.framework.DocumentElement;
 import simplenlg.framework.NLGElement;
 import simplenlg.lexicon.Lexicon;
 import simplenlg.lexicon.NIHDBLexicon;
+import simplenlg.realiser.BatchRealisation;
 import simplenlg.realiser.english.Realiser;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * The Class XMLRealiser.
@@ -30,6 +36,19 @@ public class XMLRealiser {
 	/** The record. */
 	static Recording record = null;
 
+	/** The realiser for the lexicon, shared by all requests. */
+	static volatile Realiser realiser = null;
+
+	/** The threads which realise the documents of batch requests. */
+	static ExecutorService batchExecutor = null;
+
+	/**
+	 * Separates the realisations of a batch in the output of the
+	 * <code>realiseBatch</code> op code. It is the ASCII record separator,
+	 * which a realisation does not contain.
+	 */
+	public static final String BATCH_SEPARATOR = "\u001E";
+
 	/**
 	 * The main method to perform realisation.
 	 *
@@ -61,10 +80,25 @@ public class XMLRealiser {
 			}
 			input = (String) args[argx++];
 			StringReader reader = new StringReader(input);
-			simplenlg.xmlrealiser.wrapper.RequestType request = getRequest(reader);
-			output = realise(request.getDocument());
+			output = realiseRequest(reader);
 
 			break;
+		case realiseBatch: {
+			if (args.length <= argx) {
+				throw new XMLRealiserException("invalid args");
+			}
+			input = (String) args[argx++];
+			List<String> realisations = realiseBatchRequest(new StringReader(input));
+			StringBuilder joined = new StringBuilder();
+			for (int i = 0; i < realisations.size(); i++) {
+				if (i > 0) {
+					joined.append(BATCH_SEPARATOR);
+				}
+				joined.append(realisations.get(i));
+			}
+			output = joined.toString();
+			break;
+		}
 		case setLexicon: {
 			if (args.length <= argx + 1) {
 				throw new XMLRealiserException("invalid setLexicon args");
@@ -127,7 +161,7 @@ public class XMLRealiser {
 	 * @param newLexicon
 	 *            the lexicon
 	 */
-	public static void setLexicon(Lexicon newLexicon) {
+	public static synchronized void setLexicon(Lexicon newLexicon) {
 		if (lexicon != null && lexicon.equals(newLexicon)) {
 			return; // done already
 		}
@@ -138,6 +172,35 @@ public class XMLRealiser {
 		}
 
 		lexicon = newLexicon;
+		realiser = null;
+	}
+
+	/**
+	 * Gets the current lexicon, loading the default lexicon on first use.
+	 *
+	 * @return the lexicon
+	 */
+	static synchronized Lexicon getLexicon() {
+		if (lexicon == null) {
+			lexicon = Lexicon.getDefaultLexicon();
+		}
+		return lexicon;
+	}
+
+	/**
+	 * Gets the realiser for the current lexicon. A realiser can serve any
+	 * number of requests at once, so it is created on first use and kept until
+	 * the lexicon changes.
+	 *
+	 * @return the realiser
+	 */
+	static synchronized Realiser getRealiser() {
+		Realiser current = realiser;
+		if (current == null) {
+			current = new Realiser(getLexicon());
+			realiser = current;
+		}
+		return current;
 	}
 
 	/**
@@ -198,16 +261,10 @@ public class XMLRealiser {
 		String output = "";
 		if (wt != null) {
 			try {
-				if (lexicon == null) {
-					lexicon = Lexicon.getDefaultLexicon();
-				}
-				UnWrapper w = new UnWrapper(lexicon);
+				UnWrapper w = new UnWrapper(getLexicon());
 				DocumentElement t = w.UnwrapDocumentElement(wt);
 				if (t != null) {
-					Realiser r = new Realiser(lexicon);
-					r.initialise();
-
-					NLGElement tr = r.realise(t);
+					NLGElement tr = getRealiser().realise(t);
 
 					output = tr.getRealisation();
 				}
@@ -220,6 +277,96 @@ public class XMLRealiser {
 		return output;
 	}
 
+	/**
+	 * Realises the document of a request. The xml is read straight into
+	 * SimpleNLG classes by an {@link NLGSpecReader}, without making the JAXB
+	 * wrapper objects first.
+	 *
+	 * @param input
+	 *            the xml of the request
+	 * @return the realised string
+	 * @throws XMLRealiserException
+	 *             the xML realiser exception
+	 */
+	public static String realiseRequest(Reader input)
+			throws XMLRealiserException {
+		DocumentElement t = new NLGSpecReader(getLexicon()).readRequest(input);
+
+		String output = "";
+		if (t != null) {
+			try {
+				NLGElement tr = getRealiser().realise(t);
+
+				output = tr.getRealisation();
+
+			} catch (Exception e) {
+				throw new XMLRealiserException("NLG XMLRealiser Error", e);
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Realises the documents of a batch request: a Request holding any number
+	 * of Document elements. The lexicon and realiser are set up once for the
+	 * whole batch, and the documents are realised in parallel, each on its
+	 * own; see {@link NLGSpecReader#readBatchRequest(Reader)}.
+	 *
+	 * @param input
+	 *            the xml of the batch request
+	 * @return the realised strings, in the order of the documents
+	 * @throws XMLRealiserException
+	 *             if the request cannot be read, or any of its documents
+	 *             cannot be realised
+	 */
+	public static List<String> realiseBatchRequest(Reader input)
+			throws XMLRealiserException {
+		List<DocumentElement> documents = new NLGSpecReader(getLexicon())
+				.readBatchRequest(input);
+
+		BatchRealisation batch;
+		try {
+			// a single document is not worth handing to another thread
+			batch = getRealiser().realiseBatch(documents,
+					documents.size() > 1 ? getBatchExecutor() : null);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new XMLRealiserException("NLG XMLRealiser Error", e);
+		}
+
+		List<String> output = new ArrayList<String>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			if (batch.isFailed(i)) {
+				throw new XMLRealiserException("NLG XMLRealiser Error in document "
+						+ (i + 1), batch.getFailure(i));
+			}
+			output.add(batch.getRealisation(i));
+		}
+		return output;
+	}
+
+	/**
+	 * Gets the threads which realise batch requests, one for each processor.
+	 * They are started on first use and are daemons, so they never keep the
+	 * program alive.
+	 *
+	 * @return the executor
+	 */
+	static synchronized ExecutorService getBatchExecutor() {
+		if (batchExecutor == null) {
+			batchExecutor = Executors.newFixedThreadPool(Runtime.getRuntime()
+					.availableProcessors(), new ThreadFactory() {
+				public Thread newThread(Runnable r) {
+					Thread worker = new Thread(r, "XMLRealiserBatch");
+					worker.setDaemon(true);
+					return worker;
+				}
+			});
+		}
+		return batchExecutor;
+	}
+
 	/**
 	 * Start recording.
 	 *
@@ -269,9 +416,11 @@ public class XMLRealiser {
 	 * The Enum OpCode.
 	 */
 	/*
-	 * The arg[0] is the op code. op codes are "realise", "setLexicon",
-	 * "startRecording", "stopRecording" Usage is: realize <xml string> returns
-	 * realised string. setLexicon (XML | NIHDB) <path to lexicon> returns "OK"
+	 * The arg[0] is the op code. op codes are "realise", "realiseBatch",
+	 * "setLexicon", "startRecording", "stopRecording" Usage is: realize <xml
+	 * string> returns realised string. realiseBatch <xml string> returns the
+	 * realised strings of all the documents of the request, separated by
+	 * BATCH_SEPARATOR. setLexicon (XML | NIHDB) <path to lexicon> returns "OK"
 	 * or not. startRecording <path to recording directory> returns "OK" or not.
 	 * stopRecording returns name of file which contains recording.
 	 * Recordings can be used as regression tests. See simplenlg/test/xmlrealiser/Tester.java
@@ -286,6 +435,10 @@ public class XMLRealiser {
 		 * The realise.
 		 */
 		realise,
+		/**
+		 * Realise every document of a request.
+		 */
+		realiseBatch,
 		/**
 		 * The set lexicon.
 		 */
@@ -8,6 +8,8 @@
 
 package simplenlg.xmlrealiser.wrapper;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -24,7 +26,7 @@ import javax.xml.bind.annotation.XmlType;
  *   &lt;complexContent>
  *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
  *       &lt;sequence>
- *         &lt;element name="Document" type="{http://simplenlg.googlecode.com/svn/trunk/res/xml}DocumentElement"/>
+ *         &lt;element name="Document" type="{http://simplenlg.googlecode.com/svn/trunk/res/xml}DocumentElement" maxOccurs="unbounded"/>
  *       &lt;/sequence>
  *     &lt;/restriction>
  *   &lt;/complexContent>
@@ -40,30 +42,35 @@ import javax.xml.bind.annotation.XmlType;
 public class RequestType {
 
     @XmlElement(name = "Document", required = true)
-    protected XmlDocumentElement document;
+    protected List<XmlDocumentElement> document;
 
     /**
      * Gets the value of the document property.
      * 
-     * @return
-     *     possible object is
-     *     {@link XmlDocumentElement }
-     *     
-     */
-    public XmlDocumentElement getDocument() {
-        return document;
-    }
-
-    /**
-     * Sets the value of the document property.
+     * <p>
+     * This accessor method returns a reference to the live list,
+     * not a snapshot. Therefore any modification you make to the
+     * returned list will be present inside the JAXB object.
+     * This is why there is not a <CODE>set</CODE> method for the document property.
+     * 
+     * <p>
+     * For example, to add a new item, do as follows:
+     * <pre>
+     *    getDocument().add(newItem);
+     * </pre>
+     * 
+     * 
+     * <p>
+     * Objects of the following type(s) are allowed in the list
+     * {@link XmlDocumentElement }
+     * 
      * 
-     * @param value
-     *     allowed object is
-     *     {@link XmlDocumentElement }
-     *     
      */
-    public void setDocument(XmlDocumentElement value) {
-        this.document = value;
+    public List<XmlDocumentElement> getDocument() {
+        if (document == null) {
+            document = new ArrayList<XmlDocumentElement>();
+        }
+        return this.document;
     }
 
 }
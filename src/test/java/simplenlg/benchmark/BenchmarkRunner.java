@@ -0,0 +1,195 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A small harness for micro-benchmarks, which works the way JMH does in its
+ * average-time mode: each benchmark is run for a number of warm-up
+ * iterations, whose results are thrown away, and then for a number of
+ * measured iterations of fixed length. The score is the mean time per
+ * operation over the measured iterations, with the spread between iterations
+ * as its error, and the number of operations per second. The result of every
+ * operation is consumed, so that the JIT compiler cannot remove the work.
+ * <p>
+ * The harness only uses the Java platform, so the benchmarks build with the
+ * rest of the tests. Benchmarks can be picked by passing parts of their names
+ * to {@link #BenchmarkRunner(String[])}.
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * One operation of a benchmark.
+	 */
+	public interface Operation {
+
+		/**
+		 * runs the operation once
+		 *
+		 * @return the result of the operation, which is consumed
+		 */
+		Object run() throws Exception;
+	}
+
+	/**
+	 * The score of a benchmark.
+	 */
+	public static class Score {
+		public final String name;
+		public final double nanosPerOperation;
+		public final double error;
+
+		Score(String name, double nanosPerOperation, double error) {
+			this.name = name;
+			this.nanosPerOperation = nanosPerOperation;
+			this.error = error;
+		}
+
+		public double getOperationsPerSecond() {
+			return 1e9 / this.nanosPerOperation;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%-40s %12.1f ± %8.1f ns/op %12.1f ops/s", this.name,
+					this.nanosPerOperation, this.error, getOperationsPerSecond());
+		}
+	}
+
+	private final String[] filters;
+	private final List<Score> scores = new ArrayList<Score>();
+	private int warmupIterations = Integer.getInteger("benchmark.warmups", 5);
+	private int iterations = Integer.getInteger("benchmark.iterations", 10);
+	private long iterationMillis = Long.getLong("benchmark.millis", 500L);
+
+	// results are folded into this field so that they are used
+	private volatile int sink;
+
+	/**
+	 * @param filters benchmarks whose names contain any of these are run; if
+	 *                there are none, all benchmarks are run
+	 */
+	public BenchmarkRunner(String[] filters) {
+		this.filters = filters == null ? new String[0] : filters;
+	}
+
+	/**
+	 * sets the number and length of the iterations, which default to the
+	 * system properties <code>benchmark.warmups</code> (5),
+	 * <code>benchmark.iterations</code> (10) and
+	 * <code>benchmark.millis</code> (500)
+	 */
+	public void setIterations(int warmupIterations, int iterations, long iterationMillis) {
+		this.warmupIterations = warmupIterations;
+		this.iterations = iterations;
+		this.iterationMillis = iterationMillis;
+	}
+
+	/**
+	 * @return <code>true</code> if the named benchmark is selected
+	 */
+	public boolean isSelected(String name) {
+		if (this.filters.length == 0)
+			return true;
+		for (String filter : this.filters) {
+			if (name.contains(filter))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * runs a benchmark, if it is selected, and prints its score
+	 *
+	 * @return the score, or <code>null</code> if the benchmark was not run
+	 */
+	public Score run(String name, Operation operation) throws Exception {
+		if (!isSelected(name))
+			return null;
+
+		for (int i = 0; i < this.warmupIterations; i++) {
+			iteration(operation);
+		}
+		double[] results = new double[this.iterations];
+		double sum = 0;
+		for (int i = 0; i < this.iterations; i++) {
+			results[i] = iteration(operation);
+			sum += results[i];
+		}
+		double mean = sum / this.iterations;
+		double squares = 0;
+		for (double result : results) {
+			squares += (result - mean) * (result - mean);
+		}
+		double error = this.iterations > 1 ? Math.sqrt(squares / (this.iterations - 1)) : 0;
+
+		Score score = new Score(name, mean, error);
+		this.scores.add(score);
+		System.out.println(score);
+		return score;
+	}
+
+	/**
+	 * prints a message about a benchmark which cannot be run, if it is
+	 * selected
+	 */
+	public void skip(String name, String reason) {
+		if (isSelected(name))
+			System.out.println(String.format("%-40s skipped: %s", name, reason));
+	}
+
+	/**
+	 * @return the scores of the benchmarks run so far
+	 */
+	public List<Score> getScores() {
+		return this.scores;
+	}
+
+	/**
+	 * runs the operation for one iteration. The operation is run in batches,
+	 * which grow until a batch takes at least 10 microseconds, so that reading
+	 * the clock does not add much to the time of fast operations.
+	 *
+	 * @return the mean time per operation, in nanoseconds
+	 */
+	private double iteration(Operation operation) throws Exception {
+		long operations = 0;
+		int hash = 0;
+		int batch = 1;
+		long start = System.nanoTime();
+		long end = start + this.iterationMillis * 1000000L;
+		long now = start;
+		do {
+			long batchStart = now;
+			for (int i = 0; i < batch; i++) {
+				Object result = operation.run();
+				hash += result == null ? 0 : System.identityHashCode(result);
+			}
+			operations += batch;
+			now = System.nanoTime();
+			if (now - batchStart < 10000 && batch < 1 << 20)
+				batch <<= 1;
+		} while (now < end);
+		this.sink += hash;
+		return (double) (now - start) / operations;
+	}
+}
@@ -0,0 +1,341 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Saad Mahamood.
+ */
+package simplenlg.benchmark;
+
+import simplenlg.features.*;
+import simplenlg.framework.*;
+import simplenlg.lexicon.Lexicon;
+import simplenlg.morphology.spanish.MorphologyRules;
+import simplenlg.phrasespec.NPPhraseSpec;
+import simplenlg.phrasespec.PPPhraseSpec;
+import simplenlg.phrasespec.SPhraseSpec;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks the stages of the realisation pipeline with a
+ * {@link BenchmarkRunner}: loading the English and Spanish lexicons,
+ * {@link Lexicon#lookupWord(String)}, {@link NLGFactory#createClause(Object, Object, Object)},
+ * Spanish verb conjugation in {@link MorphologyRules#doVerbMorphology(InflectedWordElement, WordElement)},
+ * and <code>realiseSentence</code> for English and Spanish. The sentences are
+ * those of the external tests, and each is checked against the realisation
+ * the tests expect before it is timed. This is not a unit test; run it with
+ * <p>
+ * <code>java simplenlg.benchmark.PipelineBenchmark [-spanish spanish.xml] [name...]</code>
+ * <p>
+ * where the names select the benchmarks to run, for instance
+ * <code>lexicon</code> or <code>realiseSentence.english</code>. The Spanish
+ * lexicon is taken from the classpath if no file is given; the benchmarks
+ * which need it are skipped if it cannot be found.
+ */
+public class PipelineBenchmark {
+
+	private static final String[] ENGLISH_WORDS = {"associate", "consider", "friend", "have", "patient", "mother",
+			"father", "gene", "cell", "clinic", "perform", "test", "chase", "park", "go", "think", "shoot", "duck",
+			"see", "prod", "wolf", "eat", "the", "a", "with"};
+
+	private static final String[] SPANISH_WORDS = {"asociar", "tener", "algo", "perseguir", "parque", "ir", "creer",
+			"disparar", "pato", "campo", "tiro", "ver", "pinchar", "lobo", "comer", "el", "un", "con"};
+
+	private static final String[] ENGLISH_SENTENCES = {"Marie is associated with Peter and Paul.",
+			"Peter has something to do with Paul.", "We consider John a friend.",
+			"The patient's mother or the patient's father has one changed copy of the FGFR3 gene in every cell.",
+			"The clinic performed an LDL test and a gene test.", "Mary chases George in the park.",
+			"I think you should really go running.", "Then I shot the duck at the Shooting Range.",
+			"Jack sees Jill prod Spot.", "What does a wolf eat?"};
+
+	private static final String[] SPANISH_SENTENCES = {"Marie es asociada con Peter y Paul.",
+			"Mary persigue a George en el parque.", "Yo creo que realmente tú debes ir a correr.",
+			"Entonces yo disparé al pato en el campo de tiro.", "Jack ve a Jill pinchar a Spot.",
+			"¿Qué come un lobo?"};
+
+	// regular verbs, whose conjugation does not need the lexicon
+	private static final String[] SPANISH_VERBS = {"cantar", "comer", "vivir", "hablar", "beber", "escribir"};
+
+	public static void main(String[] args) throws Exception {
+		URI spanish = null;
+		List<String> filters = new ArrayList<String>();
+		for (int i = 0; i < args.length; i++) {
+			if ("-spanish".equals(args[i]) && i + 1 < args.length)
+				spanish = new File(args[++i]).toURI();
+			else
+				filters.add(args[i]);
+		}
+		if (spanish == null)
+			spanish = resource("default-spanish-lexicon.xml");
+		final URI english = resource("default-lexicon.xml");
+
+		BenchmarkRunner runner = new BenchmarkRunner(filters.toArray(new String[filters.size()]));
+
+		// lexicon load
+		runner.run("lexicon.load.english", new BenchmarkRunner.Operation() {
+			public Object run() {
+				return new simplenlg.lexicon.english.XMLLexicon(english);
+			}
+		});
+		final Lexicon englishLexicon = new simplenlg.lexicon.english.XMLLexicon(english);
+		Lexicon spanishLexicon = null;
+		if (spanish != null) {
+			final URI spanishURI = spanish;
+			runner.run("lexicon.load.spanish", new BenchmarkRunner.Operation() {
+				public Object run() {
+					return new simplenlg.lexicon.spanish.XMLLexicon(spanishURI);
+				}
+			});
+			spanishLexicon = new simplenlg.lexicon.spanish.XMLLexicon(spanishURI);
+		} else {
+			runner.skip("lexicon.load.spanish", "no Spanish lexicon found");
+		}
+
+		// lookups
+		runner.run("lexicon.lookupWord.english", lookups(englishLexicon, ENGLISH_WORDS));
+		if (spanishLexicon != null)
+			runner.run("lexicon.lookupWord.spanish", lookups(spanishLexicon, SPANISH_WORDS));
+		else
+			runner.skip("lexicon.lookupWord.spanish", "no Spanish lexicon found");
+
+		// clause construction
+		final NLGFactory englishFactory = new NLGFactory(englishLexicon);
+		runner.run("factory.createClause", new BenchmarkRunner.Operation() {
+			public Object run() {
+				SPhraseSpec clause = englishFactory.createClause("Mary", "chase", "George");
+				clause.addPostModifier(englishFactory.createPrepositionPhrase("in", "the park"));
+				return clause;
+			}
+		});
+
+		// Spanish morphology
+		runner.run("spanish.doVerbMorphology", conjugation());
+
+		// sentence realisation
+		simplenlg.realiser.english.Realiser englishRealiser = new simplenlg.realiser.english.Realiser(englishLexicon);
+		runner.run("realiseSentence.english",
+				sentences(englishRealiser, englishSentences(englishFactory), ENGLISH_SENTENCES));
+		if (spanishLexicon != null) {
+			simplenlg.realiser.spanish.Realiser spanishRealiser = new simplenlg.realiser.spanish.Realiser(
+					spanishLexicon);
+			runner.run("realiseSentence.spanish", sentences(spanishRealiser,
+					spanishSentences(new NLGFactory(spanishLexicon)), SPANISH_SENTENCES));
+		} else {
+			runner.skip("realiseSentence.spanish", "no Spanish lexicon found");
+		}
+	}
+
+	private static URI resource(String name) throws Exception {
+		URL url = PipelineBenchmark.class.getClassLoader().getResource(name);
+		return url == null ? null : url.toURI();
+	}
+
+	/**
+	 * looks up the words in turn, one per operation
+	 */
+	private static BenchmarkRunner.Operation lookups(final Lexicon lexicon, final String[] words) {
+		return new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() {
+				String word = words[this.next];
+				this.next = (this.next + 1) % words.length;
+				return lexicon.lookupWord(word);
+			}
+		};
+	}
+
+	/**
+	 * conjugates the regular verbs in turn, in every tense, person and number
+	 */
+	private static BenchmarkRunner.Operation conjugation() {
+		final MorphologyRules rules = new MorphologyRules();
+		final List<InflectedWordElement> forms = new ArrayList<InflectedWordElement>();
+		for (String verb : SPANISH_VERBS) {
+			WordElement word = new WordElement(verb, LexicalCategory.VERB);
+			for (Tense tense : Tense.values()) {
+				for (Person person : Person.values()) {
+					for (NumberAgreement number : new NumberAgreement[]{NumberAgreement.SINGULAR,
+							NumberAgreement.PLURAL}) {
+						InflectedWordElement form = new InflectedWordElement(word);
+						form.setFeature(Feature.TENSE, tense);
+						form.setFeature(Feature.PERSON, person);
+						form.setFeature(Feature.NUMBER, number);
+						forms.add(form);
+					}
+				}
+			}
+		}
+		return new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() {
+				InflectedWordElement form = forms.get(this.next);
+				this.next = (this.next + 1) % forms.size();
+				return rules.doVerbMorphology(form, form.getBaseWord());
+			}
+		};
+	}
+
+	/**
+	 * realises the sentences in turn, one per operation. The realiser is made
+	 * non-destructive so that the same sentences can be realised again, which
+	 * adds a copy of each sentence to the time measured. Each sentence is
+	 * first checked against its expected realisation.
+	 */
+	private static BenchmarkRunner.Operation sentences(final simplenlg.realiser.Realiser realiser,
+			final List<NLGElement> sentences, String[] expected) {
+		realiser.setNonDestructive(true);
+		for (int i = 0; i < sentences.size(); i++) {
+			String realisation = realiser.realiseSentence(sentences.get(i));
+			if (!expected[i].equals(realisation))
+				throw new IllegalStateException("expected \"" + expected[i] + "\" but realised \"" + realisation
+						+ "\"");
+		}
+		return new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() {
+				NLGElement sentence = sentences.get(this.next);
+				this.next = (this.next + 1) % sentences.size();
+				return realiser.realiseSentence(sentence);
+			}
+		};
+	}
+
+	/**
+	 * the sentences of simplenlg.external.english.ExternalTest
+	 */
+	private static List<NLGElement> englishSentences(NLGFactory factory) {
+		List<NLGElement> sentences = new ArrayList<NLGElement>();
+
+		SPhraseSpec s1 = factory.createClause(null, "associate", "Marie");
+		s1.setFeature(Feature.PASSIVE, true);
+		PhraseElement pp1 = factory.createPrepositionPhrase("with");
+		pp1.addComplement("Peter");
+		pp1.addComplement("Paul");
+		s1.addPostModifier(pp1);
+		sentences.add(s1);
+
+		SPhraseSpec s2 = factory.createClause();
+		s2.setSubject(factory.createNounPhrase("Peter"));
+		s2.setVerb("have");
+		s2.setObject("something to do");
+		s2.addPostModifier(factory.createPrepositionPhrase("with", "Paul"));
+		sentences.add(s2);
+
+		SPhraseSpec lu = factory.createClause("we", "consider", "John");
+		lu.addPostModifier("a friend");
+		sentences.add(lu);
+
+		NPPhraseSpec gene = factory.createNounPhrase("FGFR3 gene in every cell");
+		gene.setSpecifier("the");
+		NPPhraseSpec copy = factory.createNounPhrase("changed copy");
+		copy.addPreModifier("one");
+		copy.addComplement(factory.createPrepositionPhrase("of", gene));
+		CoordinatedPhraseElement parents = new CoordinatedPhraseElement(
+				factory.createNounPhrase("the", "patient's mother"), factory.createNounPhrase("the", "patient's father"));
+		parents.setConjunction("or");
+		PhraseElement have = factory.createVerbPhrase("have");
+		have.setFeature(Feature.TENSE, Tense.PRESENT);
+		sentences.add(factory.createClause(parents, have, copy));
+
+		SPhraseSpec clinic = factory.createClause(factory.createNounPhrase("the", "clinic"),
+				factory.createVerbPhrase("perform"), new CoordinatedPhraseElement(
+						factory.createNounPhrase("an", "LDL test"), factory.createNounPhrase("a", "gene test")));
+		clinic.setFeature(Feature.TENSE, Tense.PAST);
+		sentences.add(clinic);
+
+		SPhraseSpec chase = factory.createClause("Mary", "chase", "George");
+		chase.addPostModifier(factory.createPrepositionPhrase("in", "the park"));
+		sentences.add(chase);
+
+		SPhraseSpec run = factory.createClause("you", "go", "running");
+		run.setFeature(Feature.MODAL, "should");
+		run.addPreModifier("really");
+		run.setFeature(Feature.SUPRESSED_COMPLEMENTISER, true);
+		SPhraseSpec think = factory.createClause("I", "think");
+		think.setObject(run);
+		sentences.add(think);
+
+		SPhraseSpec shoot = factory.createClause("I", "shoot", "the duck");
+		shoot.setFeature(Feature.TENSE, Tense.PAST);
+		shoot.addPostModifier(factory.createPrepositionPhrase("at", "the Shooting Range"));
+		shoot.setFeature(Feature.CUE_PHRASE, "then");
+		sentences.add(shoot);
+
+		SPhraseSpec prod = factory.createClause("Jill", "prod", "Spot");
+		SPhraseSpec see = factory.createClause("Jack", "see", prod);
+		prod.setFeature(Feature.SUPRESSED_COMPLEMENTISER, true);
+		prod.setFeature(Feature.FORM, Form.BARE_INFINITIVE);
+		sentences.add(see);
+
+		SPhraseSpec eat = factory.createClause("a wolf", "eat");
+		eat.setFeature(Feature.INTERROGATIVE_TYPE, InterrogativeType.WHAT_OBJECT);
+		sentences.add(eat);
+
+		return sentences;
+	}
+
+	/**
+	 * the sentences of simplenlg.external.spanish.ExternalTest
+	 */
+	private static List<NLGElement> spanishSentences(NLGFactory factory) {
+		List<NLGElement> sentences = new ArrayList<NLGElement>();
+
+		SPhraseSpec s1 = factory.createClause(null, "asociar", "Marie");
+		s1.getObject().setFeature(LexicalFeature.GENDER, Gender.FEMININE);
+		s1.setFeature(Feature.PASSIVE, true);
+		PhraseElement pp1 = factory.createPrepositionPhrase("con");
+		pp1.addComplement("Peter");
+		pp1.addComplement("Paul");
+		s1.addPostModifier(pp1);
+		sentences.add(s1);
+
+		SPhraseSpec chase = factory.createClause("Mary", "perseguir", "a George");
+		chase.addPostModifier(factory.createPrepositionPhrase("en", "el parque"));
+		sentences.add(chase);
+
+		SPhraseSpec run = factory.createClause("tú", "ir", "a correr");
+		run.setFeature(Feature.MODAL, "deber");
+		run.addFrontModifier("realmente");
+		SPhraseSpec think = factory.createClause("yo", "creer");
+		think.setObject(run);
+		sentences.add(think);
+
+		SPhraseSpec shoot = factory.createClause("yo", "disparar", "al pato");
+		shoot.setFeature(Feature.TENSE, Tense.PAST);
+		shoot.addPostModifier(factory.createPrepositionPhrase("en", "el campo de tiro"));
+		shoot.setFeature(Feature.CUE_PHRASE, "entonces");
+		sentences.add(shoot);
+
+		PPPhraseSpec embedded = factory.createPrepositionPhrase("a", factory.createClause("Jill", "pinchar",
+				"a Spot"));
+		SPhraseSpec see = factory.createClause("Jack", "ver", embedded);
+		embedded.getObject().setFeature(Feature.SUPRESSED_COMPLEMENTISER, true);
+		embedded.getObject().setFeature(Feature.FORM, Form.BARE_INFINITIVE);
+		sentences.add(see);
+
+		SPhraseSpec eat = factory.createClause("un lobo", "comer");
+		eat.setFeature(Feature.INTERROGATIVE_TYPE, InterrogativeType.WHAT_OBJECT);
+		sentences.add(eat);
+
+		return sentences;
+	}
+}
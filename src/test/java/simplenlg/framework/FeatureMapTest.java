@@ -0,0 +1,151 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.framework;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import simplenlg.features.Feature;
+import simplenlg.features.InternalFeature;
+import simplenlg.features.LexicalFeature;
+import simplenlg.features.Tense;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Tests for {@link FeatureMap}, which must behave as a <code>Map</code> of
+ * features whatever the slots of the feature names.
+ */
+public class FeatureMapTest {
+
+	@Test
+	public void featureMapBehavesAsHashMap() {
+		FeatureMap features = new FeatureMap();
+		Map<String, Object> expected = new HashMap<String, Object>();
+
+		String unknown = "featureMapTest" + System.nanoTime();
+		String[] names = {Feature.TENSE, unknown, LexicalFeature.PLURAL, InternalFeature.DISCOURSE_FUNCTION,
+				simplenlg.features.spanish.LexicalFeature.SUBJUNCTIVE3P, Feature.NEGATED};
+		for (int i = 0; i < names.length; i++) {
+			Assert.assertEquals(expected.put(names[i], i), features.put(names[i], i));
+		}
+		Assert.assertEquals(2, features.put(LexicalFeature.PLURAL, "dogs"));
+		expected.put(LexicalFeature.PLURAL, "dogs");
+
+		Assert.assertEquals(expected, features);
+		Assert.assertEquals(features, expected);
+		Assert.assertEquals(expected.hashCode(), features.hashCode());
+		Assert.assertEquals(expected.size(), features.size());
+		Assert.assertTrue(features.containsKey(unknown));
+		Assert.assertFalse(features.containsKey(Feature.PASSIVE));
+		Assert.assertFalse(features.containsKey("featureMapTestNeverSet"));
+		Assert.assertNull(features.get("featureMapTestNeverSet"));
+		Assert.assertTrue(FeatureRegistry.getSlot(Feature.TENSE) < FeatureRegistry.getSlot(unknown));
+
+		// copies are independent
+		FeatureMap copy = new FeatureMap(features);
+		Assert.assertEquals(features, copy);
+		copy.put(Feature.TENSE, Tense.PAST);
+		Assert.assertEquals(0, features.get(Feature.TENSE));
+
+		// remove through the map and the iterator, and put null
+		Assert.assertEquals(1, features.remove(unknown));
+		expected.remove(unknown);
+		features.put(Feature.NEGATED, null);
+		expected.remove(Feature.NEGATED);
+		Iterator<Map.Entry<String, Object>> entries = features.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<String, Object> entry = entries.next();
+			if (entry.getKey().equals(Feature.TENSE)) {
+				entries.remove();
+				expected.remove(Feature.TENSE);
+			} else if (entry.getKey().equals(InternalFeature.DISCOURSE_FUNCTION)) {
+				entry.setValue("changed");
+				expected.put(InternalFeature.DISCOURSE_FUNCTION, "changed");
+			}
+		}
+		Assert.assertEquals(expected, features);
+		Assert.assertEquals(expected, new HashMap<String, Object>(features));
+
+		features.clear();
+		Assert.assertTrue(features.isEmpty());
+		Assert.assertFalse(features.containsKey(LexicalFeature.PLURAL));
+	}
+
+	@Test
+	public void booleansAreFlags() {
+		FeatureMap features = new FeatureMap();
+		int negated = FeatureRegistry.register(Feature.NEGATED);
+		int tense = FeatureRegistry.register(Feature.TENSE);
+		int passive = FeatureRegistry.register(Feature.PASSIVE);
+
+		features.putBoolean(negated, true);
+		features.put(tense, Tense.PAST);
+		features.put(passive, Boolean.FALSE);
+		Assert.assertEquals(3, features.size());
+		Assert.assertTrue(features.getBoolean(negated));
+		Assert.assertFalse(features.getBoolean(passive));
+		Assert.assertFalse(features.getBoolean(tense));
+		Assert.assertEquals(Boolean.FALSE, features.get(Feature.PASSIVE));
+		Assert.assertEquals(Tense.PAST, features.get(Feature.TENSE));
+
+		Map<String, Object> expected = new HashMap<String, Object>();
+		expected.put(Feature.NEGATED, Boolean.TRUE);
+		expected.put(Feature.TENSE, Tense.PAST);
+		expected.put(Feature.PASSIVE, Boolean.FALSE);
+		Assert.assertEquals(expected, features);
+
+		// a boolean replaced by another value, and the other way round
+		Assert.assertEquals(Boolean.TRUE, features.put(negated, "no"));
+		Assert.assertFalse(features.getBoolean(negated));
+		Assert.assertEquals(Tense.PAST, features.put(Feature.TENSE, Boolean.TRUE));
+		Assert.assertTrue(features.getBoolean(tense));
+		Assert.assertEquals("no", features.get(Feature.NEGATED));
+		Assert.assertEquals(3, features.size());
+
+		Assert.assertEquals(Boolean.TRUE, features.remove(Feature.TENSE));
+		Assert.assertFalse(features.getBoolean(tense));
+		Assert.assertEquals(2, features.size());
+
+		WordElement word = new WordElement("dog", LexicalCategory.NOUN);
+		word.setFeature(Feature.NEGATED, true);
+		Assert.assertTrue(word.getBooleanFeature(Feature.NEGATED));
+		Assert.assertFalse(word.getBooleanFeature(Feature.PASSIVE));
+		word.setFeature(Feature.NEGATED, false);
+		Assert.assertFalse(word.getBooleanFeature(Feature.NEGATED));
+		Assert.assertEquals(Boolean.FALSE, word.getFeature(Feature.NEGATED));
+		word.setFeature("featureMapTestCount", 3);
+		Assert.assertEquals(3, word.getIntFeature("featureMapTestCount", 0));
+		Assert.assertEquals(0, word.getIntFeature(Feature.NEGATED, 0));
+	}
+
+	@Test
+	public void elementsKeepTheirFeatures() {
+		WordElement word = new WordElement("dog", LexicalCategory.NOUN);
+		word.setFeature(LexicalFeature.PLURAL, "dogs");
+		word.setFeature(Feature.NEGATED, true);
+
+		Map<String, Object> features = word.getAllFeatures();
+		Assert.assertEquals("dogs", features.get(LexicalFeature.PLURAL));
+		Assert.assertEquals(Boolean.TRUE, features.get(Feature.NEGATED));
+		Assert.assertEquals(features.keySet(), word.getAllFeatureNames());
+		Assert.assertTrue(new WordElement(word).equals(word));
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.framework;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import simplenlg.lexicon.CachingLexicon;
+import simplenlg.lexicon.Lexicon;
+import simplenlg.lexicon.MeteredLexicon;
+import simplenlg.realiser.english.Realiser;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Tests for {@link MetricsRegistry} and {@link Histogram}, and for the
+ * measurements reported by a realiser.
+ */
+public class MetricsRegistryTest {
+
+	@Test
+	public void histogramPercentilesAreClose() {
+		Histogram histogram = new Histogram();
+		for (long value = 1; value <= 100000; value++) {
+			histogram.record(value);
+		}
+		Assert.assertEquals(100000, histogram.getCount());
+		Assert.assertEquals(100000, histogram.getMax());
+		Assert.assertEquals(50000.5, histogram.getMean(), 0.001);
+		for (int percentile : new int[]{1, 50, 90, 99}) {
+			long estimate = histogram.getPercentile(percentile);
+			Assert.assertTrue(percentile + ": " + estimate, Math.abs(estimate - percentile * 1000) <= percentile * 1000 / 8);
+		}
+		for (long value = 0; value < 100000; value += 7) {
+			int bucket = Histogram.bucketOf(value);
+			Assert.assertTrue(value >= Histogram.lowestValueOf(bucket));
+			Assert.assertTrue(value < Histogram.lowestValueOf(bucket) + Histogram.widthOf(bucket));
+		}
+		histogram.reset();
+		Assert.assertEquals(0, histogram.getCount());
+		Assert.assertEquals(0, histogram.getPercentile(50));
+	}
+
+	@Test
+	public void realisationIsMeasured() throws Exception {
+		MetricsRegistry metrics = new MetricsRegistry();
+		CachingLexicon cached = new CachingLexicon(Lexicon.getDefaultLexicon());
+		Lexicon lexicon = new MeteredLexicon(cached, metrics);
+		metrics.addCache("lexicon.cache", cached.getCache());
+		NLGFactory factory = new NLGFactory(lexicon);
+		Realiser realiser = new Realiser(lexicon);
+		realiser.setMetrics(metrics);
+
+		for (int count = 0; count < 3; count++) {
+			Assert.assertEquals("The dog chases the cat.",
+					realiser.realiseSentence(factory.createClause("the dog", "chase", "the cat")));
+		}
+
+		Assert.assertEquals(3, metrics.getCount(Realiser.METRIC_REALISATIONS));
+		Assert.assertEquals(3, metrics.getHistogram(Realiser.METRIC_NANOS).getCount());
+		Assert.assertEquals(3, metrics.getHistogram("realiser.syntax.nanos").getCount());
+		Assert.assertEquals(3, metrics.getCount("realiser.formatter.elements"));
+		Assert.assertTrue(metrics.getCount("realiser.syntax.elements") > 3);
+		Assert.assertTrue(metrics.getCount(MeteredLexicon.LOOKUPS) > 0);
+		Assert.assertTrue(metrics.getCounters().get("lexicon.cache.hits") > 0);
+		Assert.assertTrue(metrics.toString().contains("realiser.morphology.nanos: count=3"));
+
+		ObjectName name = metrics.registerMBean("MetricsRegistryTest");
+		Assert.assertNotNull(name);
+		try {
+			TabularData counters = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name,
+					"Counters");
+			Assert.assertEquals(metrics.getCounters().size(), counters.size());
+		} finally {
+			metrics.unregisterMBean(name);
+		}
+
+		metrics.reset();
+		Assert.assertEquals(0, metrics.getCount(Realiser.METRIC_REALISATIONS));
+	}
+
+	/**
+	 * A metered lexicon keeps the plural coordinators of the lexicon it
+	 * counts, so a subject coordinated with "and" takes a plural verb.
+	 */
+	@Test
+	public void meteredLexiconCoordinatedSubject() {
+		Lexicon lexicon = new MeteredLexicon(Lexicon.getDefaultLexicon(), new MetricsRegistry());
+		NLGFactory factory = new NLGFactory(lexicon);
+		NLGElement subject = factory.createCoordinatedPhrase(factory.createNounPhrase("the", "man"),
+				factory.createNounPhrase("the", "woman"));
+		Assert.assertEquals("The man and the woman are happy.",
+				new Realiser(lexicon).realiseSentence(factory.createClause(subject, "be", "happy")));
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Saad Mahamood.
+ */
+package simplenlg.lexicon;
+
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import simplenlg.features.Feature;
+import simplenlg.features.Tense;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.NLGFactory;
+import simplenlg.framework.WordElement;
+import simplenlg.phrasespec.SPhraseSpec;
+import simplenlg.realiser.english.Realiser;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link BinaryLexicon}: a compiled lexicon must answer every
+ * lookup as the XML lexicon it was compiled from.
+ */
+public class BinaryLexiconTest {
+
+	XMLLexicon xmlLexicon;
+	BinaryLexicon binaryLexicon;
+	File binaryFile;
+
+	@Before
+	public void setUp() throws Exception {
+		xmlLexicon = new simplenlg.lexicon.english.XMLLexicon();
+		binaryFile = File.createTempFile("lexicon", ".bin");
+		BinaryLexicon.compile(xmlLexicon, binaryFile);
+		binaryLexicon = new simplenlg.lexicon.english.BinaryLexicon(binaryFile);
+	}
+
+	@After
+	public void tearDown() {
+		binaryFile.delete();
+	}
+
+	@Test
+	public void testIndices() {
+		Assert.assertEquals(xmlLexicon.getAllWords().size(), binaryLexicon.size());
+
+		for (String base : xmlLexicon.getBaseIndex().keySet())
+			Assert.assertEquals(toXML(xmlLexicon.getWords(base)), toXML(binaryLexicon.getWords(base)));
+		for (String variant : xmlLexicon.getVariantIndex().keySet())
+			Assert.assertEquals(toXML(xmlLexicon.getWordsFromVariant(variant)),
+					toXML(binaryLexicon.getWordsFromVariant(variant)));
+		for (String id : xmlLexicon.getIDIndex().keySet())
+			Assert.assertEquals(toXML(xmlLexicon.getWordsByID(id)), toXML(binaryLexicon.getWordsByID(id)));
+	}
+
+	@Test
+	public void testLookup() {
+		Assert.assertTrue(binaryLexicon.getWords("notaword").isEmpty());
+		Assert.assertEquals(0, binaryLexicon.getWords("dog", LexicalCategory.ADJECTIVE).size());
+		Assert.assertEquals(LexicalCategory.NOUN, binaryLexicon.getWord("dog", LexicalCategory.NOUN).getCategory());
+
+		// special cases are compiled into the variant index
+		WordElement be = binaryLexicon.getWordFromVariant("is", LexicalCategory.VERB);
+		Assert.assertEquals("be", be.getBaseForm());
+
+		Assert.assertEquals("abandon", binaryLexicon.getWordByID("E0006429").getBaseForm());
+	}
+
+	@Test
+	public void testRealisation() {
+		Assert.assertEquals(realise(xmlLexicon), realise(binaryLexicon));
+		Assert.assertEquals("She did not give him the book yesterday.", realise(binaryLexicon));
+	}
+
+	@Test
+	public void testWrongLanguage() {
+		BinaryLexicon spanish = new simplenlg.lexicon.spanish.BinaryLexicon(binaryFile);
+		Assert.assertEquals(0, spanish.size());
+		Assert.assertTrue(spanish.getWords("dog").isEmpty());
+	}
+
+	private String realise(Lexicon lexicon) {
+		NLGFactory factory = new NLGFactory(lexicon);
+		SPhraseSpec clause = factory.createClause("she", "give", "the book");
+		clause.setIndirectObject("him");
+		clause.addPostModifier("yesterday");
+		clause.setFeature(Feature.TENSE, Tense.PAST);
+		clause.setFeature(Feature.NEGATED, true);
+		return new Realiser(lexicon).realiseSentence(clause);
+	}
+
+	private List<String> toXML(List<WordElement> words) {
+		List<String> result = new ArrayList<String>();
+		for (WordElement word : words)
+			result.add(word.toXML());
+		return result;
+	}
+}
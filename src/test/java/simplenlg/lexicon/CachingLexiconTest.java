@@ -0,0 +1,159 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import junit.framework.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import simplenlg.features.Feature;
+import simplenlg.features.LexicalFeature;
+import simplenlg.features.Person;
+import simplenlg.features.Tense;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.NLGFactory;
+import simplenlg.framework.WordElement;
+import simplenlg.phrasespec.SPhraseSpec;
+import simplenlg.realiser.english.Realiser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link CachingLexicon} and {@link ClockLexiconCache}.
+ */
+public class CachingLexiconTest {
+
+	XMLLexicon xmlLexicon;
+	CachingLexicon lexicon;
+
+	@Before
+	public void setUp() {
+		xmlLexicon = new simplenlg.lexicon.english.XMLLexicon();
+		lexicon = new CachingLexicon(xmlLexicon, 100);
+	}
+
+	/**
+	 * Cached lookups give the same words as the underlying lexicon, and are
+	 * counted as hits the second time.
+	 */
+	@Test
+	public void testLookup() {
+		for (String form : new String[]{"child", "children", "is", "E0017531", "she", "blorple"}) {
+			Assert.assertEquals(xmlLexicon.lookupWord(form), lexicon.lookupWord(form));
+			Assert.assertEquals(xmlLexicon.lookupWord(form), lexicon.lookupWord(form));
+			Assert.assertEquals(xmlLexicon.getWordsFromVariant(form, LexicalCategory.ANY),
+					lexicon.getWordsFromVariant(form, LexicalCategory.ANY));
+		}
+		Assert.assertEquals(12, lexicon.getCache().size());
+		Assert.assertEquals(12, lexicon.getCache().getMissCount());
+		Assert.assertEquals(6, lexicon.getCache().getHitCount());
+
+		// pronoun features from the English lookupWord are kept
+		Assert.assertEquals(Person.THIRD, lexicon.lookupWord("she").getFeature(Feature.PERSON));
+	}
+
+	/**
+	 * Changing a word from the cache does not change the cached word.
+	 */
+	@Test
+	public void testCopies() {
+		WordElement child = lexicon.lookupWord("child", LexicalCategory.NOUN);
+		child.setFeature(LexicalFeature.PLURAL, "childs");
+		Assert.assertEquals("children",
+				lexicon.lookupWord("child", LexicalCategory.NOUN).getFeatureAsString(LexicalFeature.PLURAL));
+	}
+
+	/**
+	 * The cache never holds more than its maximum size, and recently used
+	 * entries survive eviction.
+	 */
+	@Test
+	public void testEviction() {
+		ClockLexiconCache<String, String> cache = new ClockLexiconCache<String, String>(3);
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.put("c", "C");
+		Assert.assertEquals("A", cache.get("a"));
+		cache.put("d", "D");
+		Assert.assertEquals(3, cache.size());
+		Assert.assertEquals(1, cache.getEvictionCount());
+		Assert.assertEquals("A", cache.get("a"));
+		Assert.assertNull(cache.get("b"));
+
+		for (int i = 0; i < 100; i++)
+			cache.put("k" + i, "v" + i);
+		Assert.assertEquals(3, cache.size());
+		Assert.assertEquals(101, cache.getEvictionCount());
+	}
+
+	/**
+	 * Realisation through the cache from several threads gives the same
+	 * sentence as the underlying lexicon.
+	 */
+	@Test
+	public void testConcurrentRealisation() throws Exception {
+		final String expected = realise(xmlLexicon);
+		final List<String> results = new ArrayList<String>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			threads.add(new Thread() {
+				public void run() {
+					for (int j = 0; j < 50; j++) {
+						String result = realise(lexicon);
+						synchronized (results) {
+							results.add(result);
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+
+		Assert.assertEquals(200, results.size());
+		for (String result : results)
+			Assert.assertEquals(expected, result);
+		Assert.assertTrue(lexicon.getCache().getHitCount() > 0);
+	}
+
+	/**
+	 * The cache keeps the plural coordinators of the underlying lexicon, so a
+	 * subject coordinated with "and" takes a plural verb.
+	 */
+	@Test
+	public void testCoordinatedSubject() {
+		NLGFactory factory = new NLGFactory(lexicon);
+		SPhraseSpec clause = factory.createClause(
+				factory.createCoordinatedPhrase(factory.createNounPhrase("the", "man"),
+						factory.createNounPhrase("the", "woman")),
+				"be", "happy");
+		Assert.assertEquals("The man and the woman are happy.",
+				new Realiser(lexicon).realiseSentence(clause));
+	}
+
+	private static String realise(Lexicon lex) {
+		NLGFactory factory = new NLGFactory(lex);
+		SPhraseSpec clause = factory.createClause("the children", "give", "the dog");
+		clause.setIndirectObject("him");
+		clause.setFeature(Feature.TENSE, Tense.PAST);
+		return new Realiser(lex).realiseSentence(clause);
+	}
+}
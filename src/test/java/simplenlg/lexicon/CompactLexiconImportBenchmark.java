@@ -0,0 +1,67 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import java.io.File;
+
+/**
+ * Imports a whole lexicon into a {@link CompactLexicon}, and prints the
+ * import time and the heap the compact lexicon retains. The NIH lexAccess DB
+ * is imported if it is available, and the default XML lexicon otherwise.
+ * This is not a unit test; run it with
+ * <p>
+ * <code>java -Xmx2g simplenlg.lexicon.CompactLexiconImportBenchmark [lexAccess2011.data]</code>
+ */
+public class CompactLexiconImportBenchmark {
+
+	private static final String DB_FILENAME = "src/test/resources/NIHLexicon/lexAccess2011.data";
+
+	public static void main(String[] args) {
+		String filename = args.length > 0 ? args[0] : DB_FILENAME;
+		File db = new File(filename);
+
+		long before = usedHeap();
+		long start = System.nanoTime();
+		CompactLexicon lexicon;
+		String source;
+		if (db.isFile() && db.length() >= 1024) {
+			NIHDBLexicon nih = new NIHDBLexicon(filename);
+			lexicon = CompactLexicon.importLexicon(nih);
+			nih.close();
+			source = filename;
+		} else {
+			lexicon = CompactLexicon.importLexicon(new simplenlg.lexicon.english.XMLLexicon());
+			source = "default XML lexicon (lexAccess DB not found)";
+		}
+		long time = System.nanoTime() - start;
+		long retained = usedHeap() - before;
+
+		System.out.format("%s: %d words imported in %.0f ms, %d KB retained heap%n", source,
+				lexicon.size(), time / 1e6, retained / 1024);
+		// keep the lexicon reachable until the heap has been measured
+		System.out.println(lexicon.lookupWord("dog"));
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import junit.framework.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import simplenlg.features.Feature;
+import simplenlg.features.Tense;
+import simplenlg.framework.Language;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.NLGFactory;
+import simplenlg.framework.WordElement;
+import simplenlg.phrasespec.SPhraseSpec;
+import simplenlg.realiser.english.Realiser;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for {@link CompactLexicon}: a lexicon imported from the default XML
+ * lexicon must answer every lookup as the XML lexicon does.
+ */
+public class CompactLexiconTest {
+
+	private static final String DB_FILENAME = "src/test/resources/NIHLexicon/lexAccess2011.data";
+
+	XMLLexicon xmlLexicon;
+	CompactLexicon compactLexicon;
+
+	@Before
+	public void setUp() {
+		xmlLexicon = new simplenlg.lexicon.english.XMLLexicon();
+		compactLexicon = CompactLexicon.importLexicon(xmlLexicon);
+	}
+
+	@Test
+	public void testIndices() {
+		Assert.assertTrue(compactLexicon.size() >= xmlLexicon.getAllWords().size());
+		for (String variant : xmlLexicon.getVariantIndex().keySet()) {
+			assertSameWords(xmlLexicon.getWordsFromVariant(variant, LexicalCategory.ANY),
+					compactLexicon.getWordsFromVariant(variant, LexicalCategory.ANY));
+			assertSameWords(xmlLexicon.getWords(variant, LexicalCategory.ANY),
+					compactLexicon.getWords(variant, LexicalCategory.ANY));
+		}
+		for (String id : xmlLexicon.getIDIndex().keySet()) {
+			assertSameWords(xmlLexicon.getWordsByID(id), compactLexicon.getWordsByID(id));
+		}
+		Assert.assertTrue(compactLexicon.getWords("blorple").isEmpty());
+	}
+
+	@Test
+	public void testLookup() {
+		for (String form : new String[]{"child", "children", "is", "she", "him", "blorple", "E0017531"}) {
+			for (LexicalCategory category : new LexicalCategory[]{LexicalCategory.ANY, LexicalCategory.NOUN, LexicalCategory.VERB}) {
+				WordLookup expected = xmlLexicon.resolveWord(form, category);
+				WordLookup actual = compactLexicon.resolveWord(form, category);
+				Assert.assertEquals(expected.getSource(), actual.getSource());
+				Assert.assertEquals(expected.getWord().toXML(), actual.getWord().toXML());
+				Assert.assertEquals(xmlLexicon.hasWord(form, category), compactLexicon.hasWord(form, category));
+				Assert.assertEquals(xmlLexicon.lookupWord(form, category).getAllFeatures(),
+						compactLexicon.lookupWord(form, category).getAllFeatures());
+			}
+		}
+	}
+
+	@Test
+	public void testRealisation() {
+		NLGFactory factory = new NLGFactory(compactLexicon);
+		SPhraseSpec clause = factory.createClause("she", "give", "the book");
+		clause.setIndirectObject("him");
+		clause.setFeature(Feature.TENSE, Tense.PAST);
+		clause.setFeature(Feature.NEGATED, true);
+		clause.addComplement("yesterday");
+		Assert.assertEquals("She did not give him the book yesterday.",
+				new Realiser(compactLexicon).realiseSentence(clause));
+	}
+
+	/**
+	 * "and" makes a coordinated subject plural.
+	 */
+	@Test
+	public void testCoordinatedSubject() {
+		NLGFactory factory = new NLGFactory(compactLexicon);
+		SPhraseSpec clause = factory.createClause(
+				factory.createCoordinatedPhrase(factory.createNounPhrase("the", "man"),
+						factory.createNounPhrase("the", "woman")),
+				"be", "happy");
+		Assert.assertEquals("The man and the woman are happy.",
+				new Realiser(compactLexicon).realiseSentence(clause));
+	}
+
+	/**
+	 * Only English lexicons can be imported.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testSpanishRejected() {
+		new CompactLexicon(Language.SPANISH, new HashMap<String, List<WordElement>>(),
+				new HashMap<String, List<WordElement>>(), new HashMap<String, WordElement>());
+	}
+
+	/**
+	 * A lexicon imported from the NIH DB has every exported word, and looks
+	 * them up as the DB does. Skipped if the DB is not available.
+	 */
+	@Test
+	public void testImportNIHDB() {
+		File db = new File(DB_FILENAME);
+		Assume.assumeTrue(db.isFile() && db.length() >= 1024);
+
+		NIHDBLexicon nih = new NIHDBLexicon(DB_FILENAME);
+		try {
+			final int[] exported = new int[1];
+			nih.exportWords(new NIHDBLexicon.WordHandler() {
+				public void handleWord(WordElement word, Set<String> variants) {
+					exported[0]++;
+				}
+			});
+			CompactLexicon compact = CompactLexicon.importLexicon(nih);
+			Assert.assertTrue(exported[0] > 0);
+			Assert.assertTrue(compact.size() <= exported[0]);
+			for (String form : new String[]{"child", "children", "is", "she", "dog"}) {
+				Assert.assertEquals(nih.lookupWord(form).toXML(), compact.lookupWord(form).toXML());
+				assertSameWords(nih.getWords(form, LexicalCategory.NOUN), compact.getWords(form, LexicalCategory.NOUN));
+			}
+		} finally {
+			nih.close();
+		}
+	}
+
+	private static void assertSameWords(List<WordElement> expected, List<WordElement> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++)
+			Assert.assertEquals(expected.get(i).toXML(), actual.get(i).toXML());
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import simplenlg.framework.LexicalCategory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how lookup throughput of {@link NIHDBLexicon} scales with the
+ * number of threads, when the lexicon has one DB connection per thread and
+ * when all threads share a single connection. Prints lookups per second for
+ * 1, 2, 4, ... threads up to the number of cores, and the statistics of each
+ * connection. This is not a unit test, and it needs the full lexAccess DB;
+ * run it with
+ * <p>
+ * <code>java simplenlg.lexicon.NIHDBLexiconPoolBenchmark [lexAccess2011.data] [seconds]</code>
+ */
+public class NIHDBLexiconPoolBenchmark {
+
+	private static final String DB_FILENAME = "src/test/resources/NIHLexicon/lexAccess2011.data";
+
+	private static final String[] WORDS = {"dog", "dogs", "child", "children", "be", "is", "was",
+			"give", "gave", "given", "house", "quickly", "good", "better", "best", "man", "men",
+			"run", "ran", "woman", "women", "lie", "lay", "walk", "walked", "book", "books"};
+
+	public static void main(String[] args) throws Exception {
+		String filename = args.length > 0 ? args[0] : DB_FILENAME;
+		long seconds = args.length > 1 ? Long.parseLong(args[1]) : 5;
+		if (!new File(filename).isFile() || new File(filename).length() < 1024) {
+			System.out.println(filename + ": lexAccess DB not found, skipped");
+			return;
+		}
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; threads <= cores; threads *= 2) {
+			NIHDBLexicon shared = new NIHDBLexicon(filename, 1);
+			double sharedRate = run(shared, threads, seconds);
+			shared.close();
+
+			NIHDBLexicon pooled = new NIHDBLexicon(filename, threads);
+			double pooledRate = run(pooled, threads, seconds);
+			System.out.format("%d threads: %.0f lookups/s with 1 connection, %.0f lookups/s with %d connections%n",
+					threads, sharedRate, pooledRate, threads);
+			for (NIHDBLexicon.ConnectionStats stats : pooled.getConnectionStats())
+				System.out.println("  " + stats);
+			pooled.close();
+		}
+	}
+
+	/**
+	 * look up words from several threads for a fixed time
+	 *
+	 * @return lookups per second
+	 */
+	private static double run(final Lexicon lexicon, int threads, long seconds) throws InterruptedException {
+		// warm up
+		for (String word : WORDS)
+			lexicon.lookupWord(word, LexicalCategory.ANY);
+
+		final AtomicLong lookups = new AtomicLong();
+		final long end = System.nanoTime() + seconds * 1000000000L;
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < threads; t++) {
+			final int offset = t;
+			workers.add(new Thread() {
+				public void run() {
+					long count = 0;
+					for (int i = offset; System.nanoTime() < end; i++) {
+						lexicon.lookupWord(WORDS[i % WORDS.length], LexicalCategory.ANY);
+						count++;
+					}
+					lookups.addAndGet(count);
+				}
+			});
+		}
+
+		long start = System.nanoTime();
+		for (Thread worker : workers)
+			worker.start();
+		for (Thread worker : workers)
+			worker.join();
+		return lookups.get() / ((System.nanoTime() - start) / 1e9);
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell.
+ */
+package simplenlg.lexicon;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.WordElement;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Tests for {@link TrieIndex}, and for an {@link XMLLexicon} whose indices
+ * are tries.
+ */
+public class TrieIndexTest {
+
+	@Test
+	public void trieBehavesAsMap() {
+		String[] keys = {"cantar", "canto", "cantamos", "cantas", "can", "", "Canto", "CANTO", "casa", "c"};
+		TrieIndex<Integer> trie = new TrieIndex<Integer>();
+		TreeMap<String, Integer> expected = new TreeMap<String, Integer>();
+		for (int i = 0; i < keys.length; i++) {
+			Assert.assertEquals(expected.put(keys[i], i), trie.put(keys[i], i));
+		}
+		Assert.assertEquals(Integer.valueOf(4), trie.put("can", 20));
+		expected.put("can", 20);
+
+		Assert.assertEquals(expected.size(), trie.size());
+		Assert.assertEquals(new ArrayList<Map.Entry<String, Integer>>(expected.entrySet()),
+				new ArrayList<Map.Entry<String, Integer>>(trie.entrySet()));
+		Assert.assertEquals(Integer.valueOf(1), trie.get("canto"));
+		Assert.assertNull(trie.get("cant"));
+		Assert.assertFalse(trie.containsKey("cant"));
+		Assert.assertTrue(trie.containsKey(""));
+		Assert.assertNull(trie.get("cantando"));
+
+		Assert.assertEquals(expected.subMap("cant", "cant￿"), trie.prefixMap("cant"));
+		Assert.assertEquals(expected.subMap("ca", "ca￿"), trie.prefixMap("ca"));
+		Assert.assertEquals(expected, trie.prefixMap(""));
+		Assert.assertTrue(trie.prefixMap("cb").isEmpty());
+		Assert.assertTrue(trie.prefixMap("cantara").isEmpty());
+
+		Assert.assertEquals(Arrays.asList(1, 7, 6), trie.getIgnoreCase("canto"));
+		Assert.assertEquals(Arrays.asList(7, 6, 1), trie.getIgnoreCase("cAnTo"));
+		Assert.assertTrue(trie.getIgnoreCase("cant").isEmpty());
+
+		Assert.assertEquals(Arrays.asList(5, 9, 20, 1), trie.getPrefixesOf("cantoría"));
+
+		trie.clear();
+		Assert.assertTrue(trie.isEmpty());
+		Assert.assertNull(trie.get("canto"));
+	}
+
+	@Test
+	public void trieLexiconAgreesWithHashLexicon() throws Exception {
+		URI uri = getClass().getClassLoader().getResource("default-lexicon.xml").toURI();
+		XMLLexicon hashed = new simplenlg.lexicon.english.XMLLexicon(uri);
+		XMLLexicon trie = new simplenlg.lexicon.english.XMLLexicon(uri, 1, true);
+
+		Assert.assertFalse(hashed.hasTrieIndex());
+		Assert.assertTrue(trie.hasTrieIndex());
+		Assert.assertTrue(trie.getVariantIndex() instanceof TrieIndex);
+		Assert.assertEquals(new TreeMap<String, List<WordElement>>(hashed.getVariantIndex()),
+				new TreeMap<String, List<WordElement>>(trie.getVariantIndex()));
+		Assert.assertEquals(hashed.getWordFromVariant("is").getBaseForm(), trie.getWordFromVariant("is").getBaseForm());
+
+		List<WordElement> words = trie.getWordsByPrefix("abb", LexicalCategory.ANY);
+		Assert.assertEquals(baseForms(hashed.getWordsByPrefix("abb", LexicalCategory.ANY)), baseForms(words));
+		Assert.assertEquals("abbey", words.get(0).getBaseForm());
+
+		Assert.assertEquals(baseForms(hashed.getWordsFromVariantByPrefix("childr", LexicalCategory.NOUN)),
+				baseForms(trie.getWordsFromVariantByPrefix("childr", LexicalCategory.NOUN)));
+		Assert.assertEquals("child", trie.getWordsFromVariantByPrefix("childr", LexicalCategory.NOUN).get(0).getBaseForm());
+
+		Assert.assertEquals(baseForms(hashed.getWordsIgnoreCase("Abbey", LexicalCategory.ANY)),
+				baseForms(trie.getWordsIgnoreCase("Abbey", LexicalCategory.ANY)));
+		Assert.assertEquals("abbey", trie.getWordsIgnoreCase("ABBEY", LexicalCategory.NOUN).get(0).getBaseForm());
+		Assert.assertEquals("child", trie.getWordsFromVariantIgnoreCase("Children", LexicalCategory.ANY).get(0).getBaseForm());
+
+		// a lazy variant index with trie indices
+		XMLLexicon lazy = new simplenlg.lexicon.english.XMLLexicon(uri, 1, true) {
+			@Override
+			protected boolean hasLazyVariantIndex() {
+				return true;
+			}
+		};
+		Assert.assertEquals("child", lazy.getWordFromVariant("children").getBaseForm());
+		Assert.assertEquals("be", lazy.getWordFromVariant("was").getBaseForm());
+		Assert.assertEquals(new TreeMap<String, List<WordElement>>(hashed.getVariantIndex()).toString(),
+				new TreeMap<String, List<WordElement>>(lazy.getVariantIndex()).toString());
+	}
+
+	private List<String> baseForms(List<WordElement> words) {
+		List<String> result = new ArrayList<String>();
+		for (WordElement word : words)
+			result.add(word.getBaseForm());
+		return result;
+	}
+}
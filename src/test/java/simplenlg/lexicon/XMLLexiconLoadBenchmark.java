@@ -0,0 +1,145 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Saad Mahamood.
+ */
+package simplenlg.lexicon;
+
+import simplenlg.framework.Language;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.URL;
+
+/**
+ * Compares the StAX loader of {@link XMLLexicon} with the DOM loader, on the
+ * English and the Spanish lexicons. Prints the mean load time and the peak
+ * heap used by each loader, the mean load time of the StAX loader with one
+ * thread per core (at least two), and the time to open the same lexicon compiled into a
+ * {@link BinaryLexicon}. This is not a unit test; run it with
+ * <p>
+ * <code>java simplenlg.lexicon.XMLLexiconLoadBenchmark [english.xml] [spanish.xml]</code>
+ * <p>
+ * If no files are given, the default lexicons on the classpath are used.
+ */
+public class XMLLexiconLoadBenchmark {
+
+	private static final int WARMUP = 5;
+	private static final int RUNS = 20;
+
+	public static void main(String[] args) throws Exception {
+		URI english = args.length > 0 ? new File(args[0]).toURI() : resource("default-lexicon.xml");
+		URI spanish = args.length > 1 ? new File(args[1]).toURI() : resource("default-spanish-lexicon.xml");
+
+		if (english != null) {
+			benchmark("english", new simplenlg.lexicon.english.XMLLexicon(english), english);
+		}
+		if (spanish != null) {
+			benchmark("spanish", new simplenlg.lexicon.spanish.XMLLexicon(spanish), spanish);
+		} else {
+			System.out.println("spanish: no lexicon found, skipped");
+		}
+	}
+
+	private static URI resource(String name) throws Exception {
+		URL url = XMLLexiconLoadBenchmark.class.getClassLoader().getResource(name);
+		return url == null ? null : url.toURI();
+	}
+
+	private static void benchmark(String name, XMLLexicon lexicon, URI uri) throws IOException {
+		for (int i = 0; i < WARMUP; i++) {
+			lexicon.createLexicon(uri);
+			lexicon.createLexiconFromDocument(uri);
+		}
+
+		long stax = 0, dom = 0;
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			lexicon.createLexicon(uri);
+			stax += System.nanoTime() - start;
+
+			start = System.nanoTime();
+			lexicon.createLexiconFromDocument(uri);
+			dom += System.nanoTime() - start;
+		}
+
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		for (int i = 0; i < WARMUP; i++) {
+			lexicon.createLexicon(uri, threads);
+		}
+		long parallel = 0;
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			lexicon.createLexicon(uri, threads);
+			parallel += System.nanoTime() - start;
+		}
+
+		long staxPeak = peakHeap(lexicon, uri, true);
+		long domPeak = peakHeap(lexicon, uri, false);
+
+		System.out.format("%s: stax %.1f ms, %d KB peak heap; dom %.1f ms, %d KB peak heap%n", name,
+				stax / (RUNS * 1e6), staxPeak / 1024, dom / (RUNS * 1e6), domPeak / 1024);
+		System.out.format("%s: stax with %d threads %.1f ms%n", name, threads, parallel / (RUNS * 1e6));
+
+		File binary = File.createTempFile("lexicon", ".bin");
+		try {
+			BinaryLexicon.compile(lexicon, binary);
+			long open = 0;
+			for (int i = 0; i < RUNS; i++) {
+				long start = System.nanoTime();
+				Lexicon mapped = lexicon.getLanguage() == Language.SPANISH
+						? new simplenlg.lexicon.spanish.BinaryLexicon(binary)
+						: new simplenlg.lexicon.english.BinaryLexicon(binary);
+				mapped.getWords("a");
+				open += System.nanoTime() - start;
+			}
+			System.out.format("%s: binary %.2f ms to open, %d KB file%n", name,
+					open / (RUNS * 1e6), binary.length() / 1024);
+		} finally {
+			binary.delete();
+		}
+	}
+
+	/**
+	 * peak heap usage while loading, above the usage before loading
+	 */
+	private static long peakHeap(XMLLexicon lexicon, URI uri, boolean stax) {
+		System.gc();
+		long before = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+				before += pool.getUsage().getUsed();
+			}
+		}
+
+		if (stax)
+			lexicon.createLexicon(uri);
+		else
+			lexicon.createLexiconFromDocument(uri);
+
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP)
+				peak += pool.getPeakUsage().getUsed();
+		}
+		return peak - before;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Saad Mahamood.
+ */
+package simplenlg.lexicon;
+
+import junit.framework.Assert;
+import org.junit.Test;
+import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.WordElement;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Checks that the StAX and the DOM loaders of {@link XMLLexicon}, and the
+ * parallel loader, build the same indices, and that a lazy variant index
+ * finds the same words as one built while loading.
+ */
+public class XMLLexiconLoaderTest {
+
+	@Test
+	public void streamAndDocumentLoadersAgree() throws Exception {
+		URI uri = getClass().getClassLoader().getResource("default-lexicon.xml").toURI();
+
+		XMLLexicon streamed = new simplenlg.lexicon.english.XMLLexicon(uri);
+		XMLLexicon parsed = new simplenlg.lexicon.english.XMLLexicon(uri);
+		parsed.createLexiconFromDocument(uri);
+
+		Assert.assertTrue(streamed.indexByVariant.size() > 0);
+		Assert.assertEquals(toXML(parsed.indexByVariant), toXML(streamed.indexByVariant));
+
+		WordElement stream = streamed.getWord("abandon");
+		WordElement dom = parsed.getWord("abandon");
+		Assert.assertEquals(dom.toXML(), stream.toXML());
+		Assert.assertEquals("E0006429", stream.getId());
+		Assert.assertEquals(dom.getId(), streamed.getWordByID("E0006429").getId());
+	}
+
+	@Test
+	public void parallelAndSequentialLoadersAgree() throws Exception {
+		URI uri = getClass().getClassLoader().getResource("default-lexicon.xml").toURI();
+
+		XMLLexicon sequential = new simplenlg.lexicon.english.XMLLexicon(uri);
+		XMLLexicon parallel = new simplenlg.lexicon.english.XMLLexicon(uri, 4);
+
+		Assert.assertEquals(sequential.getAllWords().size(), parallel.getAllWords().size());
+		Assert.assertEquals(toXML(sequential.getBaseIndex()), toXML(parallel.getBaseIndex()));
+		Assert.assertEquals(toXML(sequential.indexByVariant), toXML(parallel.indexByVariant));
+		Assert.assertEquals(sequential.getIDIndex().keySet(), parallel.getIDIndex().keySet());
+	}
+
+	@Test
+	public void lazyAndEagerVariantIndicesAgree() throws Exception {
+		URI uri = getClass().getClassLoader().getResource("default-lexicon.xml").toURI();
+
+		XMLLexicon eager = new simplenlg.lexicon.english.XMLLexicon(uri);
+		XMLLexicon lazy = new simplenlg.lexicon.english.XMLLexicon(uri) {
+			@Override
+			protected boolean hasLazyVariantIndex() {
+				return true;
+			}
+		};
+
+		for (String variant : eager.indexByVariant.keySet()) {
+			Assert.assertEquals(variant, toXML(eager.getWordsFromVariant(variant, LexicalCategory.ANY)),
+					toXML(lazy.getWordsFromVariant(variant, LexicalCategory.ANY)));
+		}
+		Assert.assertEquals("be", lazy.getWordFromVariant("is").getBaseForm());
+		Assert.assertFalse(lazy.hasWordFromVariant("xyzzy", LexicalCategory.ANY));
+		Assert.assertFalse(lazy.hasWordFromVariant("", LexicalCategory.ANY));
+
+		// completing the lazy index gives the eager one
+		Assert.assertEquals(toXML(eager.indexByVariant), toXML(lazy.getVariantIndex()));
+	}
+
+	@Test
+	public void spanishVariantsAreFoundOnDemand() throws Exception {
+		File file = File.createTempFile("spanish-lexicon", ".xml");
+		file.deleteOnExit();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		writer.write("<lexicon>"
+				+ "<word><base>cantar</base><category>verb</category><id>S1</id></word>"
+				+ "<word><base>ser</base><category>verb</category><id>S2</id>"
+				+ "<present1s>soy</present1s><present3s>es</present3s></word>"
+				+ "<word><base>rojo</base><category>adjective</category><id>S3</id></word>"
+				+ "<word><base>casa</base><category>noun</category><id>S4</id></word>"
+				+ "<word><base>árbol</base><category>noun</category><id>S5</id></word>"
+				+ "</lexicon>");
+		writer.close();
+
+		XMLLexicon lazy = new simplenlg.lexicon.spanish.XMLLexicon(file.toURI());
+		XMLLexicon eager = new simplenlg.lexicon.spanish.XMLLexicon(file.toURI()) {
+			@Override
+			protected boolean hasLazyVariantIndex() {
+				return false;
+			}
+		};
+
+		Assert.assertEquals("cantar", lazy.getWordFromVariant("cantando").getBaseForm());
+		Assert.assertEquals("ser", lazy.getWordFromVariant("soy").getBaseForm());
+		Assert.assertEquals("rojo", lazy.getWordFromVariant("rojísimas").getBaseForm());
+		Assert.assertEquals("árbol", lazy.getWordFromVariant("árboles").getBaseForm());
+		for (String variant : eager.indexByVariant.keySet()) {
+			Assert.assertEquals(variant, toXML(eager.getWordsFromVariant(variant, LexicalCategory.ANY)),
+					toXML(lazy.getWordsFromVariant(variant, LexicalCategory.ANY)));
+		}
+		Assert.assertEquals(toXML(eager.indexByVariant), toXML(lazy.getVariantIndex()));
+	}
+
+	private List<String> toXML(List<WordElement> words) {
+		List<String> result = new ArrayList<String>();
+		for (WordElement word : words)
+			result.add(word.toXML());
+		return result;
+	}
+
+	private List<String> toXML(Map<String, List<WordElement>> index) {
+		List<String> result = new ArrayList<String>();
+		for (Map.Entry<String, List<WordElement>> entry : new TreeMap<String, List<WordElement>>(index).entrySet()) {
+			result.add(entry.getKey());
+			for (WordElement word : entry.getValue())
+				result.add(word.toXML());
+		}
+		return result;
+	}
+}
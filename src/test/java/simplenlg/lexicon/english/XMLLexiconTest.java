@@ -25,13 +25,21 @@ import org.junit.Test;
 import simplenlg.features.Feature;
 import simplenlg.features.NumberAgreement;
 import simplenlg.features.Tense;
+import simplenlg.features.Inflection;
+import simplenlg.features.LexicalFeature;
+import simplenlg.framework.LexicalCategory;
 import simplenlg.framework.NLGFactory;
+import simplenlg.framework.WordElement;
+import simplenlg.lexicon.MultipleLexicon;
+import simplenlg.lexicon.WordLookup;
 import simplenlg.lexicon.XMLLexicon;
 import simplenlg.phrasespec.NPPhraseSpec;
 import simplenlg.phrasespec.PPPhraseSpec;
 import simplenlg.phrasespec.SPhraseSpec;
 import simplenlg.realiser.english.Realiser;
 
+import java.util.Map;
+
 /**
  * @author D. Westwater, Data2Text Ltd
  * 
@@ -103,4 +111,93 @@ public class XMLLexiconTest {
 	    Assert.assertEquals(NumberAgreement.SINGULAR, wall.getFeature(Feature.NUMBER));    
 	}
 
+	/**
+	 * Tests that words returned by the lexicon can be changed without
+	 * affecting the lexicon entries they were copied from.
+	 */
+	@Test
+	public void xmlLexiconCopyOnWriteTest() {
+		WordElement child = lexicon.getWord("child", LexicalCategory.NOUN);
+		Assert.assertEquals("children", child.getFeatureAsString(LexicalFeature.PLURAL));
+		child.setFeature(LexicalFeature.PLURAL, "childs");
+		child.addInflectionalVariant(Inflection.GRECO_LATIN_REGULAR);
+		Assert.assertEquals("childs", child.getFeatureAsString(LexicalFeature.PLURAL));
+		Assert.assertTrue(child.hasInflectionalVariant(Inflection.GRECO_LATIN_REGULAR));
+
+		WordElement child2 = lexicon.getWordFromVariant("children", LexicalCategory.NOUN);
+		Assert.assertEquals("children", child2.getFeatureAsString(LexicalFeature.PLURAL));
+		Assert.assertFalse(child2.hasInflectionalVariant(Inflection.GRECO_LATIN_REGULAR));
+
+		WordElement child3 = lexicon.getWordByID(child2.getId());
+		child3.removeFeature(LexicalFeature.PLURAL);
+		Assert.assertNull(child3.getFeature(LexicalFeature.PLURAL));
+		Assert.assertEquals("children", child2.getFeatureAsString(LexicalFeature.PLURAL));
+
+		Assert.assertTrue(lexicon.hasWord("child", LexicalCategory.NOUN));
+		Assert.assertFalse(lexicon.hasWord("child", LexicalCategory.ADVERB));
+		Assert.assertTrue(lexicon.hasWordFromVariant("children", LexicalCategory.ANY));
+		Assert.assertTrue(lexicon.hasWordByID(child2.getId()));
+	}
+
+	/**
+	 * Tests that the features of a word returned by the lexicon can be
+	 * changed through getAllFeatures() and getAllFeatureNames(), and that
+	 * neither the lexicon nor a copy of the word sees the change.
+	 */
+	@Test
+	public void xmlLexiconFeatureViewTest() {
+		WordElement child = lexicon.getWord("child", LexicalCategory.NOUN);
+		WordElement copy = new WordElement(child);
+
+		Map<String, Object> features = child.getAllFeatures();
+		features.put(LexicalFeature.PLURAL, "childs");
+		Assert.assertEquals("childs", child.getFeatureAsString(LexicalFeature.PLURAL));
+		Assert.assertEquals("childs", features.get(LexicalFeature.PLURAL));
+		Assert.assertEquals("children", copy.getFeatureAsString(LexicalFeature.PLURAL));
+
+		Assert.assertTrue(child.getAllFeatureNames().remove(LexicalFeature.PLURAL));
+		Assert.assertFalse(child.hasFeature(LexicalFeature.PLURAL));
+		Assert.assertFalse(features.containsKey(LexicalFeature.PLURAL));
+
+		for (Map.Entry<String, Object> entry : copy.getAllFeatures().entrySet()) {
+			if (LexicalFeature.PLURAL.equals(entry.getKey())) {
+				entry.setValue("kids");
+			}
+		}
+		Assert.assertEquals("kids", copy.getFeatureAsString(LexicalFeature.PLURAL));
+
+		WordElement entry = lexicon.getWord("child", LexicalCategory.NOUN);
+		Assert.assertEquals("children", entry.getFeatureAsString(LexicalFeature.PLURAL));
+	}
+
+	/**
+	 * Tests that resolveWord finds words by base form, variant and ID in the
+	 * same way as the separate getWord methods.
+	 */
+	@Test
+	public void xmlLexiconResolveWordTest() {
+		WordLookup lookup = lexicon.resolveWord("child", LexicalCategory.NOUN);
+		Assert.assertEquals(WordLookup.Source.BASE, lookup.getSource());
+		Assert.assertEquals(lexicon.getWord("child", LexicalCategory.NOUN), lookup.getWord());
+
+		lookup = lexicon.resolveWord("children", LexicalCategory.ANY);
+		Assert.assertEquals(WordLookup.Source.VARIANT, lookup.getSource());
+		Assert.assertEquals("child", lookup.getWord().getBaseForm());
+
+		String id = lookup.getWord().getId();
+		lookup = lexicon.resolveWord(id, LexicalCategory.NOUN);
+		Assert.assertEquals(WordLookup.Source.ID, lookup.getSource());
+		Assert.assertEquals("child", lookup.getWord().getBaseForm());
+
+		lookup = lexicon.resolveWord("blorple", LexicalCategory.VERB);
+		Assert.assertFalse(lookup.isFound());
+		Assert.assertEquals(LexicalCategory.VERB, lookup.getWord().getCategory());
+
+		// a MultipleLexicon resolves words in the same way
+		MultipleLexicon multi = new MultipleLexicon(lexicon, lexicon);
+		Assert.assertEquals(WordLookup.Source.VARIANT,
+				multi.resolveWord("children", LexicalCategory.ANY).getSource());
+		Assert.assertEquals(lexicon.lookupWord("is"), multi.lookupWord("is"));
+	}
+
 }
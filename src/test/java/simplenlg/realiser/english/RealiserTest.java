@@ -18,8 +18,19 @@
  */
 package simplenlg.realiser.english;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import junit.framework.Assert;
 
@@ -30,7 +41,10 @@ import org.junit.Test;
 import simplenlg.features.Feature;
 import simplenlg.features.Form;
 import simplenlg.features.LexicalFeature;
+import simplenlg.features.NumberAgreement;
 import simplenlg.features.Gender;
+import simplenlg.features.Tense;
+import simplenlg.framework.DocumentCategory;
 import simplenlg.framework.DocumentElement;
 import simplenlg.framework.NLGElement;
 import simplenlg.framework.NLGFactory;
@@ -40,6 +54,10 @@ import simplenlg.phrasespec.NPPhraseSpec;
 import simplenlg.phrasespec.PPPhraseSpec;
 import simplenlg.phrasespec.SPhraseSpec;
 import simplenlg.phrasespec.VPPhraseSpec;
+import simplenlg.realiser.BatchRealisation;
+import simplenlg.realiser.RealisationListener;
+import simplenlg.realiser.RealisationStage;
+import simplenlg.realiser.SentenceTemplate;
 
 /**
  * JUnit test class for the {@link Realiser} class.
@@ -170,4 +188,350 @@ public class RealiserTest {
                                     realiser.realise(sisterNP).getRealisation());
 	}
 
+	/**
+	 * Tests that a realiser in non-destructive mode leaves the element it
+	 * realises unchanged, so that the element can be realised again
+	 */
+	@Test
+	public void nonDestructiveRealisationTest() {
+		realiser.setNonDestructive(true);
+
+		SPhraseSpec clause = nlgFactory.createClause("the dog", "chase", "the cat");
+		clause.setFeature(Feature.TENSE, Tense.PAST);
+		clause.addComplement(nlgFactory.createPrepositionPhrase("into", "the garden"));
+		DocumentElement paragraph = nlgFactory.createParagraph();
+		paragraph.addComponent(nlgFactory.createSentence(clause));
+		paragraph.addComponent(nlgFactory.createSentence("it was over quickly"));
+
+		String before = paragraph.printTree(null);
+		String first = realiser.realise(paragraph).getRealisation();
+		Assert.assertEquals("The dog chased the cat into the garden. It was over quickly.\n\n", first);
+		Assert.assertEquals(before, paragraph.printTree(null));
+		Assert.assertEquals(first, realiser.realise(paragraph).getRealisation());
+
+		NLGElement parent = clause.getParent();
+		clause.setFeature(Feature.NEGATED, true);
+		Assert.assertEquals("The dog did not chase the cat into the garden.",
+				realiser.realiseSentence(clause));
+		Assert.assertSame(parent, clause.getParent());
+	}
+
+	/**
+	 * Tests that one realiser can be used by several threads at once, both for
+	 * elements built by each thread and for an element shared by all of them
+	 */
+	@Test
+	public void sharedRealiserStressTest() throws Exception {
+		final int threads = 8;
+		final int rounds = 200;
+		final Realiser shared = new Realiser(lexicon);
+		shared.setNonDestructive(true);
+		final DocumentElement template = createStressDocument(1);
+		final String expectedTemplate = new Realiser(lexicon).realise(createStressDocument(1)).getRealisation();
+		final List<String> expected = new ArrayList<String>();
+		for (int round = 0; round < rounds; round++) {
+			expected.add(new Realiser(lexicon).realise(createStressDocument(round)).getRealisation());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int thread = 0; thread < threads; thread++) {
+				results.add(executor.submit(new Callable<String>() {
+					public String call() {
+						for (int round = 0; round < rounds; round++) {
+							String own = shared.realise(createStressDocument(round)).getRealisation();
+							if (!expected.get(round).equals(own)) {
+								return own;
+							}
+							String common = shared.realise(template).getRealisation();
+							if (!expectedTemplate.equals(common)) {
+								return common;
+							}
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<String> result : results) {
+				Assert.assertNull(result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that a batch is realised in order on an executor, and that an
+	 * element which fails, with an exception or an error, does not affect the
+	 * others
+	 */
+	@Test
+	public void batchRealisationTest() throws Exception {
+		List<NLGElement> elements = new ArrayList<NLGElement>();
+		List<String> expected = new ArrayList<String>();
+		for (int number = 0; number < 100; number++) {
+			if (number == 42) {
+				elements.add(new DocumentElement(DocumentCategory.SENTENCE, null) {
+					@Override
+					public List<NLGElement> getChildren() {
+						throw new IllegalStateException("broken");
+					}
+				});
+				expected.add(null);
+			} else if (number == 43) {
+				elements.add(new DocumentElement(DocumentCategory.SENTENCE, null) {
+					@Override
+					public List<NLGElement> getChildren() {
+						throw new NoClassDefFoundError("broken");
+					}
+				});
+				expected.add(null);
+			} else {
+				SPhraseSpec clause = nlgFactory.createClause("the dog", "chase", "cat " + number);
+				expected.add(new Realiser(lexicon).realiseSentence(clause));
+				elements.add(nlgFactory.createClause("the dog", "chase", "cat " + number));
+			}
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			BatchRealisation batch = realiser.realiseSentenceBatch(elements, executor);
+			Assert.assertEquals(100, batch.size());
+			Assert.assertEquals(2, batch.getFailureCount());
+			Assert.assertTrue(batch.isFailed(42));
+			Assert.assertTrue(batch.getFailure(42) instanceof IllegalStateException);
+			Assert.assertTrue(batch.getFailure(43) instanceof NoClassDefFoundError);
+			Assert.assertEquals(expected, batch.getRealisations());
+			Assert.assertEquals("The dog chases cat 7.", batch.getRealisation(7));
+			Assert.assertTrue(batch.getElementsPerSecond() > 0);
+		} finally {
+			executor.shutdown();
+		}
+
+		List<NLGElement> phrases = new ArrayList<NLGElement>();
+		phrases.add(nlgFactory.createNounPhrase("the", "cat"));
+		phrases.add(nlgFactory.createClause("the dog", "chase", "the cat"));
+		BatchRealisation inline = realiser.realiseBatch(phrases, null);
+		Assert.assertEquals("the cat", inline.getRealisation(0));
+		Assert.assertEquals("the dog chases the cat", inline.getRealisation(1));
+	}
+
+	/**
+	 * Tests that the parts of a batch which the executor rejects are realised
+	 * in the calling thread, both by a pool which rejects after a while and by
+	 * one which has been shut down
+	 */
+	@Test
+	public void batchRealisationRejectedTest() throws Exception {
+		List<NLGElement> elements = new ArrayList<NLGElement>();
+		List<String> expected = new ArrayList<String>();
+		for (int number = 0; number < 50; number++) {
+			elements.add(nlgFactory.createClause("the dog", "chase", "cat " + number));
+			expected.add("The dog chases cat " + number + ".");
+		}
+
+		final ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Executor saturated = new Executor() {
+				private int accepted = 0;
+
+				public void execute(Runnable command) {
+					if (this.accepted++ > 0) {
+						throw new RejectedExecutionException("saturated");
+					}
+					pool.execute(command);
+				}
+			};
+			BatchRealisation batch = realiser.realiseSentenceBatch(elements, saturated);
+			Assert.assertEquals(0, batch.getFailureCount());
+			Assert.assertEquals(expected, batch.getRealisations());
+		} finally {
+			pool.shutdown();
+		}
+
+		BatchRealisation batch = realiser.realiseSentenceBatch(elements, pool);
+		Assert.assertEquals(0, batch.getFailureCount());
+		Assert.assertEquals(expected, batch.getRealisations());
+	}
+
+	/**
+	 * Tests that a document written section by section to a writer reads the
+	 * same as the document realised as a whole, and is not changed
+	 */
+	@Test
+	public void streamingRealisationTest() throws Exception {
+		for (int number = 0; number < 4; number++) {
+			DocumentElement document = createStressDocument(number);
+			DocumentElement list = nlgFactory.createList();
+			list.addComponent(nlgFactory.createListItem(nlgFactory.createClause("the cat", "sleep")));
+			list.addComponent(nlgFactory.createListItem(nlgFactory.createClause("the dog", "bark")));
+			document.addComponent(nlgFactory.createSection("More", list));
+
+			String before = document.printTree(null);
+			StringWriter output = new StringWriter();
+			realiser.realiseTo(document, output);
+			Assert.assertEquals(before, document.printTree(null));
+			Assert.assertEquals(realiser.realise(document).getRealisation(), output.toString());
+		}
+	}
+
+	/**
+	 * Tests that a listener is told about every stage of the sampled
+	 * realisations, and only of those
+	 */
+	@Test
+	public void realisationListenerTest() {
+		final List<String> events = new ArrayList<String>();
+		realiser.setRealisationListener(new RealisationListener() {
+			public void realisationStarted(NLGElement element) {
+				events.add("start");
+			}
+
+			public void stageFinished(RealisationStage stage, NLGElement element, long nanos) {
+				Assert.assertNotNull(element);
+				Assert.assertTrue(nanos >= 0);
+				events.add(stage.toString());
+			}
+		});
+		realiser.setTraceSampling(3);
+		for (int number = 0; number < 9; number++) {
+			Assert.assertEquals("The dog barks.",
+					realiser.realiseSentence(nlgFactory.createClause("the dog", "bark")));
+		}
+		Assert.assertEquals(15, events.size());
+		Assert.assertEquals("[start, SYNTAX, MORPHOLOGY, ORTHOGRAPHY, FORMATTER]", events.subList(0, 5).toString());
+
+		events.clear();
+		realiser.setRealisationListener(null);
+		realiser.realiseSentence(nlgFactory.createClause("the dog", "bark"));
+		Assert.assertTrue(events.isEmpty());
+	}
+
+	/**
+	 * Tests that debug mode prints the trees without taking the place of the
+	 * listener, and that turning it off leaves the listener in place
+	 */
+	@Test
+	public void debugModeKeepsListenerTest() {
+		final List<String> events = new ArrayList<String>();
+		RealisationListener listener = new RealisationListener() {
+			public void realisationStarted(NLGElement element) {
+				events.add("start");
+			}
+
+			public void stageFinished(RealisationStage stage, NLGElement element, long nanos) {
+				events.add(stage.toString());
+			}
+		};
+		realiser.setRealisationListener(listener);
+
+		PrintStream console = System.out;
+		ByteArrayOutputStream printed = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(printed, true));
+		try {
+			realiser.setDebugMode(true);
+			Assert.assertEquals("The dog barks.",
+					realiser.realiseSentence(nlgFactory.createClause("the dog", "bark")));
+		} finally {
+			System.setOut(console);
+		}
+		Assert.assertTrue(printed.toString().contains("INITIAL TREE"));
+		Assert.assertTrue(printed.toString().contains("POST-FORMATTER TREE"));
+		Assert.assertEquals(5, events.size());
+		Assert.assertSame(listener, realiser.getRealisationListener());
+
+		realiser.setDebugMode(false);
+		realiser.realiseSentence(nlgFactory.createClause("the dog", "bark"));
+		Assert.assertEquals(10, events.size());
+		Assert.assertSame(listener, realiser.getRealisationListener());
+	}
+
+	/**
+	 * Test that filling a {@link SentenceTemplate} gives the same sentence as
+	 * building and realising the clause from scratch
+	 */
+	@Test
+	public void sentenceTemplateTest() {
+		NPPhraseSpec subject = nlgFactory.createNounPhrase("the", "dog");
+		subject.addPreModifier("big");
+		NPPhraseSpec object = nlgFactory.createNounPhrase("a", "cat");
+		NPPhraseSpec place = nlgFactory.createNounPhrase("the", "park");
+		SPhraseSpec clause = nlgFactory.createClause(subject, "chase", object);
+		clause.setFeature(Feature.TENSE, Tense.PAST);
+		clause.setFeature(Feature.PROGRESSIVE, true);
+		clause.addComplement(nlgFactory.createPrepositionPhrase("in", place));
+
+		Map<String, NPPhraseSpec> slots = new HashMap<String, NPPhraseSpec>();
+		slots.put("subject", subject);
+		slots.put("object", object);
+		slots.put("place", place);
+		SentenceTemplate template = new SentenceTemplate(realiser, clause, slots);
+		Assert.assertEquals(3, template.getSlots().size());
+
+		// the template keeps its own copy of the clause
+		subject.setNoun("wolf");
+		Assert.assertEquals("The big dog was chasing a cat in the park.",
+				template.realiseSentence(new HashMap<String, Object>()));
+
+		String[][] fills = { { "cat", "mouse", "garden" }, { "fox", "hen", "yard" },
+				{ "child", "bus", "street" }, { "Mary", "ball", "house" } };
+		for (String[] fill : fills) {
+			for (int plural = 0; plural < 2; plural++) {
+				Map<String, Object> nouns = new HashMap<String, Object>();
+				nouns.put("subject", fill[0]);
+				nouns.put("object", fill[1]);
+				nouns.put("place", fill[2]);
+				Map<String, NumberAgreement> numbers = new HashMap<String, NumberAgreement>();
+				numbers.put("object", plural == 0 ? NumberAgreement.SINGULAR : NumberAgreement.PLURAL);
+
+				NPPhraseSpec expectedSubject = nlgFactory.createNounPhrase("the", fill[0]);
+				expectedSubject.addPreModifier("big");
+				NPPhraseSpec expectedObject = nlgFactory.createNounPhrase("a", fill[1]);
+				expectedObject.setFeature(Feature.NUMBER, numbers.get("object"));
+				SPhraseSpec expected = nlgFactory.createClause(expectedSubject, "chase", expectedObject);
+				expected.setFeature(Feature.TENSE, Tense.PAST);
+				expected.setFeature(Feature.PROGRESSIVE, true);
+				expected.addComplement(nlgFactory.createPrepositionPhrase("in",
+						nlgFactory.createNounPhrase("the", fill[2])));
+
+				Assert.assertEquals(realiser.realiseSentence(expected), template.realiseSentence(nouns, numbers));
+			}
+		}
+
+		// refilling a known agreement pattern reuses its frame
+		int frames = template.getFrameCount();
+		Map<String, Object> nouns = new HashMap<String, Object>();
+		nouns.put("object", "rabbit");
+		Assert.assertEquals("The big dog was chasing a rabbit in the park.", template.realiseSentence(nouns));
+		Assert.assertEquals(frames, template.getFrameCount());
+
+		// a filler which is not a single noun falls back to a full rebuild
+		nouns.put("object", "FGFR3 gene");
+		Assert.assertEquals("The big dog was chasing a FGFR3 gene in the park.", template.realiseSentence(nouns));
+	}
+
+	/**
+	 * builds a document with a paragraph and an enumerated list, which varies
+	 * with the given number
+	 */
+	private DocumentElement createStressDocument(int number) {
+		SPhraseSpec clause = nlgFactory.createClause("the dog", "chase", "the cat");
+		clause.setFeature(Feature.TENSE, number % 3 == 0 ? Tense.PAST : Tense.FUTURE);
+		clause.setFeature(Feature.NEGATED, number % 2 == 0);
+		clause.getObject().setPlural(number % 5 == 0);
+		clause.addComplement(nlgFactory.createPrepositionPhrase("into", "the garden"));
+		DocumentElement paragraph = nlgFactory.createParagraph();
+		paragraph.addComponent(nlgFactory.createSentence(clause));
+		paragraph.addComponent(nlgFactory.createSentence("it happened " + number + " times"));
+		DocumentElement list = nlgFactory.createEnumeratedList();
+		for (int item = 0; item <= number % 4; item++) {
+			list.addComponent(nlgFactory.createListItem(nlgFactory.createClause("item", "be", "ready")));
+		}
+		DocumentElement section = nlgFactory.createSection("Results");
+		section.addComponent(paragraph);
+		section.addComponent(list);
+		return nlgFactory.createDocument("Report " + number, section);
+	}
+
 }
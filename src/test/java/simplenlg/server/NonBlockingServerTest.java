@@ -0,0 +1,243 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Westwater,
+ * Roman Kutlak, Margaret Mitchell, and Saad Mahamood.
+ */
+
+package simplenlg.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import simplenlg.xmlrealiser.XMLRealiser;
+import simplenlg.xmlrealiser.XMLRealiserException;
+
+/**
+ * Tests for the non-blocking server, including a small load test in which
+ * clients on the loopback interface pipeline requests over many connections
+ * at once.
+ */
+public class NonBlockingServerTest {
+
+    private static final String EXPECTED = "Put the piano and the drum into the truck.";
+
+    private NonBlockingServer serverapp;
+    private Thread server;
+
+    @Before
+    public void setUp() throws IOException {
+        serverapp = new NonBlockingServer(0, 256, 4);
+        server = new Thread(serverapp);
+        server.setDaemon(true);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        serverapp.terminate();
+        server.join(10000);
+    }
+
+    /**
+     * Several requests sent on one connection before any response is read
+     * are answered in order, a bad request among them included.
+     */
+    @Test
+    public void testPipelining() throws IOException {
+        Socket client = new Socket("localhost", serverapp.getLocalPort());
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(client.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+
+            for (int i = 0; i < 10; i++) {
+                send(out, i == 5 ? "<NLGSpec>" : SimpleClient.testData);
+            }
+            out.flush();
+
+            for (int i = 0; i < 10; i++) {
+                String response = receive(in);
+                if (i == 5) {
+                    Assert.assertTrue(response, response.startsWith("Exception: "));
+                } else {
+                    Assert.assertEquals(EXPECTED, response);
+                }
+            }
+        } finally {
+            client.close();
+        }
+        Assert.assertEquals(10, serverapp.getRequestCount());
+    }
+
+    /**
+     * A client which closes its side of the connection after sending its
+     * requests still gets the responses.
+     */
+    @Test
+    public void testHalfClose() throws IOException {
+        Socket client = new Socket("localhost", serverapp.getLocalPort());
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(client.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+            send(out, SimpleClient.testData);
+            send(out, SimpleClient.testData);
+            out.flush();
+            client.shutdownOutput();
+
+            Assert.assertEquals(EXPECTED, receive(in));
+            Assert.assertEquals(EXPECTED, receive(in));
+            Assert.assertEquals(-1, in.read());
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * A request with several documents is answered in one message, with
+     * the realisations in order.
+     */
+    @Test
+    public void testBatch() throws IOException {
+        int start = SimpleClient.testData.indexOf("<Document");
+        int end = SimpleClient.testData.indexOf("</Document>") + "</Document>".length();
+        String document = SimpleClient.testData.substring(start, end);
+        String batch = SimpleClient.testData.substring(0, end) + document + document
+                + SimpleClient.testData.substring(end);
+
+        Socket client = new Socket("localhost", serverapp.getLocalPort());
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(client.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream()));
+            send(out, batch);
+            out.flush();
+
+            String[] realisations = receive(in).split(XMLRealiser.BATCH_SEPARATOR);
+            Assert.assertEquals(3, realisations.length);
+            for (String realisation : realisations) {
+                Assert.assertEquals(EXPECTED, realisation);
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * A batch whose first document realises to nothing is answered with a
+     * separator after the empty realisation, so the realisations keep their
+     * positions.
+     */
+    @Test
+    public void testBatchEmptyFirst() throws XMLRealiserException {
+        int start = SimpleClient.testData.indexOf("<Document");
+        String batch = SimpleClient.testData.substring(0, start) + "<Document cat=\"SENTENCE\"></Document>"
+                + SimpleClient.testData.substring(start);
+
+        Assert.assertEquals(XMLRealiser.BATCH_SEPARATOR + EXPECTED,
+                RealisationRequest.realiseBatch(new StringReader(batch)));
+    }
+
+    /**
+     * Many clients, each with its own connection, pipeline requests at the
+     * same time; every response is right, and the rate is printed.
+     */
+    @Test
+    public void testLoad() throws Exception {
+        final int connections = 200;
+        final int requestsPerConnection = 20;
+        final int port = serverapp.getLocalPort();
+
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+            long start = System.nanoTime();
+            for (int c = 0; c < connections; c++) {
+                results.add(clients.submit(new Callable<Integer>() {
+                    public Integer call() throws IOException {
+                        Socket client = new Socket("localhost", port);
+                        try {
+                            DataOutputStream out = new DataOutputStream(
+                                    new BufferedOutputStream(client.getOutputStream()));
+                            DataInputStream in = new DataInputStream(
+                                    new BufferedInputStream(client.getInputStream()));
+                            for (int i = 0; i < requestsPerConnection; i++) {
+                                send(out, SimpleClient.testData);
+                            }
+                            out.flush();
+
+                            int correct = 0;
+                            for (int i = 0; i < requestsPerConnection; i++) {
+                                if (EXPECTED.equals(receive(in))) {
+                                    correct++;
+                                }
+                            }
+                            return correct;
+                        } finally {
+                            client.close();
+                        }
+                    }
+                }));
+            }
+
+            int correct = 0;
+            for (Future<Integer> result : results) {
+                correct += result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            int total = connections * requestsPerConnection;
+            Assert.assertEquals(total, correct);
+            Assert.assertEquals(total, serverapp.getRequestCount());
+            System.out.printf("NonBlockingServer: %d requests over %d connections in %.1f ms (%.0f requests/s)%n",
+                    total, connections, elapsed / 1e6, total / (elapsed / 1e9));
+        } finally {
+            clients.shutdown();
+        }
+
+        // the server closes each connection once its client has
+        for (int i = 0; i < 100 && serverapp.getOpenConnections() > 0; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(0, serverapp.getOpenConnections());
+    }
+
+    private static void send(DataOutputStream out, String message) throws IOException {
+        byte[] data = message.getBytes("UTF-8");
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private static String receive(DataInputStream in) throws IOException {
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        return new String(data, "UTF-8");
+    }
+}
@@ -21,6 +21,9 @@
 package simplenlg.server;
 
 import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import junit.framework.TestCase;
 
@@ -72,4 +75,42 @@ public class ServerTest extends TestCase {
         
         assertEquals(expected, result);
     }
+
+    /**
+     * A pooled server answers several requests on one
+     * connection, and serves several clients at once.
+     */
+    @Test
+    public void testPooledServer() throws Exception {
+        ServerSocket pooledSocket = new ServerSocket(0, 16);
+        final SimpleServer pooled = new SimpleServer(pooledSocket, 2);
+        Thread server = new Thread(pooled);
+        server.setDaemon(true);
+        server.start();
+
+        final int port = pooledSocket.getLocalPort();
+        final String expected = "Put the piano and the drum into the truck.";
+        try {
+            Thread[] clients = new Thread[4];
+            final List<String> results = Collections.synchronizedList(new ArrayList<String>());
+            for (int i = 0; i < clients.length; i++) {
+                clients[i] = new Thread(new Runnable() {
+                    public void run() {
+                        results.addAll(new SimpleClient().run("localhost", port, 5));
+                    }
+                });
+                clients[i].start();
+            }
+            for (Thread client : clients) {
+                client.join();
+            }
+
+            assertEquals(20, results.size());
+            for (String result : results) {
+                assertEquals(expected, result);
+            }
+        } finally {
+            pooled.terminate();
+        }
+    }
 }
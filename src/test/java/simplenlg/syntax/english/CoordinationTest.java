@@ -25,13 +25,16 @@ import org.junit.After;
 import org.junit.Test;
 
 import simplenlg.features.Feature;
+import simplenlg.features.InterrogativeType;
 import simplenlg.features.Tense;
 import simplenlg.framework.CoordinatedPhraseElement;
 import simplenlg.framework.LexicalCategory;
+import simplenlg.framework.NLGElement;
 import simplenlg.phrasespec.NPPhraseSpec;
 import simplenlg.phrasespec.PPPhraseSpec;
 import simplenlg.phrasespec.SPhraseSpec;
 import simplenlg.phrasespec.VPPhraseSpec;
+import simplenlg.syntax.english.SyntaxProcessor;
 
 /**
  * Some tests for coordination, especially of coordinated VPs with modifiers.
@@ -180,6 +183,47 @@ public class CoordinationTest extends SimpleNLG4Test {
 
 	}
 
+	/**
+	 * Check that the coordination made by the syntax processor keeps the
+	 * lexicon of the phrase, rather than loading the default lexicon
+	 */
+	@Test
+	public void testCoordinationKeepsLexicon() {
+		CoordinatedPhraseElement coord = this.phraseFactory
+				.createCoordinatedPhrase(this.man, this.woman);
+		SyntaxProcessor syntax = new SyntaxProcessor();
+		syntax.initialise();
+		syntax.setLexicon(this.lexicon);
+		NLGElement coordinated = syntax.realise(coord);
+		Assert.assertTrue(coordinated instanceof CoordinatedPhraseElement);
+		Assert.assertSame(this.lexicon, coordinated.getFactory().getLexicon());
+	}
+
+	/**
+	 * Check that a yes/no question over a coordinated VP sees the negation
+	 * and aspect set on the VP, and is not formed with "does"
+	 */
+	@Test
+	public void testCoordinatedVPQuestion() {
+		CoordinatedPhraseElement vp = this.phraseFactory.createCoordinatedPhrase(
+				this.phraseFactory.createVerbPhrase("eat"),
+				this.phraseFactory.createVerbPhrase("bake"));
+		SPhraseSpec s = this.phraseFactory.createClause();
+		s.setSubject(this.phraseFactory.createNounPhrase("the", "man"));
+		s.setVerbPhrase(vp);
+		s.setFeature(Feature.INTERROGATIVE_TYPE, InterrogativeType.YES_NO);
+		vp.setFeature(Feature.NEGATED, true);
+		Assert.assertTrue(s.getBooleanFeature(Feature.NEGATED));
+		Assert.assertEquals("The man does not eat and does not bake?",
+				this.realiser.realiseSentence(s));
+
+		vp.setFeature(Feature.NEGATED, false);
+		vp.setFeature(Feature.PROGRESSIVE, true);
+		Assert.assertTrue(s.getBooleanFeature(Feature.PROGRESSIVE));
+		Assert.assertEquals("The man is eating and is baking?",
+				this.realiser.realiseSentence(s));
+	}
+
 	/**
 	 * Check that the negation feature on a child of a coordinate phrase remains
 	 * as set, unless explicitly set otherwise at the parent level.
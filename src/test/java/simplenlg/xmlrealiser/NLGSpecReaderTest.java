@@ -0,0 +1,176 @@
+package simplenlg.xmlrealiser;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import simplenlg.framework.DocumentElement;
+import simplenlg.framework.NLGElement;
+import simplenlg.lexicon.Lexicon;
+import simplenlg.realiser.english.Realiser;
+import simplenlg.xmlrealiser.wrapper.DocumentRealisation;
+import simplenlg.xmlrealiser.wrapper.RecordSet;
+import simplenlg.xmlrealiser.wrapper.XmlCoordinatedPhraseElement;
+import simplenlg.xmlrealiser.wrapper.XmlDocumentElement;
+import simplenlg.xmlrealiser.wrapper.XmlStringElement;
+
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Tests that {@link NLGSpecReader} builds the same elements from the xml as
+ * the JAXB wrapper classes and {@link UnWrapper} do.
+ */
+public class NLGSpecReaderTest {
+
+	private static final String[] RECORDINGS = {XMLRealiserParameterizedTests.clauseTest,
+			XMLRealiserParameterizedTests.AppositiveTest, XMLRealiserParameterizedTests.aProblemTest,
+			XMLRealiserParameterizedTests.CoordPhraseNegationTest, XMLRealiserParameterizedTests.CoordPhraseTest,
+			XMLRealiserParameterizedTests.docExamplesTest, XMLRealiserParameterizedTests.lexicalVarTest,
+			XMLRealiserParameterizedTests.npTest, XMLRealiserParameterizedTests.singleTest,
+			XMLRealiserParameterizedTests.someTest};
+
+	private Lexicon lexicon;
+	private Realiser realiser;
+
+	@Before
+	public void setUp() {
+		this.lexicon = Lexicon.getDefaultLexicon();
+		this.realiser = new Realiser(this.lexicon);
+	}
+
+	/**
+	 * every record of the test recordings is read as it is through the
+	 * wrapper classes, and realised the same way
+	 */
+	@Test
+	public void testRecordings() throws XMLRealiserException {
+		NLGSpecReader reader = new NLGSpecReader(this.lexicon);
+		UnWrapper unWrapper = new UnWrapper(this.lexicon);
+
+		for (String recording : RECORDINGS) {
+			List<NLGSpecReader.Record> records = reader.readRecording(new StringReader(recording));
+			RecordSet wrapped = XMLRealiser.getRecording(new StringReader(recording));
+			Assert.assertEquals(wrapped.getRecord().size(), records.size());
+
+			for (int i = 0; i < records.size(); i++) {
+				NLGSpecReader.Record record = records.get(i);
+				DocumentRealisation expected = wrapped.getRecord().get(i);
+				Assert.assertEquals(expected.getName(), record.getName());
+				Assert.assertEquals(expected.getRealisation(), record.getRealisation());
+
+				DocumentElement unwrapped = unWrapper.UnwrapDocumentElement(expected.getDocument());
+				Assert.assertEquals(record.getName(), this.realiser.realise(unwrapped).getRealisation(),
+						this.realiser.realise(record.getDocument()).getRealisation());
+			}
+		}
+	}
+
+	/**
+	 * a request is read from any namespace, and realised
+	 */
+	@Test
+	public void testRequest() throws XMLRealiserException {
+		String request = "<NLGSpec xmlns=\"http://code.google.com/p/simplenlg/schemas/version1\""
+				+ " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+				+ "<Request><Document cat=\"PARAGRAPH\">"
+				+ "<child xsi:type=\"StringElement\"><val>hello, world</val></child>"
+				+ "<child xsi:type=\"SPhraseSpec\" TENSE=\"PAST\">"
+				+ "<subj xsi:type=\"NPPhraseSpec\"><head cat=\"NOUN\"><base>dog</base></head>"
+				+ "<spec xsi:type=\"WordElement\" cat=\"DETERMINER\"><base>the</base></spec></subj>"
+				+ "<vp xsi:type=\"VPPhraseSpec\"><head cat=\"VERB\"><base>bark</base></head></vp>"
+				+ "</child></Document></Request></NLGSpec>";
+
+		DocumentElement document = new NLGSpecReader(this.lexicon).readRequest(new StringReader(request));
+		Assert.assertEquals(2, document.getComponents().size());
+		Assert.assertEquals("Hello, world. The dog barked.\n\n",
+				this.realiser.realise(document).getRealisation());
+	}
+
+	/**
+	 * every document of a batch request is read, in order, and realised
+	 */
+	@Test
+	public void testBatchRequest() throws XMLRealiserException {
+		String request = "<NLGSpec xmlns=\"http://simplenlg.googlecode.com/svn/trunk/res/xml\""
+				+ " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><Request>"
+				+ batchDocument("dog", "bark") + batchDocument("cat", "purr") + batchDocument("cow", "moo")
+				+ "</Request></NLGSpec>";
+
+		List<DocumentElement> documents = new NLGSpecReader(this.lexicon).readBatchRequest(new StringReader(request));
+		Assert.assertEquals(3, documents.size());
+		Assert.assertEquals("The cat purred.\n\n", this.realiser.realise(documents.get(1)).getRealisation());
+
+		List<String> realisations = XMLRealiser.realiseBatchRequest(new StringReader(request));
+		Assert.assertEquals(3, realisations.size());
+		Assert.assertEquals("The dog barked.\n\n", realisations.get(0));
+		Assert.assertEquals("The cat purred.\n\n", realisations.get(1));
+		Assert.assertEquals("The cow mooed.\n\n", realisations.get(2));
+
+		Assert.assertEquals("The dog barked.\n\n" + XMLRealiser.BATCH_SEPARATOR + "The cat purred.\n\n"
+				+ XMLRealiser.BATCH_SEPARATOR + "The cow mooed.\n\n",
+				XMLRealiser.main(new Object[]{"realiseBatch", request}));
+	}
+
+	/**
+	 * a batch whose first document realises to nothing still has a
+	 * separator after it, so the realisations keep their positions
+	 */
+	@Test
+	public void testBatchRequestEmptyFirst() throws XMLRealiserException {
+		String request = "<NLGSpec xmlns=\"http://simplenlg.googlecode.com/svn/trunk/res/xml\""
+				+ " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><Request>"
+				+ "<Document cat=\"SENTENCE\"></Document>" + batchDocument("dog", "bark")
+				+ "</Request></NLGSpec>";
+
+		Assert.assertEquals(XMLRealiser.BATCH_SEPARATOR + "The dog barked.\n\n",
+				XMLRealiser.main(new Object[]{"realiseBatch", request}));
+	}
+
+	/**
+	 * the wrapper classes keep every document of a batch request
+	 */
+	@Test
+	public void testBatchRequestWrapped() throws XMLRealiserException {
+		String request = "<NLGSpec xmlns=\"http://simplenlg.googlecode.com/svn/trunk/res/xml\""
+				+ " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"><Request>"
+				+ batchDocument("dog", "bark") + batchDocument("cat", "purr")
+				+ "</Request></NLGSpec>";
+
+		List<XmlDocumentElement> documents = XMLRealiser.getRequest(new StringReader(request)).getDocument();
+		Assert.assertEquals(2, documents.size());
+		Assert.assertEquals("The cat purred.\n\n", XMLRealiser.realise(documents.get(1)));
+	}
+
+	private static String batchDocument(String subject, String verb) {
+		return "<Document cat=\"PARAGRAPH\"><child xsi:type=\"SPhraseSpec\" TENSE=\"PAST\">"
+				+ "<subj xsi:type=\"NPPhraseSpec\"><head cat=\"NOUN\"><base>" + subject + "</base></head>"
+				+ "<spec xsi:type=\"WordElement\" cat=\"DETERMINER\"><base>the</base></spec></subj>"
+				+ "<vp xsi:type=\"VPPhraseSpec\"><head cat=\"VERB\"><base>" + verb + "</base></head></vp>"
+				+ "</child></Document>";
+	}
+
+	/**
+	 * a coordination unwrapped from the wrapper classes uses the lexicon of
+	 * the unwrapper
+	 */
+	@Test
+	public void testUnwrapCoordination() {
+		XmlCoordinatedPhraseElement wrapped = new XmlCoordinatedPhraseElement();
+		for (String value : new String[]{"apples", "pears"}) {
+			XmlStringElement coordinate = new XmlStringElement();
+			coordinate.setVal(value);
+			wrapped.getCoord().add(coordinate);
+		}
+		NLGElement coordination = new UnWrapper(this.lexicon).UnwrapCoordinatePhraseSpec(wrapped);
+		Assert.assertSame(this.lexicon, coordination.getFactory().getLexicon());
+		Assert.assertEquals("apples and pears", this.realiser.realise(coordination).getRealisation());
+	}
+
+	/**
+	 * a recording is not a request
+	 */
+	@Test(expected = XMLRealiserException.class)
+	public void testNotRequest() throws XMLRealiserException {
+		new NLGSpecReader(this.lexicon).readRequest(new StringReader(XMLRealiserParameterizedTests.singleTest));
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * The contents of this file are subject to the Mozilla Public License
+ * Version 1.1 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS"
+ * basis, WITHOUT WARRANTY OF ANY KIND, either express or implied. See the
+ * License for the specific language governing rights and limitations
+ * under the License.
+ *
+ * The Original Code is "Simplenlg".
+ *
+ * The Initial Developer of the Original Code is Ehud Reiter, Albert Gatt and Dave Westwater.
+ * Portions created by Ehud Reiter, Albert Gatt and Dave Westwater are Copyright (C) 2010-11 The University of Aberdeen. All Rights Reserved.
+ *
+ * Contributor(s): Ehud Reiter, Albert Gatt, Dave Wewstwater, Roman Kutlak, Margaret Mitchell, Saad Mahamood.
+ */
+package simplenlg.xmlrealiser;
+
+import simplenlg.benchmark.BenchmarkRunner;
+import simplenlg.xmlrealiser.wrapper.DocumentRealisation;
+import simplenlg.xmlrealiser.wrapper.NLGSpec;
+import simplenlg.xmlrealiser.wrapper.RecordSet;
+import simplenlg.xmlrealiser.wrapper.RequestType;
+import simplenlg.xmlrealiser.wrapper.XmlDocumentElement;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks XML realisation through {@link XMLRealiser} with a
+ * {@link BenchmarkRunner}, on the recordings of
+ * {@link XMLRealiserParameterizedTests}: parsing a recording, realising one
+ * of its documents, and both together. The default lexicon is used.
+ * <p>
+ * Each recorded document is also written out as a realise request, and the
+ * requests are read and realised three ways: through the JAXB wrapper classes
+ * with the shared JAXB context, with {@link XMLRealiser#getRequest(java.io.Reader)};
+ * through the JAXB wrapper classes building a new context for every request,
+ * as the realiser used to; and through {@link XMLRealiser#main(Object[])} as
+ * a client of the realiser would send them, which reads the request with
+ * {@link NLGSpecReader} instead of JAXB. This is not a unit test; run it with
+ * <p>
+ * <code>java simplenlg.xmlrealiser.XMLRealiserBenchmark [name...]</code>
+ * <p>
+ * where the names select the benchmarks to run.
+ */
+public class XMLRealiserBenchmark {
+
+	private static final String[] RECORDINGS = {XMLRealiserParameterizedTests.clauseTest,
+			XMLRealiserParameterizedTests.AppositiveTest, XMLRealiserParameterizedTests.aProblemTest,
+			XMLRealiserParameterizedTests.CoordPhraseNegationTest, XMLRealiserParameterizedTests.CoordPhraseTest,
+			XMLRealiserParameterizedTests.docExamplesTest, XMLRealiserParameterizedTests.lexicalVarTest,
+			XMLRealiserParameterizedTests.npTest, XMLRealiserParameterizedTests.singleTest,
+			XMLRealiserParameterizedTests.someTest};
+
+	public static void main(String[] args) throws Exception {
+		BenchmarkRunner runner = new BenchmarkRunner(args);
+
+		final List<XmlDocumentElement> documents = new ArrayList<XmlDocumentElement>();
+		int matched = 0;
+		for (String recording : RECORDINGS) {
+			for (DocumentRealisation record : parse(recording).getRecord()) {
+				documents.add(record.getDocument());
+				if (record.getRealisation().trim().equals(realise(record.getDocument()).trim()))
+					matched++;
+			}
+		}
+		System.out.println(documents.size() + " documents, " + matched
+				+ " realised as recorded with the default lexicon");
+
+		final List<String> requests = new ArrayList<String>();
+		for (XmlDocumentElement document : documents) {
+			requests.add(toRequest(document));
+		}
+
+		runner.run("xmlrealiser.parse", new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() {
+				String recording = RECORDINGS[this.next];
+				this.next = (this.next + 1) % RECORDINGS.length;
+				return parse(recording);
+			}
+		});
+
+		runner.run("xmlrealiser.realise", new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() {
+				XmlDocumentElement document = documents.get(this.next);
+				this.next = (this.next + 1) % documents.size();
+				return realise(document);
+			}
+		});
+
+		runner.run("xmlrealiser.parseAndRealise", new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() {
+				String recording = RECORDINGS[this.next];
+				this.next = (this.next + 1) % RECORDINGS.length;
+				StringBuilder output = new StringBuilder();
+				for (DocumentRealisation record : parse(recording).getRecord()) {
+					output.append(realise(record.getDocument()));
+				}
+				return output.toString();
+			}
+		});
+
+		BenchmarkRunner.Score shared = runner.run("xmlrealiser.requestSharedContext", new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() throws Exception {
+				String request = requests.get(this.next);
+				this.next = (this.next + 1) % requests.size();
+				return realise(readRequest(request));
+			}
+		});
+
+		BenchmarkRunner.Score unshared = runner.run("xmlrealiser.requestNewContext", new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() throws Exception {
+				String request = requests.get(this.next);
+				this.next = (this.next + 1) % requests.size();
+				Object spec = JAXBContext.newInstance(NLGSpec.class).createUnmarshaller()
+						.unmarshal(new StringReader(request));
+				return realise(((NLGSpec) spec).getRequest().getDocument().get(0));
+			}
+		});
+
+		BenchmarkRunner.Score streamed = runner.run("xmlrealiser.request", new BenchmarkRunner.Operation() {
+			private int next = 0;
+
+			public Object run() throws Exception {
+				String request = requests.get(this.next);
+				this.next = (this.next + 1) % requests.size();
+				return request(request);
+			}
+		});
+
+		if (shared != null && unshared != null) {
+			System.out.printf("JAXB requests per second: %.0f with the shared context, %.0f with a new context per request (%.1fx)%n",
+					shared.getOperationsPerSecond(), unshared.getOperationsPerSecond(),
+					shared.getOperationsPerSecond() / unshared.getOperationsPerSecond());
+		}
+		if (shared != null && streamed != null) {
+			System.out.printf("requests per second: %.0f read with NLGSpecReader, %.0f read with the shared JAXB context (%.1fx)%n",
+					streamed.getOperationsPerSecond(), shared.getOperationsPerSecond(),
+					streamed.getOperationsPerSecond() / shared.getOperationsPerSecond());
+		}
+	}
+
+	/**
+	 * writes a document as the xml of a realise request
+	 */
+	private static String toRequest(XmlDocumentElement document) throws JAXBException {
+		RequestType request = new RequestType();
+		request.getDocument().add(document);
+		NLGSpec spec = new NLGSpec();
+		spec.setRequest(request);
+		StringWriter writer = new StringWriter();
+		XMLBinding.marshal(spec, writer);
+		return writer.toString();
+	}
+
+	private static RecordSet parse(String recording) {
+		StringReader reader = new StringReader(recording);
+		try {
+			return XMLRealiser.getRecording(reader);
+		} catch (XMLRealiserException e) {
+			throw new IllegalStateException("cannot parse recording", e);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static XmlDocumentElement readRequest(String request) {
+		try {
+			return XMLRealiser.getRequest(new StringReader(request)).getDocument().get(0);
+		} catch (XMLRealiserException e) {
+			throw new IllegalStateException("cannot read request", e);
+		}
+	}
+
+	private static String request(String request) {
+		try {
+			return XMLRealiser.main(new Object[]{XMLRealiser.OpCode.realise.name(), request});
+		} catch (XMLRealiserException e) {
+			throw new IllegalStateException("cannot realise request", e);
+		}
+	}
+
+	private static String realise(XmlDocumentElement document) {
+		try {
+			return XMLRealiser.realise(document);
+		} catch (XMLRealiserException e) {
+			throw new IllegalStateException("cannot realise document", e);
+		}
+	}
+}